@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2026 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.here.account.oauth2.tutorial;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Runs the HereAccessTokenProviderTutorial native image, built by the "native" profile,
+ * and the same tutorial on the JVM, against a local stub token endpoint,
+ * and reports the time from process start to the first HERE Access Token.
+ *
+ * <p>
+ * Skipped unless the native.image.path System property names the built executable:
+ * <pre>
+ *     mvn -Pnative verify -pl examples/here-oauth-client-example -am
+ * </pre>
+ */
+public class HereAccessTokenProviderTutorialNativeIT {
+
+    private static final String ACCESS_TOKEN = "h1.stub-native-image-access-token.signature";
+    private static final String ACCESS_TOKEN_JSON =
+            "{\"access_token\":\"" + ACCESS_TOKEN + "\",\"token_type\":\"bearer\",\"expires_in\":3600}";
+    private static final String TOKEN_LINE = "got HERE Access Token: ";
+
+    private HttpServer stubTokenEndpoint;
+    private String tokenEndpointUrl;
+
+    @Before
+    public void setUp() throws IOException {
+        stubTokenEndpoint = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        stubTokenEndpoint.createContext("/oauth2/token", exchange -> {
+            byte[] body = ACCESS_TOKEN_JSON.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream outputStream = exchange.getResponseBody()) {
+                outputStream.write(body);
+            }
+        });
+        stubTokenEndpoint.start();
+        tokenEndpointUrl = "http://localhost:" + stubTokenEndpoint.getAddress().getPort() + "/oauth2/token";
+    }
+
+    @After
+    public void tearDown() {
+        if (null != stubTokenEndpoint) {
+            stubTokenEndpoint.stop(0);
+        }
+    }
+
+    private List<String> getCredentialsArgs() {
+        return Arrays.asList(
+                "-Dhere.token.endpoint.url=" + tokenEndpointUrl,
+                "-Dhere.access.key.id=stub-access-key-id",
+                "-Dhere.access.key.secret=stub-access-key-secret");
+    }
+
+    /**
+     * Starts the command, and waits for its first HERE Access Token.
+     * The later tutorial steps use a local proxy, so the process is stopped after the first token.
+     *
+     * @return the milliseconds from process start to the first token
+     */
+    private long timeToFirstToken(List<String> command) throws IOException {
+        long startNanos = System.nanoTime();
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            StringBuilder output = new StringBuilder();
+            String line;
+            while (null != (line = reader.readLine())) {
+                if (line.startsWith(TOKEN_LINE)) {
+                    long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+                    assertTrue(line, line.endsWith(ACCESS_TOKEN));
+                    return elapsedMillis;
+                }
+                output.append(line).append('\n');
+            }
+            throw new AssertionError("no HERE Access Token from " + command + ":\n" + output);
+        } finally {
+            process.destroy();
+        }
+    }
+
+    @Test
+    public void test_nativeImage_startupComparedWithJvm() throws IOException {
+        String nativeImagePath = System.getProperty("native.image.path");
+        assumeTrue("set native.image.path, via the native profile", null != nativeImagePath
+                && new File(nativeImagePath).canExecute());
+
+        List<String> nativeCommand = new ArrayList<>();
+        nativeCommand.add(nativeImagePath);
+        nativeCommand.addAll(getCredentialsArgs());
+        nativeCommand.add("-v");
+
+        List<String> jvmCommand = new ArrayList<>();
+        jvmCommand.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+        jvmCommand.addAll(getCredentialsArgs());
+        jvmCommand.add("-cp");
+        jvmCommand.add(System.getProperty("surefire.test.class.path", System.getProperty("java.class.path")));
+        jvmCommand.add(HereAccessTokenProviderTutorial.class.getName());
+        jvmCommand.add("-v");
+
+        long nativeMillis = timeToFirstToken(nativeCommand);
+        long jvmMillis = timeToFirstToken(jvmCommand);
+
+        System.out.println("HereAccessTokenProviderTutorial time to first token: native image "
+                + nativeMillis + " ms, JVM " + jvmMillis + " ms");
+        assertTrue("native image " + nativeMillis + " ms was not faster than the JVM " + jvmMillis + " ms",
+                nativeMillis < jvmMillis);
+    }
+}
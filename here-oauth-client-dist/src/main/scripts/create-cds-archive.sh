@@ -0,0 +1,59 @@
+#!/bin/sh
+#
+# Copyright (c) 2026 HERE Europe B.V.
+#
+# Licensed under the Apache License, Version 2.0 (the "License");
+# you may not use this file except in compliance with the License.
+# You may obtain a copy of the License at
+#
+#     http://www.apache.org/licenses/LICENSE-2.0
+#
+# Unless required by applicable law or agreed to in writing, software
+# distributed under the License is distributed on an "AS IS" BASIS,
+# WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+# See the License for the specific language governing permissions and
+# limitations under the License.
+#
+# Creates an Application Class Data Sharing (AppCDS) archive from a training run
+# of your application, to reduce the JVM startup time of later runs.
+#
+# Usage:
+#   create-cds-archive.sh <archive-file> <java arguments for the training run...>
+#
+# Example, training with the tutorial that gets one HERE Access Token:
+#   create-cds-archive.sh here-oauth-client.jsa -jar examples/here-oauth-client-example-*.jar
+# then start with:
+#   java -XX:SharedArchiveFile=here-oauth-client.jsa -jar examples/here-oauth-client-example-*.jar
+#
+# The archive is only valid for the same JVM build and the same classpath.
+# Requires Java 10 or later; Java 8 JVMs do not support AppCDS for application classes.
+
+set -e
+
+if [ $# -lt 2 ]; then
+    sed -n '/^# Usage:/,/^# Requires/p' "$0" | sed 's/^# \{0,1\}//'
+    exit 1
+fi
+
+ARCHIVE_FILE=$1
+shift
+
+JAVA=${JAVA_HOME:+$JAVA_HOME/bin/}java
+JAVA_VERSION=$("$JAVA" -version 2>&1 | sed -n 's/.* version "\([0-9]*\).*/\1/p' | head -n 1)
+
+if [ -z "$JAVA_VERSION" ] || [ "$JAVA_VERSION" -lt 10 ]; then
+    echo "AppCDS for application classes requires Java 10 or later" >&2
+    exit 1
+elif [ "$JAVA_VERSION" -ge 13 ]; then
+    # dynamic archive, written when the training run exits
+    "$JAVA" -XX:ArchiveClassesAtExit="$ARCHIVE_FILE" "$@"
+else
+    # static archive, from the list of classes loaded by the training run
+    CLASS_LIST_FILE="$ARCHIVE_FILE.classlist"
+    "$JAVA" -XX:+UseAppCDS -XX:DumpLoadedClassList="$CLASS_LIST_FILE" "$@"
+    "$JAVA" -XX:+UseAppCDS -Xshare:dump -XX:SharedClassListFile="$CLASS_LIST_FILE" \
+        -XX:SharedArchiveFile="$ARCHIVE_FILE" "$@"
+    rm -f "$CLASS_LIST_FILE"
+fi
+
+echo "created $ARCHIVE_FILE; start with -XX:SharedArchiveFile=$ARCHIVE_FILE"
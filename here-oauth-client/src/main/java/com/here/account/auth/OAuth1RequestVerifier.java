@@ -0,0 +1,487 @@
+/*
+ * Copyright (c) 2026 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.here.account.auth;
+
+import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.MessageDigest;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.security.SignatureException;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import com.here.account.auth.OAuth1VerificationException.Reason;
+import com.here.account.util.Clock;
+import com.here.account.util.OAuthConstants;
+import com.here.account.util.SettableSystemClock;
+
+/**
+ * Verifies incoming requests signed per
+ * <a href="https://tools.ietf.org/html/rfc5849">The OAuth 1.0 Protocol</a>,
+ * as signed by {@link OAuth1Signer}; the server-side counterpart of
+ * {@link SignatureCalculator#constructAuthHeader(String, String, long, SignatureMethod)}.
+ *
+ * <p>
+ * Each {@link #verify(String, String, String, Map)} parses the Authorization header,
+ * rejects an oauth_timestamp outside the allowed clock skew, checks the signature
+ * with the consumer's verification key, and then rejects a replayed oauth_nonce.
+ * Per <a href="https://tools.ietf.org/html/rfc5849#section-3.3">RFC 5849 section 3.3</a>,
+ * a nonce must be unique among requests with the same consumer key and timestamp;
+ * since older timestamps are rejected anyway, nonces are only remembered while their
+ * timestamp is within the skew.
+ *
+ * <p>
+ * The nonce cache is striped by hash, so that concurrent requests rarely contend,
+ * and within each stripe grouped into buckets of timestamps, so that expired nonces are
+ * dropped a bucket at a time.
+ * Its memory is bounded: when a stripe is full, requests that land in it fail with
+ * {@link Reason#NONCE_CACHE_FULL} until its oldest bucket expires, rather than accepting
+ * requests that cannot be checked for replay.
+ *
+ * <p>
+ * Verification keys come from a function of the oauth_consumer_key:
+ * the client shared secret for HMAC-SHA1 and HMAC-SHA256,
+ * or the base64-encoded X.509 public key for ES512.
+ * The parsed key material is cached and reused until the function returns a different key.
+ * Instances are thread-safe.
+ */
+public class OAuth1RequestVerifier {
+
+    /**
+     * The default maximum difference between oauth_timestamp and the current time, in seconds.
+     */
+    public static final long DEFAULT_MAX_CLOCK_SKEW_SECONDS = 300L;
+
+    /**
+     * The default maximum number of nonces remembered.
+     */
+    public static final int DEFAULT_MAX_NONCES = 1000000;
+
+    /**
+     * The default width of the nonce cache's time buckets, in seconds.
+     */
+    public static final long DEFAULT_BUCKET_SECONDS = 10L;
+
+    private static final String OAUTH_PREFIX = "OAuth ";
+    private static final String OAUTH_VERSION = "1.0";
+    private static final String OAUTH_CONSUMER_KEY = "oauth_consumer_key";
+    private static final String OAUTH_SIGNATURE_METHOD = "oauth_signature_method";
+    private static final String OAUTH_SIGNATURE = "oauth_signature";
+    private static final String OAUTH_TIMESTAMP = "oauth_timestamp";
+    private static final String OAUTH_NONCE = "oauth_nonce";
+    private static final String OAUTH_VERSION_PARAMETER = "oauth_version";
+
+    /**
+     * Gets a new Builder for an OAuth1RequestVerifier.
+     *
+     * @return the Builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * By default the Builder allows {@link #DEFAULT_MAX_CLOCK_SKEW_SECONDS} of clock skew,
+     * and remembers up to {@link #DEFAULT_MAX_NONCES} nonces in
+     * {@link #DEFAULT_BUCKET_SECONDS}-second buckets,
+     * striped four ways per available processor.
+     * The verification key function is required.
+     */
+    public static class Builder {
+        private Clock clock = new SettableSystemClock();
+        private Function<String, String> verificationKeys;
+        private long maxClockSkewSeconds = DEFAULT_MAX_CLOCK_SKEW_SECONDS;
+        private int maxNonces = DEFAULT_MAX_NONCES;
+        private long bucketSeconds = DEFAULT_BUCKET_SECONDS;
+        private int stripes = 4 * Runtime.getRuntime().availableProcessors();
+
+        private Builder() {
+        }
+
+        /**
+         * Optionally set the clock used to check oauth_timestamp.
+         *
+         * @param clock the clock
+         * @return this Builder
+         */
+        public Builder setClock(Clock clock) {
+            this.clock = Objects.requireNonNull(clock, "clock cannot be null");
+            return this;
+        }
+
+        /**
+         * Set the function from oauth_consumer_key to verification key;
+         * the client shared secret for HMAC signature methods,
+         * or the base64-encoded X.509 public key for ES512.
+         * The function returns null for an unknown consumer key.
+         * It is called on every verification, so it should be fast.
+         *
+         * @param verificationKeys the verification key function
+         * @return this Builder
+         */
+        public Builder setVerificationKeys(Function<String, String> verificationKeys) {
+            this.verificationKeys = Objects.requireNonNull(verificationKeys, "verificationKeys cannot be null");
+            return this;
+        }
+
+        /**
+         * Optionally set the maximum difference between oauth_timestamp and the current time.
+         * Default is {@link #DEFAULT_MAX_CLOCK_SKEW_SECONDS}.
+         *
+         * @param maxClockSkewSeconds the maximum clock skew in seconds, at least 1
+         * @return this Builder
+         */
+        public Builder setMaxClockSkewSeconds(long maxClockSkewSeconds) {
+            if (maxClockSkewSeconds < 1L) {
+                throw new IllegalArgumentException("maxClockSkewSeconds must be at least 1: " + maxClockSkewSeconds);
+            }
+            this.maxClockSkewSeconds = maxClockSkewSeconds;
+            return this;
+        }
+
+        /**
+         * Optionally set the maximum number of nonces remembered.
+         * Default is {@link #DEFAULT_MAX_NONCES}.
+         *
+         * @param maxNonces the maximum number of nonces, at least 1
+         * @return this Builder
+         */
+        public Builder setMaxNonces(int maxNonces) {
+            if (maxNonces < 1) {
+                throw new IllegalArgumentException("maxNonces must be at least 1: " + maxNonces);
+            }
+            this.maxNonces = maxNonces;
+            return this;
+        }
+
+        /**
+         * Optionally set the width of the nonce cache's time buckets.
+         * Default is {@link #DEFAULT_BUCKET_SECONDS}.
+         *
+         * @param bucketSeconds the bucket width in seconds, at least 1
+         * @return this Builder
+         */
+        public Builder setBucketSeconds(long bucketSeconds) {
+            if (bucketSeconds < 1L) {
+                throw new IllegalArgumentException("bucketSeconds must be at least 1: " + bucketSeconds);
+            }
+            this.bucketSeconds = bucketSeconds;
+            return this;
+        }
+
+        /**
+         * Optionally set the number of independently locked stripes of the nonce cache.
+         * Default is four per available processor.
+         *
+         * @param stripes the number of stripes, at least 1
+         * @return this Builder
+         */
+        public Builder setStripes(int stripes) {
+            if (stripes < 1) {
+                throw new IllegalArgumentException("stripes must be at least 1: " + stripes);
+            }
+            this.stripes = stripes;
+            return this;
+        }
+
+        /**
+         * Build the OAuth1RequestVerifier.
+         *
+         * @return the built OAuth1RequestVerifier
+         */
+        public OAuth1RequestVerifier build() {
+            if (null == verificationKeys) {
+                throw new IllegalStateException("verificationKeys not set");
+            }
+            return new OAuth1RequestVerifier(this);
+        }
+    }
+
+    private final Clock clock;
+    private final Function<String, String> verificationKeys;
+    private final long maxClockSkewSeconds;
+    private final long bucketSeconds;
+    private final NonceStripe[] nonceStripes;
+    private final ConcurrentHashMap<String, CachedKey> cachedKeys = new ConcurrentHashMap<>();
+    private final ThreadLocal<Map<SignatureMethod, Mac>> macs = ThreadLocal.withInitial(HashMap::new);
+
+    private OAuth1RequestVerifier(Builder builder) {
+        this.clock = builder.clock;
+        this.verificationKeys = builder.verificationKeys;
+        this.maxClockSkewSeconds = builder.maxClockSkewSeconds;
+        this.bucketSeconds = builder.bucketSeconds;
+        int stripes = Math.min(builder.stripes, builder.maxNonces);
+        int maxNoncesPerStripe = (builder.maxNonces + stripes - 1) / stripes;
+        this.nonceStripes = new NonceStripe[stripes];
+        for (int i = 0; i < stripes; i++) {
+            nonceStripes[i] = new NonceStripe(maxNoncesPerStripe);
+        }
+    }
+
+    /**
+     * Verifies a request.
+     *
+     * @param method the HTTP method
+     * @param url the request URL, including any query string
+     * @param authorizationHeader the value of the Authorization header
+     * @param formParams the form parameters of an application/x-www-form-urlencoded body, or null
+     * @return the verified oauth_consumer_key
+     * @throws OAuth1VerificationException if the request fails verification
+     */
+    public String verify(String method, String url, String authorizationHeader,
+            Map<String, List<String>> formParams) {
+        Map<String, String> oauthParams = parseAuthorizationHeader(authorizationHeader);
+        String consumerKey = require(oauthParams, OAUTH_CONSUMER_KEY);
+        String signature = require(oauthParams, OAUTH_SIGNATURE);
+        String nonce = require(oauthParams, OAUTH_NONCE);
+        String oauthVersion = oauthParams.get(OAUTH_VERSION_PARAMETER);
+        if (null != oauthVersion && !OAUTH_VERSION.equals(oauthVersion)) {
+            throw new OAuth1VerificationException(Reason.MALFORMED_HEADER, "unsupported oauth_version " + oauthVersion);
+        }
+        SignatureMethod signatureMethod = getSignatureMethod(require(oauthParams, OAUTH_SIGNATURE_METHOD));
+        long timestamp;
+        try {
+            timestamp = Long.parseLong(require(oauthParams, OAUTH_TIMESTAMP));
+        } catch (NumberFormatException e) {
+            throw new OAuth1VerificationException(Reason.MALFORMED_HEADER, "oauth_timestamp is not a number");
+        }
+
+        long nowSeconds = TimeUnit.MILLISECONDS.toSeconds(clock.currentTimeMillis());
+        if (Math.abs(nowSeconds - timestamp) > maxClockSkewSeconds) {
+            throw new OAuth1VerificationException(Reason.TIMESTAMP_SKEW, "oauth_timestamp " + timestamp
+                    + " is more than " + maxClockSkewSeconds + " seconds from " + nowSeconds);
+        }
+
+        String verificationKey = verificationKeys.apply(consumerKey);
+        if (null == verificationKey) {
+            throw new OAuth1VerificationException(Reason.UNKNOWN_CONSUMER_KEY, "unknown oauth_consumer_key "
+                    + consumerKey);
+        }
+
+        Map<String, List<String>> queryParams = null;
+        int qPos = url.indexOf('?');
+        if (qPos != -1) {
+            queryParams = SignatureCalculator.parseQueryParams(url.substring(qPos + 1));
+            url = url.substring(0, qPos);
+        }
+        String signatureBaseString = SignatureCalculator.computeSignatureBaseString(consumerKey, method, url,
+                timestamp, nonce, signatureMethod, oauthVersion, formParams, queryParams);
+        if (!isSignatureValid(signatureBaseString, signatureMethod, signature,
+                getKey(consumerKey, signatureMethod, verificationKey))) {
+            throw new OAuth1VerificationException(Reason.INVALID_SIGNATURE, "oauth_signature does not match");
+        }
+
+        // only remember nonces of authentic requests, so that forgeries cannot fill the cache
+        long oldestLiveBucket = Math.floorDiv(nowSeconds - maxClockSkewSeconds, bucketSeconds);
+        String nonceKey = consumerKey + '&' + timestamp + '&' + nonce;
+        NonceStripe nonceStripe = nonceStripes[(nonceKey.hashCode() & Integer.MAX_VALUE) % nonceStripes.length];
+        nonceStripe.add(Math.floorDiv(timestamp, bucketSeconds), nonceKey, oldestLiveBucket);
+        return consumerKey;
+    }
+
+    /**
+     * @return the number of nonces currently remembered
+     */
+    public int getNonceCount() {
+        int nonceCount = 0;
+        for (NonceStripe nonceStripe : nonceStripes) {
+            nonceCount += nonceStripe.size();
+        }
+        return nonceCount;
+    }
+
+    /**
+     * Parses an Authorization header of the form constructed by
+     * {@link SignatureCalculator#constructAuthHeader(String, String, long, SignatureMethod)},
+     * per <a href="https://tools.ietf.org/html/rfc5849#section-3.5.1">RFC 5849 section 3.5.1</a>.
+     * The realm parameter is ignored.
+     */
+    static Map<String, String> parseAuthorizationHeader(String authorizationHeader) {
+        if (null == authorizationHeader
+                || !authorizationHeader.regionMatches(true, 0, OAUTH_PREFIX, 0, OAUTH_PREFIX.length())) {
+            throw new OAuth1VerificationException(Reason.MALFORMED_HEADER, "not an OAuth Authorization header");
+        }
+        Map<String, String> oauthParams = new HashMap<>();
+        for (String param : authorizationHeader.substring(OAUTH_PREFIX.length()).split(",")) {
+            param = param.trim();
+            int eq = param.indexOf('=');
+            if (eq <= 0 || param.length() < eq + 3 || param.charAt(eq + 1) != '"'
+                    || param.charAt(param.length() - 1) != '"') {
+                throw new OAuth1VerificationException(Reason.MALFORMED_HEADER, "malformed parameter");
+            }
+            String name = param.substring(0, eq);
+            if ("realm".equals(name)) {
+                continue;
+            }
+            String value;
+            try {
+                value = URLDecoder.decode(param.substring(eq + 2, param.length() - 1), OAuthConstants.UTF_8_STRING);
+            } catch (UnsupportedEncodingException | IllegalArgumentException e) {
+                throw new OAuth1VerificationException(Reason.MALFORMED_HEADER, "malformed value of " + name);
+            }
+            if (null != oauthParams.put(name, value)) {
+                throw new OAuth1VerificationException(Reason.MALFORMED_HEADER, "duplicate " + name);
+            }
+        }
+        return oauthParams;
+    }
+
+    private static String require(Map<String, String> oauthParams, String name) {
+        String value = oauthParams.get(name);
+        if (null == value || value.isEmpty()) {
+            throw new OAuth1VerificationException(Reason.MALFORMED_HEADER, "missing " + name);
+        }
+        return value;
+    }
+
+    private static SignatureMethod getSignatureMethod(String oauth1SignatureMethod) {
+        for (SignatureMethod signatureMethod : SignatureMethod.values()) {
+            if (signatureMethod.getOauth1SignatureMethod().equals(oauth1SignatureMethod)) {
+                return signatureMethod;
+            }
+        }
+        throw new OAuth1VerificationException(Reason.UNSUPPORTED_SIGNATURE_METHOD,
+                "unsupported oauth_signature_method " + oauth1SignatureMethod);
+    }
+
+    /**
+     * The parsed key material for one consumer key and signature method,
+     * valid while the verification key function returns the same key.
+     */
+    private static class CachedKey {
+        private final String verificationKey;
+        private final Key key;
+
+        private CachedKey(String verificationKey, Key key) {
+            this.verificationKey = verificationKey;
+            this.key = key;
+        }
+    }
+
+    private Key getKey(String consumerKey, SignatureMethod signatureMethod, String verificationKey) {
+        String cacheKey = signatureMethod.name() + '&' + consumerKey;
+        CachedKey cachedKey = cachedKeys.get(cacheKey);
+        if (null == cachedKey || !cachedKey.verificationKey.equals(verificationKey)) {
+            cachedKey = new CachedKey(verificationKey, toKey(signatureMethod, verificationKey));
+            cachedKeys.put(cacheKey, cachedKey);
+        }
+        return cachedKey.key;
+    }
+
+    private static Key toKey(SignatureMethod signatureMethod, String verificationKey) {
+        if (SignatureMethod.ES512.equals(signatureMethod)) {
+            try {
+                byte[] keyBytes = Base64.getDecoder().decode(verificationKey);
+                return KeyFactory.getInstance(SignatureCalculator.ELLIPTIC_CURVE_ALGORITHM)
+                        .generatePublic(new X509EncodedKeySpec(keyBytes));
+            } catch (GeneralSecurityException | IllegalArgumentException e) {
+                throw new IllegalArgumentException("trouble parsing ES512 verification key: " + e, e);
+            }
+        }
+        // the same key as SignatureCalculator signs with: the encoded client shared secret and an empty token secret
+        byte[] keyBytes = (SignatureCalculator.urlEncode(verificationKey) + "&").getBytes(OAuthConstants.UTF_8_CHARSET);
+        return new SecretKeySpec(keyBytes, signatureMethod.getAlgorithm());
+    }
+
+    private boolean isSignatureValid(String signatureBaseString, SignatureMethod signatureMethod,
+            String signature, Key key) {
+        byte[] signatureBytes;
+        try {
+            signatureBytes = Base64.getDecoder().decode(signature);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        byte[] signedBytes = signatureBaseString.getBytes(OAuthConstants.UTF_8_CHARSET);
+        try {
+            if (SignatureMethod.ES512.equals(signatureMethod)) {
+                Signature verifier = Signature.getInstance(signatureMethod.getAlgorithm());
+                verifier.initVerify((PublicKey) key);
+                verifier.update(signedBytes);
+                return verifier.verify(signatureBytes);
+            }
+            Map<SignatureMethod, Mac> threadMacs = macs.get();
+            Mac mac = threadMacs.get(signatureMethod);
+            if (null == mac) {
+                mac = Mac.getInstance(signatureMethod.getAlgorithm());
+                threadMacs.put(signatureMethod, mac);
+            }
+            mac.init(key);
+            // constant-time comparison, so that timing does not reveal the expected signature
+            return MessageDigest.isEqual(mac.doFinal(signedBytes), signatureBytes);
+        } catch (SignatureException e) {
+            // a malformed ECDSA signature
+            return false;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    /**
+     * One lock's share of the nonce cache:
+     * the nonces seen, grouped by timestamp bucket.
+     */
+    private static class NonceStripe {
+        private final int maxNonces;
+        private final TreeMap<Long, Set<String>> buckets = new TreeMap<>();
+        private int size;
+
+        private NonceStripe(int maxNonces) {
+            this.maxNonces = maxNonces;
+        }
+
+        synchronized void add(long bucket, String nonceKey, long oldestLiveBucket) {
+            Map.Entry<Long, Set<String>> oldest;
+            while (null != (oldest = buckets.firstEntry()) && oldest.getKey() < oldestLiveBucket) {
+                size -= oldest.getValue().size();
+                buckets.pollFirstEntry();
+            }
+            Set<String> nonceKeys = buckets.get(bucket);
+            if (null != nonceKeys && nonceKeys.contains(nonceKey)) {
+                throw new OAuth1VerificationException(Reason.REPLAYED_NONCE, "oauth_nonce already used");
+            }
+            if (size >= maxNonces) {
+                throw new OAuth1VerificationException(Reason.NONCE_CACHE_FULL, "too many recent nonces");
+            }
+            if (null == nonceKeys) {
+                nonceKeys = new HashSet<>();
+                buckets.put(bucket, nonceKeys);
+            }
+            nonceKeys.add(nonceKey);
+            size++;
+        }
+
+        synchronized int size() {
+            return size;
+        }
+    }
+}
@@ -17,17 +17,13 @@ package com.here.account.auth;
 
 import com.here.account.http.HttpProvider;
 import com.here.account.http.HttpProvider.HttpRequest;
+import com.here.account.http.RequestTemplate;
 import com.here.account.util.Clock;
-import com.here.account.util.OAuthConstants;
 import com.here.account.util.SettableSystemClock;
 
-import java.io.UnsupportedEncodingException;
-import java.net.URLDecoder;
 import java.util.Base64;
 import java.util.List;
 import java.util.Map;
-import java.util.HashMap;
-import java.util.ArrayList;
 import java.util.concurrent.ThreadLocalRandom;
 
 /**
@@ -147,30 +143,7 @@ public class OAuth1Signer implements HttpProvider.HttpRequestAuthorizer {
      * @return map containing list of query parameters.
      */
     protected Map<String, List<String>> getQueryParams(String query) {
-        Map<String, List<String>> queryParams = new HashMap<>();
-        String[] kvPairs = query.split("&");
-        for (String kvPair : kvPairs) {
-            int ix = kvPair.indexOf("=");
-            String key = kvPair;
-            String value = "";
-            if (ix != -1) {
-                key = kvPair.substring(0, ix);
-                value = kvPair.substring(ix + 1);
-            }
-            try {
-                key = URLDecoder.decode(key, OAuthConstants.UTF_8_STRING);
-                value = URLDecoder.decode(value, OAuthConstants.UTF_8_STRING);
-            } catch (UnsupportedEncodingException e) {
-                throw new IllegalArgumentException(e);
-            }
-            List<String> values = queryParams.get(key);
-            if (values == null) {
-                values = new ArrayList<>();
-                queryParams.put(key, values);
-            }
-            values.add(value);
-        }
-        return queryParams;
+        return SignatureCalculator.parseQueryParams(query);
     }
 
     /**
@@ -199,10 +172,7 @@ public class OAuth1Signer implements HttpProvider.HttpRequestAuthorizer {
         // <a href="https://tools.ietf.org/html/rfc5849#section-3.3">timestamp</no I a>.
         // the number of seconds since January 1, 1970 00:00:00 GMT
         long timestamp = clock.currentTimeMillis() / 1000L;
-        // choose the first 6 chars from base64 alphabet
-        byte[] bytes = new byte[NONCE_LENGTH]; 
-        nextBytes(bytes);
-        String nonce = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes).substring(0, NONCE_LENGTH);
+        String nonce = nextNonce();
         int qPos = url.indexOf('?');
         Map<String, List<String>> queryParams = null;
         if (qPos != -1) {
@@ -219,6 +189,34 @@ public class OAuth1Signer implements HttpProvider.HttpRequestAuthorizer {
                 signatureMethod);
     }
 
+    /**
+     * Same as getAuthorizationHeaderValue for a method and URL,
+     * but starting from the base string parts prepared once for the template.
+     */
+    private String getAuthorizationHeaderValue(RequestTemplate requestTemplate,
+            Map<String, List<String>> formParams) {
+        SignatureCalculator calculator = getSignatureCalculator();
+        SignatureCalculator.BaseStringTemplate baseStringTemplate = requestTemplate.getPrepared(
+                SignatureCalculator.BaseStringTemplate.class,
+                template -> new SignatureCalculator.BaseStringTemplate(
+                        template.getMethod(), template.getBaseUrl(), template.getQueryParams()));
+        long timestamp = clock.currentTimeMillis() / 1000L;
+        String nonce = nextNonce();
+        String computedSignature = calculator.calculateSignature(baseStringTemplate, timestamp, nonce,
+                signatureMethod, formParams);
+        return calculator.constructAuthHeader(computedSignature, nonce, timestamp,
+                signatureMethod);
+    }
+
+    /**
+     * @return a new nonce: the first 6 chars from the base64 alphabet
+     */
+    private String nextNonce() {
+        byte[] bytes = new byte[NONCE_LENGTH]; 
+        nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes).substring(0, NONCE_LENGTH);
+    }
+
     /**
      * Gets the signature calculator, given that we don't use a user auth, and we do use 
      * the configured client accessKeyId, client accessKeySecret pair.
@@ -242,4 +240,16 @@ public class OAuth1Signer implements HttpProvider.HttpRequestAuthorizer {
         httpRequest.addAuthorizationHeader(authorizationHeaderValue);
     }
 
+    /**
+     * {@inheritDoc}
+     * The signature base string prefix and the encoded query parameters are
+     * computed once per template, rather than on every request.
+     */
+    @Override
+    public void authorize(HttpRequest httpRequest, RequestTemplate requestTemplate,
+            Map<String, List<String>> formParams) {
+        String authorizationHeaderValue = getAuthorizationHeaderValue(requestTemplate, formParams);
+        httpRequest.addAuthorizationHeader(authorizationHeaderValue);
+    }
+
 }
@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2026 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.here.account.auth;
+
+/**
+ * If an incoming OAuth1.0 signed request failed verification by an
+ * {@link OAuth1RequestVerifier}, you get an OAuth1VerificationException.
+ * The {@link #getReason() reason} says why; servers typically answer
+ * every reason with HTTP status 401.
+ */
+public class OAuth1VerificationException extends RuntimeException {
+
+    /**
+     * default.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Why a request failed verification.
+     */
+    public enum Reason {
+        /**
+         * The Authorization header is missing, is not an OAuth header,
+         * or lacks a required parameter.
+         */
+        MALFORMED_HEADER,
+        /**
+         * The oauth_signature_method is not one of the {@link SignatureMethod}s.
+         */
+        UNSUPPORTED_SIGNATURE_METHOD,
+        /**
+         * The oauth_timestamp is further from the current time than the allowed clock skew.
+         */
+        TIMESTAMP_SKEW,
+        /**
+         * No verification key is known for the oauth_consumer_key.
+         */
+        UNKNOWN_CONSUMER_KEY,
+        /**
+         * The oauth_signature does not match the request.
+         */
+        INVALID_SIGNATURE,
+        /**
+         * The oauth_nonce was already used with the same oauth_consumer_key and oauth_timestamp.
+         */
+        REPLAYED_NONCE,
+        /**
+         * The nonce cache is full, so the request cannot be checked for replay.
+         */
+        NONCE_CACHE_FULL
+    }
+
+    private final Reason reason;
+
+    public OAuth1VerificationException(Reason reason, String message) {
+        super(reason + ": " + message);
+        this.reason = reason;
+    }
+
+    public Reason getReason() {
+        return reason;
+    }
+
+}
@@ -15,6 +15,7 @@
  */
 package com.here.account.auth;
 
+import com.here.account.http.RequestTemplate;
 import com.here.account.util.OAuthConstants;
 
 import javax.crypto.Mac;
@@ -202,64 +203,120 @@ public class SignatureCalculator {
      * @param queryParams     list of query parameters
      * @return computed OAuth 1.0 signature base string.
      */
-    private static String computeSignatureBaseString(String consumerKey, String method, String baseURL, long oauthTimestamp,
+    static String computeSignatureBaseString(String consumerKey, String method, String baseURL, long oauthTimestamp,
                                      String nonce, SignatureMethod signatureMethod,
                                      String oauthVersion,
                                      Map<String, List<String>> formParams,
                                      Map<String, List<String>> queryParams) {
-        //Create signature base with the http method and base url
-        StringBuilder signatureBaseString = new StringBuilder(100);
-        signatureBaseString.append(method.toUpperCase());
-        signatureBaseString.append('&');
-        signatureBaseString.append(urlEncode(normalizeBaseURL(baseURL)));
-
-        //create parameter set with OAuth parameters
-        // 3.4.1.3.1.  Parameter Sources
-        OAuthParameterSet parameterSet = new OAuthParameterSet();
-
-        // The OAuth HTTP "Authorization" header field (Section 3.5.1) if
-        // present.  The header's content is parsed into a list of name/value
-        // pairs excluding the "realm" parameter if present.  The parameter
-        // values are decoded as defined by Section 3.5.1.
-        parameterSet.add("oauth_consumer_key", consumerKey); // decoded consumerKey
-        parameterSet.add("oauth_nonce", nonce);
-        parameterSet.add("oauth_signature_method", signatureMethod.getOauth1SignatureMethod());
-        parameterSet.add("oauth_timestamp", String.valueOf(oauthTimestamp));
-        if (null != oauthVersion) {
-            parameterSet.add("oauth_version", oauthVersion);
-        }
+        return new BaseStringTemplate(method, baseURL, queryParams)
+                .toBaseString(consumerKey, oauthTimestamp, nonce, signatureMethod, oauthVersion, formParams);
+    }
 
-        //add form parameters
-        if (formParams != null && !formParams.isEmpty()) {
-            for (String key : formParams.keySet()) {
-                List<String> values = formParams.get(key);
-                for (String value : values) {
-                    parameterSet.add(key, value);
+    /**
+     * Calculate the OAuth 1.0 signature for a request to the template's method and URL,
+     * with oauthVersion hard-coded to "1.0".
+     *
+     * @param baseStringTemplate the method, base URL, and query parameters
+     * @param oauthTimestamp  the time stamp
+     * @param nonce           nonce
+     * @param signatureMethod signature method to be used - supported are HMAC-SHA1, HMAC-SHA256, ES512
+     * @param formParams      the list of form parameters
+     * @return computed signature using the requested signature method.
+     */
+    String calculateSignature(BaseStringTemplate baseStringTemplate, long oauthTimestamp,
+            String nonce, SignatureMethod signatureMethod,
+            Map<String, List<String>> formParams) {
+        String signatureBaseString = baseStringTemplate.toBaseString(this.consumerKey, oauthTimestamp, nonce,
+                signatureMethod, "1.0", formParams);
+        return generateSignature(signatureBaseString, this.consumerSecret, signatureMethod);
+    }
+
+    /**
+     * The parts of the signature base string that are the same for every request
+     * with the same method and URL: the method, the encoded base string URI,
+     * and the encoded query parameters.
+     * Computing them once saves most of the work of signing repeated requests.
+     */
+    static final class BaseStringTemplate {
+
+        private final String prefix;
+        private final List<Parameter> queryParameters;
+
+        /**
+         * @param method          the HTTP method
+         * @param baseURL         the base url including the protocol, host, port, and path
+         * @param queryParams     list of query parameters, or null
+         */
+        BaseStringTemplate(String method, String baseURL, Map<String, List<String>> queryParams) {
+            //Create signature base with the http method and base url
+            this.prefix = method.toUpperCase() + '&' + urlEncode(normalizeBaseURL(baseURL)) + '&';
+
+            //add query parameters
+            List<Parameter> queryParameters = new ArrayList<>();
+            if (queryParams != null && !queryParams.isEmpty()) {
+                for (String key : queryParams.keySet()) {
+                    List<String> values = queryParams.get(key);
+                    for (String value : values) {
+                        queryParameters.add(new Parameter(urlEncode(key), urlEncode(value)));
+                    }
                 }
             }
+            this.queryParameters = queryParameters;
         }
 
-        //add query parameters
-        if (queryParams != null && !queryParams.isEmpty()) {
-            for (String key : queryParams.keySet()) {
-                List<String> values = queryParams.get(key);
-                for (String value : values) {
-                    parameterSet.add(key, value);
+        /**
+         * Calculate the OAuth 1.0 signature base string for one request.
+         *
+         * @param consumerKey     the consumer key
+         * @param oauthTimestamp  the time stamp
+         * @param nonce           nonce
+         * @param signatureMethod signature method to be used - supported are HMAC-SHA1, HMAC-SHA256, ES512
+         * @param oauthVersion    the oauth_version value, or null to omit it
+         * @param formParams      the list of form parameters
+         * @return computed OAuth 1.0 signature base string.
+         */
+        String toBaseString(String consumerKey, long oauthTimestamp, String nonce, SignatureMethod signatureMethod,
+                String oauthVersion, Map<String, List<String>> formParams) {
+            //create parameter set with OAuth parameters
+            // 3.4.1.3.1.  Parameter Sources
+            OAuthParameterSet parameterSet = new OAuthParameterSet();
+
+            // The OAuth HTTP "Authorization" header field (Section 3.5.1) if
+            // present.  The header's content is parsed into a list of name/value
+            // pairs excluding the "realm" parameter if present.  The parameter
+            // values are decoded as defined by Section 3.5.1.
+            parameterSet.add("oauth_consumer_key", consumerKey); // decoded consumerKey
+            parameterSet.add("oauth_nonce", nonce);
+            parameterSet.add("oauth_signature_method", signatureMethod.getOauth1SignatureMethod());
+            parameterSet.add("oauth_timestamp", String.valueOf(oauthTimestamp));
+            if (null != oauthVersion) {
+                parameterSet.add("oauth_version", oauthVersion);
+            }
+
+            //add form parameters
+            if (formParams != null && !formParams.isEmpty()) {
+                for (String key : formParams.keySet()) {
+                    List<String> values = formParams.get(key);
+                    for (String value : values) {
+                        parameterSet.add(key, value);
+                    }
                 }
             }
-        }
 
-        //sort the parameters by the key and format them into key=value concatenated with &
-        String parameterString = parameterSet.sortAndConcat();
-        //combine the signature base and parameters
-        signatureBaseString.append('&');
-        signatureBaseString.append(urlEncode(parameterString));
+            //add the already encoded query parameters
+            parameterSet.allParameters.addAll(queryParameters);
 
-        if (LOG.isLoggable(Level.FINE)) {
-            LOG.fine("signatureBaseString=" + signatureBaseString);
-        }
+            //sort the parameters by the key and format them into key=value concatenated with &
+            String parameterString = parameterSet.sortAndConcat();
+            //combine the signature base and parameters
+            String signatureBaseString = prefix + urlEncode(parameterString);
 
-        return signatureBaseString.toString();
+            if (LOG.isLoggable(Level.FINE)) {
+                LOG.fine("signatureBaseString=" + signatureBaseString);
+            }
+
+            return signatureBaseString;
+        }
     }
 
     /**
@@ -353,6 +410,16 @@ public class SignatureCalculator {
         }
     }
 
+    /**
+     * Extract query parameters from a raw query string, decoding names and values.
+     *
+     * @param query is the raw query string as a substring from the URL.
+     * @return map containing list of query parameters.
+     */
+    static Map<String, List<String>> parseQueryParams(String query) {
+        return RequestTemplate.parseQuery(query);
+    }
+
     /**
      * Remove the default port from the baseURL
      */
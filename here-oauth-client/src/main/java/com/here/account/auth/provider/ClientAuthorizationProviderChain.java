@@ -17,6 +17,9 @@ package com.here.account.auth.provider;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
 import java.util.logging.Logger;
 
 import com.here.account.http.HttpConstants.HttpMethods;
@@ -34,20 +37,44 @@ public class ClientAuthorizationProviderChain implements ClientAuthorizationRequ
 
     private static final Logger LOG = Logger.getLogger(ClientAuthorizationProviderChain.class.getName());
     private ClientAuthorizationRequestProvider mostRecentProvider = null;
-    private List<ClientAuthorizationRequestProvider> clientAuthorizationProviders;
+    private List<Supplier<ClientAuthorizationRequestProvider>> clientAuthorizationProviders;
 
     public ClientAuthorizationProviderChain(ClientAuthorizationRequestProvider... clientAuthorizationProviders) {
-        this.clientAuthorizationProviders = new ArrayList<ClientAuthorizationRequestProvider>();
+        this.clientAuthorizationProviders = new ArrayList<Supplier<ClientAuthorizationRequestProvider>>();
         for (ClientAuthorizationRequestProvider clientAuthorizationProvider : clientAuthorizationProviders) {
-            this.clientAuthorizationProviders.add(clientAuthorizationProvider);
+            this.clientAuthorizationProviders.add(new LazyProvider(clientAuthorizationProvider));
         }
     }
 
     public ClientAuthorizationProviderChain(List<ClientCredentialsProvider> clientAuthorizationProviders) {
-        this.clientAuthorizationProviders = new ArrayList<ClientAuthorizationRequestProvider>(clientAuthorizationProviders);
+        this.clientAuthorizationProviders = new ArrayList<Supplier<ClientAuthorizationRequestProvider>>();
+        for (ClientAuthorizationRequestProvider clientAuthorizationProvider : clientAuthorizationProviders) {
+            this.clientAuthorizationProviders.add(new LazyProvider(clientAuthorizationProvider));
+        }
     }
 
     /**
+     * Constructs a chain whose providers are created on first use, in order.
+     * Providers after the first one that supplies credentials are never created,
+     * so their classes are never loaded.
+     *
+     * @param providerSuppliers the factories for the providers, in preference order
+     * @return the ClientAuthorizationProviderChain
+     */
+    @SafeVarargs
+    public static ClientAuthorizationProviderChain ofLazyProviders(
+            Supplier<? extends ClientAuthorizationRequestProvider>... providerSuppliers) {
+        ClientAuthorizationProviderChain chain = new ClientAuthorizationProviderChain();
+        for (Supplier<? extends ClientAuthorizationRequestProvider> providerSupplier : providerSuppliers) {
+            chain.clientAuthorizationProviders.add(new LazyProvider(providerSupplier));
+        }
+        return chain;
+    }
+
+    /**
+     * The providers in this chain are created lazily,
+     * so this no longer does any work at class initialization.
+     *
      * @deprecated use {@link #getNewDefaultClientCredentialsProviderChain(Clock)}
      */
     @Deprecated
@@ -68,21 +95,20 @@ public class ClientAuthorizationProviderChain implements ClientAuthorizationRequ
      *     <li>file:///dev/shm/identity/access-token file</li>
      * </ul>
      *
+     * <p>
+     * Each provider is created only when the providers before it have no credentials.
+     *
      * @param clock the clock implementation to use
      * @return the ClientAuthorizationProviderChain with default implementations in preference order
      */
     public static ClientAuthorizationProviderChain getNewDefaultClientCredentialsProviderChain(
             Clock clock
     ) {
-        ClientAuthorizationRequestProvider systemProvider = new FromSystemProperties(clock);
-        ClientAuthorizationRequestProvider iniFileProvider = new FromHereCredentialsIniFile(clock);
-        ClientAuthorizationRequestProvider propertiesFileProvider = new FromDefaultHereCredentialsPropertiesFile(clock);
-        ClientAuthorizationRequestProvider runAsIdFileProvider = new FromRunAsIdFileProvider(clock);
-        return new ClientAuthorizationProviderChain(
-                systemProvider,
-                iniFileProvider,
-                propertiesFileProvider,
-                runAsIdFileProvider
+        return ofLazyProviders(
+                () -> new FromSystemProperties(clock),
+                () -> new FromHereCredentialsIniFile(clock),
+                () -> new FromDefaultHereCredentialsPropertiesFile(clock),
+                () -> new FromRunAsIdFileProvider(clock)
                 );
     }
 
@@ -91,8 +117,11 @@ public class ClientAuthorizationProviderChain implements ClientAuthorizationRequ
             return mostRecentProvider;
         }
 
-        for (ClientAuthorizationRequestProvider credentials : clientAuthorizationProviders) {
+        for (Supplier<ClientAuthorizationRequestProvider> provider : clientAuthorizationProviders) {
+            ClientAuthorizationRequestProvider credentials = null;
             try {
+                // a lazy provider is created here, and may fail while reading its files
+                credentials = provider.get();
                 if (null != credentials.getTokenEndpointUrl() && credentials.getTokenEndpointUrl() != ""
                     && null != credentials.getClientAuthorizer()) {
                     LOG.info("Loading credentials from " + credentials.toString());
@@ -102,7 +131,7 @@ public class ClientAuthorizationProviderChain implements ClientAuthorizationRequ
                 }
             } catch (Exception e) {
                 // Ignore any exceptions and move onto the next provider
-                LOG.warning("Unable to load credentials from " + credentials.toString() +
+                LOG.warning("Unable to load credentials from " + (null != credentials ? credentials : provider) +
                         ": " + e.getMessage());
             }
         }
@@ -157,4 +186,41 @@ public class ClientAuthorizationProviderChain implements ClientAuthorizationRequ
     public String getScope() {
         return getClientCredentialsProvider().getScope();
     }
+
+    /**
+     * Creates its provider once, on first use.
+     * Creating a provider may read files, so a lock is used rather than synchronized,
+     * which would pin a virtual thread to its carrier during the I/O.
+     */
+    private static class LazyProvider implements Supplier<ClientAuthorizationRequestProvider> {
+        private final Lock lock = new ReentrantLock();
+        private Supplier<? extends ClientAuthorizationRequestProvider> providerSupplier;
+        private volatile ClientAuthorizationRequestProvider provider;
+
+        private LazyProvider(ClientAuthorizationRequestProvider provider) {
+            this.provider = provider;
+        }
+
+        private LazyProvider(Supplier<? extends ClientAuthorizationRequestProvider> providerSupplier) {
+            this.providerSupplier = providerSupplier;
+        }
+
+        @Override
+        public ClientAuthorizationRequestProvider get() {
+            ClientAuthorizationRequestProvider provider = this.provider;
+            if (null != provider) {
+                return provider;
+            }
+            lock.lock();
+            try {
+                if (null == this.provider) {
+                    this.provider = providerSupplier.get();
+                    providerSupplier = null;
+                }
+                return this.provider;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
 }
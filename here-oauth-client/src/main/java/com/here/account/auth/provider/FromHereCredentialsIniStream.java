@@ -4,16 +4,12 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
-import java.util.Iterator;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Properties;
 
 import com.here.account.util.Clock;
 import com.here.account.util.SettableSystemClock;
-import org.apache.commons.configuration2.INIConfiguration;
-import org.apache.commons.configuration2.ex.ConfigurationException;
-import org.apache.commons.configuration2.HierarchicalConfiguration;
-import org.apache.commons.configuration2.tree.ImmutableNode;
 
 import com.here.account.auth.OAuth1ClientCredentialsProvider;
 import com.here.account.http.HttpConstants.HttpMethods;
@@ -68,23 +64,20 @@ implements ClientAuthorizationRequestProvider {
         try {
             Properties properties = getPropertiesFromIni(inputStream, sectionName);
             return FromSystemProperties.getClientCredentialsProviderWithDefaultTokenEndpointUrl(clock, properties);
-        } catch (IOException | ConfigurationException e) {
+        } catch (IOException e) {
             throw new RequestProviderException("trouble FromFile " + e, e);
         }
     }
 
     static final String DEFAULT_INI_SECTION_NAME = "default";
 
-    static Properties getPropertiesFromIni(InputStream inputStream, String sectionName) throws IOException, ConfigurationException {
+    static Properties getPropertiesFromIni(InputStream inputStream, String sectionName) throws IOException {
         try (Reader reader = new InputStreamReader(inputStream, OAuthConstants.UTF_8_CHARSET)) {
-            INIConfiguration ini = new INIConfiguration();
-            ini.read(reader);
-            HierarchicalConfiguration<ImmutableNode> section = ini.getSection(sectionName);
+            Map<String, String> section = IniParser.readSection(reader, sectionName);
             Properties properties = new Properties();
-            Iterator<String> it = section.getKeys();
-            while (it.hasNext()) {
-                String key = it.next();
-                String value = section.getString(key);
+            for (Map.Entry<String, String> entry : section.entrySet()) {
+                String key = entry.getKey();
+                String value = entry.getValue();
                 switch (key.replaceAll("\\.+", ".")) {
                     case OAuth1ClientCredentialsProvider.FromProperties.TOKEN_ENDPOINT_URL_PROPERTY:
                         properties.put(OAuth1ClientCredentialsProvider.FromProperties.TOKEN_ENDPOINT_URL_PROPERTY, value);
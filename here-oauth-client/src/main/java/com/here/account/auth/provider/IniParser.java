@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2026 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.here.account.auth.provider;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A small reader for the INI file format used by credentials.ini files.
+ *
+ * <p>
+ * It follows the conventions of commons-configuration's INIConfiguration:
+ * <ul>
+ *     <li>lines starting with ';' or '#' are comments</li>
+ *     <li>[name] starts a section; repeated sections are merged</li>
+ *     <li>keys and values are separated by the first '=' or ':'</li>
+ *     <li>values may be quoted with '"' or '\'', and a quoted value may contain
+ *         backslash-escaped quotes</li>
+ *     <li>an unquoted value ends at a ';' or '#' preceded by whitespace</li>
+ *     <li>an unquoted value ending in '\' continues on the next line</li>
+ *     <li>if a key repeats within a section, the first value wins</li>
+ * </ul>
+ */
+final class IniParser {
+
+    private static final String COMMENT_CHARS = ";#";
+    private static final String SEPARATOR_CHARS = "=:";
+    private static final String QUOTE_CHARS = "\"'";
+    private static final char LINE_CONTINUATION = '\\';
+
+    /**
+     * This class cannot be instantiated.
+     */
+    private IniParser() {}
+
+    /**
+     * Reads the key/value pairs of the named section.
+     *
+     * @param reader the INI content
+     * @param sectionName the section to read
+     * @return the key/value pairs of the section in file order, empty if there is no such section
+     * @throws IOException if I/O trouble reading
+     */
+    static Map<String, String> readSection(Reader reader, String sectionName) throws IOException {
+        Map<String, String> section = new LinkedHashMap<String, String>();
+        BufferedReader bufferedReader = new BufferedReader(reader);
+        // keys before any section header belong to the unnamed global section
+        boolean inSection = null == sectionName;
+        String line;
+        while (null != (line = bufferedReader.readLine())) {
+            line = line.trim();
+            if (line.isEmpty() || COMMENT_CHARS.indexOf(line.charAt(0)) >= 0) {
+                continue;
+            }
+            if (line.charAt(0) == '[' && line.charAt(line.length() - 1) == ']') {
+                inSection = line.substring(1, line.length() - 1).equals(sectionName);
+                continue;
+            }
+
+            int separator = findSeparator(line);
+            String key;
+            String value;
+            if (separator < 0) {
+                key = line;
+                value = "";
+            } else {
+                key = line.substring(0, separator).trim();
+                value = line.substring(separator + 1).trim();
+            }
+
+            StringBuilder buf = new StringBuilder();
+            boolean continued = parseValue(value, buf);
+            while (continued && null != (line = bufferedReader.readLine())) {
+                buf.append('\n');
+                continued = parseValue(line.trim(), buf);
+            }
+
+            if (inSection && !key.isEmpty() && !section.containsKey(key)) {
+                section.put(key, buf.toString());
+            }
+        }
+        return section;
+    }
+
+    private static int findSeparator(String line) {
+        for (int i = 0; i < line.length(); i++) {
+            if (SEPARATOR_CHARS.indexOf(line.charAt(i)) >= 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Appends the parsed value to buf.
+     *
+     * @param value the trimmed raw value
+     * @param buf the buffer for the parsed value
+     * @return true if the value continues on the next line
+     */
+    private static boolean parseValue(String value, StringBuilder buf) {
+        if (value.isEmpty()) {
+            return false;
+        }
+        char quote = value.charAt(0);
+        if (QUOTE_CHARS.indexOf(quote) >= 0) {
+            for (int i = 1; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == LINE_CONTINUATION && i + 1 < value.length() && value.charAt(i + 1) == quote) {
+                    buf.append(quote);
+                    i++;
+                } else if (c == quote) {
+                    return false;
+                } else {
+                    buf.append(c);
+                }
+            }
+            // unterminated quote; take the rest of the line
+            return false;
+        }
+
+        int end = value.length();
+        for (int i = 1; i < value.length(); i++) {
+            if (COMMENT_CHARS.indexOf(value.charAt(i)) >= 0
+                    && Character.isWhitespace(value.charAt(i - 1))) {
+                end = i;
+                break;
+            }
+        }
+        String unquoted = value.substring(0, end).trim();
+        if (!unquoted.isEmpty() && unquoted.charAt(unquoted.length() - 1) == LINE_CONTINUATION) {
+            buf.append(unquoted.substring(0, unquoted.length() - 1).trim());
+            return true;
+        }
+        buf.append(unquoted);
+        return false;
+    }
+}
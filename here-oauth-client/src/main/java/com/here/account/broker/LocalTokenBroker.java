@@ -0,0 +1,321 @@
+/*
+ * Copyright (c) 2026 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.here.account.broker;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+import com.here.account.http.HttpConstants;
+import com.here.account.oauth2.AccessTokenResponse;
+import com.here.account.oauth2.Fresh;
+import com.here.account.oauth2.TokenEndpoint;
+import com.here.account.util.MinimalJsonSerializer;
+import com.here.account.util.OAuthConstants;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * An embeddable token broker that serves auto-refreshing HERE Access Tokens
+ * to co-located processes over localhost HTTP.
+ * It is the server side of
+ * {@link com.here.account.auth.provider.incubator.RunAsIdAuthorizationProvider RunAsIdAuthorizationProvider},
+ * which by default GETs {@value #DEFAULT_PATH} on port {@value #DEFAULT_PORT}.
+ *
+ * <p>
+ * Each path serves one {@link Fresh} token, typically from
+ * {@link TokenEndpoint#requestAutoRefreshingToken(java.util.function.Supplier)},
+ * which keeps the token fresh with a RefreshableResponseProvider.
+ * Register one path per credential and scope.
+ * A GET of the path returns the current token as an OAuth2.0 token response,
+ * with expires_in set to the time remaining, so that clients refresh on the broker's schedule.
+ *
+ * <p>
+ * The broker binds the loopback address by default, but any local process
+ * that can connect to the port can get the tokens;
+ * use it only where that is acceptable.
+ */
+public class LocalTokenBroker implements Closeable {
+
+    private static final Logger LOGGER = Logger.getLogger(LocalTokenBroker.class.getName());
+
+    /**
+     * The default port, where RunAsIdAuthorizationProvider expects the token service.
+     */
+    public static final int DEFAULT_PORT = 8001;
+
+    /**
+     * The default path, where RunAsIdAuthorizationProvider expects the token service.
+     */
+    public static final String DEFAULT_PATH = "/token";
+
+    /**
+     * The default number of threads serving requests.
+     */
+    public static final int DEFAULT_THREADS = 4;
+
+    private static final String GET = "GET";
+    private static final String ALLOW_HEADER = "Allow";
+    private static final String CACHE_CONTROL_HEADER = "Cache-Control";
+    private static final String NO_STORE = "no-store";
+
+    /**
+     * Gets a new Builder for a LocalTokenBroker.
+     *
+     * @return the Builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * By default the Builder binds the loopback address on {@link #DEFAULT_PORT},
+     * with {@link #DEFAULT_THREADS} threads.
+     * At least one token must be added.
+     */
+    public static class Builder {
+        private InetAddress bindAddress = InetAddress.getLoopbackAddress();
+        private int port = DEFAULT_PORT;
+        private int threads = DEFAULT_THREADS;
+        private final Map<String, Fresh<AccessTokenResponse>> tokens = new LinkedHashMap<>();
+
+        private Builder() {
+        }
+
+        /**
+         * Optionally set the address to bind.
+         * Default is the loopback address.
+         *
+         * @param bindAddress the address to bind
+         * @return this Builder
+         */
+        public Builder setBindAddress(InetAddress bindAddress) {
+            this.bindAddress = Objects.requireNonNull(bindAddress, "bindAddress cannot be null");
+            return this;
+        }
+
+        /**
+         * Optionally set the port to bind.
+         * Default is {@value #DEFAULT_PORT}; 0 binds an ephemeral port.
+         *
+         * @param port the port to bind
+         * @return this Builder
+         */
+        public Builder setPort(int port) {
+            if (port < 0 || port > 0xFFFF) {
+                throw new IllegalArgumentException("port out of range: " + port);
+            }
+            this.port = port;
+            return this;
+        }
+
+        /**
+         * Optionally set the number of threads serving requests.
+         * Default is {@link #DEFAULT_THREADS}.
+         *
+         * @param threads the number of threads, at least 1
+         * @return this Builder
+         */
+        public Builder setThreads(int threads) {
+            if (threads < 1) {
+                throw new IllegalArgumentException("threads must be at least 1: " + threads);
+            }
+            this.threads = threads;
+            return this;
+        }
+
+        /**
+         * Serve the token at the path.
+         * The broker closes the token when it is closed.
+         *
+         * @param path the path, starting with "/", for example {@value #DEFAULT_PATH}
+         * @param token the auto-refreshing token
+         * @return this Builder
+         */
+        public Builder addToken(String path, Fresh<AccessTokenResponse> token) {
+            Objects.requireNonNull(path, "path cannot be null");
+            Objects.requireNonNull(token, "token cannot be null");
+            if (!path.startsWith("/")) {
+                throw new IllegalArgumentException("path must start with /: " + path);
+            }
+            if (tokens.containsKey(path)) {
+                throw new IllegalArgumentException("path already has a token: " + path);
+            }
+            tokens.put(path, token);
+            return this;
+        }
+
+        /**
+         * Bind the port and start serving.
+         *
+         * @return the running LocalTokenBroker
+         * @throws IOException if the port cannot be bound
+         */
+        public LocalTokenBroker build() throws IOException {
+            if (tokens.isEmpty()) {
+                throw new IllegalStateException("no tokens added");
+            }
+            return new LocalTokenBroker(this);
+        }
+    }
+
+    private final MinimalJsonSerializer serializer = new MinimalJsonSerializer();
+    private final List<Fresh<AccessTokenResponse>> tokens;
+    private final HttpServer server;
+    private final ExecutorService executorService;
+    private final AtomicLong servedCount = new AtomicLong();
+
+    private LocalTokenBroker(Builder builder) throws IOException {
+        this.tokens = new ArrayList<>(builder.tokens.values());
+        // bind before creating the executor, so a port in use leaves nothing to shut down
+        this.server = HttpServer.create(new InetSocketAddress(builder.bindAddress, builder.port), 0);
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executorService = Executors.newFixedThreadPool(builder.threads, r -> {
+            Thread thread = new Thread(r, "here-token-broker-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (Map.Entry<String, Fresh<AccessTokenResponse>> entry : builder.tokens.entrySet()) {
+            String path = entry.getKey();
+            Fresh<AccessTokenResponse> token = entry.getValue();
+            server.createContext(path, exchange -> {
+                try {
+                    serve(exchange, path, token);
+                } catch (IOException | RuntimeException e) {
+                    LOGGER.warning("trouble serving " + path + ": " + e);
+                } finally {
+                    exchange.close();
+                }
+            });
+        }
+        server.setExecutor(executorService);
+        server.start();
+        LOGGER.info("Serving HERE Access Tokens on " + server.getAddress() + " at " + builder.tokens.keySet());
+    }
+
+    private void serve(HttpExchange exchange, String path, Fresh<AccessTokenResponse> token) throws IOException {
+        if (!path.equals(exchange.getRequestURI().getPath())) {
+            // contexts match by prefix
+            respondError(exchange, 404, "not_found", "no token at " + exchange.getRequestURI().getPath());
+            return;
+        }
+        if (!GET.equals(exchange.getRequestMethod())) {
+            exchange.getResponseHeaders().set(ALLOW_HEADER, GET);
+            respondError(exchange, 405, "invalid_request", "method not allowed: " + exchange.getRequestMethod());
+            return;
+        }
+        AccessTokenResponse accessTokenResponse = token.get();
+        Long timeToExpiryMillis = accessTokenResponse.getTimeToExpiryMillis();
+        if (null != timeToExpiryMillis && timeToExpiryMillis <= 0L) {
+            respondError(exchange, 503, "temporarily_unavailable", "the token expired and has not been refreshed");
+            return;
+        }
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("access_token", accessTokenResponse.getAccessToken());
+        json.put("token_type", accessTokenResponse.getTokenType());
+        if (null != timeToExpiryMillis) {
+            json.put("expires_in", TimeUnit.MILLISECONDS.toSeconds(timeToExpiryMillis));
+        }
+        if (null != accessTokenResponse.getScope()) {
+            json.put("scope", accessTokenResponse.getScope());
+        }
+        servedCount.incrementAndGet();
+        respond(exchange, 200, json);
+    }
+
+    private void respondError(HttpExchange exchange, int statusCode, String error, String errorDescription)
+            throws IOException {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("error", error);
+        json.put("error_description", errorDescription);
+        json.put("httpStatus", statusCode);
+        respond(exchange, statusCode, json);
+    }
+
+    private void respond(HttpExchange exchange, int statusCode, Map<String, Object> json) throws IOException {
+        byte[] body = serializer.objectToJson(json).getBytes(OAuthConstants.UTF_8_CHARSET);
+        exchange.getResponseHeaders().set(HttpConstants.CONTENT_TYPE_HEADER, HttpConstants.CONTENT_TYPE_JSON);
+        exchange.getResponseHeaders().set(CACHE_CONTROL_HEADER, NO_STORE);
+        exchange.sendResponseHeaders(statusCode, body.length);
+        try (OutputStream responseBody = exchange.getResponseBody()) {
+            responseBody.write(body);
+        }
+    }
+
+    /**
+     * @return the port the broker is listening on
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Gets the URL of the token at the path, for example to configure a
+     * RunAsIdAuthorizationProvider.
+     *
+     * @param path the path the token was added at
+     * @return the URL
+     */
+    public String getUrl(String path) {
+        return "http://localhost:" + getPort() + path;
+    }
+
+    /**
+     * @return the number of tokens served so far
+     */
+    public long getServedCount() {
+        return servedCount.get();
+    }
+
+    /**
+     * Stops serving, and closes the tokens.
+     *
+     * @throws IOException if there is trouble closing a token
+     */
+    @Override
+    public void close() throws IOException {
+        server.stop(0);
+        executorService.shutdown();
+        IOException failure = null;
+        for (Fresh<AccessTokenResponse> token : tokens) {
+            try {
+                token.close();
+            } catch (IOException e) {
+                if (null == failure) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        if (null != failure) {
+            throw failure;
+        }
+    }
+}
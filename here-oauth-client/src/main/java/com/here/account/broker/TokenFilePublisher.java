@@ -0,0 +1,358 @@
+/*
+ * Copyright (c) 2026 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.here.account.broker;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermission;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.here.account.oauth2.AccessTokenResponse;
+import com.here.account.oauth2.HereAccessTokenProvider;
+import com.here.account.oauth2.JwtClaims;
+import com.here.account.oauth2.MappedTokenSlot;
+import com.here.account.util.Clock;
+import com.here.account.util.MinimalJsonSerializer;
+import com.here.account.util.OAuthConstants;
+import com.here.account.util.RefreshableResponseProvider.RefreshListener;
+
+/**
+ * Publishes the auto-refreshing token of one {@link HereAccessTokenProvider} to a file,
+ * by default {@value #DEFAULT_PATH}, where
+ * {@link com.here.account.auth.provider.FromRunAsIdFileProvider FromRunAsIdFileProvider}
+ * reads it.
+ * Any number of local processes can then get tokens with no network calls.
+ *
+ * <p>
+ * The current token is written when the publisher is built, and again each time it is refreshed.
+ * Each write goes to a temporary file in the same directory, which is then atomically renamed
+ * over the token file, so readers see either the previous token or the new one, never a partial file.
+ * The file is a token response with "exp", the expiration time in UTC seconds,
+ * so that {@link com.here.account.oauth2.FileAccessTokenResponse FileAccessTokenResponse}
+ * computes expires_in correctly no matter when the file is read.
+ *
+ * <p>
+ * By default the file is readable and writable only by its owner;
+ * use {@link Builder#setFilePermissions(Set)} to share it with other users.
+ * With {@link Builder#setSlotEnabled(boolean)}, the token is also written to a
+ * {@link MappedTokenSlot} next to the file, for readers that re-read the token very often.
+ * Closing the publisher leaves the last token file in place; it stays usable until it expires.
+ */
+public class TokenFilePublisher implements Closeable {
+
+    private static final Logger LOGGER = Logger.getLogger(TokenFilePublisher.class.getName());
+
+    /**
+     * The default path, where FromRunAsIdFileProvider expects the token file.
+     */
+    public static final String DEFAULT_PATH = "/dev/shm/identity/access-token";
+
+    private static final String TEMP_FILE_SUFFIX = ".tmp";
+
+    /**
+     * Gets a new Builder for a TokenFilePublisher.
+     *
+     * @return the Builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * By default the Builder publishes a new default {@link HereAccessTokenProvider}
+     * to {@value #DEFAULT_PATH}, readable and writable only by its owner.
+     */
+    public static class Builder {
+        private HereAccessTokenProvider tokenProvider;
+        private Path path = Paths.get(DEFAULT_PATH);
+        private Set<PosixFilePermission> filePermissions =
+                EnumSet.of(PosixFilePermission.OWNER_READ, PosixFilePermission.OWNER_WRITE);
+        private boolean slotEnabled = false;
+
+        private Builder() {
+        }
+
+        /**
+         * Optionally set the provider of the token to publish.
+         * It must not be built with alwaysRequestNewToken.
+         * The publisher closes it when it is closed.
+         *
+         * @param tokenProvider the token provider
+         * @return this Builder
+         */
+        public Builder setTokenProvider(HereAccessTokenProvider tokenProvider) {
+            this.tokenProvider = Objects.requireNonNull(tokenProvider, "tokenProvider cannot be null");
+            return this;
+        }
+
+        /**
+         * Optionally set the path of the token file.
+         * Default is {@value #DEFAULT_PATH}.
+         * Missing parent directories are created.
+         *
+         * @param path the path of the token file
+         * @return this Builder
+         */
+        public Builder setPath(Path path) {
+            this.path = Objects.requireNonNull(path, "path cannot be null");
+            return this;
+        }
+
+        /**
+         * Optionally set the POSIX permissions of the token file.
+         * Default is owner read and write.
+         * Ignored on file systems without POSIX permissions.
+         *
+         * @param filePermissions the file permissions
+         * @return this Builder
+         */
+        public Builder setFilePermissions(Set<PosixFilePermission> filePermissions) {
+            Objects.requireNonNull(filePermissions, "filePermissions cannot be null");
+            this.filePermissions = filePermissions.isEmpty()
+                    ? EnumSet.noneOf(PosixFilePermission.class)
+                    : EnumSet.copyOf(filePermissions);
+            return this;
+        }
+
+        /**
+         * Optionally set whether to also write each token to the {@link MappedTokenSlot}
+         * at {@link MappedTokenSlot#getSlotPath(Path)}, which token endpoints with a file:// URL
+         * read in preference to the file.
+         * Default is false.
+         *
+         * @param slotEnabled true to write the slot
+         * @return this Builder
+         */
+        public Builder setSlotEnabled(boolean slotEnabled) {
+            this.slotEnabled = slotEnabled;
+            return this;
+        }
+
+        /**
+         * Write the current token, and start publishing refreshed tokens.
+         *
+         * @return the running TokenFilePublisher
+         * @throws IOException if the token file cannot be written
+         * @throws UnsupportedOperationException if the token provider was built with alwaysRequestNewToken
+         */
+        public TokenFilePublisher build() throws IOException {
+            if (null != tokenProvider) {
+                return new TokenFilePublisher(tokenProvider, path.toAbsolutePath(), filePermissions, slotEnabled);
+            }
+            HereAccessTokenProvider defaultTokenProvider = HereAccessTokenProvider.builder().build();
+            try {
+                return new TokenFilePublisher(defaultTokenProvider, path.toAbsolutePath(), filePermissions,
+                        slotEnabled);
+            } catch (IOException | RuntimeException e) {
+                defaultTokenProvider.close();
+                throw e;
+            }
+        }
+    }
+
+    private final MinimalJsonSerializer serializer = new MinimalJsonSerializer();
+    private final HereAccessTokenProvider tokenProvider;
+    private final Path path;
+    private final Set<PosixFilePermission> filePermissions;
+    private final MappedTokenSlot slot;
+    private final RefreshListener<AccessTokenResponse> refreshListener;
+    private final AtomicLong publishedCount = new AtomicLong();
+    // guarded by this
+    private boolean closed;
+
+    private TokenFilePublisher(HereAccessTokenProvider tokenProvider, Path path,
+            Set<PosixFilePermission> filePermissions, boolean slotEnabled) throws IOException {
+        this.tokenProvider = tokenProvider;
+        this.path = path;
+        this.filePermissions = filePermissions;
+        Files.createDirectories(path.getParent());
+        if (slotEnabled) {
+            Path slotPath = MappedTokenSlot.getSlotPath(path);
+            this.slot = MappedTokenSlot.openForWriting(slotPath);
+            try {
+                setPermissions(slotPath);
+            } catch (IOException | RuntimeException e) {
+                slot.close();
+                throw e;
+            }
+        } else {
+            this.slot = null;
+        }
+        this.refreshListener = new RefreshListener<AccessTokenResponse>() {
+            @Override
+            public void onRefreshed(AccessTokenResponse previous, AccessTokenResponse current) {
+                try {
+                    publish();
+                } catch (IOException | RuntimeException e) {
+                    LOGGER.log(Level.WARNING, "trouble publishing refreshed token to " + path + ": " + e, e);
+                }
+            }
+
+            @Override
+            public void onRefreshFailed(Exception e, long timeUntilExpiryMillis) {
+                LOGGER.warning("token refresh failed, " + path + " expires in " + timeUntilExpiryMillis + " ms: " + e);
+            }
+
+            @Override
+            public void onExpired(AccessTokenResponse expired) {
+                LOGGER.warning("the token in " + path + " expired and has not been refreshed");
+            }
+        };
+        // listen first, so that no refresh is missed; publish() always writes the latest token
+        tokenProvider.addRefreshListener(refreshListener);
+        try {
+            publish();
+        } catch (IOException | RuntimeException e) {
+            tokenProvider.removeRefreshListener(refreshListener);
+            closeSlot();
+            throw e;
+        }
+        LOGGER.info("Publishing HERE Access Tokens to " + path);
+    }
+
+    /**
+     * Writes the latest token.
+     * Synchronized, so that an older token never replaces a newer one.
+     * Does nothing once closed, as a refresh already queued to the listener may still arrive.
+     */
+    private synchronized void publish() throws IOException {
+        if (closed) {
+            return;
+        }
+        AccessTokenResponse accessTokenResponse = tokenProvider.getAccessTokenResponse();
+        Map<String, Object> json = toJson(accessTokenResponse);
+        byte[] body = serializer.objectToJson(json).getBytes(OAuthConstants.UTF_8_CHARSET);
+        Path tempFile = Files.createTempFile(path.getParent(), "." + path.getFileName(), TEMP_FILE_SUFFIX);
+        try {
+            try (OutputStream outputStream = Files.newOutputStream(tempFile)) {
+                outputStream.write(body);
+            }
+            setPermissions(tempFile);
+            Files.move(tempFile, path, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.deleteIfExists(tempFile);
+            throw new IOException("cannot atomically replace " + path + "; the temporary file "
+                    + "must be on the same file system: " + e, e);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(tempFile);
+            throw e;
+        }
+        if (null != slot) {
+            slot.write(accessTokenResponse.getAccessToken(), accessTokenResponse.getTokenType(),
+                    (Long) json.get("exp"), accessTokenResponse.getScope());
+        }
+        publishedCount.incrementAndGet();
+    }
+
+    private void setPermissions(Path file) throws IOException {
+        PosixFileAttributeView attributeView = Files.getFileAttributeView(file, PosixFileAttributeView.class);
+        if (null != attributeView) {
+            attributeView.setPermissions(filePermissions);
+        }
+    }
+
+    /**
+     * Builds the file contents: the token response, with expires_in as of now and the exp time,
+     * preferring the token's own exp claim when it is a JWT.
+     */
+    private static Map<String, Object> toJson(AccessTokenResponse accessTokenResponse) {
+        Long timeToExpiryMillis = accessTokenResponse.getTimeToExpiryMillis();
+        JwtClaims claims = accessTokenResponse.getClaims();
+        Long exp = null != claims ? claims.getExp() : null;
+        if (null == exp && null != timeToExpiryMillis) {
+            exp = TimeUnit.MILLISECONDS.toSeconds(Clock.SYSTEM.currentTimeMillis() + timeToExpiryMillis);
+        }
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("access_token", accessTokenResponse.getAccessToken());
+        json.put("token_type", accessTokenResponse.getTokenType());
+        if (null != timeToExpiryMillis) {
+            json.put("expires_in", TimeUnit.MILLISECONDS.toSeconds(timeToExpiryMillis));
+        }
+        if (null != exp) {
+            json.put("exp", exp);
+        }
+        if (null != accessTokenResponse.getScope()) {
+            json.put("scope", accessTokenResponse.getScope());
+        }
+        return json;
+    }
+
+    /**
+     * @return the absolute path of the token file
+     */
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * @return the file URL of the token file, for example to configure a FromRunAsIdFileProvider
+     */
+    public String getUrl() {
+        return path.toUri().toString();
+    }
+
+    /**
+     * @return the number of times the token file has been written
+     */
+    public long getPublishedCount() {
+        return publishedCount.get();
+    }
+
+    /**
+     * Stops publishing, unmaps the slot, and closes the token provider.
+     * The token file and slot file are left in place.
+     *
+     * @throws IOException if there is trouble closing the token provider
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            tokenProvider.removeRefreshListener(refreshListener);
+        } finally {
+            try {
+                closeSlot();
+            } finally {
+                tokenProvider.close();
+            }
+        }
+    }
+
+    /**
+     * Synchronized with {@link #publish()}, so that the slot is not unmapped mid-write,
+     * and nothing is published afterwards.
+     */
+    private synchronized void closeSlot() {
+        closed = true;
+        if (null != slot) {
+            slot.close();
+        }
+    }
+}
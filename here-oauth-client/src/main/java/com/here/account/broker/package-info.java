@@ -0,0 +1,23 @@
+/*
+ * Copyright (c) 2026 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+/**
+ * Share one auto-refreshing HERE Access Token among many co-located processes,
+ * so that N processes cause one stream of token requests rather than N.
+ * {@link com.here.account.broker.LocalTokenBroker} serves the token over localhost HTTP;
+ * {@link com.here.account.broker.TokenFilePublisher} writes it to a shared-memory file.
+ */
+package com.here.account.broker;
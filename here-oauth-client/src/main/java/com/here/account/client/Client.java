@@ -15,22 +15,31 @@
  */
 package com.here.account.client;
 
+import com.here.account.http.AsyncHttpProvider;
+import com.here.account.http.Deadline;
 import com.here.account.http.HttpConstants;
+import com.here.account.http.HttpException;
 import com.here.account.http.HttpProvider;
 import com.here.account.http.HttpProvider.HttpRequest;
+import com.here.account.http.RequestTemplate;
 import com.here.account.oauth2.RequestExecutionException;
 import com.here.account.oauth2.ResponseParsingException;
 import com.here.account.oauth2.retry.NoRetryPolicy;
 import com.here.account.oauth2.retry.Retryable;
 import com.here.account.oauth2.ErrorResponse;
+import com.here.account.oauth2.retry.RetryContext;
 import com.here.account.oauth2.retry.RetryExecutor;
 import com.here.account.oauth2.retry.RetryPolicy;
 import com.here.account.olp.OlpHttpMessage;
 import com.here.account.util.CloseUtil;
 import com.here.account.util.OAuthConstants;
 import com.here.account.util.Serializer;
+import com.here.account.util.VirtualThreads;
 
+import java.io.FilterInputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
 
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
@@ -38,7 +47,17 @@ import java.lang.reflect.InvocationTargetException;
 import java.util.List;
 import java.util.Map;
 import java.util.Scanner;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiFunction;
+import java.util.function.Supplier;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.regex.Pattern;
@@ -62,6 +81,9 @@ public class Client {
         private Serializer serializer;
         private RetryPolicy retryPolicy;
         private HttpProvider.HttpRequestAuthorizer clientAuthorizer;
+        private HedgingPolicy hedgingPolicy;
+        private Executor executor;
+        private ConcurrencyLimiter concurrencyLimiter;
 
         private Builder() {
 
@@ -87,12 +109,61 @@ public class Client {
             return this;
         }
 
+        /**
+         * Optionally hedge requests sent with
+         * {@link Client#sendMessage(Supplier, Class, Class, BiFunction)}.
+         * Default is no hedging.
+         *
+         * @param hedgingPolicy the HedgingPolicy, or null for none
+         * @return this Builder
+         */
+        public Builder withHedgingPolicy(HedgingPolicy hedgingPolicy) {
+            this.hedgingPolicy = hedgingPolicy;
+            return this;
+        }
+
+        /**
+         * Optionally set the Executor that runs each
+         * {@link Client#sendMessageAsync(Supplier, Class, Class, BiFunction)} call.
+         * On JDK 21 and later, pass {@link VirtualThreads#newThreadPerTaskExecutor(String)}
+         * to run many concurrent calls without a platform thread each.
+         * Default is a virtual thread per call if {@link VirtualThreads#isEnabled()},
+         * otherwise a shared pool of daemon threads.
+         *
+         * @param executor the Executor for asynchronous calls
+         * @return this Builder
+         */
+        public Builder withExecutor(Executor executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        /**
+         * Optionally bound the number of requests in flight with a {@link ConcurrencyLimiter},
+         * which adapts the limit to the latency of the responses.
+         * A request that finds its endpoint at the limit fails with a
+         * {@link ConcurrencyLimitExceededException}, after the limiter's maximum wait.
+         * Each retry and each hedge is a request of its own, in flight until its response body is read or closed.
+         * Default is no limit.
+         *
+         * @param concurrencyLimiter the ConcurrencyLimiter, or null for none
+         * @return this Builder
+         */
+        public Builder withConcurrencyLimiter(ConcurrencyLimiter concurrencyLimiter) {
+            this.concurrencyLimiter = concurrencyLimiter;
+            return this;
+        }
+
         public Client build() {
             if (null == retryPolicy) {
                 retryPolicy = new NoRetryPolicy();
             }
+            if (null == executor) {
+                executor = ExecutorHolder.EXECUTOR;
+            }
 
-            return new Client(httpProvider, serializer, clientAuthorizer, retryPolicy);
+            return new Client(httpProvider, serializer, clientAuthorizer, retryPolicy, hedgingPolicy, executor,
+                    concurrencyLimiter);
         }
     }
 
@@ -100,19 +171,60 @@ public class Client {
         return new Builder();
     }
 
+    /**
+     * The default Executor for asynchronous calls, created on first use.
+     */
+    private static class ExecutorHolder {
+        private static final Executor EXECUTOR = VirtualThreads.isEnabled()
+                ? VirtualThreads.newThreadPerTaskExecutor("here-client-")
+                : Executors.newCachedThreadPool(r -> {
+                    Thread thread = new Thread(r, "here-client");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * Times the waits before asynchronous retries, created on first use.
+     * The retries themselves run on the Client's Executor.
+     */
+    private static class RetrySchedulerHolder {
+        private static final ScheduledExecutorService RETRY_SCHEDULER =
+                Executors.newSingleThreadScheduledExecutor(r -> {
+                    Thread thread = new Thread(r, "here-client-retry-scheduler");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * The most request templates a Client caches; requests to further methods and URLs are built unparsed.
+     */
+    private static final int MAX_REQUEST_TEMPLATES = 64;
+
     private static final Pattern START_PATTERN = Pattern.compile("\\A");
     private static final String LOWERCASE_CONTENT_TYPE_JSON = HttpConstants.CONTENT_TYPE_JSON.toLowerCase();
     private final HttpProvider httpProvider;
     private final Serializer serializer;
     private final HttpProvider.HttpRequestAuthorizer clientAuthorizer;
+    private final RetryPolicy retryPolicy;
     private final RetryExecutor retryExecutor;
+    private final HedgingPolicy hedgingPolicy;
+    private final Executor executor;
+    private final ConcurrencyLimiter concurrencyLimiter;
+    private final ConcurrentHashMap<String, RequestTemplate> requestTemplates = new ConcurrentHashMap<>();
 
     private Client(HttpProvider httpProvider, Serializer serializer,
-                    HttpProvider.HttpRequestAuthorizer clientAuthorizer, RetryPolicy retryPolicy) {
+                    HttpProvider.HttpRequestAuthorizer clientAuthorizer, RetryPolicy retryPolicy,
+                    HedgingPolicy hedgingPolicy, Executor executor, ConcurrencyLimiter concurrencyLimiter) {
         this.httpProvider = httpProvider;
         this.serializer = serializer;
         this.clientAuthorizer = clientAuthorizer;
+        this.retryPolicy = retryPolicy;
         this.retryExecutor = new RetryExecutor(retryPolicy);
+        this.hedgingPolicy = hedgingPolicy;
+        this.executor = executor;
+        this.concurrencyLimiter = concurrencyLimiter;
     }
 
     public HttpProvider.HttpRequestAuthorizer getClientAuthorizer() {
@@ -191,25 +303,83 @@ public class Client {
             Class<U> errorResponseClass,
             BiFunction<Integer, U, RuntimeException> newExceptionFunction)
             throws RequestExecutionException, ResponseParsingException {
+        return sendMessage(method, url, request, additionalHeaders,
+                responseClass, errorResponseClass, newExceptionFunction, null);
+    }
 
-        HttpProvider.HttpRequest httpRequest;
-        if (null == request) {
-            httpRequest = httpProvider.getRequest(
-                    clientAuthorizer, method, url, (String) null);
-        } else {
-            // HttpConstants.ContentTypes.JSON == requestContentType
-            String jsonBody = serializer.objectToJson(request);
-            httpRequest = httpProvider.getRequest(
-                        clientAuthorizer, method, url, jsonBody);
-        }
+    /**
+     * Sends the requested HTTP Message to the Server, with additional headers,
+     * which must complete by the deadline.
+     * The deadline covers all attempts, and the waits between them;
+     * see {@link RetryExecutor#execute(Retryable, Deadline)}.
+     *
+     * @param method the HTTP method
+     * @param url the HTTP request URL
+     * @param request the request object of type R, or null if no request object
+     * @param additionalHeaders additional headers to add to the request,
+     *        beyond that (those) possibly added by your HttpRequestAuthorizer.
+     * @param responseClass the response object class, for deserialization
+     * @param errorResponseClass the response error object class, for deserialization
+     * @param newExceptionFunction the function for getting a new RuntimeException based
+     *      on the statusCode and error response object
+     * @param deadline the Deadline for the request, or null for none
+     * @param <R> the Request parameterized type
+     * @param <T> the Response parameterized type
+     * @param <U> the Response Error parameterized type
+     * @return the Response of type T
+     * @throws RequestExecutionException if trouble executing the request,
+     *      including if the deadline passes
+     * @throws ResponseParsingException if trouble serializing the request,
+     *      or deserializing the response
+     */
+    public <R, T, U> T sendMessage(
+            String method,
+            String url,
+            R request,
+            Map<String, String> additionalHeaders,
+            Class<T> responseClass,
+            Class<U> errorResponseClass,
+            BiFunction<Integer, U, RuntimeException> newExceptionFunction,
+            Deadline deadline)
+            throws RequestExecutionException, ResponseParsingException {
+
+        // HttpConstants.ContentTypes.JSON == requestContentType
+        String jsonBody = null != request ? serializer.objectToJson(request) : null;
+        RequestTemplate requestTemplate = getRequestTemplate(method, url);
+        HttpProvider.HttpRequest httpRequest = null != requestTemplate
+                ? httpProvider.getRequest(clientAuthorizer, requestTemplate, jsonBody)
+                : httpProvider.getRequest(clientAuthorizer, method, url, jsonBody);
 
         // If there's additional headers, add them to the request
         HttpRequest httpRequestWithAdditonalHeaders = addAdditionalHeaders(httpRequest, additionalHeaders);
 
         return sendMessage(httpRequestWithAdditonalHeaders, responseClass,
-                errorResponseClass, newExceptionFunction);
+                errorResponseClass, newExceptionFunction, deadline);
     }
     
+    /**
+     * Gets the cached template for the method and URL, so that the URL is parsed once
+     * rather than on every request.
+     *
+     * @return the template, or null if the cache is full or the URL cannot be parsed
+     */
+    private RequestTemplate getRequestTemplate(String method, String url) {
+        String key = method + ' ' + url;
+        RequestTemplate requestTemplate = requestTemplates.get(key);
+        if (null == requestTemplate && requestTemplates.size() < MAX_REQUEST_TEMPLATES) {
+            try {
+                requestTemplate = RequestTemplate.builder().setMethod(method).setUrl(url).build();
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+            RequestTemplate previous = requestTemplates.putIfAbsent(key, requestTemplate);
+            if (null != previous) {
+                requestTemplate = previous;
+            }
+        }
+        return requestTemplate;
+    }
+
     /**
      * Sends the requested HTTP Message to the Server.
      * This method is useful if you have already constructed your 
@@ -232,19 +402,375 @@ public class Client {
             Class<U> errorResponseClass,
             BiFunction<Integer, U, RuntimeException> newExceptionFunction) 
             throws RequestExecutionException, ResponseParsingException {
+        return sendMessage(httpRequest, responseClass, errorResponseClass, newExceptionFunction, null);
+    }
+
+    /**
+     * Sends the requested HTTP Message to the Server, which must complete by the deadline.
+     * The deadline covers all attempts, and the waits between them;
+     * see {@link RetryExecutor#execute(Retryable, Deadline)}.
+     *
+     * @param httpRequest the HTTP Request
+     * @param responseClass the Response class
+     * @param errorResponseClass the class for Error Responses
+     * @param newExceptionFunction the new RuntimeException-creating function
+     *     that takes a statusCode and an Error Response object.
+     * @param deadline the Deadline for the request, or null for none
+     * @param <T> the Response parameterized type
+     * @param <U> the Response Error parameterized type
+     * @return the Response of type T
+     * @throws RequestExecutionException if trouble executing the request,
+     *      including if the deadline passes
+     * @throws ResponseParsingException if trouble serializing the request,
+     *      or deserializing the response
+     */
+    public <T, U> T sendMessage(HttpRequest httpRequest, Class<T> responseClass,
+            Class<U> errorResponseClass,
+            BiFunction<Integer, U, RuntimeException> newExceptionFunction,
+            Deadline deadline)
+            throws RequestExecutionException, ResponseParsingException {
         // blocking
+        return handleResponse(execute(() -> executeRequest(httpRequest, deadline), deadline),
+                responseClass, errorResponseClass, newExceptionFunction);
+    }
+
+    /**
+     * Sends an HTTP Message to the Server, getting a new HttpRequest for each attempt.
+     * Each retry, and each hedge if a {@link HedgingPolicy} is configured,
+     * sends a new request from httpRequestSupplier, so that each is independently authorized.
+     * Use this method only for idempotent requests.
+     *
+     * @param httpRequestSupplier supplies a new HTTP Request for each attempt
+     * @param responseClass the Response class
+     * @param errorResponseClass the class for Error Responses
+     * @param newExceptionFunction the new RuntimeException-creating function
+     *     that takes a statusCode and an Error Response object.
+     * @param <T> the Response parameterized type
+     * @param <U> the Response Error parameterized type
+     * @return the Response of type T
+     * @throws RequestExecutionException if trouble executing the request
+     * @throws ResponseParsingException if trouble serializing the request,
+     *      or deserializing the response
+     */
+    public <T, U> T sendMessage(Supplier<HttpRequest> httpRequestSupplier, Class<T> responseClass,
+            Class<U> errorResponseClass,
+            BiFunction<Integer, U, RuntimeException> newExceptionFunction)
+            throws RequestExecutionException, ResponseParsingException {
+        return sendMessage(httpRequestSupplier, responseClass, errorResponseClass, newExceptionFunction, null);
+    }
+
+    /**
+     * Sends an HTTP Message to the Server, getting a new HttpRequest for each attempt,
+     * which must complete by the deadline.
+     * The deadline covers all attempts, including hedges, and the waits between them;
+     * see {@link RetryExecutor#execute(Retryable, Deadline)}.
+     *
+     * @param httpRequestSupplier supplies a new HTTP Request for each attempt
+     * @param responseClass the Response class
+     * @param errorResponseClass the class for Error Responses
+     * @param newExceptionFunction the new RuntimeException-creating function
+     *     that takes a statusCode and an Error Response object.
+     * @param deadline the Deadline for the request, or null for none
+     * @param <T> the Response parameterized type
+     * @param <U> the Response Error parameterized type
+     * @return the Response of type T
+     * @throws RequestExecutionException if trouble executing the request,
+     *      including if the deadline passes
+     * @throws ResponseParsingException if trouble serializing the request,
+     *      or deserializing the response
+     */
+    public <T, U> T sendMessage(Supplier<HttpRequest> httpRequestSupplier, Class<T> responseClass,
+            Class<U> errorResponseClass,
+            BiFunction<Integer, U, RuntimeException> newExceptionFunction,
+            Deadline deadline)
+            throws RequestExecutionException, ResponseParsingException {
+        Retryable attempt = () -> executeRequest(httpRequestSupplier.get(), deadline);
+        Retryable retryable = null == hedgingPolicy ? attempt
+                : () -> hedgingPolicy.execute(httpRequestSupplier, httpRequest -> executeRequest(httpRequest, deadline));
+        return handleResponse(execute(retryable, deadline), responseClass, errorResponseClass, newExceptionFunction);
+    }
+
+    /**
+     * Sends an HTTP Message to the Server asynchronously.
+     * The call, including its retries and hedges, is the same as
+     * {@link #sendMessage(Supplier, Class, Class, BiFunction)};
+     * see {@link #sendMessageAsync(Supplier, Class, Class, BiFunction, Deadline)} for the threads it uses.
+     *
+     * @param httpRequestSupplier supplies a new HTTP Request for each attempt
+     * @param responseClass the Response class
+     * @param errorResponseClass the class for Error Responses
+     * @param newExceptionFunction the new RuntimeException-creating function
+     *     that takes a statusCode and an Error Response object.
+     * @param <T> the Response parameterized type
+     * @param <U> the Response Error parameterized type
+     * @return a future that completes with the Response of type T, or exceptionally
+     *      with a CompletionException whose cause is the exception sendMessage threw
+     */
+    public <T, U> CompletableFuture<T> sendMessageAsync(Supplier<HttpRequest> httpRequestSupplier,
+            Class<T> responseClass,
+            Class<U> errorResponseClass,
+            BiFunction<Integer, U, RuntimeException> newExceptionFunction) {
+        return sendMessageAsync(httpRequestSupplier, responseClass, errorResponseClass, newExceptionFunction, null);
+    }
+
+    /**
+     * Sends an HTTP Message to the Server asynchronously, which must complete by the deadline.
+     * The call, including its retries and hedges, is the same as
+     * {@link #sendMessage(Supplier, Class, Class, BiFunction, Deadline)}.
+     *
+     * <p>
+     * If the HttpProvider is an {@link AsyncHttpProvider}, and there is neither a HedgingPolicy
+     * nor a ConcurrencyLimiter, each attempt is sent with {@link AsyncHttpProvider#executeAsync},
+     * and no thread waits for it: requests are built, and responses parsed, on the
+     * {@link Builder#withExecutor(Executor) configured Executor}, and waits before retries are scheduled.
+     * Cancelling the returned future then cancels the attempt in flight.
+     * Otherwise the whole call runs on the configured Executor, occupying one of its threads
+     * until the call completes.
+     *
+     * @param httpRequestSupplier supplies a new HTTP Request for each attempt
+     * @param responseClass the Response class
+     * @param errorResponseClass the class for Error Responses
+     * @param newExceptionFunction the new RuntimeException-creating function
+     *     that takes a statusCode and an Error Response object.
+     * @param deadline the Deadline for the request, or null for none
+     * @param <T> the Response parameterized type
+     * @param <U> the Response Error parameterized type
+     * @return a future that completes with the Response of type T, or exceptionally
+     *      with a CompletionException whose cause is the exception sendMessage threw
+     */
+    public <T, U> CompletableFuture<T> sendMessageAsync(Supplier<HttpRequest> httpRequestSupplier,
+            Class<T> responseClass,
+            Class<U> errorResponseClass,
+            BiFunction<Integer, U, RuntimeException> newExceptionFunction,
+            Deadline deadline) {
+        if (httpProvider instanceof AsyncHttpProvider && null == hedgingPolicy && null == concurrencyLimiter) {
+            return sendMessageNonBlocking((AsyncHttpProvider) httpProvider, httpRequestSupplier, responseClass,
+                    errorResponseClass, newExceptionFunction, deadline);
+        }
+        return CompletableFuture.supplyAsync(() -> sendMessage(httpRequestSupplier, responseClass,
+                errorResponseClass, newExceptionFunction, deadline), executor);
+    }
+
+    private <T, U> CompletableFuture<T> sendMessageNonBlocking(AsyncHttpProvider asyncHttpProvider,
+            Supplier<HttpRequest> httpRequestSupplier,
+            Class<T> responseClass,
+            Class<U> errorResponseClass,
+            BiFunction<Integer, U, RuntimeException> newExceptionFunction,
+            Deadline deadline) {
+        CompletableFuture<HttpProvider.HttpResponse> responseFuture = new CompletableFuture<>();
+        AtomicReference<CompletableFuture<HttpProvider.HttpResponse>> attemptInFlight = new AtomicReference<>();
+        RetryContext retryContext = new RetryContext();
+        executor.execute(() -> attemptNonBlocking(asyncHttpProvider, httpRequestSupplier, deadline,
+                retryContext, responseFuture, attemptInFlight));
+        CompletableFuture<T> future = responseFuture.thenApplyAsync(httpResponse -> handleResponse(
+                httpResponse, responseClass, errorResponseClass, newExceptionFunction), executor);
+        future.whenComplete((response, e) -> {
+            if (e instanceof CancellationException) {
+                responseFuture.cancel(false);
+                CompletableFuture<HttpProvider.HttpResponse> attempt = attemptInFlight.get();
+                if (null != attempt) {
+                    attempt.cancel(true);
+                }
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Sends one attempt, then on its completion either completes responseFuture,
+     * or schedules the next attempt, following the RetryPolicy as the {@link RetryExecutor} does.
+     */
+    private void attemptNonBlocking(AsyncHttpProvider asyncHttpProvider,
+            Supplier<HttpRequest> httpRequestSupplier, Deadline deadline, RetryContext retryContext,
+            CompletableFuture<HttpProvider.HttpResponse> responseFuture,
+            AtomicReference<CompletableFuture<HttpProvider.HttpResponse>> attemptInFlight) {
+        if (responseFuture.isDone()) {
+            return;
+        }
+        CompletableFuture<HttpProvider.HttpResponse> attempt;
+        try {
+            attempt = asyncHttpProvider.executeAsync(httpRequestSupplier.get(), deadline);
+        } catch (RuntimeException e) {
+            attempt = new CompletableFuture<>();
+            attempt.completeExceptionally(e);
+        }
+        attemptInFlight.set(attempt);
+        if (responseFuture.isDone()) {
+            // cancelled while sending
+            attempt.cancel(true);
+        }
+        attempt.whenComplete((httpResponse, e) -> {
+            if (null == e) {
+                retryContext.setLastRetryResponse(httpResponse);
+                retryContext.setLastException(null);
+            } else {
+                Throwable cause = e instanceof CompletionException && null != e.getCause() ? e.getCause() : e;
+                retryContext.setLastException(cause instanceof Exception ? (Exception) cause
+                        : new RequestExecutionException(cause.toString(), cause));
+            }
+
+            if (!responseFuture.isDone() && retryPolicy.shouldRetry(retryContext)) {
+                retryContext.incrementRetryCount();
+                int waitInterval = retryPolicy.getNextRetryIntervalMillis(retryContext);
+                if (null == deadline || waitInterval < deadline.getRemainingMillis()) {
+                    retryContext.addRetryIntervalMillis(waitInterval);
+                    // the response being retried is discarded, so release its connection
+                    closeQuietly(retryContext.getLastRetryResponse());
+                    LOGGER.warning("Retrying after - " + waitInterval + " milliseconds...");
+                    RetrySchedulerHolder.RETRY_SCHEDULER.schedule(() -> executor.execute(
+                            () -> attemptNonBlocking(asyncHttpProvider, httpRequestSupplier, deadline,
+                                    retryContext, responseFuture, attemptInFlight)),
+                            waitInterval, TimeUnit.MILLISECONDS);
+                    return;
+                }
+                LOGGER.warning("Not retrying, " + waitInterval + " milliseconds wait would reach the deadline.");
+            }
+
+            Exception lastException = retryContext.getLastException();
+            if (null != lastException) {
+                responseFuture.completeExceptionally(new CompletionException(
+                        lastException instanceof RuntimeException ? lastException
+                                : new RequestExecutionException(lastException)));
+            } else if (!responseFuture.complete(retryContext.getLastRetryResponse())) {
+                // cancelled meanwhile
+                closeQuietly(retryContext.getLastRetryResponse());
+            }
+        });
+    }
+
+    private static void closeQuietly(HttpProvider.HttpResponse httpResponse) {
+        if (null != httpResponse) {
+            try (InputStream responseBody = httpResponse.getResponseBody()) {
+                // closed
+            } catch (IOException | RuntimeException e) {
+                LOGGER.fine("trouble closing discarded response body: " + e);
+            }
+        }
+    }
+
+    private HttpProvider.HttpResponse executeRequest(HttpRequest httpRequest, Deadline deadline)
+            throws HttpException, IOException {
+        if (null == concurrencyLimiter) {
+            return null == deadline ? httpProvider.execute(httpRequest) : httpProvider.execute(httpRequest, deadline);
+        }
+        ConcurrencyLimiter.Permit permit;
+        try {
+            permit = concurrencyLimiter.acquire(httpRequest.getUrl(), deadline);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            InterruptedIOException interrupted = new InterruptedIOException(
+                    "interrupted waiting for a concurrency limit slot");
+            interrupted.initCause(e);
+            throw interrupted;
+        }
         HttpProvider.HttpResponse httpResponse;
-        InputStream jsonInputStream;
+        try {
+            httpResponse = null == deadline
+                    ? httpProvider.execute(httpRequest) : httpProvider.execute(httpRequest, deadline);
+        } catch (IOException | HttpException | RuntimeException | Error e) {
+            permit.release(true);
+            throw e;
+        }
+        // the request stays in flight while its body streams; every caller reads or closes the body
+        return new PermitReleasingResponse(httpResponse, permit,
+                ConcurrencyLimiter.isOverloaded(httpResponse.getStatusCode()));
+    }
+
+    /**
+     * Releases its ConcurrencyLimiter Permit when the body is read to the end or closed,
+     * or right away if there is no body.
+     */
+    private static class PermitReleasingResponse implements HttpProvider.HttpResponse {
+        private final HttpProvider.HttpResponse httpResponse;
+        private final ConcurrencyLimiter.Permit permit;
+        private final boolean dropped;
+
+        private PermitReleasingResponse(HttpProvider.HttpResponse httpResponse, ConcurrencyLimiter.Permit permit,
+                boolean dropped) {
+            this.httpResponse = httpResponse;
+            this.permit = permit;
+            this.dropped = dropped;
+        }
 
+        @Override
+        public int getStatusCode() {
+            return httpResponse.getStatusCode();
+        }
+
+        @Override
+        public long getContentLength() {
+            return httpResponse.getContentLength();
+        }
+
+        @Override
+        public InputStream getResponseBody() throws IOException {
+            InputStream responseBody;
+            try {
+                responseBody = httpResponse.getResponseBody();
+            } catch (IOException | RuntimeException e) {
+                permit.release(true);
+                throw e;
+            }
+            if (null == responseBody) {
+                permit.release(dropped);
+                return null;
+            }
+            return new FilterInputStream(responseBody) {
+                @Override
+                public int read() throws IOException {
+                    return released(super.read());
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) throws IOException {
+                    return released(super.read(b, off, len));
+                }
+
+                private int released(int n) {
+                    if (n < 0) {
+                        permit.release(dropped);
+                    }
+                    return n;
+                }
+
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        permit.release(dropped);
+                    }
+                }
+            };
+        }
+
+        @Override
+        public Map<String, List<String>> getHeaders() {
+            return httpResponse.getHeaders();
+        }
+    }
+
+    private HttpProvider.HttpResponse execute(Retryable retryable, Deadline deadline)
+            throws RequestExecutionException {
         try {
-            Retryable retryable = () -> httpProvider.execute(httpRequest);
-            httpResponse = retryExecutor.execute(retryable);
-            jsonInputStream = httpResponse.getResponseBody();
+            return retryExecutor.execute(retryable, deadline);
         } catch (RuntimeException e) {
             throw e;
         } catch (Exception e) {
             throw new RequestExecutionException(e);
         }
+    }
+
+    private <T, U> T handleResponse(HttpProvider.HttpResponse httpResponse, Class<T> responseClass,
+            Class<U> errorResponseClass,
+            BiFunction<Integer, U, RuntimeException> newExceptionFunction)
+            throws RequestExecutionException, ResponseParsingException {
+        InputStream jsonInputStream;
+        try {
+            jsonInputStream = httpResponse.getResponseBody();
+        } catch (IOException e) {
+            throw new RequestExecutionException(e);
+        }
 
         int statusCode = httpResponse.getStatusCode();
         String correlationId = getCorrelationId(httpResponse);
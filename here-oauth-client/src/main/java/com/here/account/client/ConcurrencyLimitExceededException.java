@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2026 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.here.account.client;
+
+import com.here.account.oauth2.RequestExecutionException;
+
+/**
+ * Thrown by {@link Client} when a request is not sent because its endpoint is at its
+ * {@link ConcurrencyLimiter concurrency limit}, and no request completed within the wait allowed.
+ */
+public class ConcurrencyLimitExceededException extends RequestExecutionException {
+
+    /**
+     * default.
+     */
+    private static final long serialVersionUID = 1L;
+
+    private final int limit;
+
+    /**
+     * Constructs a ConcurrencyLimitExceededException.
+     *
+     * @param message the detail message
+     * @param limit the concurrency limit that was reached
+     */
+    public ConcurrencyLimitExceededException(String message, int limit) {
+        super(message);
+        this.limit = limit;
+    }
+
+    /**
+     * @return the concurrency limit that was reached
+     */
+    public int getLimit() {
+        return limit;
+    }
+}
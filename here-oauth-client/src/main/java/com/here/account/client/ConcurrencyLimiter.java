@@ -0,0 +1,453 @@
+/*
+ * Copyright (c) 2026 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.here.account.client;
+
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.here.account.http.Deadline;
+
+/**
+ * A {@link ConcurrencyLimiter} bounds the number of requests a {@link Client} has in flight,
+ * adapting the limit to the latency it observes, in the style of TCP Vegas.
+ * When an endpoint slows down, callers are turned away, or wait a bounded time,
+ * instead of piling up inside the HttpProvider until its pool or the JVM runs out.
+ *
+ * <p>
+ * Each completed request compares its latency with the lowest recently observed latency,
+ * to estimate how many requests are queued at the server:
+ * <pre>
+ *     queued = limit * (1 - minLatency / latency)
+ * </pre>
+ * While few are queued, the limit grows; when many are, it shrinks.
+ * Errors, and 429 and 503 responses, multiply the limit by {@value #BACKOFF_RATIO}.
+ * The lowest latency is measured over a window of requests proportional to the limit,
+ * and each window also counts the previous one, so that the limit follows a server
+ * whose normal latency changes.
+ *
+ * <p>
+ * Optionally each endpoint, that is each scheme, host, and port, has its own limit,
+ * so that one slow endpoint does not hold back requests to the others.
+ * One ConcurrencyLimiter may be shared by any number of Clients; the limits are then shared as well.
+ * At most {@value #MAX_PARTITIONS} endpoints have their own limit at a time: when that many do,
+ * the endpoints with nothing in flight are forgotten, and if all are busy, a new endpoint shares
+ * the limit of requests with no known endpoint.
+ *
+ * <p>
+ * A request is in flight from sending it until its response body is read to the end or closed,
+ * so a response still streaming counts against the limit, and its latency includes the streaming.
+ * Waiting for a slot uses a {@link ReentrantLock}, not a monitor, so that a waiting virtual thread
+ * does not pin its carrier thread.
+ */
+public class ConcurrencyLimiter {
+
+    public static final int DEFAULT_INITIAL_LIMIT = 20;
+    public static final int DEFAULT_MIN_LIMIT = 1;
+    public static final int DEFAULT_MAX_LIMIT = 200;
+    public static final long DEFAULT_MAX_WAIT_MILLIS = 0L;
+
+    /**
+     * The factor the limit is multiplied by when a request fails or is turned away by the server.
+     */
+    static final double BACKOFF_RATIO = 0.9;
+
+    /**
+     * The window over which the lowest latency is measured, in multiples of the limit.
+     */
+    static final int PROBE_MULTIPLIER = 30;
+
+    /**
+     * The most endpoints with a limit of their own.
+     */
+    static final int MAX_PARTITIONS = 1024;
+
+    /**
+     * The partition key when partitioning by endpoint is off, or the endpoint is not known.
+     */
+    private static final String DEFAULT_ENDPOINT = "";
+
+    /**
+     * Gets a new Builder for a ConcurrencyLimiter.
+     *
+     * @return the Builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private int initialLimit = DEFAULT_INITIAL_LIMIT;
+        private int minLimit = DEFAULT_MIN_LIMIT;
+        private int maxLimit = DEFAULT_MAX_LIMIT;
+        private long maxWaitMillis = DEFAULT_MAX_WAIT_MILLIS;
+        private boolean partitionByEndpoint;
+
+        private Builder() {
+        }
+
+        /**
+         * Optionally set the limit before any latencies have been observed.
+         * Default is {@link #DEFAULT_INITIAL_LIMIT}.
+         *
+         * @param initialLimit the initial limit, at least 1
+         * @return this Builder
+         */
+        public Builder setInitialLimit(int initialLimit) {
+            if (initialLimit < 1) {
+                throw new IllegalArgumentException("initialLimit must be at least 1: " + initialLimit);
+            }
+            this.initialLimit = initialLimit;
+            return this;
+        }
+
+        /**
+         * Optionally set the bounds of the limit.
+         * Defaults are {@link #DEFAULT_MIN_LIMIT} and {@link #DEFAULT_MAX_LIMIT}.
+         *
+         * @param minLimit the lowest limit, at least 1
+         * @param maxLimit the highest limit, at least minLimit
+         * @return this Builder
+         */
+        public Builder setLimitBounds(int minLimit, int maxLimit) {
+            if (minLimit < 1 || maxLimit < minLimit) {
+                throw new IllegalArgumentException("need 1 <= minLimit <= maxLimit: " + minLimit + ", " + maxLimit);
+            }
+            this.minLimit = minLimit;
+            this.maxLimit = maxLimit;
+            return this;
+        }
+
+        /**
+         * Optionally set how long a request waits for a slot when its endpoint is at its limit.
+         * The wait is also bounded by the request's Deadline, if any.
+         * Default is {@link #DEFAULT_MAX_WAIT_MILLIS}, to fail fast.
+         *
+         * @param maxWaitMillis the longest wait, or 0 to fail fast
+         * @return this Builder
+         */
+        public Builder setMaxWaitMillis(long maxWaitMillis) {
+            if (maxWaitMillis < 0L) {
+                throw new IllegalArgumentException("maxWaitMillis must not be negative: " + maxWaitMillis);
+            }
+            this.maxWaitMillis = maxWaitMillis;
+            return this;
+        }
+
+        /**
+         * Optionally give each endpoint, that is each scheme, host, and port, its own limit.
+         * Requests whose URL is not known, see {@link com.here.account.http.HttpProvider.HttpRequest#getUrl()},
+         * share one limit.
+         * Default is false, for one limit across all endpoints.
+         *
+         * @param partitionByEndpoint true for a limit per endpoint
+         * @return this Builder
+         */
+        public Builder setPartitionByEndpoint(boolean partitionByEndpoint) {
+            this.partitionByEndpoint = partitionByEndpoint;
+            return this;
+        }
+
+        public ConcurrencyLimiter build() {
+            if (initialLimit < minLimit || initialLimit > maxLimit) {
+                throw new IllegalStateException("initialLimit " + initialLimit
+                        + " must be within [" + minLimit + ", " + maxLimit + "]");
+            }
+            return new ConcurrencyLimiter(this);
+        }
+    }
+
+    private final int initialLimit;
+    private final int minLimit;
+    private final int maxLimit;
+    private final long maxWaitMillis;
+    private final boolean partitionByEndpoint;
+    private final Map<String, Partition> partitions = new ConcurrentHashMap<>();
+    private final AtomicLong rejectedCount = new AtomicLong();
+
+    private ConcurrencyLimiter(Builder builder) {
+        this.initialLimit = builder.initialLimit;
+        this.minLimit = builder.minLimit;
+        this.maxLimit = builder.maxLimit;
+        this.maxWaitMillis = builder.maxWaitMillis;
+        this.partitionByEndpoint = builder.partitionByEndpoint;
+    }
+
+    /**
+     * Acquires a slot for a request to the url, waiting up to the maximum wait if none is free.
+     * The returned Permit must be released when the request completes,
+     * that is when its response body has been read or closed.
+     *
+     * @param url the request URL, or null if not known
+     * @param deadline the Deadline of the request, or null for none
+     * @return the Permit
+     * @throws ConcurrencyLimitExceededException if no slot became free in time
+     * @throws InterruptedException if interrupted while waiting for a slot
+     */
+    Permit acquire(String url, Deadline deadline) throws InterruptedException {
+        Partition partition = getPartition(getEndpoint(url));
+        long waitMillis = maxWaitMillis;
+        if (null != deadline) {
+            waitMillis = Math.min(waitMillis, Math.max(0L, deadline.getRemainingMillis()));
+        }
+        int inFlight = partition.acquire(waitMillis);
+        if (inFlight < 0) {
+            rejectedCount.incrementAndGet();
+            int limit = partition.getLimit();
+            throw new ConcurrencyLimitExceededException("concurrency limit " + limit + " reached"
+                    + (partitionByEndpoint ? " for " + getEndpoint(url) : ""), limit);
+        }
+        return new Permit(partition, inFlight, System.nanoTime());
+    }
+
+    /**
+     * Gets the partition of an endpoint, creating it if there is room.
+     */
+    private Partition getPartition(String endpoint) {
+        Partition partition = partitions.get(endpoint);
+        if (null != partition) {
+            return partition;
+        }
+        if (partitions.size() >= MAX_PARTITIONS) {
+            // a request that already looked up an evicted partition still uses it, but it is not shared
+            for (Iterator<Partition> iterator = partitions.values().iterator(); iterator.hasNext(); ) {
+                if (0 == iterator.next().getInFlight()) {
+                    iterator.remove();
+                }
+            }
+            if (partitions.size() >= MAX_PARTITIONS) {
+                endpoint = DEFAULT_ENDPOINT;
+            }
+        }
+        return partitions.computeIfAbsent(endpoint, key -> new Partition());
+    }
+
+    /**
+     * Whether a response status code means the server is overloaded,
+     * so the limit should back off.
+     *
+     * @param statusCode the HTTP status code
+     * @return true for 429 and 503
+     */
+    static boolean isOverloaded(int statusCode) {
+        return 429 == statusCode || 503 == statusCode;
+    }
+
+    /**
+     * @return the current limit, across all endpoints or for requests with no known endpoint
+     */
+    public int getLimit() {
+        return getLimit(null);
+    }
+
+    /**
+     * Gets the current limit for an endpoint.
+     *
+     * @param url a URL of the endpoint
+     * @return the limit
+     */
+    public int getLimit(String url) {
+        Partition partition = partitions.get(getEndpoint(url));
+        return null != partition ? partition.getLimit() : initialLimit;
+    }
+
+    /**
+     * @return the number of requests in flight, across all endpoints
+     */
+    public int getInFlight() {
+        int inFlight = 0;
+        for (Partition partition : partitions.values()) {
+            inFlight += partition.getInFlight();
+        }
+        return inFlight;
+    }
+
+    /**
+     * Gets the number of requests in flight to an endpoint.
+     *
+     * @param url a URL of the endpoint
+     * @return the number of requests in flight
+     */
+    public int getInFlight(String url) {
+        Partition partition = partitions.get(getEndpoint(url));
+        return null != partition ? partition.getInFlight() : 0;
+    }
+
+    /**
+     * @return the number of requests turned away because their endpoint was at its limit
+     */
+    public long getRejectedCount() {
+        return rejectedCount.get();
+    }
+
+    /**
+     * @return the number of endpoints with a limit of their own
+     */
+    int getPartitionCount() {
+        return partitions.size();
+    }
+
+    /**
+     * Gets the partition key of a URL: its scheme, host, and port,
+     * if partitioning by endpoint.
+     */
+    private String getEndpoint(String url) {
+        if (!partitionByEndpoint || null == url) {
+            return DEFAULT_ENDPOINT;
+        }
+        int authorityStart = url.indexOf("://");
+        if (authorityStart < 0) {
+            return DEFAULT_ENDPOINT;
+        }
+        authorityStart += 3;
+        int authorityEnd = authorityStart;
+        while (authorityEnd < url.length()) {
+            char c = url.charAt(authorityEnd);
+            if ('/' == c || '?' == c || '#' == c) {
+                break;
+            }
+            authorityEnd++;
+        }
+        return url.substring(0, authorityEnd).toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * A slot held by one request.
+     */
+    static final class Permit {
+        private final Partition partition;
+        private final int inFlightAtStart;
+        private final long startNanos;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(Partition partition, int inFlightAtStart, long startNanos) {
+            this.partition = partition;
+            this.inFlightAtStart = inFlightAtStart;
+            this.startNanos = startNanos;
+        }
+
+        /**
+         * Releases the slot, and adjusts the limit by the request's latency.
+         * Only the first call has any effect, from whichever thread.
+         *
+         * @param dropped true if the request failed, or the server was overloaded
+         */
+        void release(boolean dropped) {
+            if (released.compareAndSet(false, true)) {
+                partition.release(inFlightAtStart, System.nanoTime() - startNanos, dropped);
+            }
+        }
+    }
+
+    /**
+     * The limit, and the requests in flight, for one endpoint.
+     */
+    private final class Partition {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition released = lock.newCondition();
+        private double limit = initialLimit;
+        private int inFlight;
+        private long minLatencyNanos;
+        private long previousMinLatencyNanos;
+        private long samplesSinceProbe;
+
+        /**
+         * @return the number in flight including this request, or -1 if none became free in time
+         * @throws InterruptedException if interrupted while waiting
+         */
+        private int acquire(long waitMillis) throws InterruptedException {
+            lock.lock();
+            try {
+                if (inFlight >= (int) limit && waitMillis > 0L) {
+                    long remainingNanos = TimeUnit.MILLISECONDS.toNanos(waitMillis);
+                    while (inFlight >= (int) limit && remainingNanos > 0L) {
+                        remainingNanos = released.awaitNanos(remainingNanos);
+                    }
+                }
+                if (inFlight >= (int) limit) {
+                    return -1;
+                }
+                return ++inFlight;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void release(int inFlightAtStart, long latencyNanos, boolean dropped) {
+            lock.lock();
+            try {
+                adjust(inFlightAtStart, latencyNanos, dropped);
+                released.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void adjust(int inFlightAtStart, long latencyNanos, boolean dropped) {
+            inFlight--;
+            double newLimit = limit;
+            if (dropped) {
+                newLimit = limit * BACKOFF_RATIO;
+            } else if (latencyNanos > 0L) {
+                if (0L == minLatencyNanos || ++samplesSinceProbe >= PROBE_MULTIPLIER * (long) limit) {
+                    // start a new window, in case the server's normal latency has changed;
+                    // the previous window's lowest latency still counts until this window ends,
+                    // as under load the first latencies of the window include queueing
+                    samplesSinceProbe = 0L;
+                    previousMinLatencyNanos = minLatencyNanos;
+                    minLatencyNanos = latencyNanos;
+                } else if (latencyNanos < minLatencyNanos) {
+                    minLatencyNanos = latencyNanos;
+                }
+                long noLoadLatencyNanos = 0L == previousMinLatencyNanos
+                        ? minLatencyNanos : Math.min(minLatencyNanos, previousMinLatencyNanos);
+                double queued = limit * (1.0 - (double) noLoadLatencyNanos / latencyNanos);
+                double step = Math.max(1.0, Math.log10(limit));
+                if (queued > 6.0 * step) {
+                    newLimit = limit - step;
+                } else if (queued < 3.0 * step && 2 * inFlightAtStart >= (int) limit) {
+                    // only grow when the limit is actually being used
+                    newLimit = limit + step;
+                }
+            }
+            limit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+        }
+
+        private int getLimit() {
+            lock.lock();
+            try {
+                return (int) limit;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private int getInFlight() {
+            lock.lock();
+            try {
+                return inFlight;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
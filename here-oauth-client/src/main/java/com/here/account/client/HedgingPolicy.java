@@ -0,0 +1,519 @@
+/*
+ * Copyright (c) 2026 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.here.account.client;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+import com.here.account.http.HttpException;
+import com.here.account.http.HttpProvider;
+import com.here.account.oauth2.retry.Retryable;
+import com.here.account.util.VirtualThreads;
+
+/**
+ * A {@link HedgingPolicy} cuts the latency tail of idempotent requests,
+ * such as token and timestamp requests.
+ * If the first attempt has not completed within the hedge delay, a second attempt is
+ * started in parallel, and whichever completes successfully first is used.
+ * The other attempt is cancelled, its request is {@link HttpProvider.HttpRequest#abort() aborted}
+ * if it was sent through {@link #execute(Supplier, RequestAttempt)},
+ * and its response, if it still arrives, is closed.
+ *
+ * <p>
+ * The hedge delay is a percentile, by default the 95th, of recently observed attempt latencies,
+ * clamped between the minimum and maximum delay.
+ * Until enough latencies have been observed the initial delay is used.
+ *
+ * <p>
+ * Hedges are limited by a budget: every request earns {@link Builder#setMaxHedgeRatio(double)}
+ * of a hedge, up to a small reserve, and each hedge spends one.
+ * So at most that fraction of requests are hedged over time, and an overloaded server
+ * does not see its load doubled.
+ *
+ * <p>
+ * One HedgingPolicy may be shared by any number of Clients; the latencies and
+ * budget are then shared as well.
+ */
+public class HedgingPolicy {
+
+    private static final Logger LOGGER = Logger.getLogger(HedgingPolicy.class.getName());
+
+    public static final double DEFAULT_PERCENTILE = 95.0;
+    public static final long DEFAULT_INITIAL_DELAY_MILLIS = 1000L;
+    public static final long DEFAULT_MIN_DELAY_MILLIS = 10L;
+    public static final long DEFAULT_MAX_DELAY_MILLIS = 5000L;
+    public static final int DEFAULT_SAMPLE_SIZE = 128;
+    public static final double DEFAULT_MAX_HEDGE_RATIO = 0.1;
+
+    /**
+     * The number of observed latencies needed before the percentile is used.
+     */
+    static final int MIN_SAMPLES = 20;
+
+    /**
+     * The most unspent hedges the budget accumulates.
+     */
+    private static final double MAX_BUDGET_BALANCE = 10.0;
+
+    /**
+     * Gets a new Builder for a HedgingPolicy.
+     *
+     * @return the Builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private double percentile = DEFAULT_PERCENTILE;
+        private long initialDelayMillis = DEFAULT_INITIAL_DELAY_MILLIS;
+        private long minDelayMillis = DEFAULT_MIN_DELAY_MILLIS;
+        private long maxDelayMillis = DEFAULT_MAX_DELAY_MILLIS;
+        private int sampleSize = DEFAULT_SAMPLE_SIZE;
+        private double maxHedgeRatio = DEFAULT_MAX_HEDGE_RATIO;
+        private ExecutorService executorService;
+
+        private Builder() {
+        }
+
+        /**
+         * Optionally set the latency percentile after which a hedge is sent.
+         * Default is {@link #DEFAULT_PERCENTILE}.
+         *
+         * @param percentile the percentile, greater than 0 and at most 100
+         * @return this Builder
+         */
+        public Builder setPercentile(double percentile) {
+            if (!(percentile > 0 && percentile <= 100)) {
+                throw new IllegalArgumentException("percentile must be in (0, 100]: " + percentile);
+            }
+            this.percentile = percentile;
+            return this;
+        }
+
+        /**
+         * Optionally set the hedge delay used until enough latencies have been observed.
+         * Default is {@link #DEFAULT_INITIAL_DELAY_MILLIS}.
+         *
+         * @param initialDelayMillis the initial hedge delay
+         * @return this Builder
+         */
+        public Builder setInitialDelayMillis(long initialDelayMillis) {
+            this.initialDelayMillis = initialDelayMillis;
+            return this;
+        }
+
+        /**
+         * Optionally set the bounds of the percentile-based hedge delay.
+         * Defaults are {@link #DEFAULT_MIN_DELAY_MILLIS} and {@link #DEFAULT_MAX_DELAY_MILLIS}.
+         *
+         * @param minDelayMillis the shortest hedge delay
+         * @param maxDelayMillis the longest hedge delay
+         * @return this Builder
+         */
+        public Builder setDelayBoundsMillis(long minDelayMillis, long maxDelayMillis) {
+            if (minDelayMillis < 0 || maxDelayMillis < minDelayMillis) {
+                throw new IllegalArgumentException("invalid delay bounds: " + minDelayMillis
+                        + ", " + maxDelayMillis);
+            }
+            this.minDelayMillis = minDelayMillis;
+            this.maxDelayMillis = maxDelayMillis;
+            return this;
+        }
+
+        /**
+         * Optionally set how many recent latencies the percentile is computed over.
+         * Default is {@link #DEFAULT_SAMPLE_SIZE}.
+         *
+         * @param sampleSize the number of latencies kept
+         * @return this Builder
+         */
+        public Builder setSampleSize(int sampleSize) {
+            if (sampleSize < MIN_SAMPLES) {
+                throw new IllegalArgumentException("sampleSize must be at least " + MIN_SAMPLES + ": " + sampleSize);
+            }
+            this.sampleSize = sampleSize;
+            return this;
+        }
+
+        /**
+         * Optionally set the largest fraction of requests that may be hedged.
+         * Default is {@link #DEFAULT_MAX_HEDGE_RATIO}; 0 disables hedging.
+         *
+         * @param maxHedgeRatio the hedge budget, between 0 and 1
+         * @return this Builder
+         */
+        public Builder setMaxHedgeRatio(double maxHedgeRatio) {
+            if (!(maxHedgeRatio >= 0 && maxHedgeRatio <= 1)) {
+                throw new IllegalArgumentException("maxHedgeRatio must be in [0, 1]: " + maxHedgeRatio);
+            }
+            this.maxHedgeRatio = maxHedgeRatio;
+            return this;
+        }
+
+        /**
+         * Optionally set the ExecutorService that runs the attempts.
+         * It needs up to two threads per concurrent request.
+         * By default a shared cached pool of daemon threads is used.
+         *
+         * @param executorService the ExecutorService
+         * @return this Builder
+         */
+        public Builder setExecutorService(ExecutorService executorService) {
+            this.executorService = executorService;
+            return this;
+        }
+
+        /**
+         * Build the HedgingPolicy.
+         *
+         * @return the built HedgingPolicy
+         */
+        public HedgingPolicy build() {
+            return new HedgingPolicy(this);
+        }
+    }
+
+    /**
+     * The default ExecutorService for attempts, on virtual threads if {@link VirtualThreads#isEnabled()}.
+     */
+    private static class ExecutorServiceHolder {
+        private static final ExecutorService EXECUTOR_SERVICE = VirtualThreads.isEnabled()
+                ? VirtualThreads.newThreadPerTaskExecutor("here-auth-hedge-")
+                : Executors.newCachedThreadPool(r -> {
+                    Thread thread = new Thread(r, "here-auth-hedge");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    private final double percentile;
+    private final long initialDelayMillis;
+    private final long minDelayMillis;
+    private final long maxDelayMillis;
+    private final double maxHedgeRatio;
+    private final ExecutorService executorService;
+
+    private final long[] latencies;
+    private int latencyCount;
+    private int nextLatencyIndex;
+    private double budgetBalance;
+
+    private final AtomicLong requestCount = new AtomicLong();
+    private final AtomicLong hedgeCount = new AtomicLong();
+    private final AtomicLong hedgeWinCount = new AtomicLong();
+    private final AtomicLong budgetExhaustedCount = new AtomicLong();
+
+    private HedgingPolicy(Builder builder) {
+        this.percentile = builder.percentile;
+        this.initialDelayMillis = builder.initialDelayMillis;
+        this.minDelayMillis = builder.minDelayMillis;
+        this.maxDelayMillis = builder.maxDelayMillis;
+        this.maxHedgeRatio = builder.maxHedgeRatio;
+        this.executorService = null != builder.executorService
+                ? builder.executorService : ExecutorServiceHolder.EXECUTOR_SERVICE;
+        this.latencies = new long[builder.sampleSize];
+        this.budgetBalance = maxHedgeRatio > 0 ? 1.0 : 0.0;
+    }
+
+    /**
+     * Gets the current hedge delay.
+     *
+     * @return the milliseconds to wait for the first attempt before hedging
+     */
+    public long getHedgeDelayMillis() {
+        long[] sorted;
+        synchronized (latencies) {
+            if (latencyCount < MIN_SAMPLES) {
+                return initialDelayMillis;
+            }
+            sorted = Arrays.copyOf(latencies, latencyCount);
+        }
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        long delayMillis = sorted[Math.max(0, index)];
+        return Math.max(minDelayMillis, Math.min(maxDelayMillis, delayMillis));
+    }
+
+    /**
+     * Records the latency of a completed attempt.
+     *
+     * @param latencyMillis the attempt's latency
+     */
+    void recordLatency(long latencyMillis) {
+        synchronized (latencies) {
+            latencies[nextLatencyIndex] = latencyMillis;
+            nextLatencyIndex = (nextLatencyIndex + 1) % latencies.length;
+            latencyCount = Math.min(latencies.length, latencyCount + 1);
+        }
+    }
+
+    private synchronized void depositBudget() {
+        budgetBalance = Math.min(MAX_BUDGET_BALANCE, budgetBalance + maxHedgeRatio);
+    }
+
+    private synchronized boolean tryWithdrawBudget() {
+        if (budgetBalance >= 1.0) {
+            budgetBalance -= 1.0;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Executes attempt, and if it has not completed within the hedge delay and the budget allows,
+     * executes attempt a second time in parallel.
+     * Each call to attempt must send a new, independently authorized request.
+     *
+     * @param attempt sends the request
+     * @return the response of the first attempt to complete successfully
+     * @throws IOException the exception of the last attempt to fail, if all attempts fail,
+     *     or InterruptedIOException if interrupted while waiting
+     * @throws HttpException the exception of the last attempt to fail, if all attempts fail
+     */
+    public HttpProvider.HttpResponse execute(Retryable attempt) throws IOException, HttpException {
+        return execute(() -> new Attempt(attempt, null, null));
+    }
+
+    /**
+     * Sends one HTTP request.
+     */
+    @FunctionalInterface
+    public interface RequestAttempt {
+
+        /**
+         * Sends httpRequest.
+         *
+         * @param httpRequest the request to send
+         * @return the response
+         * @throws IOException if I/O trouble
+         * @throws HttpException if trouble executing the request
+         */
+        HttpProvider.HttpResponse execute(HttpProvider.HttpRequest httpRequest) throws IOException, HttpException;
+    }
+
+    /**
+     * Like {@link #execute(Retryable)}, but each attempt sends a new request from httpRequestSupplier,
+     * so that the request of the losing attempt can be {@link HttpProvider.HttpRequest#abort() aborted},
+     * releasing its connection even while it is still waiting for a response.
+     *
+     * @param httpRequestSupplier supplies a new, independently authorized request for each attempt
+     * @param attempt sends the request
+     * @return the response of the first attempt to complete successfully
+     * @throws IOException the exception of the last attempt to fail, if all attempts fail,
+     *     or InterruptedIOException if interrupted while waiting
+     * @throws HttpException the exception of the last attempt to fail, if all attempts fail
+     */
+    public HttpProvider.HttpResponse execute(Supplier<HttpProvider.HttpRequest> httpRequestSupplier,
+            RequestAttempt attempt) throws IOException, HttpException {
+        return execute(() -> new Attempt(null, httpRequestSupplier, attempt));
+    }
+
+    private HttpProvider.HttpResponse execute(Supplier<Attempt> newAttempt) throws IOException, HttpException {
+        requestCount.incrementAndGet();
+        depositBudget();
+
+        ExecutorCompletionService<HttpProvider.HttpResponse> completionService =
+                new ExecutorCompletionService<>(executorService);
+        Attempt primary = newAttempt.get();
+        primary.future = completionService.submit(primary);
+        Attempt hedge = null;
+        Attempt winner = null;
+        try {
+            Future<HttpProvider.HttpResponse> done =
+                    completionService.poll(getHedgeDelayMillis(), TimeUnit.MILLISECONDS);
+            if (null == done) {
+                if (tryWithdrawBudget()) {
+                    hedgeCount.incrementAndGet();
+                    hedge = newAttempt.get();
+                    hedge.future = completionService.submit(hedge);
+                } else {
+                    budgetExhaustedCount.incrementAndGet();
+                }
+                done = completionService.take();
+            }
+
+            int outstanding = null == hedge ? 1 : 2;
+            while (true) {
+                outstanding--;
+                try {
+                    HttpProvider.HttpResponse response = done.get();
+                    winner = done == primary.future ? primary : hedge;
+                    if (winner == hedge) {
+                        hedgeWinCount.incrementAndGet();
+                    }
+                    return response;
+                } catch (ExecutionException e) {
+                    if (0 == outstanding) {
+                        throw rethrow(e.getCause());
+                    }
+                    LOGGER.fine("hedged attempt failed, waiting for the other: " + e.getCause());
+                }
+                done = completionService.take();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            InterruptedIOException interrupted = new InterruptedIOException("interrupted waiting for hedged request");
+            interrupted.initCause(e);
+            throw interrupted;
+        } finally {
+            if (primary != winner) {
+                primary.abandon();
+            }
+            if (null != hedge && hedge != winner) {
+                hedge.abandon();
+            }
+        }
+    }
+
+    /**
+     * One attempt, which records its own latency,
+     * and aborts its request and closes its response if the attempt was abandoned.
+     * It runs either retryable, or requestAttempt with a request from httpRequestSupplier.
+     */
+    private class Attempt implements Callable<HttpProvider.HttpResponse> {
+        private final Retryable retryable;
+        private final Supplier<HttpProvider.HttpRequest> httpRequestSupplier;
+        private final RequestAttempt requestAttempt;
+        private Future<HttpProvider.HttpResponse> future;
+        private boolean abandoned;
+        private HttpProvider.HttpRequest request;
+        private HttpProvider.HttpResponse response;
+
+        private Attempt(Retryable retryable, Supplier<HttpProvider.HttpRequest> httpRequestSupplier,
+                RequestAttempt requestAttempt) {
+            this.retryable = retryable;
+            this.httpRequestSupplier = httpRequestSupplier;
+            this.requestAttempt = requestAttempt;
+        }
+
+        @Override
+        public HttpProvider.HttpResponse call() throws Exception {
+            long startNanos = System.nanoTime();
+            HttpProvider.HttpResponse response;
+            if (null != retryable) {
+                response = retryable.execute();
+            } else {
+                HttpProvider.HttpRequest request = httpRequestSupplier.get();
+                if (!offer(request)) {
+                    throw new InterruptedIOException("hedged attempt abandoned");
+                }
+                response = requestAttempt.execute(request);
+            }
+            recordLatency(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+            if (!offer(response)) {
+                closeQuietly(response);
+            }
+            return response;
+        }
+
+        private synchronized boolean offer(HttpProvider.HttpResponse response) {
+            this.response = response;
+            return !abandoned;
+        }
+
+        private synchronized boolean offer(HttpProvider.HttpRequest request) {
+            this.request = request;
+            return !abandoned;
+        }
+
+        /**
+         * Cancels this attempt, aborts its request, which frees its connection,
+         * and closes its response if it already has one.
+         */
+        private void abandon() {
+            HttpProvider.HttpRequest sent;
+            HttpProvider.HttpResponse completed;
+            synchronized (this) {
+                abandoned = true;
+                sent = request;
+                completed = response;
+            }
+            future.cancel(true);
+            if (null != sent) {
+                try {
+                    sent.abort();
+                } catch (RuntimeException e) {
+                    LOGGER.fine("trouble aborting abandoned request: " + e);
+                }
+            }
+            closeQuietly(completed);
+        }
+    }
+
+    private static IOException rethrow(Throwable cause) throws HttpException {
+        if (cause instanceof IOException) {
+            return (IOException) cause;
+        } else if (cause instanceof HttpException) {
+            throw (HttpException) cause;
+        } else if (cause instanceof RuntimeException) {
+            throw (RuntimeException) cause;
+        } else if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+        return new IOException(cause);
+    }
+
+    private static void closeQuietly(HttpProvider.HttpResponse response) {
+        if (null != response) {
+            try (InputStream responseBody = response.getResponseBody()) {
+                // closed
+            } catch (IOException | RuntimeException e) {
+                LOGGER.fine("trouble closing abandoned response body: " + e);
+            }
+        }
+    }
+
+    /**
+     * @return the number of requests executed
+     */
+    public long getRequestCount() {
+        return requestCount.get();
+    }
+
+    /**
+     * @return the number of hedges sent
+     */
+    public long getHedgeCount() {
+        return hedgeCount.get();
+    }
+
+    /**
+     * @return the number of requests answered by the hedge rather than the first attempt
+     */
+    public long getHedgeWinCount() {
+        return hedgeWinCount.get();
+    }
+
+    /**
+     * @return the number of requests that would have been hedged, but for the budget
+     */
+    public long getBudgetExhaustedCount() {
+        return budgetExhaustedCount.get();
+    }
+}
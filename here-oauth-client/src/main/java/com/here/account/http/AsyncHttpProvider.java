@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2026 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.here.account.http;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * An {@link HttpProvider} that can also execute requests without blocking any thread
+ * while they wait for the server.
+ * {@link com.here.account.client.Client} relies on this to keep many requests in flight
+ * on a few threads, so an implementation must not simply run blocking requests on a thread pool.
+ * Requests are built with the usual {@link HttpProvider#getRequest} methods,
+ * so form parameter and JSON body handling are the same as for blocking execution.
+ *
+ * @see com.here.account.http.asynchttpclient.AsyncHttpClientProvider
+ */
+public interface AsyncHttpProvider extends HttpProvider {
+
+    /**
+     * Execute the <tt>httpRequest</tt> asynchronously.
+     *
+     * @param httpRequest the HttpRequest
+     * @return a future that completes with the HttpResponse,
+     *      or exceptionally with the HttpException or IOException that execution threw
+     */
+    default CompletableFuture<HttpResponse> executeAsync(HttpRequest httpRequest) {
+        return executeAsync(httpRequest, null);
+    }
+
+    /**
+     * Execute the <tt>httpRequest</tt> asynchronously, completing by the <tt>deadline</tt>.
+     *
+     * @param httpRequest the HttpRequest
+     * @param deadline the Deadline for this request, or null for none
+     * @return a future that completes with the HttpResponse,
+     *      or exceptionally with the HttpException or IOException that execution threw
+     */
+    CompletableFuture<HttpResponse> executeAsync(HttpRequest httpRequest, Deadline deadline);
+
+}
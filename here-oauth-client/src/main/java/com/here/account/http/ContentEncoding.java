@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2026 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.here.account.http;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.util.Locale;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Decoding of compressed response bodies, per the
+ * <a href="https://tools.ietf.org/html/rfc7231#section-3.1.2.2">Content-Encoding</a> header,
+ * for HttpProviders whose HTTP library does not decode them itself.
+ * Only a single encoding from {@link #ACCEPTED_ENCODINGS} is decoded;
+ * any other body, such as br or a list of encodings, is passed through as received.
+ * The body is decompressed as it is read, never buffered whole.
+ */
+public final class ContentEncoding {
+
+    public static final String ACCEPT_ENCODING_HEADER = "Accept-Encoding";
+    public static final String CONTENT_ENCODING_HEADER = "Content-Encoding";
+
+    /**
+     * The Accept-Encoding header value sent when content compression is enabled.
+     */
+    public static final String ACCEPTED_ENCODINGS = "gzip, deflate";
+
+    private static final String IDENTITY = "identity";
+    private static final String GZIP = "gzip";
+    private static final String X_GZIP = "x-gzip";
+    private static final String DEFLATE = "deflate";
+
+    /**
+     * This class cannot be instantiated.
+     */
+    private ContentEncoding() {}
+
+    /**
+     * Whether the Content-Encoding header value means the body is encoded.
+     *
+     * @param contentEncoding the Content-Encoding header value, or null if there is none
+     * @return false if contentEncoding is null, empty, or identity
+     */
+    public static boolean isEncoded(String contentEncoding) {
+        return null != contentEncoding && !contentEncoding.trim().isEmpty()
+                && !IDENTITY.equalsIgnoreCase(contentEncoding.trim());
+    }
+
+    /**
+     * Whether {@link #decode(String, InputStream)} can decode a body with this Content-Encoding.
+     * A server may apply encodings we did not ask for, so callers should keep the body,
+     * and the headers describing it, as received when this returns false.
+     *
+     * @param contentEncoding the Content-Encoding header value, or null if there is none
+     * @return true only if contentEncoding is a single gzip, x-gzip, or deflate encoding
+     */
+    public static boolean isDecodable(String contentEncoding) {
+        if (null == contentEncoding) {
+            return false;
+        }
+        String encoding = contentEncoding.trim().toLowerCase(Locale.ROOT);
+        return GZIP.equals(encoding) || X_GZIP.equals(encoding) || DEFLATE.equals(encoding);
+    }
+
+    /**
+     * Gets an InputStream that decodes the encoded response body as it is read.
+     * Nothing is read from the encoded body until the returned stream is first read,
+     * and an empty encoded body decodes to an empty body.
+     *
+     * @param contentEncoding the Content-Encoding header value
+     * @param encoded the encoded response body
+     * @return the decoded response body, or encoded itself if it is not {@link #isDecodable(String) decodable}
+     */
+    public static InputStream decode(String contentEncoding, InputStream encoded) {
+        if (!isDecodable(contentEncoding)) {
+            return encoded;
+        }
+        return new DecodingInputStream(contentEncoding.trim().toLowerCase(Locale.ROOT), encoded);
+    }
+
+    /**
+     * Creates its decoder on the first read, so an empty body, as for HEAD requests,
+     * is not mistaken for a truncated header.
+     */
+    private static class DecodingInputStream extends InputStream {
+        private final String encoding;
+        private final InputStream encoded;
+        private InputStream decoded;
+
+        private DecodingInputStream(String encoding, InputStream encoded) {
+            this.encoding = encoding;
+            this.encoded = encoded;
+        }
+
+        private InputStream getDecoded() throws IOException {
+            if (null == decoded) {
+                PushbackInputStream pushback = new PushbackInputStream(encoded, 2);
+                byte[] header = new byte[2];
+                int length = 0;
+                int n;
+                while (length < header.length && (n = pushback.read(header, length, header.length - length)) > 0) {
+                    length += n;
+                }
+                if (length > 0) {
+                    pushback.unread(header, 0, length);
+                }
+                if (0 == length) {
+                    decoded = pushback;
+                } else if (DEFLATE.equals(encoding)) {
+                    // "deflate" is meant to be zlib-wrapped, but some servers send raw deflate
+                    decoded = new EndingInflaterInputStream(pushback, new Inflater(!isZlibHeader(header, length)));
+                } else {
+                    decoded = new GZIPInputStream(pushback);
+                }
+            }
+            return decoded;
+        }
+
+        @Override
+        public int read() throws IOException {
+            return getDecoded().read();
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            return getDecoded().read(b, off, len);
+        }
+
+        @Override
+        public int available() throws IOException {
+            return null != decoded ? decoded.available() : 0;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (null != decoded) {
+                decoded.close();
+            } else {
+                encoded.close();
+            }
+        }
+    }
+
+    /**
+     * Whether the first two bytes are a zlib header, see
+     * <a href="https://tools.ietf.org/html/rfc1950#section-2.2">RFC 1950</a>.
+     */
+    private static boolean isZlibHeader(byte[] header, int length) {
+        if (length < 2) {
+            return false;
+        }
+        int cmf = header[0] & 0xff;
+        int flg = header[1] & 0xff;
+        return 8 == (cmf & 0x0f) && 0 == (cmf << 8 | flg) % 31;
+    }
+
+    /**
+     * An InflaterInputStream that releases its Inflater's native memory when closed.
+     */
+    private static class EndingInflaterInputStream extends InflaterInputStream {
+        private boolean closed;
+
+        private EndingInflaterInputStream(InputStream inputStream, Inflater inflater) {
+            super(inputStream, inflater);
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!closed) {
+                closed = true;
+                try {
+                    super.close();
+                } finally {
+                    inf.end();
+                }
+            }
+        }
+    }
+}
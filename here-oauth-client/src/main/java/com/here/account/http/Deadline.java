@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2026 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.here.account.http;
+
+import java.net.SocketTimeoutException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A point in time by which a request, including all of its retries, must complete.
+ * Deadlines are measured with {@link System#nanoTime()}, so they are not affected
+ * by changes to the wall clock.
+ *
+ * <p>
+ * A Deadline is passed to
+ * {@link HttpProvider#execute(HttpProvider.HttpRequest, Deadline)}, where it bounds
+ * the connect and read timeouts of a single attempt, and to
+ * {@link com.here.account.oauth2.retry.RetryExecutor#execute(com.here.account.oauth2.retry.Retryable, Deadline)},
+ * where it bounds the waits between attempts.
+ */
+public final class Deadline {
+
+    /**
+     * Gets a Deadline the specified duration from now.
+     *
+     * @param duration the time allowed
+     * @param unit the unit of duration
+     * @return the Deadline
+     */
+    public static Deadline after(long duration, TimeUnit unit) {
+        return new Deadline(System.nanoTime() + unit.toNanos(duration));
+    }
+
+    private final long deadlineNanos;
+
+    private Deadline(long deadlineNanos) {
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    /**
+     * @return the nanoseconds remaining until the deadline, negative if it has passed
+     */
+    public long getRemainingNanos() {
+        return deadlineNanos - System.nanoTime();
+    }
+
+    /**
+     * @return the milliseconds remaining until the deadline, rounded down,
+     *      negative if it has passed
+     */
+    public long getRemainingMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(getRemainingNanos());
+    }
+
+    /**
+     * @return true if the deadline has passed
+     */
+    public boolean isExpired() {
+        return getRemainingNanos() <= 0L;
+    }
+
+    /**
+     * Gets the timeout to use for a single blocking operation, such as a connect or a read,
+     * so that it does not run past this deadline.
+     *
+     * @param timeoutMillis the configured timeout, where 0 means infinite
+     * @return the smaller of timeoutMillis and the time remaining, always at least 1
+     * @throws SocketTimeoutException if less than a millisecond remains
+     */
+    public int getTimeoutMillis(int timeoutMillis) throws SocketTimeoutException {
+        long remainingMillis = getRemainingMillis();
+        if (remainingMillis <= 0L) {
+            throw new SocketTimeoutException("deadline exceeded");
+        }
+        if (timeoutMillis > 0 && timeoutMillis < remainingMillis) {
+            return timeoutMillis;
+        }
+        return (int) Math.min(Integer.MAX_VALUE, remainingMillis);
+    }
+
+    @Override
+    public String toString() {
+        return "Deadline [remainingMillis=" + getRemainingMillis() + "]";
+    }
+}
@@ -39,6 +39,12 @@ public class HttpConstants {
     public static final int DEFAULT_REQUEST_TIMEOUT_IN_MS = 5000;
     public static final int DEFAULT_CONNECTION_TIMEOUT_IN_MS = 5000;
 
+    /**
+     * The default number of connections an HttpProvider keeps apart for its
+     * {@link HttpProvider#getReservedLane() reserved lane}.
+     */
+    public static final int DEFAULT_RESERVED_CONNECTIONS = 2;
+
     public enum HttpMethods {
         /**
          * See <a href="https://tools.ietf.org/html/rfc7231#section-4.3.1">HTTP/1.1 Semantics and Content: GET</a>.
@@ -58,6 +58,25 @@ public interface HttpProvider extends Closeable {
             throw new UnsupportedOperationException("addHeader not supported");
         }
 
+        /**
+         * Aborts this request, from any thread.
+         * If the request is being executed, the execution fails promptly with an IOException
+         * and its connection is released; if it has not started, it fails when it is executed.
+         * The default implementation does nothing, for backward-compatibility with existing providers.
+         */
+        default void abort() {
+        }
+
+        /**
+         * Gets the URL this request is sent to.
+         * The default implementation returns null, for backward-compatibility with existing providers.
+         *
+         * @return the request URL, or null if not known
+         */
+        default String getUrl() {
+            return null;
+        }
+
     }
     
     /**
@@ -80,6 +99,24 @@ public interface HttpProvider extends Closeable {
         void authorize(HttpRequest httpRequest, String method, String url, 
                 Map<String, List<String>> formParams);
 
+        /**
+         * Computes and adds a signature or token to a request stamped from a
+         * {@link RequestTemplate}.
+         * Implementations can override this to reuse work derived from the template.
+         * The default implementation authorizes the template's method and URL.
+         *
+         * @param httpRequest the HttpRequest under construction,
+         *      to which to attach authorization
+         * @param requestTemplate the template of the request
+         * @param formParams the
+         *      Content-Type: application/x-www-form-urlencoded
+         *      form parameters.
+         */
+        default void authorize(HttpRequest httpRequest, RequestTemplate requestTemplate,
+                Map<String, List<String>> formParams) {
+            authorize(httpRequest, requestTemplate.getMethod(), requestTemplate.getUrl(), formParams);
+        }
+
     }
     
     /**
@@ -154,6 +191,56 @@ public interface HttpProvider extends Closeable {
      */
     HttpRequest getRequest(HttpRequestAuthorizer httpRequestAuthorizer, String method, String url,
             Map<String, List<String>> formParams);
+
+    /**
+     * Gets a request stamped from the requestTemplate, with the specified requestBodyJson.
+     * The Authorization header has already been set according to the
+     * httpRequestAuthorizer implementation, and the template's headers have been added.
+     * The default implementation delegates to
+     * {@link #getRequest(HttpRequestAuthorizer, String, String, String)},
+     * authorizing with {@link HttpRequestAuthorizer#authorize(HttpRequest, RequestTemplate, Map)};
+     * implementations can override it to skip parsing the URL.
+     *
+     * @param httpRequestAuthorizer for adding the Authorization header value
+     * @param requestTemplate the method, URL, and headers of the request
+     * @param requestBodyJson the
+     *      Content-Type: application/json
+     *      JSON request body.
+     * @return the HttpRequest object you can {@link #execute(HttpRequest)}.
+     */
+    default HttpRequest getRequest(HttpRequestAuthorizer httpRequestAuthorizer, RequestTemplate requestTemplate,
+            String requestBodyJson) {
+        HttpRequest httpRequest = getRequest(
+                (request, method, url, formParams) -> httpRequestAuthorizer.authorize(request, requestTemplate, formParams),
+                requestTemplate.getMethod(), requestTemplate.getUrl(), requestBodyJson);
+        requestTemplate.addHeaders(httpRequest);
+        return httpRequest;
+    }
+
+    /**
+     * Gets a request stamped from the requestTemplate, with the specified formParams.
+     * The Authorization header has already been set according to the
+     * httpRequestAuthorizer implementation, and the template's headers have been added.
+     * The default implementation delegates to
+     * {@link #getRequest(HttpRequestAuthorizer, String, String, Map)},
+     * authorizing with {@link HttpRequestAuthorizer#authorize(HttpRequest, RequestTemplate, Map)};
+     * implementations can override it to skip parsing the URL.
+     *
+     * @param httpRequestAuthorizer for adding the Authorization header value
+     * @param requestTemplate the method, URL, and headers of the request
+     * @param formParams the
+     *      Content-Type: application/x-www-form-urlencoded
+     *      form parameters.
+     * @return the HttpRequest object you can {@link #execute(HttpRequest)}.
+     */
+    default HttpRequest getRequest(HttpRequestAuthorizer httpRequestAuthorizer, RequestTemplate requestTemplate,
+            Map<String, List<String>> formParams) {
+        HttpRequest httpRequest = getRequest(
+                (request, method, url, params) -> httpRequestAuthorizer.authorize(request, requestTemplate, params),
+                requestTemplate.getMethod(), requestTemplate.getUrl(), formParams);
+        requestTemplate.addHeaders(httpRequest);
+        return httpRequest;
+    }
     
     /**
      * Execute the <tt>httpRequest</tt>.
@@ -166,5 +253,82 @@ public interface HttpProvider extends Closeable {
      * @throws IOException if there is I/O trouble executing the httpRequest
      */
     HttpResponse execute(HttpRequest httpRequest) throws HttpException, IOException;
-    
+
+    /**
+     * Execute the <tt>httpRequest</tt>, which must complete by the <tt>deadline</tt>.
+     * Implementing classes should use the time remaining to bound their connect and read
+     * timeouts for this request only.
+     * The default implementation fails fast if the deadline has already passed,
+     * and otherwise ignores it, for backward-compatibility with existing providers.
+     *
+     * @param httpRequest the HttpRequest
+     * @param deadline the Deadline for this request, or null for none
+     * @return the HttpResponse to the request
+     * @throws HttpException if there is trouble executing the httpRequest
+     * @throws IOException if there is I/O trouble executing the httpRequest,
+     *      including a {@link java.net.SocketTimeoutException} if the deadline passes
+     */
+    default HttpResponse execute(HttpRequest httpRequest, Deadline deadline) throws HttpException, IOException {
+        if (null != deadline) {
+            deadline.getTimeoutMillis(0);
+        }
+        return execute(httpRequest);
+    }
+
+    /**
+     * Gets an HttpProvider for requests that must not queue behind other traffic on this one,
+     * such as token and timestamp requests.
+     * It is configured like this provider, but draws on its own small budget of connections,
+     * so it keeps working while this provider's connection pool is saturated.
+     * The reserved lane is closed when this provider is closed.
+     *
+     * <p>
+     * Requests must be got from, and executed by, the same HttpProvider.
+     * The default implementation returns this provider, for providers without a connection limit.
+     *
+     * @return the HttpProvider for reserved traffic, possibly this one
+     */
+    default HttpProvider getReservedLane() {
+        return this;
+    }
+
+    /**
+     * Opens, or revalidates, a pooled connection to the endpoint of the <tt>url</tt>,
+     * so that the next request to it does not wait for a DNS lookup, a TCP connect, and a TLS handshake.
+     * The default implementation sends an unauthorized HEAD request to the <tt>url</tt>
+     * and discards the response, whatever its status code;
+     * the connection then stays in this provider's pool, if it keeps connections alive.
+     *
+     * @param url the URL whose endpoint to connect to
+     * @throws HttpException if there is trouble executing the request
+     * @throws IOException if there is I/O trouble, such as the endpoint being unreachable
+     */
+    default void warmUp(String url) throws HttpException, IOException {
+        warmUp(url, null);
+    }
+
+    /**
+     * Opens, or revalidates, a pooled connection to the endpoint of the <tt>url</tt>,
+     * giving up at the <tt>deadline</tt>; see {@link #warmUp(String)}.
+     *
+     * @param url the URL whose endpoint to connect to
+     * @param deadline the Deadline for the warm-up, or null for none
+     * @throws HttpException if there is trouble executing the request
+     * @throws IOException if there is I/O trouble, such as the endpoint being unreachable,
+     *      or a SocketTimeoutException if the deadline passes first
+     */
+    default void warmUp(String url, Deadline deadline) throws HttpException, IOException {
+        HttpRequest httpRequest = getRequest((request, method, requestUrl, formParams) -> { },
+                "HEAD", url, (String) null);
+        HttpResponse httpResponse = null == deadline ? execute(httpRequest) : execute(httpRequest, deadline);
+        try (InputStream responseBody = httpResponse.getResponseBody()) {
+            if (null != responseBody) {
+                byte[] buf = new byte[256];
+                while (responseBody.read(buf) >= 0) {
+                    // discard, so the connection can be reused
+                }
+            }
+        }
+    }
+
 }
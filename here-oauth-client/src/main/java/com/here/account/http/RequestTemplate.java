@@ -0,0 +1,264 @@
+/*
+ * Copyright (c) 2026 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.here.account.http;
+
+import java.io.UnsupportedEncodingException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URLDecoder;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import com.here.account.util.OAuthConstants;
+
+/**
+ * The fixed parts of a request that is sent many times: the method, the URL,
+ * and any headers that are the same on every request.
+ * The URL is parsed, and its query parameters decoded, once when the template is built,
+ * so that {@link HttpProvider#getRequest(HttpProvider.HttpRequestAuthorizer, RequestTemplate, Map)}
+ * only has to do the per-request work.
+ *
+ * <p>
+ * HttpProviders and HttpRequestAuthorizers can keep their own state derived from a template,
+ * such as an OAuth1 signature base string prefix, with {@link #getPrepared(Class, Function)}.
+ * A RequestTemplate is immutable apart from that state, and is safe to share between threads.
+ */
+public final class RequestTemplate {
+
+    /**
+     * Gets a new Builder for a RequestTemplate.
+     *
+     * @return the Builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Both the method and the URL are required.
+     */
+    public static class Builder {
+        private String method;
+        private String url;
+        private final Map<String, String> headers = new LinkedHashMap<>();
+
+        private Builder() {
+        }
+
+        /**
+         * Set the HTTP method, such as "GET" or "POST".
+         *
+         * @param method the HTTP method
+         * @return this Builder
+         */
+        public Builder setMethod(String method) {
+            if (null == method || method.isEmpty()) {
+                throw new IllegalArgumentException("method cannot be empty");
+            }
+            this.method = method;
+            return this;
+        }
+
+        /**
+         * Set the request URL, optionally with a query string.
+         *
+         * @param url the request URL
+         * @return this Builder
+         */
+        public Builder setUrl(String url) {
+            if (null == url) {
+                throw new IllegalArgumentException("url cannot be null");
+            }
+            this.url = url;
+            return this;
+        }
+
+        /**
+         * Optionally add a header sent on every request stamped from the template.
+         *
+         * @param name the header name
+         * @param value the header value
+         * @return this Builder
+         */
+        public Builder addHeader(String name, String value) {
+            if (null == name || null == value) {
+                throw new IllegalArgumentException("header name and value cannot be null");
+            }
+            headers.put(name, value);
+            return this;
+        }
+
+        /**
+         * Build the RequestTemplate.
+         *
+         * @return the built RequestTemplate
+         * @throws IllegalArgumentException if the URL is malformed
+         */
+        public RequestTemplate build() {
+            if (null == method || null == url) {
+                throw new IllegalStateException("method and url are required");
+            }
+            return new RequestTemplate(this);
+        }
+    }
+
+    private final String method;
+    private final String url;
+    private final URI uri;
+    private final String baseUrl;
+    private final Map<String, List<String>> queryParams;
+    private final Map<String, String> headers;
+    private final ConcurrentHashMap<Class<?>, Object> prepared = new ConcurrentHashMap<>();
+
+    private RequestTemplate(Builder builder) {
+        this.method = builder.method;
+        this.url = builder.url;
+        try {
+            this.uri = new URI(url);
+        } catch (URISyntaxException e) {
+            throw new IllegalArgumentException("malformed URL: " + e, e);
+        }
+        int qPos = url.indexOf('?');
+        if (qPos != -1) {
+            this.baseUrl = url.substring(0, qPos);
+            Map<String, List<String>> queryParams = parseQuery(url.substring(qPos + 1));
+            for (Map.Entry<String, List<String>> entry : queryParams.entrySet()) {
+                entry.setValue(Collections.unmodifiableList(entry.getValue()));
+            }
+            this.queryParams = Collections.unmodifiableMap(queryParams);
+        } else {
+            this.baseUrl = url;
+            this.queryParams = null;
+        }
+        this.headers = Collections.unmodifiableMap(new LinkedHashMap<>(builder.headers));
+    }
+
+    /**
+     * @return the HTTP method
+     */
+    public String getMethod() {
+        return method;
+    }
+
+    /**
+     * @return the request URL, as set on the Builder
+     */
+    public String getUrl() {
+        return url;
+    }
+
+    /**
+     * @return the request URL, parsed
+     */
+    public URI getUri() {
+        return uri;
+    }
+
+    /**
+     * @return the request URL without its query string
+     */
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    /**
+     * @return the decoded query parameters, or null if the URL has no query string
+     */
+    public Map<String, List<String>> getQueryParams() {
+        return queryParams;
+    }
+
+    /**
+     * @return the headers sent on every request
+     */
+    public Map<String, String> getHeaders() {
+        return headers;
+    }
+
+    /**
+     * Adds the template's headers to a request.
+     *
+     * @param httpRequest the request stamped from this template
+     */
+    public void addHeaders(HttpProvider.HttpRequest httpRequest) {
+        for (Map.Entry<String, String> header : headers.entrySet()) {
+            httpRequest.addHeader(header.getKey(), header.getValue());
+        }
+    }
+
+    /**
+     * Gets state derived from this template, computing it the first time it is requested.
+     * The type identifies the state, so each HttpProvider or HttpRequestAuthorizer
+     * should use a type of its own.
+     *
+     * @param <T> the type of the state
+     * @param type the type of the state
+     * @param preparer computes the state from this template; it may run more than once
+     *      if called concurrently, and must not fail
+     * @return the state
+     */
+    public <T> T getPrepared(Class<T> type, Function<RequestTemplate, T> preparer) {
+        Object value = prepared.get(type);
+        if (null == value) {
+            value = Objects.requireNonNull(preparer.apply(this), "preparer returned null");
+            Object previous = prepared.putIfAbsent(type, value);
+            if (null != previous) {
+                value = previous;
+            }
+        }
+        return type.cast(value);
+    }
+
+    /**
+     * Extract query parameters from a raw query string, decoding names and values.
+     *
+     * @param query the raw query string, without the leading '?'
+     * @return the query parameters, in a new modifiable map
+     */
+    public static Map<String, List<String>> parseQuery(String query) {
+        Map<String, List<String>> queryParams = new HashMap<>();
+        String[] kvPairs = query.split("&");
+        for (String kvPair : kvPairs) {
+            int ix = kvPair.indexOf("=");
+            String key = kvPair;
+            String value = "";
+            if (ix != -1) {
+                key = kvPair.substring(0, ix);
+                value = kvPair.substring(ix + 1);
+            }
+            try {
+                key = URLDecoder.decode(key, OAuthConstants.UTF_8_STRING);
+                value = URLDecoder.decode(value, OAuthConstants.UTF_8_STRING);
+            } catch (UnsupportedEncodingException e) {
+                throw new IllegalArgumentException(e);
+            }
+            List<String> values = queryParams.get(key);
+            if (values == null) {
+                values = new ArrayList<>();
+                queryParams.put(key, values);
+            }
+            values.add(value);
+        }
+        return queryParams;
+    }
+}
@@ -22,6 +22,8 @@ import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.*;
 import java.util.Map.Entry;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 import org.apache.http.Header;
 import org.apache.http.HttpEntity;
@@ -32,6 +34,7 @@ import org.apache.http.auth.UsernamePasswordCredentials;
 import org.apache.http.client.ClientProtocolException;
 import org.apache.http.client.config.RequestConfig;
 import org.apache.http.client.entity.UrlEncodedFormEntity;
+import org.apache.http.client.methods.Configurable;
 import org.apache.http.client.methods.HttpDelete;
 import org.apache.http.client.methods.HttpEntityEnclosingRequestBase;
 import org.apache.http.client.methods.HttpGet;
@@ -50,9 +53,11 @@ import org.apache.http.impl.conn.DefaultProxyRoutePlanner;
 import org.apache.http.message.BasicNameValuePair;
 import org.apache.http.protocol.HttpContext;
 
+import com.here.account.http.Deadline;
 import com.here.account.http.HttpConstants;
 import com.here.account.http.HttpException;
 import com.here.account.http.HttpProvider;
+import com.here.account.http.RequestTemplate;
 
 /**
  * An {@link HttpProvider} that uses Apache HttpClient as the underlying implementation.
@@ -102,6 +107,9 @@ public class ApacheHttpClientProvider implements HttpProvider {
         private String scheme = "https";
         private String proxyUsername;
         private String proxyPassword;
+        private int maxConnections;
+        private int reservedConnections = HttpConstants.DEFAULT_RESERVED_CONNECTIONS;
+        private boolean contentCompressionEnabled = true;
 
         private Builder() {
             apacheConfigBuilder = RequestConfig.custom();
@@ -157,14 +165,80 @@ public class ApacheHttpClientProvider implements HttpProvider {
             return this;
         }
 
+        /**
+         * Optionally set the size of the connection pool, both in total and per route.
+         * Apache httpclient's default is 2 connections per route, which limits
+         * concurrent requests to the same authorization server.
+         *
+         * @param maxConnections the maximum number of pooled connections
+         * @return this Builder
+         */
+        public Builder setMaxConnections(int maxConnections) {
+            this.maxConnections = maxConnections;
+            return this;
+        }
+
+        /**
+         * Optionally set the size of the connection pool of the
+         * {@link HttpProvider#getReservedLane() reserved lane}, a separate pool created when first needed.
+         * There is no reserved lane if you {@link #setHttpClient(CloseableHttpClient) inject your own httpClient},
+         * so requests meant for the lane, such as HereAccessTokenProvider's token requests,
+         * share the httpClient's connections; configure its pool with room for them.
+         * Default is {@link HttpConstants#DEFAULT_RESERVED_CONNECTIONS}.
+         *
+         * @param reservedConnections the number of reserved connections, or 0 for no reserved lane
+         * @return this Builder
+         */
+        public Builder setReservedConnections(int reservedConnections) {
+            if (reservedConnections < 0) {
+                throw new IllegalArgumentException("reservedConnections must not be negative: "
+                        + reservedConnections);
+            }
+            this.reservedConnections = reservedConnections;
+            return this;
+        }
+
+        /**
+         * Optionally set whether to ask for gzip or deflate compressed responses,
+         * which Apache httpclient decompresses as they are read;
+         * their Content-Length is then unknown, and the Content-Encoding and Content-Length headers
+         * are removed.
+         * Has no effect if you {@link #setHttpClient(CloseableHttpClient) inject your own httpClient}.
+         * Default is true, Apache httpclient's own default.
+         *
+         * @param contentCompressionEnabled false to ask for uncompressed responses only
+         * @return this Builder
+         */
+        public Builder setContentCompressionEnabled(boolean contentCompressionEnabled) {
+            this.contentCompressionEnabled = contentCompressionEnabled;
+            return this;
+        }
+
         /**
          * Build using builders, builders, and more builders.
          * 
          * @return the built HttpProvider implementation for Apache httpclient.
          */
         public HttpProvider build() {
+            if (null != this.httpClient) {
+                return new ApacheHttpClientProvider(this.httpClient, this.doCloseHttpClient, null);
+            }
+            HttpClientBuilder clientBuilder = newHttpClientBuilder(maxConnections);
+            HttpClientBuilder reservedClientBuilder = reservedConnections > 0
+                    ? newHttpClientBuilder(reservedConnections) : null;
+            return new ApacheHttpClientProvider(clientBuilder.build(), this.doCloseHttpClient,
+                    null != reservedClientBuilder ? reservedClientBuilder::build : null);
+        }
+
+        private HttpClientBuilder newHttpClientBuilder(int maxConnections) {
             HttpClientBuilder clientBuilder = HttpClientBuilder.create()
                     .setDefaultRequestConfig(apacheConfigBuilder.build());
+            if (maxConnections > 0) {
+                clientBuilder.setMaxConnTotal(maxConnections).setMaxConnPerRoute(maxConnections);
+            }
+            if (!contentCompressionEnabled) {
+                clientBuilder.disableContentCompression();
+            }
             if (null != proxyHost && proxyPort > 0) {
                 clientBuilder.setRoutePlanner(new DefaultProxyRoutePlanner(new HttpHost(proxyHost, proxyPort, scheme)));
                 if (null != proxyUsername && null != proxyPassword) {
@@ -174,8 +248,7 @@ public class ApacheHttpClientProvider implements HttpProvider {
                     clientBuilder.setDefaultCredentialsProvider(credentialsProvider);
                 }
             }
-            CloseableHttpClient client = null != this.httpClient ? this.httpClient : clientBuilder.build();
-            return new ApacheHttpClientProvider(client, this.doCloseHttpClient);
+            return clientBuilder;
         }
     }
 
@@ -207,6 +280,22 @@ public class ApacheHttpClientProvider implements HttpProvider {
             httpRequestBase.addHeader(name, value);
         }
 
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void abort() {
+            httpRequestBase.abort();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public String getUrl() {
+            return httpRequestBase.getURI().toString();
+        }
+
     }
     
     private static class ApacheHttpClientResponse implements HttpResponse {
@@ -270,6 +359,23 @@ public class ApacheHttpClientProvider implements HttpProvider {
 
     }
 
+    /**
+     * The request constructors, by method name.
+     */
+    private static final Map<String, Function<URI, HttpRequestBase>> REQUEST_FACTORIES;
+    static {
+        Map<String, Function<URI, HttpRequestBase>> requestFactories = new HashMap<>();
+        requestFactories.put(HttpGet.METHOD_NAME, HttpGet::new);
+        requestFactories.put(HttpPost.METHOD_NAME, HttpPost::new);
+        requestFactories.put(HttpPut.METHOD_NAME, HttpPut::new);
+        requestFactories.put(HttpDelete.METHOD_NAME, HttpDelete::new);
+        requestFactories.put(HttpHead.METHOD_NAME, HttpHead::new);
+        requestFactories.put(HttpOptions.METHOD_NAME, HttpOptions::new);
+        requestFactories.put(HttpTrace.METHOD_NAME, HttpTrace::new);
+        requestFactories.put(HttpPatch.METHOD_NAME, HttpPatch::new);
+        REQUEST_FACTORIES = Collections.unmodifiableMap(requestFactories);
+    }
+
     private HttpRequestBase getRequestNoAuth(String method, String url) {
         URI uri;
         try {
@@ -277,48 +383,15 @@ public class ApacheHttpClientProvider implements HttpProvider {
         } catch (URISyntaxException e) {
             throw new IllegalArgumentException("malformed URL: " + e, e);
         }
-        HttpRequestBase apacheRequest = null;
-        if (method.equals(HttpGet.METHOD_NAME)) {
-            apacheRequest = new HttpGet(uri);
-        } else if (method.equals(HttpPost.METHOD_NAME)) {
-            apacheRequest = new HttpPost(uri);
-        } else if (method.equals(HttpPut.METHOD_NAME)) {
-            apacheRequest = new HttpPut(uri);
-        } else if (method.equals(HttpDelete.METHOD_NAME)) {
-            apacheRequest = new HttpDelete(uri);
-        } else if (method.equals(HttpHead.METHOD_NAME)) {
-            apacheRequest = new HttpHead(uri);
-        } else if (method.equals(HttpOptions.METHOD_NAME)) {
-            apacheRequest = new HttpOptions(uri);
-        } else if (method.equals(HttpTrace.METHOD_NAME)) {
-            apacheRequest = new HttpTrace(uri);
-        } else if (method.equals(HttpPatch.METHOD_NAME)) {
-            apacheRequest = new HttpPatch(uri);
-        } else {
+        return getRequestNoAuth(method, uri);
+    }
+
+    private HttpRequestBase getRequestNoAuth(String method, URI uri) {
+        Function<URI, HttpRequestBase> requestFactory = REQUEST_FACTORIES.get(method);
+        if (null == requestFactory) {
             throw new IllegalArgumentException("no support for request method=" + method);
         }
-            
-        /*
-        // headers support
-        String contentType = null;
-        FluentCaseInsensitiveStringsMap headers = request.getHeaders();
-        if (null != headers) {
-            for (Entry<String, List<String>> entry : headers.entrySet()) {
-                String name = entry.getKey();
-                List<String> valueList = entry.getValue();
-                if (null != name && null != valueList && valueList.size() > 0) {
-                    for (String value : valueList) {
-                        if (null == contentType && name.equals(AbstractHttpRequest.CONTENT_TYPE)) {
-                            contentType = value;
-                        }
-                        apacheRequest.addHeader(name, value);
-                    }
-                }
-            }
-        }
-        */
-        
-        return apacheRequest;
+        return requestFactory.apply(uri);
     }
     
     private void addApacheRequestEntity(HttpRequestBase apacheRequest, 
@@ -414,12 +487,64 @@ public class ApacheHttpClientProvider implements HttpProvider {
         return request;
     }
 
+    /**
+     * {@inheritDoc}
+     * The template's parsed URI is used as is.
+     */
+    @Override
+    public HttpRequest getRequest(HttpRequestAuthorizer httpRequestAuthorizer, RequestTemplate requestTemplate,
+            String requestBodyJson) {
+        HttpRequestBase apacheRequest = getRequestNoAuth(requestTemplate.getMethod(), requestTemplate.getUri());
+        ApacheHttpClientRequest request = new ApacheHttpClientRequest(apacheRequest);
+        requestTemplate.addHeaders(request);
+        httpRequestAuthorizer.authorize(request, requestTemplate, null);
+        addApacheRequestEntity(apacheRequest, requestTemplate.getMethod(), requestBodyJson, null);
+        return request;
+    }
+
+    /**
+     * {@inheritDoc}
+     * The template's parsed URI is used as is.
+     */
+    @Override
+    public HttpRequest getRequest(HttpRequestAuthorizer httpRequestAuthorizer, RequestTemplate requestTemplate,
+            Map<String, List<String>> formParams) {
+        HttpRequestBase apacheRequest = getRequestNoAuth(requestTemplate.getMethod(), requestTemplate.getUri());
+        ApacheHttpClientRequest request = new ApacheHttpClientRequest(apacheRequest);
+        requestTemplate.addHeaders(request);
+        httpRequestAuthorizer.authorize(request, requestTemplate, formParams);
+        addApacheRequestEntity(apacheRequest, requestTemplate.getMethod(), null, formParams);
+        return request;
+    }
+
     private final CloseableHttpClient httpClient;
     private final boolean doCloseHttpClient;
+    private final Supplier<CloseableHttpClient> reservedHttpClientSupplier;
+    private ApacheHttpClientProvider reservedLane;
+    private boolean closed;
 
-    private ApacheHttpClientProvider(CloseableHttpClient httpClient, boolean doCloseHttpClient) {
+    private ApacheHttpClientProvider(CloseableHttpClient httpClient, boolean doCloseHttpClient,
+            Supplier<CloseableHttpClient> reservedHttpClientSupplier) {
         this.httpClient = httpClient;
         this.doCloseHttpClient = doCloseHttpClient;
+        this.reservedHttpClientSupplier = reservedHttpClientSupplier;
+    }
+
+    /**
+     * {@inheritDoc}
+     * The reserved lane has its own connection pool of reservedConnections,
+     * created the first time it is needed.
+     * If the httpClient was injected, there is no reserved lane, and this provider is returned.
+     */
+    @Override
+    public synchronized HttpProvider getReservedLane() {
+        if (null == reservedHttpClientSupplier || closed) {
+            return this;
+        }
+        if (null == reservedLane) {
+            reservedLane = new ApacheHttpClientProvider(reservedHttpClientSupplier.get(), true, null);
+        }
+        return reservedLane;
     }
     
     /**
@@ -427,18 +552,45 @@ public class ApacheHttpClientProvider implements HttpProvider {
      */
     @Override
     public void close() throws IOException {
-        if (doCloseHttpClient && null != httpClient) {
-            httpClient.close();
+        ApacheHttpClientProvider reservedLane;
+        synchronized (this) {
+            closed = true;
+            reservedLane = this.reservedLane;
+        }
+        try {
+            if (doCloseHttpClient && null != httpClient) {
+                httpClient.close();
+            }
+        } finally {
+            if (null != reservedLane) {
+                reservedLane.close();
+            }
         }
     }
 
+    /**
+     * {@inheritDoc}
+     */
     @Override
     public HttpResponse execute(HttpRequest httpRequest) throws HttpException, IOException {
+        return execute(httpRequest, null);
+    }
+
+    /**
+     * {@inheritDoc}
+     * The connect, connection request, and socket timeouts of the request are set to the time remaining,
+     * starting from the httpClient's default RequestConfig.
+     */
+    @Override
+    public HttpResponse execute(HttpRequest httpRequest, Deadline deadline) throws HttpException, IOException {
         if (!(httpRequest instanceof ApacheHttpClientRequest)) {
             throw new IllegalArgumentException("httpRequest is not of expected type; use "
                     +getClass()+".getRequest(..) to get a request of the expected type");
         }
         HttpRequestBase httpRequestBase = ((ApacheHttpClientRequest) httpRequest).getHttpRequestBase();
+        if (null != deadline) {
+            httpRequestBase.setConfig(getRequestConfig(deadline));
+        }
         
         // we are stateless
         HttpContext httpContext = null;
@@ -453,4 +605,17 @@ public class ApacheHttpClientProvider implements HttpProvider {
         }
     }
 
+    private RequestConfig getRequestConfig(Deadline deadline) throws IOException {
+        RequestConfig defaultConfig = httpClient instanceof Configurable
+                ? ((Configurable) httpClient).getConfig() : null;
+        if (null == defaultConfig) {
+            defaultConfig = RequestConfig.DEFAULT;
+        }
+        return RequestConfig.copy(defaultConfig)
+                .setConnectTimeout(deadline.getTimeoutMillis(defaultConfig.getConnectTimeout()))
+                .setConnectionRequestTimeout(deadline.getTimeoutMillis(defaultConfig.getConnectionRequestTimeout()))
+                .setSocketTimeout(deadline.getTimeoutMillis(defaultConfig.getSocketTimeout()))
+                .build();
+    }
+
 }
\ No newline at end of file
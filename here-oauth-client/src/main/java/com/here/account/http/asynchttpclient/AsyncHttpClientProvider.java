@@ -0,0 +1,570 @@
+/*
+ * Copyright (c) 2026 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.here.account.http.asynchttpclient;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.UnsupportedEncodingException;
+import java.net.SocketTimeoutException;
+import java.net.URLEncoder;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.asynchttpclient.AsyncHttpClient;
+import org.asynchttpclient.DefaultAsyncHttpClient;
+import org.asynchttpclient.DefaultAsyncHttpClientConfig;
+import org.asynchttpclient.ListenableFuture;
+import org.asynchttpclient.Request;
+import org.asynchttpclient.RequestBuilder;
+import org.asynchttpclient.Response;
+
+import com.here.account.http.AsyncHttpProvider;
+import com.here.account.http.ContentEncoding;
+import com.here.account.http.Deadline;
+import com.here.account.http.HttpConstants;
+import com.here.account.http.HttpException;
+
+import io.netty.util.HashedWheelTimer;
+
+/**
+ * An {@link AsyncHttpProvider} on AsyncHttpClient, whose Netty event loop runs
+ * every request on a small, fixed number of I/O threads.
+ * A request occupies no thread while it waits for the server,
+ * so thousands of requests can be in flight at once; use
+ * {@link com.here.account.client.Client#sendMessageAsync} to send them without blocking.
+ * Form parameter and JSON request bodies are encoded as by the ApacheHttpClientProvider.
+ *
+ * <p>
+ * Limitations:
+ * <ul>
+ * <li>Requests are sent with HTTP/1.1 only, keeping connections alive;
+ *     AsyncHttpClient does not support HTTP/2, so it is never negotiated.</li>
+ * <li>Response bodies are buffered in memory in full before the response future completes,
+ *     so they are not streamed. This suits token endpoint and other small JSON responses,
+ *     not large downloads. The bodies need not be closed to release their connection.</li>
+ * </ul>
+ */
+public class AsyncHttpClientProvider implements AsyncHttpProvider {
+
+    /**
+     * The default number of I/O threads.
+     */
+    public static final int DEFAULT_IO_THREADS = 2;
+
+    private static final List<String> METHODS_WITH_BODY = Arrays.asList("POST", "PUT", "PATCH");
+
+    private static final String CONTENT_MD5_HEADER = "Content-MD5";
+
+    /**
+     * Gets a new Builder for an AsyncHttpClientProvider.
+     *
+     * @return the Builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private AsyncHttpClient asyncHttpClient;
+        private boolean doCloseAsyncHttpClient = true;
+        private int connectionTimeoutInMs = HttpConstants.DEFAULT_CONNECTION_TIMEOUT_IN_MS;
+        private int requestTimeoutInMs = HttpConstants.DEFAULT_REQUEST_TIMEOUT_IN_MS;
+        private int ioThreads = DEFAULT_IO_THREADS;
+        private int maxConnections;
+        private boolean contentCompressionEnabled;
+
+        private Builder() {
+        }
+
+        /**
+         * Optionally set the AsyncHttpClient to use, instead of one built from this Builder's settings.
+         * Its own timeouts and connection limits then apply,
+         * except that a {@link Deadline} still bounds each request's timeout.
+         *
+         * @param asyncHttpClient the AsyncHttpClient
+         * @return this Builder
+         */
+        public Builder setAsyncHttpClient(AsyncHttpClient asyncHttpClient) {
+            this.asyncHttpClient = asyncHttpClient;
+            return this;
+        }
+
+        /**
+         * Optionally set whether closing this provider closes the AsyncHttpClient
+         * set with {@link #setAsyncHttpClient(AsyncHttpClient)}.
+         * Default is true.
+         *
+         * @param doCloseAsyncHttpClient false to leave the AsyncHttpClient open
+         * @return this Builder
+         */
+        public Builder setDoCloseAsyncHttpClient(boolean doCloseAsyncHttpClient) {
+            this.doCloseAsyncHttpClient = doCloseAsyncHttpClient;
+            return this;
+        }
+
+        /**
+         * Optionally set the connection timeout, which also bounds the wait for a free connection
+         * when {@link #setMaxConnections(int) maxConnections} are in use.
+         * Default is {@link HttpConstants#DEFAULT_CONNECTION_TIMEOUT_IN_MS}.
+         *
+         * @param connectionTimeoutInMs the connection timeout in milliseconds
+         * @return this Builder
+         */
+        public Builder setConnectionTimeoutInMs(int connectionTimeoutInMs) {
+            if (connectionTimeoutInMs < 0) {
+                throw new IllegalArgumentException("connectionTimeoutInMs must be non-negative: "
+                        + connectionTimeoutInMs);
+            }
+            this.connectionTimeoutInMs = connectionTimeoutInMs;
+            return this;
+        }
+
+        /**
+         * Optionally set the timeout for the whole request, from sending it to receiving the full response.
+         * Default is {@link HttpConstants#DEFAULT_REQUEST_TIMEOUT_IN_MS}.
+         *
+         * @param requestTimeoutInMs the request timeout in milliseconds
+         * @return this Builder
+         */
+        public Builder setRequestTimeoutInMs(int requestTimeoutInMs) {
+            if (requestTimeoutInMs < 0) {
+                throw new IllegalArgumentException("requestTimeoutInMs must be non-negative: " + requestTimeoutInMs);
+            }
+            this.requestTimeoutInMs = requestTimeoutInMs;
+            return this;
+        }
+
+        /**
+         * Optionally set the number of I/O threads, which all requests share.
+         * Default is {@link #DEFAULT_IO_THREADS}.
+         *
+         * @param ioThreads the number of I/O threads, at least 1
+         * @return this Builder
+         */
+        public Builder setIoThreads(int ioThreads) {
+            if (ioThreads < 1) {
+                throw new IllegalArgumentException("ioThreads must be at least 1: " + ioThreads);
+            }
+            this.ioThreads = ioThreads;
+            return this;
+        }
+
+        /**
+         * Optionally set the maximum number of connections open at once.
+         * When all are in use, a request waits up to the connection timeout for one to be free.
+         * Default is 0, for no limit.
+         *
+         * @param maxConnections the maximum number of connections, or 0 for no limit
+         * @return this Builder
+         */
+        public Builder setMaxConnections(int maxConnections) {
+            if (maxConnections < 0) {
+                throw new IllegalArgumentException("maxConnections must be non-negative: " + maxConnections);
+            }
+            this.maxConnections = maxConnections;
+            return this;
+        }
+
+        /**
+         * Optionally ask for gzip or deflate compressed responses, with an Accept-Encoding header
+         * on requests that do not set their own.
+         * Compressed response bodies are decompressed as they are received, by the decompressor
+         * AsyncHttpClient always installs; the Content-Encoding and Content-Length headers
+         * are removed, as the other HttpProviders do, but as the body is fully received
+         * its decompressed Content-Length is known.
+         * Default is false, as for the JavaHttpProvider, so that requests are sent as built unless asked;
+         * the ApacheHttpClientProvider instead keeps Apache httpclient's own default of true.
+         *
+         * @param contentCompressionEnabled true to ask for compressed responses
+         * @return this Builder
+         */
+        public Builder setContentCompressionEnabled(boolean contentCompressionEnabled) {
+            this.contentCompressionEnabled = contentCompressionEnabled;
+            return this;
+        }
+
+        /**
+         * Build the AsyncHttpClientProvider.
+         *
+         * @return the built AsyncHttpClientProvider
+         */
+        public AsyncHttpClientProvider build() {
+            if (null != asyncHttpClient) {
+                return new AsyncHttpClientProvider(asyncHttpClient, doCloseAsyncHttpClient, null, requestTimeoutInMs,
+                        contentCompressionEnabled);
+            }
+            ThreadFactory threadFactory = newDaemonThreadFactory("here-http-nio-");
+            // AsyncHttpClient's own timer thread is not a daemon
+            HashedWheelTimer timer = new HashedWheelTimer(newDaemonThreadFactory("here-http-nio-timer-"));
+            DefaultAsyncHttpClientConfig.Builder config = new DefaultAsyncHttpClientConfig.Builder()
+                    .setIoThreadsCount(ioThreads)
+                    .setThreadFactory(threadFactory)
+                    .setNettyTimer(timer)
+                    .setConnectTimeout(connectionTimeoutInMs)
+                    .setRequestTimeout(requestTimeoutInMs)
+                    .setReadTimeout(requestTimeoutInMs)
+                    .setKeepAlive(true)
+                    .setFollowRedirect(false);
+            if (maxConnections > 0) {
+                config.setMaxConnections(maxConnections)
+                        .setMaxConnectionsPerHost(maxConnections)
+                        .setAcquireFreeChannelTimeout(connectionTimeoutInMs);
+            }
+            return new AsyncHttpClientProvider(new DefaultAsyncHttpClient(config.build()), true, timer,
+                    requestTimeoutInMs, contentCompressionEnabled);
+        }
+    }
+
+    private static ThreadFactory newDaemonThreadFactory(String namePrefix) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        return r -> {
+            Thread thread = new Thread(r, namePrefix + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * A request under construction, until it is executed.
+     */
+    private static class AsyncHttpClientRequest implements HttpRequest {
+
+        private final RequestBuilder requestBuilder;
+        private final String url;
+        private volatile boolean acceptEncodingSet;
+        private volatile boolean aborted;
+        private volatile ListenableFuture<Response> responseFuture;
+
+        private AsyncHttpClientRequest(String method, String url) {
+            this.requestBuilder = new RequestBuilder(method.toUpperCase(Locale.ROOT)).setUrl(url);
+            this.url = url;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void addAuthorizationHeader(String value) {
+            requestBuilder.addHeader(HttpConstants.AUTHORIZATION_HEADER, value);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void addHeader(String name, String value) {
+            if (ContentEncoding.ACCEPT_ENCODING_HEADER.equalsIgnoreCase(name)) {
+                acceptEncodingSet = true;
+            }
+            requestBuilder.addHeader(name, value);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void abort() {
+            aborted = true;
+            ListenableFuture<Response> responseFuture = this.responseFuture;
+            if (null != responseFuture) {
+                responseFuture.abort(new IOException("request aborted"));
+            }
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public String getUrl() {
+            return url;
+        }
+    }
+
+    /**
+     * A fully received response.
+     */
+    private static class AsyncHttpClientResponse implements HttpResponse {
+
+        private final Response response;
+        private final byte[] responseBody;
+        /**
+         * True if the body was decompressed, but its Content-Encoding header was kept, as it is
+         * by an AsyncHttpClient configured with keepEncodingHeader.
+         */
+        private final boolean decompressed;
+
+        private AsyncHttpClientResponse(Response response, boolean contentCompressionEnabled) {
+            this.response = response;
+            this.responseBody = response.getResponseBodyAsBytes();
+            // AsyncHttpClient has already decompressed the body, so it must not be decoded again
+            this.decompressed = contentCompressionEnabled
+                    && ContentEncoding.isDecodable(response.getHeader(ContentEncoding.CONTENT_ENCODING_HEADER));
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int getStatusCode() {
+            return response.getStatusCode();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public long getContentLength() {
+            return responseBody.length;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public InputStream getResponseBody() throws IOException {
+            return new ByteArrayInputStream(responseBody);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public Map<String, List<String>> getHeaders() {
+            Map<String, List<String>> headers = new LinkedHashMap<String, List<String>>();
+            for (String name : response.getHeaders().names()) {
+                // the headers describing a compressed body no longer apply once it is decompressed
+                if (!decompressed || !(ContentEncoding.CONTENT_ENCODING_HEADER.equalsIgnoreCase(name)
+                        || HttpConstants.CONTENT_LENGTH_HEADER.equalsIgnoreCase(name)
+                        || CONTENT_MD5_HEADER.equalsIgnoreCase(name))) {
+                    headers.put(name, response.getHeaders().getAll(name));
+                }
+            }
+            return headers;
+        }
+    }
+
+    private final AsyncHttpClient asyncHttpClient;
+    private final boolean doCloseAsyncHttpClient;
+    private final HashedWheelTimer timer;
+    private final int requestTimeoutInMs;
+    private final boolean contentCompressionEnabled;
+
+    private AsyncHttpClientProvider(AsyncHttpClient asyncHttpClient, boolean doCloseAsyncHttpClient,
+            HashedWheelTimer timer, int requestTimeoutInMs, boolean contentCompressionEnabled) {
+        this.asyncHttpClient = asyncHttpClient;
+        this.doCloseAsyncHttpClient = doCloseAsyncHttpClient;
+        this.timer = timer;
+        this.requestTimeoutInMs = requestTimeoutInMs;
+        this.contentCompressionEnabled = contentCompressionEnabled;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public HttpRequest getRequest(HttpRequestAuthorizer httpRequestAuthorizer, String method, String url,
+            String requestBodyJson) {
+        AsyncHttpClientRequest request = new AsyncHttpClientRequest(method, url);
+        httpRequestAuthorizer.authorize(request, method, url, null);
+        if (null != requestBodyJson) {
+            checkBodyPermitted(method, "JSON request body");
+            request.requestBuilder.addHeader(HttpConstants.CONTENT_TYPE, HttpConstants.CONTENT_TYPE_JSON);
+            request.requestBuilder.setBody(requestBodyJson.getBytes(HttpConstants.ENCODING_CHARSET));
+        }
+        return request;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public HttpRequest getRequest(HttpRequestAuthorizer httpRequestAuthorizer, String method, String url,
+            Map<String, List<String>> formParams) {
+        AsyncHttpClientRequest request = new AsyncHttpClientRequest(method, url);
+        // OAuth1 signs the form parameters too
+        httpRequestAuthorizer.authorize(request, method, url, formParams);
+        if (null != formParams && formParams.size() > 0) {
+            checkBodyPermitted(method, "formParams");
+            request.requestBuilder.addHeader(HttpConstants.CONTENT_TYPE, HttpConstants.CONTENT_TYPE_FORM_URLENCODED);
+            request.requestBuilder.setBody(getFormBody(formParams));
+        }
+        return request;
+    }
+
+    private static void checkBodyPermitted(String method, String body) {
+        if (!METHODS_WITH_BODY.contains(method.toUpperCase(Locale.ROOT))) {
+            throw new IllegalArgumentException("no " + body + " permitted for method " + method);
+        }
+    }
+
+    /**
+     * Encodes the first value of each form parameter, as the ApacheHttpClientProvider does.
+     */
+    private static byte[] getFormBody(Map<String, List<String>> formParams) {
+        StringBuilder formBuf = new StringBuilder();
+        try {
+            for (Entry<String, List<String>> entry : formParams.entrySet()) {
+                String key = entry.getKey();
+                List<String> valueList = entry.getValue();
+                if (null != key && null != valueList && valueList.size() > 0 && null != valueList.get(0)) {
+                    if (formBuf.length() > 0) {
+                        formBuf.append('&');
+                    }
+                    formBuf.append(URLEncoder.encode(key, HttpConstants.CHARSET_STRING))
+                            .append('=')
+                            .append(URLEncoder.encode(valueList.get(0), HttpConstants.CHARSET_STRING));
+                }
+            }
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+        return formBuf.toString().getBytes(HttpConstants.ENCODING_CHARSET);
+    }
+
+    /**
+     * {@inheritDoc}
+     * The calling thread waits for the response.
+     */
+    @Override
+    public HttpResponse execute(HttpRequest httpRequest) throws HttpException, IOException {
+        return execute(httpRequest, null);
+    }
+
+    /**
+     * {@inheritDoc}
+     * The calling thread waits for the response.
+     */
+    @Override
+    public HttpResponse execute(HttpRequest httpRequest, Deadline deadline) throws HttpException, IOException {
+        CompletableFuture<HttpResponse> future = executeAsync(httpRequest, deadline);
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            InterruptedIOException interrupted = new InterruptedIOException("interrupted waiting for response");
+            interrupted.initCause(e);
+            throw interrupted;
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof HttpException) {
+                throw (HttpException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * The future completes on an I/O thread; do any blocking work in a dependent stage
+     * on another Executor.
+     * Cancelling the future aborts the request.
+     * The request timeout is bounded by the deadline.
+     */
+    @Override
+    public CompletableFuture<HttpResponse> executeAsync(HttpRequest httpRequest, Deadline deadline) {
+        CompletableFuture<HttpResponse> future = new CompletableFuture<>();
+        if (!(httpRequest instanceof AsyncHttpClientRequest)) {
+            future.completeExceptionally(new IllegalArgumentException("httpRequest is not of expected type; use "
+                    + getClass() + ".getRequest(..) to get a request of the expected type"));
+            return future;
+        }
+        AsyncHttpClientRequest request = (AsyncHttpClientRequest) httpRequest;
+        Request built;
+        try {
+            if (request.aborted) {
+                throw new IOException("request aborted");
+            }
+            if (null != deadline) {
+                int timeoutMillis = deadline.getTimeoutMillis(requestTimeoutInMs);
+                request.requestBuilder.setRequestTimeout(timeoutMillis).setReadTimeout(timeoutMillis);
+            }
+            if (contentCompressionEnabled && !request.acceptEncodingSet) {
+                // set rather than added, so that a request executed again does not repeat it
+                request.requestBuilder.setHeader(ContentEncoding.ACCEPT_ENCODING_HEADER,
+                        ContentEncoding.ACCEPTED_ENCODINGS);
+            }
+            built = request.requestBuilder.build();
+        } catch (IOException | RuntimeException e) {
+            future.completeExceptionally(e);
+            return future;
+        }
+
+        ListenableFuture<Response> responseFuture = asyncHttpClient.executeRequest(built);
+        request.responseFuture = responseFuture;
+        if (request.aborted) {
+            responseFuture.abort(new IOException("request aborted"));
+        }
+        future.whenComplete((httpResponse, e) -> {
+            if (e instanceof CancellationException) {
+                responseFuture.abort(new IOException("request cancelled"));
+            }
+        });
+        responseFuture.toCompletableFuture().whenComplete((response, e) -> {
+            if (null == e) {
+                future.complete(new AsyncHttpClientResponse(response, contentCompressionEnabled));
+            } else {
+                future.completeExceptionally(toIOException(e));
+            }
+        });
+        return future;
+    }
+
+    private static Throwable toIOException(Throwable e) {
+        if (e instanceof CompletionException && null != e.getCause()) {
+            e = e.getCause();
+        }
+        if (e instanceof TimeoutException) {
+            SocketTimeoutException timeout = new SocketTimeoutException(e.getMessage());
+            timeout.initCause(e);
+            return timeout;
+        }
+        return e instanceof IOException || e instanceof Error ? e : new IOException(e);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            if (doCloseAsyncHttpClient) {
+                asyncHttpClient.close();
+            }
+        } finally {
+            if (null != timer) {
+                timer.stop();
+            }
+        }
+    }
+}
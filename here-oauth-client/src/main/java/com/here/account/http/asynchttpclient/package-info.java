@@ -0,0 +1,22 @@
+/*
+ * Copyright (c) 2026 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+/**
+ * A non-blocking {@link com.here.account.http.AsyncHttpProvider} on AsyncHttpClient and Netty,
+ * using HTTP/1.1 and buffering each response body in full.
+ * Requires the optional org.asynchttpclient:async-http-client dependency.
+ */
+package com.here.account.http.asynchttpclient;
@@ -15,19 +15,42 @@
  */
 package com.here.account.http.java;
 
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
 import java.io.OutputStream;
 import java.io.UnsupportedEncodingException;
+import java.lang.ref.PhantomReference;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.net.Authenticator;
 import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.PasswordAuthentication;
+import java.net.Proxy;
+import java.net.SocketTimeoutException;
 import java.net.URL;
 import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Logger;
 
+import com.here.account.http.ContentEncoding;
+import com.here.account.http.Deadline;
 import com.here.account.http.HttpConstants;
 import com.here.account.http.HttpException;
 import com.here.account.http.HttpProvider;
@@ -35,16 +58,205 @@ import com.here.account.http.HttpProvider;
 /**
  * A pure-Java implementation of the HttpProvider interface using 
  * {@link HttpURLConnection}.
+ *
+ * <p>
+ * By default the connection timeout and request (read) timeout are both 5000 ms,
+ * matching the ApacheHttpClientProvider defaults.
+ * Connections are kept alive and reused via the JDK's keep-alive cache,
+ * which is shared by the whole JVM and sized per destination by the
+ * <tt>http.maxConnections</tt> System property.
+ * To bound the number of connections this provider uses at once, use
+ * {@link Builder#setMaxConnections(int)}; a connection is counted until its
+ * response body is closed or fully read, so callers must always close response bodies.
+ * A body that is garbage collected without being closed releases its connection late,
+ * and is logged as a warning.
+ * To receive gzip or deflate compressed responses, decompressed as they are read,
+ * use {@link Builder#setContentCompressionEnabled(boolean)}.
  * 
  * @author kmccrack
  *
  */
 public class JavaHttpProvider implements HttpProvider {
+
+    private static final Logger LOGGER = Logger.getLogger(JavaHttpProvider.class.getName());
+
+    private static final String CONNECTION_HEADER = "Connection";
+    private static final String CONNECTION_CLOSE = "close";
+    private static final String CONTENT_MD5_HEADER = "Content-MD5";
+    private static final String PROXY_AUTHORIZATION_HEADER = "Proxy-Authorization";
+
+    /**
+     * HttpURLConnection.setAuthenticator(Authenticator), from Java 9, or null on Java 8.
+     */
+    private static final Method SET_AUTHENTICATOR = getSetAuthenticator();
+
+    private static Method getSetAuthenticator() {
+        try {
+            return HttpURLConnection.class.getMethod("setAuthenticator", Authenticator.class);
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
     
     public static class Builder {
+
+        private int connectionTimeoutInMs = HttpConstants.DEFAULT_CONNECTION_TIMEOUT_IN_MS;
+        private int requestTimeoutInMs = HttpConstants.DEFAULT_REQUEST_TIMEOUT_IN_MS;
+        private Proxy proxy;
+        private String proxyUsername;
+        private String proxyPassword;
+        private int maxConnections;
+        private int reservedConnections = HttpConstants.DEFAULT_RESERVED_CONNECTIONS;
+        private boolean keepAlive = true;
+        private boolean contentCompressionEnabled;
     
         private Builder() {
         }
+
+        /**
+         * Optionally set the timeout for establishing a connection.
+         * A value of 0 means no timeout.
+         * Default is {@link HttpConstants#DEFAULT_CONNECTION_TIMEOUT_IN_MS}.
+         *
+         * @param connectionTimeoutInMs the connect timeout in milliseconds
+         * @return this Builder
+         */
+        public Builder setConnectionTimeoutInMs(int connectionTimeoutInMs) {
+            if (connectionTimeoutInMs < 0) {
+                throw new IllegalArgumentException("connectionTimeoutInMs must not be negative: "
+                        + connectionTimeoutInMs);
+            }
+            this.connectionTimeoutInMs = connectionTimeoutInMs;
+            return this;
+        }
+
+        /**
+         * Optionally set the timeout for reading the response, once connected.
+         * A value of 0 means no timeout.
+         * Default is {@link HttpConstants#DEFAULT_REQUEST_TIMEOUT_IN_MS}.
+         *
+         * @param requestTimeoutInMs the read timeout in milliseconds
+         * @return this Builder
+         */
+        public Builder setRequestTimeoutInMs(int requestTimeoutInMs) {
+            if (requestTimeoutInMs < 0) {
+                throw new IllegalArgumentException("requestTimeoutInMs must not be negative: "
+                        + requestTimeoutInMs);
+            }
+            this.requestTimeoutInMs = requestTimeoutInMs;
+            return this;
+        }
+
+        /**
+         * Optionally send requests via an HTTP proxy.
+         * Requests to https URLs are tunneled through the proxy with CONNECT.
+         *
+         * @param proxyHost the proxy host
+         * @param proxyPort the proxy port
+         * @return this Builder
+         */
+        public Builder setProxy(String proxyHost, int proxyPort) {
+            return setProxy(new Proxy(Proxy.Type.HTTP, new InetSocketAddress(proxyHost, proxyPort)));
+        }
+
+        /**
+         * Optionally send requests via the specified proxy,
+         * instead of according to the JVM's default ProxySelector.
+         * Use {@link Proxy#NO_PROXY} to connect directly.
+         *
+         * @param proxy the proxy, or null for the JVM default
+         * @return this Builder
+         */
+        public Builder setProxy(Proxy proxy) {
+            this.proxy = proxy;
+            return this;
+        }
+
+        /**
+         * Optionally set the credentials for a proxy set with {@link #setProxy(String, int)}.
+         * Requests to http URLs send them preemptively as a Basic Proxy-Authorization header.
+         * On Java 9 and later they also answer the proxy's challenge to the CONNECT
+         * for an https URL, without changing the JVM's default Authenticator;
+         * the JDK disables Basic for such tunnels unless the
+         * <tt>jdk.http.auth.tunneling.disabledSchemes</tt> System property allows it.
+         * On Java 8, a tunnel through a proxy that requires authentication fails with an IOException,
+         * unless the JVM's default Authenticator supplies the credentials.
+         *
+         * @param proxyUsername the proxy username
+         * @param proxyPassword the proxy password
+         * @return this Builder
+         */
+        public Builder setProxyAuthentication(String proxyUsername, String proxyPassword) {
+            this.proxyUsername = proxyUsername;
+            this.proxyPassword = proxyPassword;
+            return this;
+        }
+
+        /**
+         * Optionally set the maximum number of connections this provider uses at once.
+         * When all are in use, a request waits up to the connection timeout for one to
+         * be released by closing or fully reading a response body.
+         * Default is 0, for no limit.
+         *
+         * @param maxConnections the maximum number of connections, or 0 for no limit
+         * @return this Builder
+         */
+        public Builder setMaxConnections(int maxConnections) {
+            if (maxConnections < 0) {
+                throw new IllegalArgumentException("maxConnections must not be negative: " + maxConnections);
+            }
+            this.maxConnections = maxConnections;
+            return this;
+        }
+
+        /**
+         * Optionally set the number of connections the {@link HttpProvider#getReservedLane() reserved lane}
+         * may use at once, on top of {@link #setMaxConnections(int) maxConnections}.
+         * The reserved lane only applies when maxConnections is set; otherwise there is no limit to queue behind.
+         * Default is {@link HttpConstants#DEFAULT_RESERVED_CONNECTIONS}.
+         *
+         * @param reservedConnections the number of reserved connections, or 0 for no reserved lane
+         * @return this Builder
+         */
+        public Builder setReservedConnections(int reservedConnections) {
+            if (reservedConnections < 0) {
+                throw new IllegalArgumentException("reservedConnections must not be negative: "
+                        + reservedConnections);
+            }
+            this.reservedConnections = reservedConnections;
+            return this;
+        }
+
+        /**
+         * Optionally set whether connections are kept alive for reuse.
+         * When false, each request asks the server to close its connection.
+         * Default is true.
+         *
+         * @param keepAlive false to close each connection after use
+         * @return this Builder
+         */
+        public Builder setKeepAlive(boolean keepAlive) {
+            this.keepAlive = keepAlive;
+            return this;
+        }
+
+        /**
+         * Optionally ask for gzip or deflate compressed responses, with an Accept-Encoding header
+         * on requests that do not set their own.
+         * Compressed response bodies are decompressed as they are read;
+         * their Content-Length is then unknown, and the Content-Encoding and Content-Length headers
+         * are removed, as Apache httpclient does.
+         * A body in any other encoding, or in more than one, is passed through as received.
+         * Default is false, so that requests are sent as built unless asked, as HttpURLConnection does;
+         * the ApacheHttpClientProvider instead keeps Apache httpclient's own default of true.
+         *
+         * @param contentCompressionEnabled true to ask for compressed responses
+         * @return this Builder
+         */
+        public Builder setContentCompressionEnabled(boolean contentCompressionEnabled) {
+            this.contentCompressionEnabled = contentCompressionEnabled;
+            return this;
+        }
     
         /**
          * Build using builders, builders, and more builders.
@@ -54,11 +266,93 @@ public class JavaHttpProvider implements HttpProvider {
          */
         public HttpProvider build() {
             // uses Java's default connection pooling by default
-            return new JavaHttpProvider();
+            return new JavaHttpProvider(this);
     
         }
     }
 
+    /**
+     * How often a request waiting for a connection checks for response bodies
+     * that were garbage collected without being closed.
+     */
+    private static final long RECLAIM_INTERVAL_MILLIS = 100L;
+
+    /**
+     * The connection permit of a response body,
+     * which is released if the body is garbage collected without being closed.
+     */
+    private static class PermitReference extends PhantomReference<InputStream> {
+
+        private final Set<PermitReference> unreleased;
+        private final Semaphore connectionPermits;
+        private final String url;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private PermitReference(InputStream responseBody, ReferenceQueue<InputStream> referenceQueue,
+                Set<PermitReference> unreleased, Semaphore connectionPermits, String url) {
+            super(responseBody, referenceQueue);
+            this.unreleased = unreleased;
+            this.connectionPermits = connectionPermits;
+            this.url = url;
+            unreleased.add(this);
+        }
+
+        /**
+         * @return true if this call released the permit
+         */
+        private boolean release() {
+            if (released.compareAndSet(false, true)) {
+                unreleased.remove(this);
+                connectionPermits.release();
+                return true;
+            }
+            return false;
+        }
+    }
+
+    /**
+     * A response body that releases its connection permit when closed or fully read.
+     */
+    private static class PermitReleasingInputStream extends FilterInputStream {
+
+        private PermitReference permit;
+
+        private PermitReleasingInputStream(InputStream inputStream) {
+            super(inputStream);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b < 0) {
+                release();
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n < 0) {
+                release();
+            }
+            return n;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                release();
+            }
+        }
+
+        private void release() {
+            permit.release();
+        }
+    }
+
     
     static class JavaHttpResponse implements HttpResponse {
         
@@ -120,6 +414,9 @@ public class JavaHttpProvider implements HttpProvider {
         private byte[] body;
         private final String contentType;
         private final String contentLength;
+
+        private volatile boolean aborted;
+        private volatile HttpURLConnection connection;
         
         private JavaHttpRequest(String method, String url) {
             this.method = method;
@@ -175,6 +472,27 @@ public class JavaHttpProvider implements HttpProvider {
             this.additionalHeaders.put(name, value);
         }
 
+        /**
+         * {@inheritDoc}
+         * Disconnects the connection, if the request is being executed.
+         */
+        @Override
+        public void abort() {
+            aborted = true;
+            HttpURLConnection connection = this.connection;
+            if (null != connection) {
+                connection.disconnect();
+            }
+        }
+
+        private void setConnection(HttpURLConnection connection) throws IOException {
+            this.connection = connection;
+            if (aborted) {
+                connection.disconnect();
+                throw new IOException("request aborted");
+            }
+        }
+
         /**
          * Get the HTTP Request method value.
          */
@@ -182,6 +500,10 @@ public class JavaHttpProvider implements HttpProvider {
             return method;
         }
 
+        /**
+         * {@inheritDoc}
+         */
+        @Override
         public String getUrl() {
             return url;
         }
@@ -210,10 +532,56 @@ public class JavaHttpProvider implements HttpProvider {
 
     }
     
+    private final int connectionTimeoutInMs;
+    private final int requestTimeoutInMs;
+    private final Proxy proxy;
+    private final String proxyAuthorization;
+    private final Authenticator proxyAuthenticator;
+    private final int maxConnections;
+    private final Semaphore connectionPermits;
+    private final ReferenceQueue<InputStream> unclosedResponseBodies = new ReferenceQueue<InputStream>();
+    // strongly references each PermitReference until its permit is released, so it can be enqueued
+    private final Set<PermitReference> unreleasedPermits = ConcurrentHashMap.newKeySet();
+    private final boolean keepAlive;
+    private final boolean contentCompressionEnabled;
+    private final HttpProvider reservedLane;
+
     /**
      * Only the Builder can construct a JavaHttpProvider.
      */
-    private JavaHttpProvider() {
+    private JavaHttpProvider(Builder builder) {
+        this(builder, builder.maxConnections, builder.reservedConnections);
+    }
+
+    private JavaHttpProvider(Builder builder, int maxConnections, int reservedConnections) {
+        this.connectionTimeoutInMs = builder.connectionTimeoutInMs;
+        this.requestTimeoutInMs = builder.requestTimeoutInMs;
+        this.proxy = builder.proxy;
+        if (null != builder.proxy && null != builder.proxyUsername && null != builder.proxyPassword) {
+            String userPass = builder.proxyUsername + ":" + builder.proxyPassword;
+            this.proxyAuthorization = "Basic "
+                    + Base64.getEncoder().encodeToString(userPass.getBytes(StandardCharsets.UTF_8));
+            this.proxyAuthenticator = new ProxyAuthenticator(builder.proxyUsername, builder.proxyPassword);
+        } else {
+            this.proxyAuthorization = null;
+            this.proxyAuthenticator = null;
+        }
+        this.maxConnections = maxConnections;
+        this.connectionPermits = maxConnections > 0 ? new Semaphore(maxConnections, true) : null;
+        this.keepAlive = builder.keepAlive;
+        this.contentCompressionEnabled = builder.contentCompressionEnabled;
+        this.reservedLane = maxConnections > 0 && reservedConnections > 0
+                ? new JavaHttpProvider(builder, reservedConnections, 0)
+                : this;
+    }
+
+    /**
+     * {@inheritDoc}
+     * When maxConnections is set, the reserved lane has its own reservedConnections permits.
+     */
+    @Override
+    public HttpProvider getReservedLane() {
+        return reservedLane;
     }
 
     /**
@@ -252,25 +620,173 @@ public class JavaHttpProvider implements HttpProvider {
         return httpRequest;
     }
     
+    /**
+     * Gets the response Content-Length.
+     *
+     * @param connection the connection
+     * @return the content length, or -1 if it is not known,
+     *      such as for a chunked response
+     */
     protected long getContentLength(HttpURLConnection connection) {
         String contentLengthString = connection.getHeaderField(HttpConstants.CONTENT_LENGTH_HEADER);
-        return Long.parseLong(contentLengthString);
+        if (null != contentLengthString) {
+            try {
+                return Long.parseLong(contentLengthString.trim());
+            } catch (NumberFormatException e) {
+                // fall through to unknown
+            }
+        }
+        return -1L;
     }
     
+    /**
+     * Answers only the proxy's authentication challenges, with the configured credentials.
+     */
+    private static class ProxyAuthenticator extends Authenticator {
+        private final String username;
+        private final char[] password;
+
+        private ProxyAuthenticator(String username, String password) {
+            this.username = username;
+            this.password = password.toCharArray();
+        }
+
+        @Override
+        protected PasswordAuthentication getPasswordAuthentication() {
+            return RequestorType.PROXY == getRequestorType()
+                    ? new PasswordAuthentication(username, password.clone())
+                    : null;
+        }
+    }
+
+    /**
+     * Sets the connection's own Authenticator, where the JDK supports it.
+     */
+    private static void setAuthenticator(HttpURLConnection connection, Authenticator authenticator) {
+        if (null != SET_AUTHENTICATOR) {
+            try {
+                SET_AUTHENTICATOR.invoke(connection, authenticator);
+            } catch (IllegalAccessException | InvocationTargetException e) {
+                LOGGER.fine("unable to set the proxy Authenticator: " + e);
+            }
+        }
+    }
+
     protected HttpURLConnection getHttpUrlConnection(String urlString) throws IOException {
         URL url = new URL(urlString);
-        return (HttpURLConnection) url.openConnection();
+        return (HttpURLConnection) (null != proxy ? url.openConnection(proxy) : url.openConnection());
     }
 
+    /**
+     * {@inheritDoc}
+     */
     @Override
     public HttpResponse execute(HttpRequest httpRequest) throws HttpException, IOException {
+        return execute(httpRequest, null);
+    }
+
+    /**
+     * {@inheritDoc}
+     * The connect and read timeouts of the connection are set to the time remaining.
+     */
+    @Override
+    public HttpResponse execute(HttpRequest httpRequest, Deadline deadline) throws HttpException, IOException {
         if (!(httpRequest instanceof JavaHttpRequest)) {
             throw new IllegalArgumentException("httpRequest is not of expected type; use "
                     + getClass() + ".getRequest(..) to get a request of the expected type");
         }
         JavaHttpRequest javaHttpRequest = (JavaHttpRequest) httpRequest;
 
+        if (null == connectionPermits) {
+            return executeConnection(javaHttpRequest, deadline);
+        }
+        acquireConnectionPermit(deadline);
+        try {
+            HttpResponse httpResponse = executeConnection(javaHttpRequest, deadline);
+            InputStream responseBody = httpResponse.getResponseBody();
+            if (null == responseBody || hasNoBody(javaHttpRequest, httpResponse)) {
+                // the connection is already free for reuse, whether or not the body is ever closed
+                connectionPermits.release();
+                return httpResponse;
+            }
+            PermitReleasingInputStream permitReleasingBody = new PermitReleasingInputStream(responseBody);
+            permitReleasingBody.permit = new PermitReference(permitReleasingBody, unclosedResponseBodies,
+                    unreleasedPermits, connectionPermits, javaHttpRequest.getUrl());
+            return new JavaHttpResponse(httpResponse.getStatusCode(), httpResponse.getContentLength(),
+                    permitReleasingBody, httpResponse.getHeaders());
+        } catch (IOException | HttpException | RuntimeException e) {
+            connectionPermits.release();
+            throw e;
+        }
+    }
+
+    private static boolean hasNoBody(JavaHttpRequest javaHttpRequest, HttpResponse httpResponse) {
+        int statusCode = httpResponse.getStatusCode();
+        return "HEAD".equalsIgnoreCase(javaHttpRequest.getMethod())
+                || HttpURLConnection.HTTP_NO_CONTENT == statusCode
+                || HttpURLConnection.HTTP_NOT_MODIFIED == statusCode
+                || 0L == httpResponse.getContentLength();
+    }
+
+    private void acquireConnectionPermit(Deadline deadline) throws IOException {
+        int timeoutMillis = null != deadline ? deadline.getTimeoutMillis(connectionTimeoutInMs) : connectionTimeoutInMs;
+        long timeoutNanos = 0 == timeoutMillis ? Long.MAX_VALUE : TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        long startNanos = System.nanoTime();
+        try {
+            while (true) {
+                reclaimUnclosedResponseBodies();
+                long remainingNanos = timeoutNanos - (System.nanoTime() - startNanos);
+                if (remainingNanos <= 0L) {
+                    throw new SocketTimeoutException("timed out waiting for one of " + maxConnections + " connections");
+                }
+                if (connectionPermits.tryAcquire(
+                        Math.min(remainingNanos, TimeUnit.MILLISECONDS.toNanos(RECLAIM_INTERVAL_MILLIS)),
+                        TimeUnit.NANOSECONDS)) {
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("interrupted waiting for a connection");
+        }
+    }
+
+    /**
+     * Releases the permits of response bodies that were garbage collected without being closed.
+     */
+    private void reclaimUnclosedResponseBodies() {
+        Reference<? extends InputStream> reference;
+        while (null != (reference = unclosedResponseBodies.poll())) {
+            PermitReference permit = (PermitReference) reference;
+            if (permit.release()) {
+                LOGGER.warning("a response body from " + permit.url
+                        + " was not closed; close response bodies to release their connections promptly");
+            }
+        }
+    }
+
+    private HttpResponse executeConnection(JavaHttpRequest javaHttpRequest, Deadline deadline)
+            throws HttpException, IOException {
         HttpURLConnection connection = getHttpUrlConnection(javaHttpRequest.getUrl());
+        javaHttpRequest.setConnection(connection);
+        if (null == deadline) {
+            connection.setConnectTimeout(connectionTimeoutInMs);
+            connection.setReadTimeout(requestTimeoutInMs);
+        } else {
+            connection.setConnectTimeout(deadline.getTimeoutMillis(connectionTimeoutInMs));
+            connection.setReadTimeout(deadline.getTimeoutMillis(requestTimeoutInMs));
+        }
+        if (!keepAlive) {
+            connection.setRequestProperty(CONNECTION_HEADER, CONNECTION_CLOSE);
+        }
+        if (null != proxyAuthorization) {
+            connection.setRequestProperty(PROXY_AUTHORIZATION_HEADER, proxyAuthorization);
+            setAuthenticator(connection, proxyAuthenticator);
+        }
+        if (contentCompressionEnabled) {
+            // additional headers, set below, may override it
+            connection.setRequestProperty(ContentEncoding.ACCEPT_ENCODING_HEADER, ContentEncoding.ACCEPTED_ENCODINGS);
+        }
         connection.setDoOutput(true);
         connection.setRequestMethod(javaHttpRequest.getMethod());
 
@@ -320,10 +836,30 @@ public class JavaHttpProvider implements HttpProvider {
              /* error from server */
             inputStream = connection.getErrorStream();
         }
+
+        String contentEncoding = connection.getContentEncoding();
+        if (contentCompressionEnabled && null != inputStream && ContentEncoding.isDecodable(contentEncoding)) {
+            inputStream = ContentEncoding.decode(contentEncoding, inputStream);
+            // the headers describe the compressed body
+            responseContentLength = -1L;
+            headers = withoutEncodedContentHeaders(headers);
+        }
         
         return new JavaHttpResponse(statusCode, responseContentLength, inputStream, headers);
     }
 
+    /**
+     * Removes the headers that no longer apply once the response body is decompressed.
+     */
+    private static Map<String, List<String>> withoutEncodedContentHeaders(Map<String, List<String>> headers) {
+        Map<String, List<String>> decodedHeaders = new LinkedHashMap<String, List<String>>(headers);
+        decodedHeaders.keySet().removeIf(name -> null != name
+                && (ContentEncoding.CONTENT_ENCODING_HEADER.equalsIgnoreCase(name)
+                        || HttpConstants.CONTENT_LENGTH_HEADER.equalsIgnoreCase(name)
+                        || CONTENT_MD5_HEADER.equalsIgnoreCase(name)));
+        return Collections.unmodifiableMap(decodedHeaders);
+    }
+
     protected static byte[] getFormBody(Map<String, List<String>> formParams) throws UnsupportedEncodingException {
         StringBuilder formBuf = new StringBuilder();
         boolean first = true;
@@ -15,6 +15,10 @@
  */
 package com.here.account.oauth2;
 
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.here.account.olp.OlpHttpMessage;
 import com.here.account.util.RefreshableResponseProvider.ExpiringResponse;
@@ -29,6 +33,8 @@ import com.here.account.util.RefreshableResponseProvider.ExpiringResponse;
  */
 public class AccessTokenResponse implements ExpiringResponse, OlpHttpMessage {
 
+    private static final JwtClaims NOT_A_JWT = new JwtClaims(Collections.<String, Object>emptyMap());
+
     /**
      * access_token
          REQUIRED.  The access token issued by the authorization server.
@@ -75,6 +81,17 @@ public class AccessTokenResponse implements ExpiringResponse, OlpHttpMessage {
 
     private transient String correlationId;
 
+    /**
+     * The System.nanoTime() at construction, for the monotonic time to expiry.
+     */
+    private transient final long startNanoTime;
+
+    /**
+     * The decoded access_token claims, {@link #NOT_A_JWT} if the access_token is not a JWT,
+     * or null until first requested.
+     */
+    private transient volatile JwtClaims claims;
+
     /**
      * Requested scope of the access token. Supported scope-types are openId or project.
      */
@@ -98,6 +115,7 @@ public class AccessTokenResponse implements ExpiringResponse, OlpHttpMessage {
         this.expiresIn = expiresIn;
         this.refreshToken = refreshToken;
         this.startTimeMilliseconds = System.currentTimeMillis();
+        this.startNanoTime = System.nanoTime();
         this.idToken = idToken;
         this.scope = scope;
     }
@@ -203,4 +221,64 @@ public class AccessTokenResponse implements ExpiringResponse, OlpHttpMessage {
      * @return  null, openId or project scope
      */
     public String getScope() { return scope; }
+
+    /**
+     * The claims of the access_token, decoded the first time they are requested
+     * and cached for the life of this object.
+     * The token signature is not verified; see {@link JwtClaims}.
+     *
+     * @return the claims, or null if the access_token is not a JWT
+     */
+    @JsonIgnore
+    public JwtClaims getClaims() {
+        JwtClaims claims = this.claims;
+        if (null == claims) {
+            synchronized (this) {
+                claims = this.claims;
+                if (null == claims) {
+                    try {
+                        claims = JwtClaims.decode(accessToken);
+                    } catch (IllegalArgumentException e) {
+                        claims = NOT_A_JWT;
+                    }
+                    this.claims = claims;
+                }
+            }
+        }
+        return NOT_A_JWT == claims ? null : claims;
+    }
+
+    /**
+     * Milliseconds until the access_token expires, measured with System.nanoTime(),
+     * so it is unaffected by wall clock adjustments after this object was constructed.
+     * The lifetime is {@link #getExpiresIn()} if present,
+     * otherwise the "exp" claim of the access_token.
+     *
+     * @return the milliseconds until expiry, negative once expired,
+     *      or null if the lifetime is unknown
+     */
+    @JsonIgnore
+    public Long getTimeToExpiryMillis() {
+        Long lifetimeMillis = getLifetimeMillis();
+        if (null == lifetimeMillis) {
+            return null;
+        }
+        return lifetimeMillis - TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanoTime);
+    }
+
+    /**
+     * The lifetime of the access_token from the construction of this object.
+     */
+    private Long getLifetimeMillis() {
+        Long expiresIn = getExpiresIn();
+        if (null != expiresIn) {
+            return TimeUnit.SECONDS.toMillis(expiresIn);
+        }
+        JwtClaims claims = getClaims();
+        Long exp = null != claims ? claims.getExp() : null;
+        if (null != exp) {
+            return TimeUnit.SECONDS.toMillis(exp) - startTimeMilliseconds;
+        }
+        return null;
+    }
 }
@@ -0,0 +1,495 @@
+/*
+ * Copyright (c) 2026 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.here.account.oauth2;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.here.account.http.HttpProvider;
+import com.here.account.http.apache.ApacheHttpClientProvider;
+import com.here.account.http.java.JavaHttpProvider;
+import com.here.account.oauth2.ratelimit.RateLimiter;
+import com.here.account.oauth2.ratelimit.RateLimiterRegistry;
+import com.here.account.oauth2.ratelimit.TokenBucketRateLimiter;
+import com.here.account.oauth2.retry.NoRetryPolicy;
+import com.here.account.oauth2.retry.RetryPolicy;
+import com.here.account.util.OptionalDependencies;
+import com.here.account.util.Serializer;
+
+/**
+ * Requests HERE Access Tokens for many credentials at once, for example for every
+ * tenant of a multi-tenant service at boot.
+ *
+ * <p>
+ * All requests share one {@link HttpProvider}, and at most
+ * {@link Builder#setMaxConcurrency(int) maxConcurrency} requests are in flight at a time,
+ * so the time to get all tokens scales with the concurrency rather than with the number of credentials.
+ * Requests toward the authorization server can additionally be paced with
+ * {@link Builder#setMaxRequestsPerSecond(double)}.
+ *
+ * <pre>
+ * try (BatchTokenRequester requester = BatchTokenRequester.builder()
+ *         .setMaxConcurrency(16)
+ *         .setMaxRequestsPerSecond(50)
+ *         .build()) {
+ *     for (BatchTokenRequester.Result result : requester.requestTokens(tenantCredentials)) {
+ *         ...
+ *     }
+ * }
+ * </pre>
+ */
+public class BatchTokenRequester implements Closeable {
+
+    private static final Logger LOGGER = Logger.getLogger(BatchTokenRequester.class.getName());
+
+    /**
+     * The default maximum number of requests in flight.
+     */
+    public static final int DEFAULT_MAX_CONCURRENCY = 8;
+
+    /**
+     * Gets a new Builder for a BatchTokenRequester.
+     *
+     * @return the Builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * By default the Builder uses the ApacheHttpClientProvider (or the JavaHttpProvider,
+     * without Apache httpclient on the classpath), no retries,
+     * {@link #DEFAULT_MAX_CONCURRENCY} requests in flight, and no rate limit.
+     */
+    public static class Builder {
+        private HttpProvider httpProvider;
+        private Serializer serializer;
+        private RetryPolicy retryPolicy;
+        private int maxConcurrency = DEFAULT_MAX_CONCURRENCY;
+        private RateLimiter rateLimiter;
+        private Consumer<Progress> progressListener;
+
+        private Builder() {
+        }
+
+        /**
+         * Optionally set your custom HttpProvider, shared by all requests,
+         * to override the default.
+         * An injected HttpProvider is not closed by {@link BatchTokenRequester#close()}.
+         *
+         * @param httpProvider the HttpProvider to set
+         * @return this Builder
+         */
+        public Builder setHttpProvider(HttpProvider httpProvider) {
+            this.httpProvider = httpProvider;
+            return this;
+        }
+
+        /**
+         * Optionally override the default JSON Serializer.
+         *
+         * @param serializer the serializer to set
+         * @return this Builder
+         */
+        public Builder setSerializer(Serializer serializer) {
+            this.serializer = serializer;
+            return this;
+        }
+
+        /**
+         * Optionally override the retry policy, applied to each credential's request.
+         * Default behaviour is no retry.
+         *
+         * @param retryPolicy the RetryPolicy
+         * @return this Builder
+         */
+        public Builder setRetryPolicy(RetryPolicy retryPolicy) {
+            this.retryPolicy = retryPolicy;
+            return this;
+        }
+
+        /**
+         * Optionally set the maximum number of token requests in flight at a time.
+         * Default is {@link #DEFAULT_MAX_CONCURRENCY}.
+         *
+         * @param maxConcurrency the maximum number of concurrent requests, at least 1
+         * @return this Builder
+         */
+        public Builder setMaxConcurrency(int maxConcurrency) {
+            if (maxConcurrency < 1) {
+                throw new IllegalArgumentException("maxConcurrency must be at least 1: " + maxConcurrency);
+            }
+            this.maxConcurrency = maxConcurrency;
+            return this;
+        }
+
+        /**
+         * Optionally limit the rate at which token requests are started,
+         * across all concurrent requests, evenly paced.
+         * Default is 0, for no limit.
+         * This is shorthand for {@link #setRateLimiter(RateLimiter)} with a
+         * {@link TokenBucketRateLimiter} of capacity 1.
+         *
+         * @param maxRequestsPerSecond the maximum requests started per second, or 0 for no limit
+         * @return this Builder
+         */
+        public Builder setMaxRequestsPerSecond(double maxRequestsPerSecond) {
+            if (maxRequestsPerSecond < 0 || Double.isNaN(maxRequestsPerSecond)) {
+                throw new IllegalArgumentException("maxRequestsPerSecond must not be negative: "
+                        + maxRequestsPerSecond);
+            }
+            this.rateLimiter = 0 == maxRequestsPerSecond ? null
+                    : TokenBucketRateLimiter.builder().setPermitsPerSecond(maxRequestsPerSecond).build();
+            return this;
+        }
+
+        /**
+         * Optionally set the RateLimiter each token request in the batch must acquire a permit from
+         * before it starts.
+         * Default is no limit.
+         * Any RateLimiter registered for a token endpoint URL in {@link RateLimiterRegistry#getDefault()}
+         * applies in addition.
+         *
+         * @param rateLimiter the RateLimiter, or null for no limit
+         * @return this Builder
+         */
+        public Builder setRateLimiter(RateLimiter rateLimiter) {
+            this.rateLimiter = rateLimiter;
+            return this;
+        }
+
+        /**
+         * Optionally set a listener to be notified, from the requesting threads,
+         * each time a credential's request completes.
+         *
+         * @param progressListener the listener
+         * @return this Builder
+         */
+        public Builder setProgressListener(Consumer<Progress> progressListener) {
+            this.progressListener = progressListener;
+            return this;
+        }
+
+        /**
+         * Build the BatchTokenRequester.
+         *
+         * @return the built BatchTokenRequester
+         */
+        public BatchTokenRequester build() {
+            boolean doCloseHttpProvider = false;
+            HttpProvider httpProvider = this.httpProvider;
+            if (null == httpProvider) {
+                if (OptionalDependencies.isApacheHttpClientPresent()) {
+                    // size the connection pool for the concurrency
+                    httpProvider = ApacheHttpClientProvider.builder()
+                            .setMaxConnections(maxConcurrency)
+                            .build();
+                } else {
+                    httpProvider = JavaHttpProvider.builder().build();
+                }
+                doCloseHttpProvider = true;
+            }
+            return new BatchTokenRequester(
+                    httpProvider,
+                    doCloseHttpProvider,
+                    null != serializer ? serializer : OptionalDependencies.getDefaultSerializer(),
+                    null != retryPolicy ? retryPolicy : new NoRetryPolicy(),
+                    maxConcurrency,
+                    rateLimiter,
+                    progressListener);
+        }
+    }
+
+    /**
+     * The outcome of one credential's token request:
+     * either the response, or the exception.
+     */
+    public static class Result {
+        private final ClientAuthorizationRequestProvider clientAuthorizationRequestProvider;
+        private final AccessTokenResponse accessTokenResponse;
+        private final RuntimeException exception;
+        private final long elapsedMillis;
+
+        private Result(ClientAuthorizationRequestProvider clientAuthorizationRequestProvider,
+                AccessTokenResponse accessTokenResponse, RuntimeException exception, long elapsedMillis) {
+            this.clientAuthorizationRequestProvider = clientAuthorizationRequestProvider;
+            this.accessTokenResponse = accessTokenResponse;
+            this.exception = exception;
+            this.elapsedMillis = elapsedMillis;
+        }
+
+        /**
+         * @return the credentials this result is for
+         */
+        public ClientAuthorizationRequestProvider getClientAuthorizationRequestProvider() {
+            return clientAuthorizationRequestProvider;
+        }
+
+        /**
+         * @return true if a token was obtained
+         */
+        public boolean isSuccess() {
+            return null == exception;
+        }
+
+        /**
+         * @return the token response, or null if the request failed
+         */
+        public AccessTokenResponse getAccessTokenResponse() {
+            return accessTokenResponse;
+        }
+
+        /**
+         * @return the failure, typically an {@link AccessTokenException},
+         *     {@link RequestExecutionException}, or {@link ResponseParsingException};
+         *     or null if the request succeeded
+         */
+        public RuntimeException getException() {
+            return exception;
+        }
+
+        /**
+         * @return the milliseconds spent on the request, including retries,
+         *     but not time spent waiting for the rate limit
+         */
+        public long getElapsedMillis() {
+            return elapsedMillis;
+        }
+    }
+
+    /**
+     * A point-in-time snapshot of a batch's progress.
+     */
+    public static class Progress {
+        private final int total;
+        private final int succeeded;
+        private final int failed;
+        private final long elapsedMillis;
+        private final long rateLimitWaitMillis;
+
+        private Progress(int total, int succeeded, int failed, long elapsedMillis, long rateLimitWaitMillis) {
+            this.total = total;
+            this.succeeded = succeeded;
+            this.failed = failed;
+            this.elapsedMillis = elapsedMillis;
+            this.rateLimitWaitMillis = rateLimitWaitMillis;
+        }
+
+        /**
+         * @return the number of credentials in the batch
+         */
+        public int getTotal() {
+            return total;
+        }
+
+        /**
+         * @return the number of requests completed, successfully or not
+         */
+        public int getCompleted() {
+            return succeeded + failed;
+        }
+
+        /**
+         * @return the number of tokens obtained
+         */
+        public int getSucceeded() {
+            return succeeded;
+        }
+
+        /**
+         * @return the number of failed requests
+         */
+        public int getFailed() {
+            return failed;
+        }
+
+        /**
+         * @return the milliseconds since the batch started
+         */
+        public long getElapsedMillis() {
+            return elapsedMillis;
+        }
+
+        /**
+         * @return the total milliseconds requests have waited for the rate limit,
+         *     summed over all requesting threads
+         */
+        public long getRateLimitWaitMillis() {
+            return rateLimitWaitMillis;
+        }
+
+        @Override
+        public String toString() {
+            return "Progress [completed=" + getCompleted() + "/" + total + ", succeeded=" + succeeded
+                    + ", failed=" + failed + ", elapsedMillis=" + elapsedMillis
+                    + ", rateLimitWaitMillis=" + rateLimitWaitMillis + "]";
+        }
+    }
+
+    private final HttpProvider httpProvider;
+    private final boolean doCloseHttpProvider;
+    private final Serializer serializer;
+    private final RetryPolicy retryPolicy;
+    private final int maxConcurrency;
+    private final RateLimiter rateLimiter;
+    private final Consumer<Progress> progressListener;
+
+    private BatchTokenRequester(HttpProvider httpProvider, boolean doCloseHttpProvider,
+            Serializer serializer, RetryPolicy retryPolicy, int maxConcurrency,
+            RateLimiter rateLimiter, Consumer<Progress> progressListener) {
+        this.httpProvider = httpProvider;
+        this.doCloseHttpProvider = doCloseHttpProvider;
+        this.serializer = serializer;
+        this.retryPolicy = retryPolicy;
+        this.maxConcurrency = maxConcurrency;
+        this.rateLimiter = rateLimiter;
+        this.progressListener = progressListener;
+    }
+
+    /**
+     * Requests a HERE Access Token for each of the credentials, and waits for all of them.
+     * A failure for one credential does not affect the others.
+     *
+     * @param clientAuthorizationRequestProviders the credentials, each identifying its token endpoint
+     * @return the results, in the iteration order of clientAuthorizationRequestProviders
+     * @throws RequestExecutionException if interrupted while waiting;
+     *     requests not yet started are then abandoned
+     */
+    public List<Result> requestTokens(
+            Collection<? extends ClientAuthorizationRequestProvider> clientAuthorizationRequestProviders)
+            throws RequestExecutionException {
+        int total = clientAuthorizationRequestProviders.size();
+        if (0 == total) {
+            return Collections.emptyList();
+        }
+
+        long startNanos = System.nanoTime();
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        AtomicLong rateLimitWaitNanos = new AtomicLong();
+
+        ExecutorService executorService = newExecutorService(Math.min(maxConcurrency, total));
+        try {
+            List<Future<Result>> futures = new ArrayList<>(total);
+            for (ClientAuthorizationRequestProvider provider : clientAuthorizationRequestProviders) {
+                futures.add(executorService.submit(() -> {
+                    Result result;
+                    try {
+                        rateLimitWaitNanos.addAndGet(acquire());
+                        result = requestToken(provider);
+                    } catch (InterruptedException e) {
+                        // the batch is being abandoned; this credential fails, the others see the interrupt too
+                        Thread.currentThread().interrupt();
+                        result = new Result(provider, null,
+                                new RequestExecutionException("interrupted waiting for the rate limit", e), 0L);
+                    }
+                    int s = result.isSuccess() ? succeeded.incrementAndGet() : succeeded.get();
+                    int f = result.isSuccess() ? failed.get() : failed.incrementAndGet();
+                    notifyProgress(new Progress(total, s, f,
+                            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos),
+                            TimeUnit.NANOSECONDS.toMillis(rateLimitWaitNanos.get())));
+                    return result;
+                }));
+            }
+
+            List<Result> results = new ArrayList<>(total);
+            for (Future<Result> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RequestExecutionException("interrupted waiting for batch token requests", e);
+        } catch (ExecutionException e) {
+            // each task catches its exceptions, and interruption while waiting for the rate limit,
+            // so only a progress listener can get here
+            throw new RuntimeException("trouble requesting batch tokens: " + e.getCause(), e.getCause());
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    private Result requestToken(ClientAuthorizationRequestProvider provider) {
+        long startNanos = System.nanoTime();
+        try {
+            TokenEndpoint tokenEndpoint = HereAccount.getTokenEndpoint(
+                    httpProvider, provider, serializer, retryPolicy);
+            AccessTokenResponse response = tokenEndpoint.requestToken(provider.getNewAccessTokenRequest());
+            return new Result(provider, response, null,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.FINE, "trouble requesting token from " + provider.getTokenEndpointUrl(), e);
+            return new Result(provider, null, e,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+        }
+    }
+
+    /**
+     * Waits until the next request may start, under the rate limit.
+     *
+     * @return the nanoseconds waited
+     * @throws InterruptedException if interrupted while waiting
+     */
+    private long acquire() throws InterruptedException {
+        if (null == rateLimiter) {
+            return 0L;
+        }
+        long startNanos = System.nanoTime();
+        rateLimiter.acquire();
+        return System.nanoTime() - startNanos;
+    }
+
+    private void notifyProgress(Progress progress) {
+        if (null != progressListener) {
+            progressListener.accept(progress);
+        }
+    }
+
+    private static ExecutorService newExecutorService(int threads) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, r -> {
+            Thread thread = new Thread(r, "here-batch-token-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Closes the HttpProvider, unless it was injected.
+     *
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() throws IOException {
+        if (doCloseHttpProvider) {
+            httpProvider.close();
+        }
+    }
+}
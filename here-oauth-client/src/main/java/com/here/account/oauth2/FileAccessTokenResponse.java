@@ -105,7 +105,8 @@ public class FileAccessTokenResponse extends AccessTokenResponse {
      */
     @Override
     public Long getExpiresIn() {
-        return exp - (getStartTimeMilliseconds() / 1000);
+        Long exp = getExp();
+        return null != exp ? exp - (getStartTimeMilliseconds() / 1000) : null;
     }
 
     /**
@@ -127,9 +128,16 @@ public class FileAccessTokenResponse extends AccessTokenResponse {
      * See also 
      * <a href="https://tools.ietf.org/html/rfc7519#section-2">JSON Web Token (JWT):  Terminology</a>.
      * 
+     * <p>
+     * If the File has no "exp", it is taken from the access_token claims.
+     * 
      * @return the exp
      */
     public Long getExp() {
+        if (null == exp) {
+            JwtClaims claims = getClaims();
+            return null != claims ? claims.getExp() : null;
+        }
         return exp;
     }
 
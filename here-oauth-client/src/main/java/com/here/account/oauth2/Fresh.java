@@ -16,6 +16,9 @@
 package com.here.account.oauth2;
 
 import java.io.Closeable;
+import java.util.concurrent.Executor;
+
+import com.here.account.util.RefreshableResponseProvider.RefreshListener;
 
 /**
  * Wraps an object such that it is guaranteed to be "fresh" or always up to date.
@@ -32,4 +35,38 @@ public interface Fresh<T> extends Closeable {
      */
     T get();
 
+    /**
+     * Adds a listener that is notified when the object is refreshed, fails to refresh, or expires,
+     * so that values derived from it can be rebuilt exactly once per refresh.
+     * The listener is notified on a background thread of the implementation's choosing.
+     *
+     * @param refreshListener the listener to add
+     * @throws UnsupportedOperationException if this implementation does not support listeners
+     */
+    default void addRefreshListener(RefreshListener<T> refreshListener) {
+        throw new UnsupportedOperationException("addRefreshListener not supported");
+    }
+
+    /**
+     * Adds a listener that is notified on the specified executor,
+     * when the object is refreshed, fails to refresh, or expires.
+     *
+     * @param refreshListener the listener to add
+     * @param executor the executor on which to notify the listener
+     * @throws UnsupportedOperationException if this implementation does not support listeners
+     */
+    default void addRefreshListener(RefreshListener<T> refreshListener, Executor executor) {
+        throw new UnsupportedOperationException("addRefreshListener not supported");
+    }
+
+    /**
+     * Removes a listener added by {@link #addRefreshListener(RefreshListener)}.
+     *
+     * @param refreshListener the listener to remove
+     * @throws UnsupportedOperationException if this implementation does not support listeners
+     */
+    default void removeRefreshListener(RefreshListener<T> refreshListener) {
+        throw new UnsupportedOperationException("removeRefreshListener not supported");
+    }
+
 }
@@ -18,14 +18,20 @@ package com.here.account.oauth2;
 import java.io.Closeable;
 import java.io.IOException;
 import java.util.function.Supplier;
+import java.util.logging.Logger;
 
 import com.here.account.auth.provider.ClientAuthorizationProviderChain;
+import com.here.account.client.HedgingPolicy;
 import com.here.account.http.HttpProvider;
 import com.here.account.http.apache.ApacheHttpClientProvider;
+import com.here.account.http.java.JavaHttpProvider;
+import com.here.account.oauth2.ratelimit.RateLimiter;
+import com.here.account.oauth2.ratelimit.RateLimiterRegistry;
 import com.here.account.oauth2.retry.NoRetryPolicy;
 import com.here.account.oauth2.retry.RetryPolicy;
 import com.here.account.util.Clock;
-import com.here.account.util.JacksonSerializer;
+import com.here.account.util.OptionalDependencies;
+import com.here.account.util.RefreshableResponseProvider.RefreshListener;
 import com.here.account.util.Serializer;
 import com.here.account.util.SettableSystemClock;
 import org.apache.http.HttpHost;
@@ -79,7 +85,13 @@ import org.apache.http.HttpHost;
  *   <li>clientAuthorizationRequestProvider:
  *       {@link ClientAuthorizationProviderChain#getNewDefaultClientCredentialsProviderChain(Clock)},
  *       which checks System properties, ~/.here/credentials.ini, or ~/.here/credentials.properties file.</li>
- *   <li>httpProvider: a new default {@link ApacheHttpClientProvider}.<li>
+ *   <li>httpProvider: a new default {@link ApacheHttpClientProvider},
+ *       or a new default {@link JavaHttpProvider} if Apache httpclient is not on the classpath.</li>
+ *   <li>useReservedLane: true, so token and timestamp requests use the
+ *       {@link HttpProvider#getReservedLane() reserved lane} of an httpProvider you set,
+ *       and do not wait for connections behind your other traffic sharing it.</li>
+ *   <li>serializer: a {@link com.here.account.util.JacksonSerializer},
+ *       or a {@link com.here.account.util.MinimalJsonSerializer} if jackson-databind is not on the classpath.</li>
  * </ul>
  * Each of which may be overridden via appropriate Builder methods.
  *
@@ -87,6 +99,8 @@ import org.apache.http.HttpHost;
  */
 public class HereAccessTokenProvider implements AccessTokenSupplier, Closeable, AccessTokenProvider {
 
+    private static final Logger LOGGER = Logger.getLogger(HereAccessTokenProvider.class.getName());
+
     /**
      * Gets a new Builder for a HERE Access Token Provider.
      *
@@ -100,7 +114,7 @@ public class HereAccessTokenProvider implements AccessTokenSupplier, Closeable,
     /**
      * By default the Builder uses
      * {@link ClientAuthorizationProviderChain#getNewDefaultClientCredentialsProviderChain(Clock)} for credentials,
-     * the ApacheHttpClientProvider,
+     * the ApacheHttpClientProvider (or the JavaHttpProvider, without Apache httpclient on the classpath),
      * and the "always fresh" Access Token.
      */
     public static class Builder {
@@ -114,6 +128,9 @@ public class HereAccessTokenProvider implements AccessTokenSupplier, Closeable,
         private String scheme;
         private String proxyUsername;
         private String proxyPassword;
+        private RateLimiter rateLimiter;
+        private HedgingPolicy hedgingPolicy;
+        private boolean useReservedLane = true;
 
         private Builder() {
         }
@@ -143,6 +160,24 @@ public class HereAccessTokenProvider implements AccessTokenSupplier, Closeable,
             return this;
         }
 
+        /**
+         * Optionally set whether token and timestamp requests use the HttpProvider's
+         * {@link HttpProvider#getReservedLane() reserved lane}, a separate connection budget,
+         * so that a connection pool saturated by other traffic does not delay token refreshes.
+         * Applies only to an HttpProvider you {@link #setHttpProvider(HttpProvider) set};
+         * the default HttpProvider carries token requests only, so it needs no reserved lane.
+         * Some HttpProviders have no reserved lane, for example an ApacheHttpClientProvider
+         * with an injected httpClient; token requests then share the HttpProvider's connections.
+         * Default is true.
+         *
+         * @param useReservedLane false to send token requests through the HttpProvider itself
+         * @return this Builder
+         */
+        public Builder setUseReservedLane(boolean useReservedLane) {
+            this.useReservedLane = useReservedLane;
+            return this;
+        }
+
         /**
          * Default is false.
          * It is not recommended to set this value to true, in a long-running
@@ -183,6 +218,33 @@ public class HereAccessTokenProvider implements AccessTokenSupplier, Closeable,
             return this;
         }
 
+        /**
+         * Optionally limit how often tokens are requested from the token endpoint.
+         * Every HTTP attempt, including each retry and hedge, takes a permit.
+         * By default the RateLimiter registered for the token endpoint URL in
+         * {@link RateLimiterRegistry#getDefault()} is used, if any.
+         *
+         * @param rateLimiter the RateLimiter
+         * @return this Builder
+         */
+        public Builder setRateLimiter(RateLimiter rateLimiter) {
+            this.rateLimiter = rateLimiter;
+            return this;
+        }
+
+        /**
+         * Optionally hedge token requests: if a token request is slower than usual,
+         * a second one is sent in parallel, and the first response is used.
+         * Default is no hedging.
+         *
+         * @param hedgingPolicy the HedgingPolicy
+         * @return this Builder
+         */
+        public Builder setHedgingPolicy(HedgingPolicy hedgingPolicy) {
+            this.hedgingPolicy = hedgingPolicy;
+            return this;
+        }
+
         /**
          * Optionally set proxy endpoint configurations (https by default)
          * @param proxyHost proxy host
@@ -239,34 +301,86 @@ public class HereAccessTokenProvider implements AccessTokenSupplier, Closeable,
 
             boolean doCloseHttpProvider = false;
             if (null == httpProvider) {
-                ApacheHttpClientProvider.Builder apacheHttpClientProvider = ApacheHttpClientProvider.builder();
-                if (null != proxyHost && proxyPort > 0) {
-                    apacheHttpClientProvider = apacheHttpClientProvider.setProxy(proxyHost, proxyPort, scheme);
-                    if (null != proxyUsername && null != proxyPassword) {
-                        apacheHttpClientProvider = apacheHttpClientProvider.setProxyAuthentication(proxyUsername, proxyPassword);
-                    }
+                if (OptionalDependencies.isApacheHttpClientPresent()) {
+                    this.httpProvider = getApacheHttpClientProvider();
+                } else {
+                    this.httpProvider = getJavaHttpProvider();
                 }
-                // uses PoolingHttpClientConnectionManager by default
-                this.httpProvider = apacheHttpClientProvider.build();
                 // because the httpProvider was not injected, we should close it
                 doCloseHttpProvider = true;
             }
 
             if (null == serializer) {
-                serializer = new JacksonSerializer();
+                serializer = OptionalDependencies.getDefaultSerializer();
             }
 
             if (null == retryPolicy) {
                 retryPolicy = new NoRetryPolicy();
             }
 
+            HttpProvider tokenHttpProvider = httpProvider;
+            // the default httpProvider carries token requests only, so it needs no reserved lane
+            if (useReservedLane && !doCloseHttpProvider) {
+                tokenHttpProvider = getReservedLane(httpProvider);
+                if (tokenHttpProvider == httpProvider) {
+                    LOGGER.fine(httpProvider.getClass().getName() + " has no reserved lane; "
+                            + "token requests share its connections");
+                }
+            }
+
             return new HereAccessTokenProvider(
                     serializer,
                     clientAuthorizationRequestProvider,
                     httpProvider,
+                    tokenHttpProvider,
                     doCloseHttpProvider,
                     alwaysRequestNewToken,
-                    retryPolicy);
+                    retryPolicy,
+                    rateLimiter,
+                    hedgingPolicy);
+        }
+
+        /**
+         * Gets the HttpProvider's reserved lane, or the HttpProvider itself
+         * if it does not provide one.
+         */
+        private static HttpProvider getReservedLane(HttpProvider httpProvider) {
+            HttpProvider reservedLane = httpProvider.getReservedLane();
+            return null != reservedLane ? reservedLane : httpProvider;
+        }
+
+        /**
+         * Gets the default HttpProvider when Apache httpclient is on the classpath.
+         *
+         * @return the ApacheHttpClientProvider, with any proxy settings applied
+         */
+        private HttpProvider getApacheHttpClientProvider() {
+            ApacheHttpClientProvider.Builder apacheHttpClientProvider = ApacheHttpClientProvider.builder();
+            if (null != proxyHost && proxyPort > 0) {
+                apacheHttpClientProvider = apacheHttpClientProvider.setProxy(proxyHost, proxyPort, scheme);
+                if (null != proxyUsername && null != proxyPassword) {
+                    apacheHttpClientProvider = apacheHttpClientProvider.setProxyAuthentication(proxyUsername, proxyPassword);
+                }
+            }
+            // uses PoolingHttpClientConnectionManager by default
+            return apacheHttpClientProvider.build();
+        }
+
+        /**
+         * Gets the default HttpProvider when Apache httpclient is not on the classpath.
+         *
+         * @return the JavaHttpProvider, with any proxy settings applied
+         */
+        private HttpProvider getJavaHttpProvider() {
+            JavaHttpProvider.Builder javaHttpProvider = JavaHttpProvider.builder();
+            if (null != proxyHost && proxyPort > 0) {
+                javaHttpProvider = javaHttpProvider.setProxy(proxyHost, proxyPort);
+                if (null != proxyUsername && null != proxyPassword) {
+                    javaHttpProvider = javaHttpProvider.setProxyAuthentication(proxyUsername, proxyPassword);
+                }
+            }
+            // uses Java's default connection pooling
+            return javaHttpProvider.build();
         }
     }
 
@@ -281,11 +395,14 @@ public class HereAccessTokenProvider implements AccessTokenSupplier, Closeable,
     private HereAccessTokenProvider(
             Serializer serializer,
             ClientAuthorizationRequestProvider credentials, HttpProvider httpProvider,
-            boolean doCloseHttpProvider, boolean alwaysRequestNewToken, RetryPolicy retryPolicy) {
+            HttpProvider tokenHttpProvider, boolean doCloseHttpProvider,
+            boolean alwaysRequestNewToken, RetryPolicy retryPolicy,
+            RateLimiter rateLimiter, HedgingPolicy hedgingPolicy) {
         this.serializer = serializer;
         this.httpProvider = httpProvider;
         this.doCloseHttpProvider = doCloseHttpProvider;
-        this.tokenEndpoint = HereAccount.getTokenEndpoint(httpProvider, credentials, this.serializer, retryPolicy);
+        this.tokenEndpoint = HereAccount.getTokenEndpoint(tokenHttpProvider, credentials, this.serializer, retryPolicy,
+                rateLimiter, hedgingPolicy);
         this.accessTokenRequestSupplier = () -> {
             return credentials.getNewAccessTokenRequest();
         };
@@ -325,6 +442,48 @@ public class HereAccessTokenProvider implements AccessTokenSupplier, Closeable,
 
     }
 
+    /**
+     * Opens a connection to the token endpoint, through the HttpProvider used for token requests,
+     * so that the next token request does not wait for a DNS lookup, a TCP connect, and a TLS handshake.
+     * Call it at startup, for example when built with alwaysRequestNewToken,
+     * where the first {@link #getAccessToken()} would otherwise pay for the connection.
+     * The "always fresh" token is already warmed up ahead of each scheduled refresh.
+     *
+     * @throws RequestExecutionException if the token endpoint cannot be reached
+     */
+    public void warmUp() throws RequestExecutionException {
+        tokenEndpoint.warmUp();
+    }
+
+    /**
+     * Adds a listener that is notified, on a background thread, each time the token is refreshed,
+     * fails to refresh, or expires.
+     *
+     * @param refreshListener the listener to add
+     * @throws UnsupportedOperationException if this provider was built with alwaysRequestNewToken
+     * @see Fresh#addRefreshListener(RefreshListener)
+     */
+    public void addRefreshListener(RefreshListener<AccessTokenResponse> refreshListener) {
+        getFresh().addRefreshListener(refreshListener);
+    }
+
+    /**
+     * Removes a listener added by {@link #addRefreshListener(RefreshListener)}.
+     *
+     * @param refreshListener the listener to remove
+     * @throws UnsupportedOperationException if this provider was built with alwaysRequestNewToken
+     */
+    public void removeRefreshListener(RefreshListener<AccessTokenResponse> refreshListener) {
+        getFresh().removeRefreshListener(refreshListener);
+    }
+
+    private Fresh<AccessTokenResponse> getFresh() {
+        if (null == fresh) {
+            throw new UnsupportedOperationException("tokens are not refreshed when alwaysRequestNewToken is true");
+        }
+        return fresh;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -17,21 +17,35 @@ package com.here.account.oauth2;
 
 import com.here.account.auth.NoAuthorizer;
 import com.here.account.client.Client;
+import com.here.account.client.HedgingPolicy;
+import com.here.account.http.Deadline;
 import com.here.account.http.HttpConstants;
 import com.here.account.http.HttpConstants.HttpMethods;
+import com.here.account.http.HttpException;
 import com.here.account.http.HttpProvider;
+import com.here.account.http.RequestTemplate;
 import com.here.account.oauth2.bo.TimestampResponse;
+import com.here.account.oauth2.ratelimit.RateLimiter;
+import com.here.account.oauth2.ratelimit.RateLimiterRegistry;
 import com.here.account.oauth2.retry.NoRetryPolicy;
 import com.here.account.oauth2.retry.RetryPolicy;
 import com.here.account.olp.OlpHttpMessage;
 import com.here.account.util.*;
+import com.here.account.util.RefreshableResponseProvider.RefreshListener;
 
 import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
 import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 import java.util.logging.Logger;
 
@@ -166,7 +180,7 @@ public class HereAccount {
     public static TokenEndpoint getTokenEndpoint(
             HttpProvider httpProvider,
             ClientCredentialsProvider clientCredentialsProvider) {
-        return new TokenEndpointImpl(reuseClock(clientCredentialsProvider), httpProvider, clientCredentialsProvider, new JacksonSerializer(), new NoRetryPolicy());
+        return new TokenEndpointImpl(reuseClock(clientCredentialsProvider), httpProvider, clientCredentialsProvider, OptionalDependencies.getDefaultSerializer(), new NoRetryPolicy(), null, null);
     }
     
     
@@ -195,7 +209,7 @@ public class HereAccount {
             ClientAuthorizationRequestProvider clientAuthorizationRequestProvider) {
         return getTokenEndpoint(
                 reuseClock(clientAuthorizationRequestProvider),
-                httpProvider, clientAuthorizationRequestProvider, new JacksonSerializer(), new NoRetryPolicy());
+                httpProvider, clientAuthorizationRequestProvider, OptionalDependencies.getDefaultSerializer(), new NoRetryPolicy());
     }
 
     /**
@@ -275,9 +289,34 @@ public class HereAccount {
             HttpProvider httpProvider,
             ClientAuthorizationRequestProvider clientAuthorizationRequestProvider,
             Serializer serializer, RetryPolicy retryPolicy) {
-        return getTokenEndpoint(reuseClock(clientAuthorizationRequestProvider),
-                httpProvider, clientAuthorizationRequestProvider, serializer, retryPolicy);
+        return getTokenEndpoint(httpProvider, clientAuthorizationRequestProvider, serializer, retryPolicy,
+                null, null);
+
+    }
 
+    /**
+     * Internal use only.
+     * Get the Token Endpoint which makes various Token Endpoint API calls to the
+     * HERE Account Authorization Server, limiting its token requests with rateLimiter.
+     *
+     * @param httpProvider the HTTP-layer provider implementation
+     * @param clientAuthorizationRequestProvider identifies the token endpoint URL and
+     *     client credentials to be injected into requests
+     * @param serializer the Serializer to use
+     * @param retryPolicy retry policy
+     * @param rateLimiter the rate limiter for token requests, or null to use the one
+     *     registered for the token endpoint URL in {@link RateLimiterRegistry#getDefault()}, if any
+     * @param hedgingPolicy the hedging policy for token and timestamp requests, or null for none
+     * @return a {@code TokenEndpoint} representing access for the provided client
+     */
+    static TokenEndpoint getTokenEndpoint(
+            HttpProvider httpProvider,
+            ClientAuthorizationRequestProvider clientAuthorizationRequestProvider,
+            Serializer serializer, RetryPolicy retryPolicy, RateLimiter rateLimiter,
+            HedgingPolicy hedgingPolicy) {
+        return new TokenEndpointImpl(reuseClock(clientAuthorizationRequestProvider),
+                httpProvider, clientAuthorizationRequestProvider, serializer, retryPolicy, rateLimiter,
+                hedgingPolicy);
     }
 
     /**
@@ -304,7 +343,7 @@ public class HereAccount {
             ClientAuthorizationRequestProvider clientCredentialsProvider,
             Serializer serializer, RetryPolicy retryPolicy) {
         return new TokenEndpointImpl(clock,
-                httpProvider, clientCredentialsProvider, serializer, retryPolicy);
+                httpProvider, clientCredentialsProvider, serializer, retryPolicy, null, null);
     }
     
     /**
@@ -331,11 +370,19 @@ public class HereAccount {
                 clock,
                 null,
                 tokenEndpoint.requestToken(accessTokenRequestFactory.get()),
-                (AccessTokenResponse previous) -> {
-                    try {
-                        return tokenEndpoint.requestToken(accessTokenRequestFactory.get());
-                    } catch (AccessTokenException | RequestExecutionException | ResponseParsingException e) {
-                        throw new RuntimeException("trouble refresh: " + e, e);
+                new RefreshableResponseProvider.ResponseRefresher<AccessTokenResponse>() {
+                    @Override
+                    public AccessTokenResponse refresh(AccessTokenResponse previous) {
+                        try {
+                            return tokenEndpoint.requestToken(accessTokenRequestFactory.get());
+                        } catch (AccessTokenException | RequestExecutionException | ResponseParsingException e) {
+                            throw new RuntimeException("trouble refresh: " + e, e);
+                        }
+                    }
+
+                    @Override
+                    public void warmUp(long timeoutMillis) {
+                        tokenEndpoint.warmUp(Deadline.after(timeoutMillis, TimeUnit.MILLISECONDS));
                     }
                 },
                 RefreshableResponseProvider.getScheduledExecutorServiceSize1()
@@ -360,14 +407,21 @@ public class HereAccount {
         private final SettableClock settableClock;
         private final String timestampUrl;
         private final boolean requestTokenFromFile;
+        private volatile MappedTokenSlot tokenSlot;
+        private volatile long nextTokenSlotProbeNanos;
 
         private final Client client;
         private final HttpProvider httpProvider;
         private final HttpMethods httpMethod;
         private final String url;
+        /**
+         * The token request's method and parsed URL, or null if the URL cannot be parsed.
+         */
+        private final RequestTemplate tokenRequestTemplate;
         private final String scope;
         private final HttpProvider.HttpRequestAuthorizer clientAuthorizer;
         private final Serializer serializer;
+        private final RateLimiter rateLimiter;
 
         /**
          * Construct a new ability to obtain authorization from the HERE authorization server.
@@ -378,13 +432,17 @@ public class HereAccount {
          * and provides access token request objects
          * @param serializer used to serialize json To pojo and vice versa
          * @param retryPolicy retry policy
+         * @param rateLimiter the rate limiter for token requests, or null to use the registered one
+         * @param hedgingPolicy the hedging policy, or null for none
          */
         private TokenEndpointImpl(
                 Clock clock,
                 HttpProvider httpProvider,
                 ClientAuthorizationRequestProvider clientAuthorizationProvider,
                 Serializer serializer,
-                RetryPolicy retryPolicy) {
+                RetryPolicy retryPolicy,
+                RateLimiter rateLimiter,
+                HedgingPolicy hedgingPolicy) {
             // these values are fixed once selected
             this.clock = clock;
             this.url = clientAuthorizationProvider.getTokenEndpointUrl();
@@ -397,11 +455,15 @@ public class HereAccount {
                     .withClientAuthorizer(clientAuthorizer)
                     .withSerializer(serializer)
                     .withRetryPolicy(retryPolicy)
+                    .withHedgingPolicy(hedgingPolicy)
                     .build();
             this.httpProvider = httpProvider;
             this.serializer = serializer;
+            this.rateLimiter = rateLimiter;
 
             requestTokenFromFile = null != url && url.startsWith(FILE_URL_START);
+            this.tokenRequestTemplate = requestTokenFromFile ? null : getRequestTemplate(httpMethod, url);
+            nextTokenSlotProbeNanos = System.nanoTime();
 
             if (currentTimeMillisSettable = clock instanceof SettableClock
                     && null != url && url.endsWith(SLASH_TOKEN)) {
@@ -415,6 +477,10 @@ public class HereAccount {
         
         protected AccessTokenResponse requestTokenFromFile() 
                 throws RequestExecutionException {
+            AccessTokenResponse accessTokenResponse = requestTokenFromSlot();
+            if (null != accessTokenResponse) {
+                return accessTokenResponse;
+            }
             try (InputStream is = new URL(url).openStream()){
                 return serializer.jsonToPojo(is,
                         FileAccessTokenResponse.class);
@@ -424,6 +490,59 @@ public class HereAccount {
         }
 
         private static final String FILE_URL_START = "file://";
+        private static final long TOKEN_SLOT_PROBE_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1L);
+
+        /**
+         * Reads the token from the memory-mapped slot next to the token file, if there is one.
+         * While there is none, its existence is checked at most once per second.
+         * A slot with no unexpired token is dropped, so that the next check maps the slot file anew:
+         * a new publisher may have replaced the file, leaving the old mapping stale forever.
+         *
+         * @return the unexpired token from the slot, or null to read the token file
+         */
+        private AccessTokenResponse requestTokenFromSlot() {
+            MappedTokenSlot tokenSlot = this.tokenSlot;
+            if (null == tokenSlot) {
+                long nowNanos = System.nanoTime();
+                if (nowNanos - nextTokenSlotProbeNanos < 0L) {
+                    return null;
+                }
+                nextTokenSlotProbeNanos = nowNanos + TOKEN_SLOT_PROBE_INTERVAL_NANOS;
+                tokenSlot = openTokenSlot();
+                if (null == tokenSlot) {
+                    return null;
+                }
+                this.tokenSlot = tokenSlot;
+            }
+            FileAccessTokenResponse accessTokenResponse = tokenSlot.read();
+            // a slot left behind by a writer that stopped must not hide a newer token file
+            Long expiresIn = null != accessTokenResponse ? accessTokenResponse.getExpiresIn() : null;
+            if (null == accessTokenResponse || (null != expiresIn && expiresIn <= 0L)) {
+                dropTokenSlot(tokenSlot);
+                return null;
+            }
+            return accessTokenResponse;
+        }
+
+        private synchronized void dropTokenSlot(MappedTokenSlot tokenSlot) {
+            if (this.tokenSlot == tokenSlot) {
+                this.tokenSlot = null;
+            }
+            tokenSlot.close();
+        }
+
+        private MappedTokenSlot openTokenSlot() {
+            try {
+                Path slotPath = MappedTokenSlot.getSlotPath(Paths.get(new URL(url).toURI()));
+                if (!Files.exists(slotPath)) {
+                    return null;
+                }
+                return MappedTokenSlot.openForReading(slotPath);
+            } catch (IOException | URISyntaxException | RuntimeException e) {
+                LOGGER.fine("not using token slot for " + url + ": " + e);
+                return null;
+            }
+        }
 
         @Override
         public AccessTokenResponse requestToken(AccessTokenRequest authorizationRequest) 
@@ -440,19 +559,25 @@ public class HereAccount {
                 throws AccessTokenException, RequestExecutionException, ResponseParsingException {            
             String method = httpMethod.getMethod();
 
-            HttpProvider.HttpRequest httpRequest;
-
             if (null != scope && null == authorizationRequest.getScope()) {
                 authorizationRequest.setScope(scope);
             }
 
             // OAuth2.0 uses application/x-www-form-urlencoded
-            httpRequest = httpProvider.getRequest(
-                clientAuthorizer, method, url, authorizationRequest.toFormParams());
-            addAdditionalHeaders(httpRequest, authorizationRequest);
+            Map<String, List<String>> formParams = authorizationRequest.toFormParams();
+            // each attempt is signed separately, so retries and hedges do not reuse a nonce,
+            // and each takes its own rate limit permit, so retries and hedges are limited too
+            Supplier<HttpProvider.HttpRequest> httpRequestSupplier = () -> {
+                acquireRateLimitPermit();
+                HttpProvider.HttpRequest httpRequest = null != tokenRequestTemplate
+                        ? httpProvider.getRequest(clientAuthorizer, tokenRequestTemplate, formParams)
+                        : httpProvider.getRequest(clientAuthorizer, method, url, formParams);
+                addAdditionalHeaders(httpRequest, authorizationRequest);
+                return httpRequest;
+            };
 
             try {
-                AccessTokenResponse response = client.sendMessage(httpRequest,
+                AccessTokenResponse response = client.sendMessage(httpRequestSupplier,
                         AccessTokenResponse.class, ErrorResponse.class,
                         (statusCode, errorResponse) -> {
                             return new AccessTokenException(statusCode, errorResponse);
@@ -463,6 +588,35 @@ public class HereAccount {
             }
         }
 
+        private static RequestTemplate getRequestTemplate(HttpMethods httpMethod, String url) {
+            if (null == httpMethod || null == url) {
+                return null;
+            }
+            try {
+                return RequestTemplate.builder().setMethod(httpMethod.getMethod()).setUrl(url).build();
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+        }
+
+        /**
+         * Waits for a permit from the configured RateLimiter, or else from the one
+         * registered for this token endpoint URL, if any.
+         *
+         * @throws RequestExecutionException if interrupted while waiting
+         */
+        private void acquireRateLimitPermit() throws RequestExecutionException {
+            RateLimiter limiter = null != rateLimiter ? rateLimiter : RateLimiterRegistry.getDefault().get(url);
+            if (null != limiter) {
+                try {
+                    limiter.acquire();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new RequestExecutionException("interrupted waiting for rate limit to " + url, e);
+                }
+            }
+        }
+
         /**
          * Adds additional headers to httpRequest, and the correlationId to the header (iff there is one)
          *
@@ -504,11 +658,9 @@ public class HereAccount {
             // we have a clock skew
             String method = HttpConstants.HttpMethods.GET.getMethod();
 
-            HttpProvider.HttpRequest httpRequest;
-            httpRequest = httpProvider.getRequest(
-                    noAuthorizer, method, timestampUrl, (String) null);
-
-            TimestampResponse timestampResponse = client.sendMessage(httpRequest, TimestampResponse.class,
+            TimestampResponse timestampResponse = client.sendMessage(
+                    () -> httpProvider.getRequest(noAuthorizer, method, timestampUrl, (String) null),
+                    TimestampResponse.class,
                     ErrorResponse.class, (statusCode, errorResponse2) -> {
                         return new AccessTokenException(statusCode, errorResponse2);
                     });
@@ -538,6 +690,31 @@ public class HereAccount {
             throw e;
         }
         
+        /**
+         * {@inheritDoc}
+         * Nothing is done for a file:// token endpoint.
+         */
+        @Override
+        public void warmUp() throws RequestExecutionException {
+            warmUp(null);
+        }
+
+        /**
+         * {@inheritDoc}
+         * Nothing is done for a file:// token endpoint.
+         */
+        @Override
+        public void warmUp(Deadline deadline) throws RequestExecutionException {
+            if (requestTokenFromFile) {
+                return;
+            }
+            try {
+                httpProvider.warmUp(url, deadline);
+            } catch (HttpException | IOException e) {
+                throw new RequestExecutionException("trouble warming up a connection to " + url + ": " + e, e);
+            }
+        }
+
         //@Override
         public Fresh<AccessTokenResponse> requestAutoRefreshingToken(Supplier<AccessTokenRequest> requestSupplier) 
                 throws AccessTokenException, RequestExecutionException, ResponseParsingException {
@@ -553,6 +730,31 @@ public class HereAccount {
                     return refresher.getUnexpiredResponse();
                 }
 
+                /**
+                 * {@inheritDoc}
+                 */
+                @Override
+                public void addRefreshListener(RefreshListener<AccessTokenResponse> refreshListener) {
+                    refresher.addRefreshListener(refreshListener);
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                @Override
+                public void addRefreshListener(RefreshListener<AccessTokenResponse> refreshListener,
+                        Executor executor) {
+                    refresher.addRefreshListener(refreshListener, executor);
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                @Override
+                public void removeRefreshListener(RefreshListener<AccessTokenResponse> refreshListener) {
+                    refresher.removeRefreshListener(refreshListener);
+                }
+
                 /**
                  * {@inheritDoc}
                  */
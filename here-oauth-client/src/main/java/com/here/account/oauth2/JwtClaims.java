@@ -0,0 +1,187 @@
+/*
+ * Copyright (c) 2026 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.here.account.oauth2;
+
+import java.io.ByteArrayInputStream;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Map;
+
+import com.here.account.util.MinimalJsonSerializer;
+
+/**
+ * The claims of a JSON Web Token, decoded from its payload
+ * <b>without</b> verifying its signature.
+ * Use them for routing, cache keys, and expiry bookkeeping,
+ * never to make authorization decisions.
+ *
+ * <p>
+ * See also
+ * <a href="https://tools.ietf.org/html/rfc7519#section-4">JSON Web Token (JWT): JWT Claims</a>.
+ */
+public final class JwtClaims {
+
+    private static final String EXP = "exp";
+    private static final String IAT = "iat";
+    private static final String AID = "aid";
+    private static final String ISS = "iss";
+    private static final String SUB = "sub";
+    private static final String SCOPE = "scope";
+
+    /**
+     * Decodes the claims from the payload of the compact serialized JWT,
+     * the second of its three dot-separated, Base64URL-encoded parts.
+     * The signature is not verified.
+     *
+     * @param jwt the compact serialized JWT
+     * @return the claims
+     * @throws IllegalArgumentException if jwt is not a compact serialized JWT
+     *      whose payload is a JSON object
+     */
+    public static JwtClaims decode(String jwt) {
+        if (null == jwt) {
+            throw new IllegalArgumentException("jwt cannot be null");
+        }
+        int payloadStart = jwt.indexOf('.') + 1;
+        int payloadEnd = jwt.indexOf('.', payloadStart);
+        if (0 == payloadStart || payloadEnd < 0 || jwt.indexOf('.', payloadEnd + 1) >= 0) {
+            throw new IllegalArgumentException("not a JWT: expected three dot-separated parts");
+        }
+        byte[] payload;
+        try {
+            payload = Base64.getUrlDecoder().decode(jwt.substring(payloadStart, payloadEnd));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("not a JWT: payload is not Base64URL: " + e.getMessage(), e);
+        }
+        Map<String, Object> claims;
+        try {
+            claims = new MinimalJsonSerializer().jsonToMap(new ByteArrayInputStream(payload));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("not a JWT: payload is not a JSON object: " + e.getMessage(), e);
+        }
+        if (null == claims) {
+            throw new IllegalArgumentException("not a JWT: payload is not a JSON object");
+        }
+        return new JwtClaims(claims);
+    }
+
+    private final Map<String, Object> claims;
+
+    JwtClaims(Map<String, Object> claims) {
+        this.claims = Collections.unmodifiableMap(claims);
+    }
+
+    /**
+     * Gets all the claims.
+     * JSON objects are Maps, arrays are Lists, and numbers are Longs where they fit.
+     *
+     * @return the unmodifiable Map of claim names to values
+     */
+    public Map<String, Object> asMap() {
+        return claims;
+    }
+
+    /**
+     * Gets the named claim.
+     *
+     * @param name the claim name
+     * @return the claim value, or null if absent
+     */
+    public Object get(String name) {
+        return claims.get(name);
+    }
+
+    /**
+     * Gets the named claim as a String.
+     *
+     * @param name the claim name
+     * @return the claim value, or null if absent or not a string
+     */
+    public String getString(String name) {
+        Object value = claims.get(name);
+        return value instanceof String ? (String) value : null;
+    }
+
+    /**
+     * Gets the named claim as a Long.
+     *
+     * @param name the claim name
+     * @return the claim value, or null if absent or not a number
+     */
+    public Long getLong(String name) {
+        Object value = claims.get(name);
+        return value instanceof Number ? ((Number) value).longValue() : null;
+    }
+
+    /**
+     * The "exp" (expiration time) claim, in seconds since the epoch.
+     *
+     * @return the exp, or null if absent
+     */
+    public Long getExp() {
+        return getLong(EXP);
+    }
+
+    /**
+     * The "iat" (issued at) claim, in seconds since the epoch.
+     *
+     * @return the iat, or null if absent
+     */
+    public Long getIat() {
+        return getLong(IAT);
+    }
+
+    /**
+     * The HERE "aid" claim, the id of the application the token was issued to.
+     *
+     * @return the aid, or null if absent
+     */
+    public String getAid() {
+        return getString(AID);
+    }
+
+    /**
+     * The "iss" (issuer) claim.
+     *
+     * @return the iss, or null if absent
+     */
+    public String getIss() {
+        return getString(ISS);
+    }
+
+    /**
+     * The "sub" (subject) claim.
+     *
+     * @return the sub, or null if absent
+     */
+    public String getSub() {
+        return getString(SUB);
+    }
+
+    /**
+     * The "scope" claim.
+     *
+     * @return the scope, or null if absent
+     */
+    public String getScope() {
+        return getString(SCOPE);
+    }
+
+    @Override
+    public String toString() {
+        return "JwtClaims" + claims;
+    }
+}
@@ -0,0 +1,431 @@
+/*
+ * Copyright (c) 2026 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.here.account.oauth2;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+
+import com.here.account.util.OAuthConstants;
+
+/**
+ * A fixed-layout token slot in a memory-mapped file,
+ * for processes that read a shared token far more often than it changes.
+ * One writer, such as {@link com.here.account.broker.TokenFilePublisher},
+ * updates the slot in place; any number of readers, in any number of processes,
+ * {@link #read()} it with no system calls, no locks, and no JSON parsing.
+ *
+ * <p>
+ * Consistency comes from a sequence counter (a seqlock):
+ * the writer makes the sequence odd, writes the token, then makes it even again.
+ * A reader copies the token between two reads of the sequence, and retries if the
+ * sequence was odd or changed in between.
+ * The decoded token is cached per sequence, so an unchanged slot is a single read of the counter.
+ *
+ * <p>
+ * Close a slot to release its mapping; a closed slot reads as never written.
+ *
+ * <p>
+ * The slot for a JSON token file is next to it, at {@link #getSlotPath(Path)};
+ * {@link HereAccount} token endpoints with a file:// URL read the slot when it exists,
+ * and the JSON file otherwise.
+ *
+ * <p>
+ * Layout, {@value #SLOT_SIZE} bytes, big-endian:
+ * <pre>
+ *     0  int   magic
+ *     4  int   layout version, 1
+ *     8  long  sequence, odd while a write is in progress
+ *    16  long  exp, in UTC seconds, or Long.MIN_VALUE if none
+ *    24  int   access_token length in bytes
+ *    28  int   token_type length in bytes, or -1 if none
+ *    32  int   scope length in bytes, or -1 if none
+ *    36  int   reserved
+ *    40  bytes access_token, token_type, scope, UTF-8
+ * </pre>
+ */
+public final class MappedTokenSlot implements Closeable {
+
+    /**
+     * Appended to the path of a JSON token file to get the path of its slot.
+     */
+    public static final String SLOT_FILE_SUFFIX = ".slot";
+
+    /**
+     * The size of a slot file in bytes.
+     */
+    public static final int SLOT_SIZE = 16 * 1024;
+
+    private static final int MAGIC = 0x48544B53; // "HTKS"
+    private static final int LAYOUT_VERSION = 1;
+
+    private static final int MAGIC_OFFSET = 0;
+    private static final int LAYOUT_VERSION_OFFSET = 4;
+    private static final int SEQUENCE_OFFSET = 8;
+    private static final int EXP_OFFSET = 16;
+    private static final int ACCESS_TOKEN_LENGTH_OFFSET = 24;
+    private static final int TOKEN_TYPE_LENGTH_OFFSET = 28;
+    private static final int SCOPE_LENGTH_OFFSET = 32;
+    private static final int DATA_OFFSET = 40;
+    private static final int DATA_CAPACITY = SLOT_SIZE - DATA_OFFSET;
+
+    private static final long NO_EXP = Long.MIN_VALUE;
+    private static final int MAX_READ_ATTEMPTS = 100;
+
+    /**
+     * Gets the path of the slot for a JSON token file.
+     *
+     * @param tokenFile the path of the JSON token file
+     * @return the path of its slot
+     */
+    public static Path getSlotPath(Path tokenFile) {
+        return tokenFile.resolveSibling(tokenFile.getFileName() + SLOT_FILE_SUFFIX);
+    }
+
+    /**
+     * Maps an existing slot file for reading.
+     *
+     * @param slotFile the path of the slot file
+     * @return the slot
+     * @throws IOException if the file does not exist, cannot be mapped, or is not a token slot
+     */
+    public static MappedTokenSlot openForReading(Path slotFile) throws IOException {
+        try (FileChannel channel = FileChannel.open(slotFile, StandardOpenOption.READ)) {
+            if (channel.size() < SLOT_SIZE) {
+                throw new IOException("not a token slot, too small: " + slotFile);
+            }
+            // the mapping stays valid after the channel is closed
+            return new MappedTokenSlot(channel.map(FileChannel.MapMode.READ_ONLY, 0, SLOT_SIZE));
+        }
+    }
+
+    /**
+     * Maps a slot file for writing, creating it if necessary.
+     * An existing slot is updated in place, so readers that already mapped it see the new tokens.
+     * There must be only one writer at a time.
+     *
+     * @param slotFile the path of the slot file
+     * @return the slot
+     * @throws IOException if the file cannot be created or mapped
+     */
+    public static MappedTokenSlot openForWriting(Path slotFile) throws IOException {
+        try (FileChannel channel = FileChannel.open(slotFile, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, SLOT_SIZE);
+            buffer.putInt(LAYOUT_VERSION_OFFSET, LAYOUT_VERSION);
+            Fences.storeFence();
+            buffer.putInt(MAGIC_OFFSET, MAGIC);
+            return new MappedTokenSlot(buffer);
+        }
+    }
+
+    /**
+     * The token decoded at one sequence number.
+     */
+    private static class Snapshot {
+        private final long sequence;
+        private final String accessToken;
+        private final String tokenType;
+        private final String scope;
+        private final Long exp;
+
+        private Snapshot(long sequence, String accessToken, String tokenType, String scope, Long exp) {
+            this.sequence = sequence;
+            this.accessToken = accessToken;
+            this.tokenType = tokenType;
+            this.scope = scope;
+            this.exp = exp;
+        }
+    }
+
+    private volatile ByteBuffer buffer;
+    private volatile Snapshot snapshot;
+
+    private MappedTokenSlot(ByteBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    /**
+     * Reads the current token.
+     * A new response is returned each time, so that its expires_in is computed from now,
+     * but the token strings are only decoded when the slot has changed.
+     *
+     * @return the current token, or null if the slot was never written,
+     *      or a write stayed in progress for the whole read, for example because the writer died,
+     *      or the slot is closed
+     */
+    public FileAccessTokenResponse read() {
+        ByteBuffer buffer = this.buffer;
+        if (null == buffer) {
+            return null;
+        }
+        Snapshot snapshot = readSnapshot(buffer);
+        if (null == snapshot) {
+            return null;
+        }
+        return new FileAccessTokenResponse(snapshot.accessToken, snapshot.tokenType, null, null, null,
+                snapshot.exp, snapshot.scope);
+    }
+
+    private Snapshot readSnapshot(ByteBuffer buffer) {
+        if (MAGIC != buffer.getInt(MAGIC_OFFSET)) {
+            return null;
+        }
+        for (int attempt = 0; attempt < MAX_READ_ATTEMPTS; attempt++) {
+            long sequence = buffer.getLong(SEQUENCE_OFFSET);
+            Fences.loadFence();
+            if (0L == sequence) {
+                // never written
+                return null;
+            }
+            if (0L != (sequence & 1L)) {
+                Thread.yield();
+                continue;
+            }
+            Snapshot snapshot = this.snapshot;
+            if (null != snapshot && snapshot.sequence == sequence) {
+                return snapshot;
+            }
+
+            long exp = buffer.getLong(EXP_OFFSET);
+            int accessTokenLength = buffer.getInt(ACCESS_TOKEN_LENGTH_OFFSET);
+            int tokenTypeLength = buffer.getInt(TOKEN_TYPE_LENGTH_OFFSET);
+            int scopeLength = buffer.getInt(SCOPE_LENGTH_OFFSET);
+            // a torn read can see any lengths; only copy when they fit
+            byte[] data = null;
+            long dataLength = (long) accessTokenLength + Math.max(0, tokenTypeLength) + Math.max(0, scopeLength);
+            if (accessTokenLength >= 0 && tokenTypeLength >= -1 && scopeLength >= -1
+                    && dataLength <= DATA_CAPACITY) {
+                data = new byte[(int) dataLength];
+                ByteBuffer view = buffer.duplicate();
+                view.position(DATA_OFFSET);
+                view.get(data);
+            }
+            Fences.loadFence();
+            if (sequence != buffer.getLong(SEQUENCE_OFFSET) || null == data) {
+                continue;
+            }
+
+            int offset = 0;
+            String accessToken = new String(data, offset, accessTokenLength, OAuthConstants.UTF_8_CHARSET);
+            offset += accessTokenLength;
+            String tokenType = null;
+            if (tokenTypeLength >= 0) {
+                tokenType = new String(data, offset, tokenTypeLength, OAuthConstants.UTF_8_CHARSET);
+                offset += tokenTypeLength;
+            }
+            String scope = scopeLength >= 0
+                    ? new String(data, offset, scopeLength, OAuthConstants.UTF_8_CHARSET)
+                    : null;
+            snapshot = new Snapshot(sequence, accessToken, tokenType, scope, NO_EXP == exp ? null : exp);
+            this.snapshot = snapshot;
+            return snapshot;
+        }
+        return null;
+    }
+
+    /**
+     * Writes a token to the slot.
+     * There must be only one writer at a time.
+     *
+     * @param accessToken the access_token
+     * @param tokenType the token_type, or null
+     * @param exp the expiration time in UTC seconds, or null
+     * @param scope the scope, or null
+     * @throws IllegalArgumentException if the token does not fit in the slot
+     * @throws java.nio.ReadOnlyBufferException if the slot was opened for reading
+     * @throws IllegalStateException if the slot is closed
+     */
+    public void write(String accessToken, String tokenType, Long exp, String scope) {
+        Objects.requireNonNull(accessToken, "accessToken cannot be null");
+        ByteBuffer buffer = this.buffer;
+        if (null == buffer) {
+            throw new IllegalStateException("the token slot is closed");
+        }
+        byte[] accessTokenBytes = accessToken.getBytes(OAuthConstants.UTF_8_CHARSET);
+        byte[] tokenTypeBytes = null != tokenType ? tokenType.getBytes(OAuthConstants.UTF_8_CHARSET) : null;
+        byte[] scopeBytes = null != scope ? scope.getBytes(OAuthConstants.UTF_8_CHARSET) : null;
+        int dataLength = accessTokenBytes.length
+                + (null != tokenTypeBytes ? tokenTypeBytes.length : 0)
+                + (null != scopeBytes ? scopeBytes.length : 0);
+        if (dataLength > DATA_CAPACITY) {
+            throw new IllegalArgumentException("token of " + dataLength + " bytes does not fit in the slot of "
+                    + DATA_CAPACITY + " bytes");
+        }
+
+        long sequence = buffer.getLong(SEQUENCE_OFFSET);
+        // odd if a previous writer died mid-write
+        long writing = 0L == (sequence & 1L) ? sequence + 1L : sequence + 2L;
+        buffer.putLong(SEQUENCE_OFFSET, writing);
+        Fences.storeFence();
+
+        buffer.putLong(EXP_OFFSET, null != exp ? exp : NO_EXP);
+        buffer.putInt(ACCESS_TOKEN_LENGTH_OFFSET, accessTokenBytes.length);
+        buffer.putInt(TOKEN_TYPE_LENGTH_OFFSET, null != tokenTypeBytes ? tokenTypeBytes.length : -1);
+        buffer.putInt(SCOPE_LENGTH_OFFSET, null != scopeBytes ? scopeBytes.length : -1);
+        ByteBuffer view = buffer.duplicate();
+        view.position(DATA_OFFSET);
+        view.put(accessTokenBytes);
+        if (null != tokenTypeBytes) {
+            view.put(tokenTypeBytes);
+        }
+        if (null != scopeBytes) {
+            view.put(scopeBytes);
+        }
+
+        Fences.storeFence();
+        buffer.putLong(SEQUENCE_OFFSET, writing + 1L);
+    }
+
+    /**
+     * Closes the slot, so that it reads as never written and cannot be written.
+     * The mapping of a slot opened for writing is released now, so the writer must not close it
+     * while writing on another thread.
+     * The mapping of a slot opened for reading is released when it is garbage collected,
+     * because readers on other threads may still be copying from it.
+     */
+    @Override
+    public void close() {
+        ByteBuffer buffer = this.buffer;
+        this.buffer = null;
+        snapshot = null;
+        if (null != buffer && !buffer.isReadOnly()) {
+            Unmapper.unmap(buffer);
+        }
+    }
+
+    /**
+     * Releases a mapping now rather than when it is garbage collected:
+     * with Unsafe.invokeCleaner on JDK 9 and later, with the buffer's Cleaner on JDK 8.
+     * Where neither is accessible, the mapping is released when it is garbage collected.
+     */
+    private static class Unmapper {
+        private static final MethodHandle UNMAP;
+
+        static {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            MethodHandle unmap;
+            try {
+                Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+                Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+                theUnsafe.setAccessible(true);
+                unmap = lookup.findVirtual(unsafeClass, "invokeCleaner",
+                        MethodType.methodType(void.class, ByteBuffer.class)).bindTo(theUnsafe.get(null));
+            } catch (ReflectiveOperationException | RuntimeException | LinkageError e) {
+                try {
+                    Class<?> directBufferClass = Class.forName("sun.nio.ch.DirectBuffer");
+                    Class<?> cleanerClass = Class.forName("sun.misc.Cleaner");
+                    MethodHandle cleaner = lookup.findVirtual(directBufferClass, "cleaner",
+                            MethodType.methodType(cleanerClass));
+                    MethodHandle clean = lookup.findVirtual(cleanerClass, "clean",
+                            MethodType.methodType(void.class));
+                    unmap = MethodHandles.filterReturnValue(cleaner, clean)
+                            .asType(MethodType.methodType(void.class, ByteBuffer.class));
+                } catch (ReflectiveOperationException | RuntimeException | LinkageError e2) {
+                    unmap = null;
+                }
+            }
+            UNMAP = unmap;
+        }
+
+        static void unmap(ByteBuffer buffer) {
+            if (null != UNMAP) {
+                try {
+                    UNMAP.invokeExact(buffer);
+                } catch (Throwable e) {
+                    // released when garbage collected
+                }
+            }
+        }
+    }
+
+    /**
+     * Memory fences for the seqlock, from code compiled for Java 8.
+     * VarHandle fences on JDK 9 and later, sun.misc.Unsafe fences on JDK 8,
+     * otherwise a volatile access, which orders the accesses around it on common JVMs.
+     */
+    private static class Fences {
+        private static volatile int fallback;
+
+        private static final MethodHandle LOAD_FENCE;
+        private static final MethodHandle STORE_FENCE;
+
+        static {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            MethodType voidType = MethodType.methodType(void.class);
+            MethodHandle loadFence;
+            MethodHandle storeFence;
+            try {
+                Class<?> varHandleClass = Class.forName("java.lang.invoke.VarHandle");
+                loadFence = lookup.findStatic(varHandleClass, "acquireFence", voidType);
+                storeFence = lookup.findStatic(varHandleClass, "releaseFence", voidType);
+            } catch (ReflectiveOperationException | RuntimeException | LinkageError e) {
+                try {
+                    Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+                    Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+                    theUnsafe.setAccessible(true);
+                    Object unsafe = theUnsafe.get(null);
+                    loadFence = lookup.findVirtual(unsafeClass, "loadFence", voidType).bindTo(unsafe);
+                    storeFence = lookup.findVirtual(unsafeClass, "storeFence", voidType).bindTo(unsafe);
+                } catch (ReflectiveOperationException | RuntimeException | LinkageError e2) {
+                    try {
+                        loadFence = lookup.findStatic(Fences.class, "volatileRead", voidType);
+                        storeFence = lookup.findStatic(Fences.class, "volatileWrite", voidType);
+                    } catch (ReflectiveOperationException e3) {
+                        throw new ExceptionInInitializerError(e3);
+                    }
+                }
+            }
+            LOAD_FENCE = loadFence;
+            STORE_FENCE = storeFence;
+        }
+
+        static void volatileRead() {
+            if (fallback < 0) {
+                throw new IllegalStateException();
+            }
+        }
+
+        static void volatileWrite() {
+            fallback = 0;
+        }
+
+        static void loadFence() {
+            try {
+                LOAD_FENCE.invokeExact();
+            } catch (Throwable e) {
+                throw new IllegalStateException("trouble with load fence: " + e, e);
+            }
+        }
+
+        static void storeFence() {
+            try {
+                STORE_FENCE.invokeExact();
+            } catch (Throwable e) {
+                throw new IllegalStateException("trouble with store fence: " + e, e);
+            }
+        }
+    }
+}
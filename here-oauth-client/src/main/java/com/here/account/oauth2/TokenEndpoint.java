@@ -17,6 +17,8 @@ package com.here.account.oauth2;
 
 import java.util.function.Supplier;
 
+import com.here.account.http.Deadline;
+
 /**
  * A {@code TokenEndpoint} directly corresponds to the token endpoint as specified in
  * the OAuth2.0 Specification.  See
@@ -79,5 +81,27 @@ public interface TokenEndpoint {
     Fresh<AccessTokenResponse> requestAutoRefreshingToken(Supplier<AccessTokenRequest> requestSupplier) 
             throws AccessTokenException, RequestExecutionException, ResponseParsingException;
 
+    /**
+     * Opens a connection to the token endpoint ahead of a token request,
+     * so that the request does not wait for a DNS lookup, a TCP connect, and a TLS handshake.
+     * The default implementation does nothing.
+     *
+     * @throws RequestExecutionException if the token endpoint cannot be reached
+     */
+    default void warmUp() throws RequestExecutionException {
+    }
+
+    /**
+     * Opens a connection to the token endpoint ahead of a token request, giving up at the deadline;
+     * see {@link #warmUp()}.
+     * The default implementation calls {@link #warmUp()}.
+     *
+     * @param deadline the Deadline for the warm-up, or null for none
+     * @throws RequestExecutionException if the token endpoint cannot be reached in time
+     */
+    default void warmUp(Deadline deadline) throws RequestExecutionException {
+        warmUp();
+    }
+
                                                                 
 }
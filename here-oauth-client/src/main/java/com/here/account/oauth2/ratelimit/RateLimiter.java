@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2026 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.here.account.oauth2.ratelimit;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@link RateLimiter} limits how often requests are made to an endpoint,
+ * for example the HERE Account token endpoint.
+ * One permit is acquired per request.
+ *
+ * @see TokenBucketRateLimiter
+ * @see RateLimiterRegistry
+ */
+public interface RateLimiter {
+
+    /**
+     * Acquires a permit if one is available now, without waiting.
+     *
+     * @return true if a permit was acquired, false if the request should be rejected
+     */
+    boolean tryAcquire();
+
+    /**
+     * Acquires a permit, waiting up to timeout for one to become available.
+     *
+     * @param timeout the maximum time to wait
+     * @param unit the unit of timeout
+     * @return true if a permit was acquired, false if the timeout elapsed first
+     * @throws InterruptedException if interrupted while waiting
+     */
+    boolean tryAcquire(long timeout, TimeUnit unit) throws InterruptedException;
+
+    /**
+     * Acquires a permit, waiting as long as necessary for one to become available.
+     *
+     * @throws InterruptedException if interrupted while waiting
+     */
+    default void acquire() throws InterruptedException {
+        tryAcquire(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2026 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.here.account.oauth2.ratelimit;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * Holds {@link RateLimiter}s by token endpoint URL.
+ *
+ * <p>
+ * Every TokenEndpoint without an explicitly configured RateLimiter looks up
+ * its token endpoint URL in the {@link #getDefault() default} registry before each token request,
+ * so one registration limits all TokenEndpoints, HereAccessTokenProviders, and
+ * BatchTokenRequesters in the JVM that use that URL:
+ * <pre>
+ * RateLimiterRegistry.getDefault().register("https://account.api.here.com/oauth2/token",
+ *         TokenBucketRateLimiter.builder().setPermitsPerSecond(10).setCapacity(20).build());
+ * </pre>
+ * URLs are matched exactly.
+ */
+public class RateLimiterRegistry {
+
+    private static final RateLimiterRegistry DEFAULT = new RateLimiterRegistry();
+
+    /**
+     * Gets the JVM-wide registry consulted by TokenEndpoints.
+     *
+     * @return the default registry
+     */
+    public static RateLimiterRegistry getDefault() {
+        return DEFAULT;
+    }
+
+    private final ConcurrentMap<String, RateLimiter> rateLimiters = new ConcurrentHashMap<>();
+
+    /**
+     * Registers rateLimiter for requests to tokenEndpointUrl, replacing any previous registration.
+     *
+     * @param tokenEndpointUrl the token endpoint URL
+     * @param rateLimiter the rate limiter
+     * @return the previously registered rate limiter, or null
+     */
+    public RateLimiter register(String tokenEndpointUrl, RateLimiter rateLimiter) {
+        Objects.requireNonNull(tokenEndpointUrl, "tokenEndpointUrl cannot be null");
+        Objects.requireNonNull(rateLimiter, "rateLimiter cannot be null");
+        return rateLimiters.put(tokenEndpointUrl, rateLimiter);
+    }
+
+    /**
+     * Gets the rate limiter for tokenEndpointUrl, creating and registering one if there is none.
+     *
+     * @param tokenEndpointUrl the token endpoint URL
+     * @param rateLimiterFactory creates the rate limiter, given the URL
+     * @return the registered rate limiter
+     */
+    public RateLimiter getOrRegister(String tokenEndpointUrl,
+            Function<String, ? extends RateLimiter> rateLimiterFactory) {
+        return rateLimiters.computeIfAbsent(tokenEndpointUrl, rateLimiterFactory);
+    }
+
+    /**
+     * Gets the rate limiter for tokenEndpointUrl.
+     *
+     * @param tokenEndpointUrl the token endpoint URL
+     * @return the registered rate limiter, or null if requests to tokenEndpointUrl are not limited
+     */
+    public RateLimiter get(String tokenEndpointUrl) {
+        return null == tokenEndpointUrl ? null : rateLimiters.get(tokenEndpointUrl);
+    }
+
+    /**
+     * Removes the rate limiter for tokenEndpointUrl.
+     *
+     * @param tokenEndpointUrl the token endpoint URL
+     * @return the removed rate limiter, or null
+     */
+    public RateLimiter unregister(String tokenEndpointUrl) {
+        return rateLimiters.remove(tokenEndpointUrl);
+    }
+}
@@ -0,0 +1,267 @@
+/*
+ * Copyright (c) 2026 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.here.account.oauth2.ratelimit;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.here.account.util.Clock;
+
+/**
+ * A token bucket {@link RateLimiter}.
+ * The bucket holds up to {@link Builder#setCapacity(int) capacity} permits,
+ * and is refilled at {@link Builder#setPermitsPerSecond(double) permitsPerSecond}.
+ * A full bucket allows a burst of capacity requests; after that requests are paced at the refill rate.
+ *
+ * <p>
+ * Waiting is done against the {@link Clock}, via {@link Clock#schedule}, so a test clock
+ * controls both the refill and the release of waiting threads.
+ * If the clock moves backwards, for example when a SettableClock is corrected for skew,
+ * no permits are added until it moves forward again.
+ *
+ * <p>
+ * Instances are thread-safe, and may be shared by any number of token endpoints;
+ * see {@link RateLimiterRegistry}.
+ */
+public class TokenBucketRateLimiter implements RateLimiter {
+
+    private static final double MILLIS_PER_SECOND = 1000.0;
+
+    /**
+     * Gets a new Builder for a TokenBucketRateLimiter.
+     *
+     * @return the Builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * By default the Builder uses a capacity of 1, so requests are evenly paced,
+     * and {@link Clock#SYSTEM}.
+     * The permitsPerSecond must be set.
+     */
+    public static class Builder {
+        private double permitsPerSecond;
+        private int capacity = 1;
+        private Clock clock = Clock.SYSTEM;
+
+        private Builder() {
+        }
+
+        /**
+         * Sets the rate at which permits are added to the bucket.
+         *
+         * @param permitsPerSecond the refill rate, greater than 0
+         * @return this Builder
+         */
+        public Builder setPermitsPerSecond(double permitsPerSecond) {
+            if (!(permitsPerSecond > 0) || Double.isInfinite(permitsPerSecond)) {
+                throw new IllegalArgumentException("permitsPerSecond must be positive: " + permitsPerSecond);
+            }
+            this.permitsPerSecond = permitsPerSecond;
+            return this;
+        }
+
+        /**
+         * Optionally set the maximum number of permits in the bucket, the largest allowed burst.
+         * Default is 1.
+         *
+         * @param capacity the bucket capacity, at least 1
+         * @return this Builder
+         */
+        public Builder setCapacity(int capacity) {
+            if (capacity < 1) {
+                throw new IllegalArgumentException("capacity must be at least 1: " + capacity);
+            }
+            this.capacity = capacity;
+            return this;
+        }
+
+        /**
+         * Optionally override the Clock used for refills and waiting.
+         *
+         * @param clock the clock
+         * @return this Builder
+         */
+        public Builder setClock(Clock clock) {
+            this.clock = clock;
+            return this;
+        }
+
+        /**
+         * Build the TokenBucketRateLimiter, with a full bucket.
+         *
+         * @return the built TokenBucketRateLimiter
+         */
+        public TokenBucketRateLimiter build() {
+            if (0 == permitsPerSecond) {
+                throw new IllegalStateException("permitsPerSecond must be set");
+            }
+            return new TokenBucketRateLimiter(clock, permitsPerSecond, capacity);
+        }
+    }
+
+    /**
+     * The scheduler passed to {@link Clock#schedule} to wake waiting threads.
+     */
+    private static class SchedulerHolder {
+        private static final ScheduledExecutorService SCHEDULER =
+                Executors.newSingleThreadScheduledExecutor(r -> {
+                    Thread thread = new Thread(r, "here-rate-limiter");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    private final Clock clock;
+    private final double permitsPerMilli;
+    private final int capacity;
+
+    private final AtomicLong acquiredCount = new AtomicLong();
+    private final AtomicLong rejectedCount = new AtomicLong();
+    private final AtomicLong totalWaitMillis = new AtomicLong();
+    private final AtomicLong maxWaitMillis = new AtomicLong();
+
+    private double permits;
+    private long lastRefillMillis;
+
+    private TokenBucketRateLimiter(Clock clock, double permitsPerSecond, int capacity) {
+        this.clock = clock;
+        this.permitsPerMilli = permitsPerSecond / MILLIS_PER_SECOND;
+        this.capacity = capacity;
+        this.permits = capacity;
+        this.lastRefillMillis = clock.currentTimeMillis();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean tryAcquire() {
+        if (0L == tryTake()) {
+            acquiredCount.incrementAndGet();
+            return true;
+        }
+        rejectedCount.incrementAndGet();
+        return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean tryAcquire(long timeout, TimeUnit unit) throws InterruptedException {
+        long startMillis = clock.currentTimeMillis();
+        long timeoutMillis = unit.toMillis(timeout);
+        long waitedMillis = 0L;
+        while (true) {
+            long waitMillis = tryTake();
+            if (0L == waitMillis) {
+                acquiredCount.incrementAndGet();
+                recordWait(waitedMillis);
+                return true;
+            }
+            long remainingMillis = timeoutMillis - waitedMillis;
+            if (remainingMillis <= 0L) {
+                rejectedCount.incrementAndGet();
+                recordWait(waitedMillis);
+                return false;
+            }
+            sleep(Math.min(waitMillis, remainingMillis));
+            waitedMillis = Math.max(0L, clock.currentTimeMillis() - startMillis);
+        }
+    }
+
+    /**
+     * Takes a permit if one is available.
+     *
+     * @return 0 if a permit was taken, otherwise the milliseconds until one is expected
+     */
+    private synchronized long tryTake() {
+        refill();
+        if (permits >= 1.0) {
+            permits -= 1.0;
+            return 0L;
+        }
+        return Math.max(1L, (long) Math.ceil((1.0 - permits) / permitsPerMilli));
+    }
+
+    private void sleep(long millis) throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        clock.schedule(SchedulerHolder.SCHEDULER, latch::countDown, millis);
+        latch.await();
+    }
+
+    private void recordWait(long waitedMillis) {
+        totalWaitMillis.addAndGet(waitedMillis);
+        maxWaitMillis.accumulateAndGet(waitedMillis, Math::max);
+    }
+
+    /**
+     * @return the number of permits currently in the bucket, rounded down
+     */
+    public synchronized int getAvailablePermits() {
+        refill();
+        return (int) permits;
+    }
+
+    private void refill() {
+        long now = clock.currentTimeMillis();
+        if (now > lastRefillMillis) {
+            permits = Math.min(capacity, permits + (now - lastRefillMillis) * permitsPerMilli);
+        }
+        lastRefillMillis = now;
+    }
+
+    /**
+     * @return the number of permits acquired
+     */
+    public long getAcquiredCount() {
+        return acquiredCount.get();
+    }
+
+    /**
+     * @return the number of tryAcquire calls that returned false
+     */
+    public long getRejectedCount() {
+        return rejectedCount.get();
+    }
+
+    /**
+     * @return the total milliseconds spent waiting in tryAcquire(timeout) and acquire(), over all calls
+     */
+    public long getTotalWaitMillis() {
+        return totalWaitMillis.get();
+    }
+
+    /**
+     * @return the longest single wait in milliseconds
+     */
+    public long getMaxWaitMillis() {
+        return maxWaitMillis.get();
+    }
+
+    @Override
+    public String toString() {
+        return "TokenBucketRateLimiter [permitsPerSecond=" + (permitsPerMilli * MILLIS_PER_SECOND)
+                + ", capacity=" + capacity + ", acquired=" + getAcquiredCount()
+                + ", rejected=" + getRejectedCount() + ", totalWaitMillis=" + getTotalWaitMillis() + "]";
+    }
+}
@@ -10,6 +10,8 @@ public class RetryContext {
     private int retryCount;
     private HttpProvider.HttpResponse lastRetryResponse;
     private Exception lastException;
+    private int lastRetryIntervalMillis;
+    private long totalRetryIntervalMillis;
 
     public int getRetryCount() {
         return this.retryCount;
@@ -30,6 +32,34 @@ public class RetryContext {
         this.lastRetryResponse = lastRetryResponse;
     }
 
+    /**
+     * Gets the wait before the most recent retry.
+     *
+     * @return the last retry interval in milliseconds, or 0 before the first retry
+     */
+    public int getLastRetryIntervalMillis() {
+        return lastRetryIntervalMillis;
+    }
+
+    /**
+     * Gets the sum of the waits before all retries so far.
+     *
+     * @return the total retry interval in milliseconds
+     */
+    public long getTotalRetryIntervalMillis() {
+        return totalRetryIntervalMillis;
+    }
+
+    /**
+     * Records the wait before a retry.
+     *
+     * @param retryIntervalMillis the retry interval in milliseconds
+     */
+    public void addRetryIntervalMillis(int retryIntervalMillis) {
+        this.lastRetryIntervalMillis = retryIntervalMillis;
+        this.totalRetryIntervalMillis += retryIntervalMillis;
+    }
+
     public Exception getLastException() {
         return lastException;
     }
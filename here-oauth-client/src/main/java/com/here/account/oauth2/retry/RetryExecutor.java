@@ -1,7 +1,10 @@
 package com.here.account.oauth2.retry;
 
+import com.here.account.http.Deadline;
 import com.here.account.http.HttpProvider;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.logging.Logger;
 
 /**
@@ -24,6 +27,24 @@ public class RetryExecutor {
      * @throws Exception
      */
     public HttpProvider.HttpResponse execute(Retryable retryable) throws Exception {
+        return execute(retryable, null);
+    }
+
+    /**
+     * Execute the given {@link Retryable} until retry policy decides to give up,
+     * or until there is no time left before the deadline.
+     * A retry is skipped, and the last response or exception is returned,
+     * if its wait would reach the deadline;
+     * no wait between attempts ever runs past the deadline.
+     * The retryable should itself honor the deadline for each attempt, typically via
+     * {@link HttpProvider#execute(HttpProvider.HttpRequest, Deadline)}.
+     *
+     * @param retryable the {@link Retryable} to execute
+     * @param deadline the Deadline for all attempts, or null for none
+     * @return http response return from {@code Retryable}
+     * @throws Exception
+     */
+    public HttpProvider.HttpResponse execute(Retryable retryable, Deadline deadline) throws Exception {
         RetryContext retryContext = new RetryContext();
         HttpProvider.HttpResponse httpResponse;
 
@@ -41,6 +62,14 @@ public class RetryExecutor {
                 retryContext.incrementRetryCount();
 
                 int waitInterval = retryPolicy.getNextRetryIntervalMillis(retryContext);
+                if (null != deadline && waitInterval >= deadline.getRemainingMillis()) {
+                    LOGGER.warning("Not retrying, " + waitInterval
+                            + " milliseconds wait would reach the deadline.");
+                    break;
+                }
+                retryContext.addRetryIntervalMillis(waitInterval);
+                // the response being retried is discarded, so release its connection
+                closeResponseBody(retryContext.getLastRetryResponse());
 
                 LOGGER.warning("Retrying after - "+ waitInterval +" milliseconds...");
                 try {
@@ -59,4 +88,14 @@ public class RetryExecutor {
 
         return retryContext.getLastRetryResponse();
     }
+
+    private static void closeResponseBody(HttpProvider.HttpResponse httpResponse) {
+        if (null != httpResponse) {
+            try (InputStream responseBody = httpResponse.getResponseBody()) {
+                // closed
+            } catch (IOException | RuntimeException e) {
+                LOGGER.fine("trouble closing discarded response body: " + e);
+            }
+        }
+    }
 }
@@ -0,0 +1,320 @@
+/*
+ * Copyright (c) 2026 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.here.account.oauth2.retry;
+
+import java.net.SocketTimeoutException;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+import com.here.account.http.HttpProvider;
+import com.here.account.util.Clock;
+
+/**
+ * An implementation of {@link RetryPolicy} that backs off when the server is throttling.
+ * It retries on http status 429 Too Many Requests, on http status greater or equal to 500,
+ * and on {@code SocketTimeoutException}.
+ *
+ * <p>
+ * When the response has a {@code Retry-After} header, in either delta-seconds or HTTP-date form,
+ * the wait is at least that long.
+ * Otherwise the wait uses "decorrelated jitter": a random interval between the base interval
+ * and three times the previous interval, capped at the maximum interval.
+ * The wait is never zero.
+ *
+ * <p>
+ * The sum of all waits is capped at {@link Builder#setMaxTotalWaitMillis(long) maxTotalWaitMillis};
+ * if the server asks for a longer wait than remains, the policy gives up immediately
+ * rather than retrying early.
+ */
+public class ThrottlingRetryPolicy implements RetryPolicy {
+
+    public static final int DEFAULT_MAX_NO_RETRIES = 5;
+    public static final int DEFAULT_BASE_INTERVAL_MILLIS = 200;
+    public static final int DEFAULT_MAX_INTERVAL_MILLIS = 20000;
+    public static final long DEFAULT_MAX_TOTAL_WAIT_MILLIS = 60000L;
+
+    /**
+     * The http status code for Too Many Requests.
+     */
+    public static final int TOO_MANY_REQUESTS_STATUS_CODE = 429;
+
+    public static final String RETRY_AFTER_HEADER = "Retry-After";
+
+    private static final int SERVER_ERROR_STATUS_CODE = 500;
+    private static final long MILLIS_PER_SECOND = 1000L;
+
+    /**
+     * The obsolete RFC 850 HTTP-date format, which recipients must still accept.
+     */
+    private static final DateTimeFormatter RFC_850_DATE_TIME =
+            DateTimeFormatter.ofPattern("EEEE, dd-MMM-yy HH:mm:ss zzz", Locale.US);
+
+    /**
+     * The obsolete ANSI C asctime() HTTP-date format, always in GMT.
+     */
+    private static final DateTimeFormatter ASCTIME_DATE_TIME =
+            DateTimeFormatter.ofPattern("EEE MMM ppd HH:mm:ss yyyy", Locale.US).withZone(ZoneOffset.UTC);
+
+    /**
+     * Gets a new Builder for a ThrottlingRetryPolicy.
+     *
+     * @return the Builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private int maxNumberOfRetries = DEFAULT_MAX_NO_RETRIES;
+        private int baseIntervalMillis = DEFAULT_BASE_INTERVAL_MILLIS;
+        private int maxIntervalMillis = DEFAULT_MAX_INTERVAL_MILLIS;
+        private long maxTotalWaitMillis = DEFAULT_MAX_TOTAL_WAIT_MILLIS;
+        private boolean retryServerErrors = true;
+        private Clock clock = Clock.SYSTEM;
+
+        private Builder() {
+        }
+
+        /**
+         * Optionally set the maximum number of retries.
+         * Default is {@link #DEFAULT_MAX_NO_RETRIES}.
+         *
+         * @param maxNumberOfRetries the maximum number of retries
+         * @return this Builder
+         */
+        public Builder setMaxNumberOfRetries(int maxNumberOfRetries) {
+            this.maxNumberOfRetries = maxNumberOfRetries;
+            return this;
+        }
+
+        /**
+         * Optionally set the shortest wait between attempts.
+         * Default is {@link #DEFAULT_BASE_INTERVAL_MILLIS}.
+         *
+         * @param baseIntervalMillis the base interval, at least 1
+         * @return this Builder
+         */
+        public Builder setBaseIntervalMillis(int baseIntervalMillis) {
+            if (baseIntervalMillis < 1) {
+                throw new IllegalArgumentException("baseIntervalMillis must be at least 1: " + baseIntervalMillis);
+            }
+            this.baseIntervalMillis = baseIntervalMillis;
+            return this;
+        }
+
+        /**
+         * Optionally set the longest jittered wait between attempts.
+         * A longer Retry-After is still honored, within the total wait.
+         * Default is {@link #DEFAULT_MAX_INTERVAL_MILLIS}.
+         *
+         * @param maxIntervalMillis the maximum interval
+         * @return this Builder
+         */
+        public Builder setMaxIntervalMillis(int maxIntervalMillis) {
+            this.maxIntervalMillis = maxIntervalMillis;
+            return this;
+        }
+
+        /**
+         * Optionally set the maximum sum of all waits.
+         * Default is {@link #DEFAULT_MAX_TOTAL_WAIT_MILLIS}.
+         *
+         * @param maxTotalWaitMillis the maximum total wait
+         * @return this Builder
+         */
+        public Builder setMaxTotalWaitMillis(long maxTotalWaitMillis) {
+            this.maxTotalWaitMillis = maxTotalWaitMillis;
+            return this;
+        }
+
+        /**
+         * Optionally set whether to retry http status greater or equal to 500, and socket timeouts,
+         * in addition to 429.
+         * Default is true.
+         *
+         * @param retryServerErrors false to retry only 429 responses
+         * @return this Builder
+         */
+        public Builder setRetryServerErrors(boolean retryServerErrors) {
+            this.retryServerErrors = retryServerErrors;
+            return this;
+        }
+
+        /**
+         * Optionally override the Clock used to convert an HTTP-date Retry-After into a wait.
+         *
+         * @param clock the clock
+         * @return this Builder
+         */
+        public Builder setClock(Clock clock) {
+            this.clock = clock;
+            return this;
+        }
+
+        /**
+         * Build the ThrottlingRetryPolicy.
+         *
+         * @return the built ThrottlingRetryPolicy
+         */
+        public ThrottlingRetryPolicy build() {
+            if (maxIntervalMillis < baseIntervalMillis) {
+                throw new IllegalStateException("maxIntervalMillis " + maxIntervalMillis
+                        + " is less than baseIntervalMillis " + baseIntervalMillis);
+            }
+            return new ThrottlingRetryPolicy(this);
+        }
+    }
+
+    private final int maxNumberOfRetries;
+    private final int baseIntervalMillis;
+    private final int maxIntervalMillis;
+    private final long maxTotalWaitMillis;
+    private final boolean retryServerErrors;
+    private final Clock clock;
+
+    private ThrottlingRetryPolicy(Builder builder) {
+        this.maxNumberOfRetries = builder.maxNumberOfRetries;
+        this.baseIntervalMillis = builder.baseIntervalMillis;
+        this.maxIntervalMillis = builder.maxIntervalMillis;
+        this.maxTotalWaitMillis = builder.maxTotalWaitMillis;
+        this.retryServerErrors = builder.retryServerErrors;
+        this.clock = builder.clock;
+    }
+
+    @Override
+    public boolean shouldRetry(RetryContext retryContext) {
+        if (retryContext.getRetryCount() >= maxNumberOfRetries || !isRetryable(retryContext)) {
+            return false;
+        }
+        long remainingMillis = maxTotalWaitMillis - retryContext.getTotalRetryIntervalMillis();
+        if (remainingMillis < baseIntervalMillis) {
+            return false;
+        }
+        // give up now, rather than retry before the server is ready
+        Long retryAfterMillis = getRetryAfterMillis(retryContext.getLastRetryResponse());
+        return null == retryAfterMillis || retryAfterMillis <= remainingMillis;
+    }
+
+    private boolean isRetryable(RetryContext retryContext) {
+        HttpProvider.HttpResponse response = retryContext.getLastRetryResponse();
+        if (null != response && null == retryContext.getLastException()) {
+            int statusCode = response.getStatusCode();
+            return TOO_MANY_REQUESTS_STATUS_CODE == statusCode
+                    || (retryServerErrors && statusCode >= SERVER_ERROR_STATUS_CODE);
+        }
+        Exception e = retryContext.getLastException();
+        return retryServerErrors && null != e
+                && (e instanceof SocketTimeoutException || e.getCause() instanceof SocketTimeoutException);
+    }
+
+    @Override
+    public int getNextRetryIntervalMillis(RetryContext retryContext) {
+        long previousMillis = Math.max(baseIntervalMillis, retryContext.getLastRetryIntervalMillis());
+        long upperMillis = Math.min(maxIntervalMillis, previousMillis * 3);
+        long intervalMillis = upperMillis > baseIntervalMillis
+                ? ThreadLocalRandom.current().nextLong(baseIntervalMillis, upperMillis + 1)
+                : baseIntervalMillis;
+
+        Long retryAfterMillis = getRetryAfterMillis(retryContext.getLastRetryResponse());
+        if (null != retryAfterMillis) {
+            intervalMillis = Math.max(intervalMillis, retryAfterMillis);
+        }
+
+        long remainingMillis = maxTotalWaitMillis - retryContext.getTotalRetryIntervalMillis();
+        intervalMillis = Math.min(intervalMillis, remainingMillis);
+        return (int) Math.max(1L, Math.min(Integer.MAX_VALUE, intervalMillis));
+    }
+
+    /**
+     * Gets the wait the server asked for in the response's Retry-After header.
+     *
+     * @param response the response, or null
+     * @return the milliseconds to wait, or null if there is no valid Retry-After header
+     */
+    Long getRetryAfterMillis(HttpProvider.HttpResponse response) {
+        if (null == response) {
+            return null;
+        }
+        Map<String, List<String>> headers;
+        try {
+            headers = response.getHeaders();
+        } catch (UnsupportedOperationException e) {
+            return null;
+        }
+        String value = getHeader(headers, RETRY_AFTER_HEADER);
+        return null == value ? null : parseRetryAfterMillis(value, clock.currentTimeMillis());
+    }
+
+    private static String getHeader(Map<String, List<String>> headers, String name) {
+        if (null != headers) {
+            for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+                List<String> values = header.getValue();
+                if (name.equalsIgnoreCase(header.getKey()) && null != values && !values.isEmpty()) {
+                    return values.get(0);
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Parses a Retry-After header value, either delta-seconds or an HTTP-date.
+     * See <a href="https://tools.ietf.org/html/rfc7231#section-7.1.3">RFC 7231 section 7.1.3</a>.
+     *
+     * @param value the header value
+     * @param currentTimeMillis the current time, for an HTTP-date
+     * @return the milliseconds to wait, never negative, or null if value is not valid
+     */
+    static Long parseRetryAfterMillis(String value, long currentTimeMillis) {
+        String trimmed = value.trim();
+        if (trimmed.isEmpty()) {
+            return null;
+        }
+        if (isDigits(trimmed)) {
+            try {
+                return Math.multiplyExact(Long.parseLong(trimmed), MILLIS_PER_SECOND);
+            } catch (ArithmeticException | NumberFormatException e) {
+                return Long.MAX_VALUE;
+            }
+        }
+        for (DateTimeFormatter formatter : new DateTimeFormatter[] {
+                DateTimeFormatter.RFC_1123_DATE_TIME, RFC_850_DATE_TIME, ASCTIME_DATE_TIME}) {
+            try {
+                long dateMillis = ZonedDateTime.parse(trimmed, formatter).toInstant().toEpochMilli();
+                return Math.max(0L, dateMillis - currentTimeMillis);
+            } catch (DateTimeParseException e) {
+                // try the next format
+            }
+        }
+        return null;
+    }
+
+    private static boolean isDigits(String s) {
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
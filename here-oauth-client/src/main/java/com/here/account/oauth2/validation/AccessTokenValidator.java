@@ -0,0 +1,420 @@
+/*
+ * Copyright (c) 2026 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.here.account.oauth2.validation;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigInteger;
+import java.security.GeneralSecurityException;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.security.SignatureException;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPublicKey;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import com.here.account.oauth2.JwtClaims;
+import com.here.account.oauth2.validation.TokenValidationException.Reason;
+import com.here.account.util.Clock;
+import com.here.account.util.MinimalJsonSerializer;
+import com.here.account.util.OAuthConstants;
+import com.here.account.util.SettableSystemClock;
+
+/**
+ * Validates HERE Access Tokens offline: a token is a JWS in compact serialization,
+ * whose signature is verified with a key from a {@link JwksKeySource},
+ * and whose "exp" and "nbf" claims are checked against the {@link Clock},
+ * allowing for {@link Builder#setClockSkewSeconds(long) clock skew}.
+ * Optionally the "iss" claim must match an expected issuer.
+ * RS256, RS384, RS512, ES256, ES384, and ES512 signatures are supported;
+ * "none" and HMAC algorithms are always rejected.
+ * The key must match the token's "alg": its type, its curve for ECDSA, and its own "alg" if it has one.
+ *
+ * <p>
+ * The claims of each verified token are cached until the token expires,
+ * so that a token presented again is validated with one map lookup and a time check.
+ * The cache holds about {@link Builder#setMaxCachedTokens(int) maxCachedTokens};
+ * when it is full, a new token replaces the expired tokens, or else the soonest to expire,
+ * among a small sample of the cached tokens, so that caching a token never scans the whole cache.
+ * Instances are thread-safe.
+ */
+public class AccessTokenValidator {
+
+    /**
+     * The default allowance for clock skew in "exp" and "nbf" checks, in seconds.
+     */
+    public static final long DEFAULT_CLOCK_SKEW_SECONDS = 60L;
+
+    /**
+     * The default maximum number of verified tokens cached.
+     */
+    public static final int DEFAULT_MAX_CACHED_TOKENS = 10000;
+
+    /**
+     * The number of cached tokens looked at to make room for a new one.
+     */
+    private static final int EVICTION_SAMPLE_SIZE = 8;
+
+    /**
+     * Gets a new Builder for an AccessTokenValidator.
+     *
+     * @return the Builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * By default the Builder allows {@link #DEFAULT_CLOCK_SKEW_SECONDS} of clock skew,
+     * caches up to {@link #DEFAULT_MAX_CACHED_TOKENS} verified tokens,
+     * and accepts any issuer.
+     * The key source is required.
+     */
+    public static class Builder {
+        private JwksKeySource keySource;
+        private Clock clock = new SettableSystemClock();
+        private String issuer;
+        private long clockSkewSeconds = DEFAULT_CLOCK_SKEW_SECONDS;
+        private int maxCachedTokens = DEFAULT_MAX_CACHED_TOKENS;
+
+        private Builder() {
+        }
+
+        /**
+         * Set the source of signature verification keys.
+         *
+         * @param keySource the key source
+         * @return this Builder
+         */
+        public Builder setKeySource(JwksKeySource keySource) {
+            this.keySource = Objects.requireNonNull(keySource, "keySource cannot be null");
+            return this;
+        }
+
+        /**
+         * Optionally set the clock used to check "exp" and "nbf".
+         *
+         * @param clock the clock
+         * @return this Builder
+         */
+        public Builder setClock(Clock clock) {
+            this.clock = Objects.requireNonNull(clock, "clock cannot be null");
+            return this;
+        }
+
+        /**
+         * Optionally require the "iss" claim to equal issuer.
+         * Default is to accept any issuer.
+         *
+         * @param issuer the expected issuer, or null for any
+         * @return this Builder
+         */
+        public Builder setIssuer(String issuer) {
+            this.issuer = issuer;
+            return this;
+        }
+
+        /**
+         * Optionally set the allowance for clock skew in "exp" and "nbf" checks.
+         * Default is {@link #DEFAULT_CLOCK_SKEW_SECONDS}.
+         *
+         * @param clockSkewSeconds the allowance in seconds, at least 0
+         * @return this Builder
+         */
+        public Builder setClockSkewSeconds(long clockSkewSeconds) {
+            if (clockSkewSeconds < 0L) {
+                throw new IllegalArgumentException("clockSkewSeconds must be at least 0: " + clockSkewSeconds);
+            }
+            this.clockSkewSeconds = clockSkewSeconds;
+            return this;
+        }
+
+        /**
+         * Optionally set the maximum number of verified tokens cached.
+         * Default is {@link #DEFAULT_MAX_CACHED_TOKENS}; 0 turns off caching.
+         *
+         * @param maxCachedTokens the maximum number of cached tokens, at least 0
+         * @return this Builder
+         */
+        public Builder setMaxCachedTokens(int maxCachedTokens) {
+            if (maxCachedTokens < 0) {
+                throw new IllegalArgumentException("maxCachedTokens must be at least 0: " + maxCachedTokens);
+            }
+            this.maxCachedTokens = maxCachedTokens;
+            return this;
+        }
+
+        /**
+         * Build the AccessTokenValidator.
+         *
+         * @return the built AccessTokenValidator
+         */
+        public AccessTokenValidator build() {
+            if (null == keySource) {
+                throw new IllegalStateException("keySource not set");
+            }
+            return new AccessTokenValidator(this);
+        }
+    }
+
+    /**
+     * The supported JWS signature algorithms.
+     */
+    private enum Algorithm {
+        RS256("SHA256withRSA", 0),
+        RS384("SHA384withRSA", 0),
+        RS512("SHA512withRSA", 0),
+        ES256("SHA256withECDSA", 32),
+        ES384("SHA384withECDSA", 48),
+        ES512("SHA512withECDSA", 66);
+
+        private final String jcaName;
+        /**
+         * The length of each of R and S in a JWS ECDSA signature, or 0 for RSA.
+         */
+        private final int ecdsaIntegerLength;
+
+        Algorithm(String jcaName, int ecdsaIntegerLength) {
+            this.jcaName = jcaName;
+            this.ecdsaIntegerLength = ecdsaIntegerLength;
+        }
+
+        private boolean isEcdsa() {
+            return ecdsaIntegerLength > 0;
+        }
+
+        private static Algorithm forName(Object alg) {
+            for (Algorithm algorithm : values()) {
+                if (algorithm.name().equals(alg)) {
+                    return algorithm;
+                }
+            }
+            return null;
+        }
+    }
+
+    private final MinimalJsonSerializer serializer = new MinimalJsonSerializer();
+    private final JwksKeySource keySource;
+    private final Clock clock;
+    private final String issuer;
+    private final long clockSkewMillis;
+    private final int maxCachedTokens;
+    private final ConcurrentHashMap<String, JwtClaims> verifiedTokens = new ConcurrentHashMap<>();
+    private final ThreadLocal<Map<Algorithm, Signature>> signatures =
+            ThreadLocal.withInitial(() -> new EnumMap<>(Algorithm.class));
+
+    private AccessTokenValidator(Builder builder) {
+        this.keySource = builder.keySource;
+        this.clock = builder.clock;
+        this.issuer = builder.issuer;
+        this.clockSkewMillis = TimeUnit.SECONDS.toMillis(builder.clockSkewSeconds);
+        this.maxCachedTokens = builder.maxCachedTokens;
+    }
+
+    /**
+     * Validates an access token.
+     *
+     * @param accessToken the access token
+     * @return the token's verified claims
+     * @throws TokenValidationException if the token is not valid
+     */
+    public JwtClaims validate(String accessToken) {
+        Objects.requireNonNull(accessToken, "accessToken cannot be null");
+        long nowMillis = clock.currentTimeMillis();
+        JwtClaims claims = verifiedTokens.get(accessToken);
+        if (null != claims) {
+            try {
+                checkTimes(claims, nowMillis);
+            } catch (TokenValidationException e) {
+                verifiedTokens.remove(accessToken);
+                throw e;
+            }
+            return claims;
+        }
+
+        int firstDot = accessToken.indexOf('.');
+        int secondDot = accessToken.indexOf('.', firstDot + 1);
+        if (firstDot <= 0 || secondDot < 0 || accessToken.indexOf('.', secondDot + 1) >= 0) {
+            throw new TokenValidationException(Reason.MALFORMED, "not a JWS in compact serialization");
+        }
+        Map<String, Object> header;
+        byte[] signature;
+        try {
+            header = serializer.jsonToMap(new ByteArrayInputStream(
+                    Base64.getUrlDecoder().decode(accessToken.substring(0, firstDot))));
+            signature = Base64.getUrlDecoder().decode(accessToken.substring(secondDot + 1));
+        } catch (RuntimeException e) {
+            throw new TokenValidationException(Reason.MALFORMED, "trouble decoding the token: " + e, e);
+        }
+        if (null == header) {
+            throw new TokenValidationException(Reason.MALFORMED, "the JWS header is not a JSON object");
+        }
+        Algorithm algorithm = Algorithm.forName(header.get("alg"));
+        if (null == algorithm) {
+            throw new TokenValidationException(Reason.UNSUPPORTED_ALGORITHM,
+                    "unsupported alg " + header.get("alg"));
+        }
+        Object kid = header.get("kid");
+        if (!(kid instanceof String)) {
+            throw new TokenValidationException(Reason.MALFORMED, "missing kid");
+        }
+        PublicKey key = keySource.getKey((String) kid, algorithm.name());
+        if (null == key) {
+            throw new TokenValidationException(Reason.UNKNOWN_KEY, "unknown kid " + kid);
+        }
+        byte[] signingInput = accessToken.substring(0, secondDot).getBytes(OAuthConstants.UTF_8_CHARSET);
+        if (!verify(algorithm, key, signingInput, signature)) {
+            throw new TokenValidationException(Reason.INVALID_SIGNATURE, "signature does not match");
+        }
+
+        try {
+            claims = JwtClaims.decode(accessToken);
+        } catch (IllegalArgumentException e) {
+            throw new TokenValidationException(Reason.MALFORMED, "trouble decoding the claims: " + e, e);
+        }
+        if (null != issuer && !issuer.equals(claims.getIss())) {
+            throw new TokenValidationException(Reason.INVALID_ISSUER, "unexpected iss " + claims.getIss());
+        }
+        checkTimes(claims, nowMillis);
+        cache(accessToken, claims, nowMillis);
+        return claims;
+    }
+
+    /**
+     * @return the number of verified tokens currently cached
+     */
+    public int getCachedTokenCount() {
+        return verifiedTokens.size();
+    }
+
+    private void checkTimes(JwtClaims claims, long nowMillis) {
+        Long exp = claims.getExp();
+        if (null == exp) {
+            throw new TokenValidationException(Reason.MALFORMED, "missing exp");
+        }
+        if (nowMillis - clockSkewMillis >= TimeUnit.SECONDS.toMillis(exp)) {
+            throw new TokenValidationException(Reason.EXPIRED, "expired at " + exp);
+        }
+        Long nbf = claims.getLong("nbf");
+        if (null != nbf && nowMillis + clockSkewMillis < TimeUnit.SECONDS.toMillis(nbf)) {
+            throw new TokenValidationException(Reason.NOT_YET_VALID, "not valid before " + nbf);
+        }
+    }
+
+    private void cache(String accessToken, JwtClaims claims, long nowMillis) {
+        if (0 == maxCachedTokens) {
+            return;
+        }
+        if (verifiedTokens.size() >= maxCachedTokens) {
+            evictSample(nowMillis);
+        }
+        verifiedTokens.put(accessToken, claims);
+    }
+
+    /**
+     * Removes the expired tokens among the first {@link #EVICTION_SAMPLE_SIZE} cached tokens,
+     * or if none has expired, the one that expires soonest.
+     * The sample is in hash order, which for tokens is as good as random.
+     */
+    private void evictSample(long nowMillis) {
+        Map.Entry<String, JwtClaims> soonest = null;
+        boolean evicted = false;
+        Iterator<Map.Entry<String, JwtClaims>> iterator = verifiedTokens.entrySet().iterator();
+        for (int i = 0; i < EVICTION_SAMPLE_SIZE && iterator.hasNext(); i++) {
+            Map.Entry<String, JwtClaims> entry = iterator.next();
+            long exp = entry.getValue().getExp();
+            if (nowMillis - clockSkewMillis >= TimeUnit.SECONDS.toMillis(exp)) {
+                iterator.remove();
+                evicted = true;
+            } else if (null == soonest || exp < soonest.getValue().getExp()) {
+                soonest = entry;
+            }
+        }
+        if (!evicted && null != soonest) {
+            verifiedTokens.remove(soonest.getKey(), soonest.getValue());
+        }
+    }
+
+    private boolean verify(Algorithm algorithm, PublicKey key, byte[] signingInput, byte[] signature) {
+        if (algorithm.isEcdsa() ? !(key instanceof ECPublicKey) : !(key instanceof RSAPublicKey)) {
+            throw new TokenValidationException(Reason.UNSUPPORTED_ALGORITHM,
+                    "alg " + algorithm + " does not match the key type " + key.getAlgorithm());
+        }
+        if (algorithm.isEcdsa()) {
+            int fieldSize = ((ECPublicKey) key).getParams().getCurve().getField().getFieldSize();
+            if ((fieldSize + 7) / 8 != algorithm.ecdsaIntegerLength) {
+                throw new TokenValidationException(Reason.UNSUPPORTED_ALGORITHM,
+                        "alg " + algorithm + " does not match the " + fieldSize + "-bit curve of the key");
+            }
+            if (signature.length != 2 * algorithm.ecdsaIntegerLength) {
+                return false;
+            }
+            signature = toDer(signature, algorithm.ecdsaIntegerLength);
+        }
+        try {
+            Map<Algorithm, Signature> threadSignatures = signatures.get();
+            Signature verifier = threadSignatures.get(algorithm);
+            if (null == verifier) {
+                verifier = Signature.getInstance(algorithm.jcaName);
+                threadSignatures.put(algorithm, verifier);
+            }
+            verifier.initVerify(key);
+            verifier.update(signingInput);
+            return verifier.verify(signature);
+        } catch (SignatureException e) {
+            return false;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("trouble verifying " + algorithm + ": " + e, e);
+        }
+    }
+
+    /**
+     * Converts a JWS ECDSA signature, R and S as fixed-length unsigned integers,
+     * to the DER SEQUENCE of two INTEGERs that the JCA expects.
+     */
+    static byte[] toDer(byte[] jwsSignature, int integerLength) {
+        byte[] r = new BigInteger(1, Arrays.copyOfRange(jwsSignature, 0, integerLength)).toByteArray();
+        byte[] s = new BigInteger(1, Arrays.copyOfRange(jwsSignature, integerLength, 2 * integerLength))
+                .toByteArray();
+        ByteArrayOutputStream der = new ByteArrayOutputStream(2 * integerLength + 9);
+        der.write(0x30);
+        writeDerLength(der, 2 + r.length + 2 + s.length);
+        der.write(0x02);
+        writeDerLength(der, r.length);
+        der.write(r, 0, r.length);
+        der.write(0x02);
+        writeDerLength(der, s.length);
+        der.write(s, 0, s.length);
+        return der.toByteArray();
+    }
+
+    private static void writeDerLength(ByteArrayOutputStream der, int length) {
+        if (length < 0x80) {
+            der.write(length);
+        } else {
+            // at most 2 * 67 + 4 bytes, for P-521
+            der.write(0x81);
+            der.write(length);
+        }
+    }
+}
@@ -0,0 +1,565 @@
+/*
+ * Copyright (c) 2026 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.here.account.oauth2.validation;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigInteger;
+import java.security.AlgorithmParameters;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.ECParameterSpec;
+import java.security.spec.ECPoint;
+import java.security.spec.ECPublicKeySpec;
+import java.security.spec.RSAPublicKeySpec;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Logger;
+
+import com.here.account.auth.NoAuthorizer;
+import com.here.account.http.Deadline;
+import com.here.account.http.HttpException;
+import com.here.account.http.HttpProvider;
+import com.here.account.http.HttpProvider.HttpRequest;
+import com.here.account.http.HttpProvider.HttpResponse;
+import com.here.account.oauth2.validation.TokenValidationException.Reason;
+import com.here.account.util.Clock;
+import com.here.account.util.MinimalJsonSerializer;
+import com.here.account.util.SettableSystemClock;
+import com.here.account.util.VirtualThreads;
+
+/**
+ * The signature verification keys of a
+ * <a href="https://tools.ietf.org/html/rfc7517#section-5">JSON Web Key Set</a>,
+ * fetched with an {@link HttpProvider} and cached.
+ * RSA keys and EC keys on the P-256, P-384, and P-521 curves are supported;
+ * keys whose "use" is other than "sig" are ignored.
+ * A key with an "alg" may only be used to verify that algorithm.
+ *
+ * <p>
+ * Keys are fetched on first use, and then refreshed ahead of their maximum age:
+ * a lookup after {@link Builder#setRefreshAheadMillis(long) refreshAheadMillis} starts a background
+ * refresh and carries on with the cached keys, so that lookups do not wait on the network.
+ * A lookup after the maximum age refreshes before returning.
+ * If a refresh fails, the previous keys continue to be used.
+ *
+ * <p>
+ * A lookup of an unknown "kid", as happens right after a key rotation, also refreshes the keys.
+ * So that tokens with made-up key ids cannot turn into a stream of requests to the key set endpoint,
+ * fetches are at least {@link Builder#setMinRefreshIntervalMillis(long) minRefreshIntervalMillis} apart;
+ * unknown key ids in between are rejected without a fetch.
+ *
+ * <p>
+ * Each fetch must complete within {@link Builder#setFetchTimeoutMillis(long) fetchTimeoutMillis}.
+ * Only one fetch is in flight at a time; lookups that need it meanwhile wait for it,
+ * for at most the same timeout, and then carry on with the cached keys.
+ */
+public class JwksKeySource implements Closeable {
+
+    private static final Logger LOGGER = Logger.getLogger(JwksKeySource.class.getName());
+
+    /**
+     * The default maximum age of the cached keys, in milliseconds.
+     */
+    public static final long DEFAULT_MAX_AGE_MILLIS = TimeUnit.HOURS.toMillis(1L);
+
+    /**
+     * The default age at which the cached keys are refreshed in the background, in milliseconds.
+     */
+    public static final long DEFAULT_REFRESH_AHEAD_MILLIS = TimeUnit.MINUTES.toMillis(45L);
+
+    /**
+     * The default minimum interval between fetches, in milliseconds.
+     */
+    public static final long DEFAULT_MIN_REFRESH_INTERVAL_MILLIS = TimeUnit.SECONDS.toMillis(30L);
+
+    /**
+     * The default timeout of a fetch, in milliseconds.
+     */
+    public static final long DEFAULT_FETCH_TIMEOUT_MILLIS = TimeUnit.SECONDS.toMillis(10L);
+
+    private static final int HTTP_OK = 200;
+
+    private static final Map<String, String> CURVES;
+
+    static {
+        Map<String, String> curves = new HashMap<>();
+        curves.put("P-256", "secp256r1");
+        curves.put("P-384", "secp384r1");
+        curves.put("P-521", "secp521r1");
+        CURVES = Collections.unmodifiableMap(curves);
+    }
+
+    /**
+     * Gets a new Builder for a JwksKeySource.
+     *
+     * @return the Builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * By default the Builder caches keys for {@link #DEFAULT_MAX_AGE_MILLIS},
+     * refreshes them in the background from {@link #DEFAULT_REFRESH_AHEAD_MILLIS},
+     * fetches at most once per {@link #DEFAULT_MIN_REFRESH_INTERVAL_MILLIS},
+     * and times out a fetch after {@link #DEFAULT_FETCH_TIMEOUT_MILLIS}.
+     * The HttpProvider and URL are required.
+     */
+    public static class Builder {
+        private HttpProvider httpProvider;
+        private String url;
+        private Clock clock = new SettableSystemClock();
+        private long maxAgeMillis = DEFAULT_MAX_AGE_MILLIS;
+        private long refreshAheadMillis = DEFAULT_REFRESH_AHEAD_MILLIS;
+        private long minRefreshIntervalMillis = DEFAULT_MIN_REFRESH_INTERVAL_MILLIS;
+        private long fetchTimeoutMillis = DEFAULT_FETCH_TIMEOUT_MILLIS;
+        private Executor executor;
+
+        private Builder() {
+        }
+
+        /**
+         * Set the HttpProvider used to fetch the key set.
+         * The JwksKeySource does not close it.
+         *
+         * @param httpProvider the HttpProvider
+         * @return this Builder
+         */
+        public Builder setHttpProvider(HttpProvider httpProvider) {
+            this.httpProvider = Objects.requireNonNull(httpProvider, "httpProvider cannot be null");
+            return this;
+        }
+
+        /**
+         * Set the URL of the key set.
+         *
+         * @param url the key set URL
+         * @return this Builder
+         */
+        public Builder setUrl(String url) {
+            this.url = Objects.requireNonNull(url, "url cannot be null");
+            return this;
+        }
+
+        /**
+         * Optionally set the clock used to age the cached keys.
+         *
+         * @param clock the clock
+         * @return this Builder
+         */
+        public Builder setClock(Clock clock) {
+            this.clock = Objects.requireNonNull(clock, "clock cannot be null");
+            return this;
+        }
+
+        /**
+         * Optionally set the age after which lookups wait for fresh keys.
+         * Default is {@link #DEFAULT_MAX_AGE_MILLIS}.
+         *
+         * @param maxAgeMillis the maximum age in milliseconds, at least 1
+         * @return this Builder
+         */
+        public Builder setMaxAgeMillis(long maxAgeMillis) {
+            if (maxAgeMillis < 1L) {
+                throw new IllegalArgumentException("maxAgeMillis must be at least 1: " + maxAgeMillis);
+            }
+            this.maxAgeMillis = maxAgeMillis;
+            return this;
+        }
+
+        /**
+         * Optionally set the age after which lookups start a background refresh.
+         * Default is {@link #DEFAULT_REFRESH_AHEAD_MILLIS}; values at or above the maximum age
+         * turn off refresh-ahead.
+         *
+         * @param refreshAheadMillis the refresh-ahead age in milliseconds, at least 0
+         * @return this Builder
+         */
+        public Builder setRefreshAheadMillis(long refreshAheadMillis) {
+            if (refreshAheadMillis < 0L) {
+                throw new IllegalArgumentException("refreshAheadMillis must be at least 0: " + refreshAheadMillis);
+            }
+            this.refreshAheadMillis = refreshAheadMillis;
+            return this;
+        }
+
+        /**
+         * Optionally set the minimum interval between fetches.
+         * Default is {@link #DEFAULT_MIN_REFRESH_INTERVAL_MILLIS}.
+         *
+         * @param minRefreshIntervalMillis the minimum interval in milliseconds, at least 0
+         * @return this Builder
+         */
+        public Builder setMinRefreshIntervalMillis(long minRefreshIntervalMillis) {
+            if (minRefreshIntervalMillis < 0L) {
+                throw new IllegalArgumentException("minRefreshIntervalMillis must be at least 0: "
+                        + minRefreshIntervalMillis);
+            }
+            this.minRefreshIntervalMillis = minRefreshIntervalMillis;
+            return this;
+        }
+
+        /**
+         * Optionally set the timeout of a fetch, which also bounds how long a lookup waits
+         * for a fetch started by another thread.
+         * Default is {@link #DEFAULT_FETCH_TIMEOUT_MILLIS}.
+         *
+         * @param fetchTimeoutMillis the timeout in milliseconds, at least 1
+         * @return this Builder
+         */
+        public Builder setFetchTimeoutMillis(long fetchTimeoutMillis) {
+            if (fetchTimeoutMillis < 1L) {
+                throw new IllegalArgumentException("fetchTimeoutMillis must be at least 1: " + fetchTimeoutMillis);
+            }
+            this.fetchTimeoutMillis = fetchTimeoutMillis;
+            return this;
+        }
+
+        /**
+         * Optionally set the executor for background refreshes.
+         * Default is a single here-jwks-refresh daemon thread, started when first needed.
+         *
+         * @param executor the executor
+         * @return this Builder
+         */
+        public Builder setExecutor(Executor executor) {
+            this.executor = Objects.requireNonNull(executor, "executor cannot be null");
+            return this;
+        }
+
+        /**
+         * Build the JwksKeySource.
+         * No keys are fetched until the first lookup.
+         *
+         * @return the built JwksKeySource
+         */
+        public JwksKeySource build() {
+            if (null == httpProvider) {
+                throw new IllegalStateException("httpProvider not set");
+            }
+            if (null == url) {
+                throw new IllegalStateException("url not set");
+            }
+            return new JwksKeySource(this);
+        }
+    }
+
+    /**
+     * The keys from one fetch.
+     */
+    private static class Keys {
+        private final Map<String, PublicKey> keysById;
+        /**
+         * The "alg" of each key that has one.
+         */
+        private final Map<String, String> algorithmsById;
+        private final long fetchedMillis;
+
+        private Keys(Map<String, PublicKey> keysById, Map<String, String> algorithmsById, long fetchedMillis) {
+            this.keysById = keysById;
+            this.algorithmsById = algorithmsById;
+            this.fetchedMillis = fetchedMillis;
+        }
+    }
+
+    private final MinimalJsonSerializer serializer = new MinimalJsonSerializer();
+    private final HttpProvider httpProvider;
+    private final String url;
+    private final Clock clock;
+    private final long maxAgeMillis;
+    private final long refreshAheadMillis;
+    private final long minRefreshIntervalMillis;
+    private final long fetchTimeoutMillis;
+    private final Executor executor;
+    private final ExecutorService ownedExecutorService;
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+    private final AtomicLong fetchCount = new AtomicLong();
+
+    private volatile Keys keys;
+
+    // guarded by lock, which is held only to start or finish a fetch, never across one
+    private final ReentrantLock lock = new ReentrantLock();
+    private long lastFetchMillis;
+    private boolean fetched;
+    private CompletableFuture<Keys> fetchInFlight;
+
+    private JwksKeySource(Builder builder) {
+        this.httpProvider = builder.httpProvider;
+        this.url = builder.url;
+        this.clock = builder.clock;
+        this.maxAgeMillis = builder.maxAgeMillis;
+        this.refreshAheadMillis = builder.refreshAheadMillis;
+        this.minRefreshIntervalMillis = builder.minRefreshIntervalMillis;
+        this.fetchTimeoutMillis = builder.fetchTimeoutMillis;
+        if (null != builder.executor) {
+            this.executor = builder.executor;
+            this.ownedExecutorService = null;
+        } else {
+            ThreadFactory threadFactory = VirtualThreads.isEnabled()
+                    ? VirtualThreads.newThreadFactory("here-jwks-refresh-")
+                    : r -> {
+                        Thread thread = new Thread(r, "here-jwks-refresh");
+                        thread.setDaemon(true);
+                        return thread;
+                    };
+            this.ownedExecutorService = Executors.newSingleThreadExecutor(threadFactory);
+            this.executor = ownedExecutorService;
+        }
+    }
+
+    /**
+     * Gets the verification key with the key id,
+     * refreshing the keys if they are old or the key id is unknown.
+     *
+     * @param kid the key id
+     * @return the key, or null if no key has the key id
+     * @throws TokenValidationException with {@link Reason#KEYS_UNAVAILABLE}
+     *      if the keys have never been fetched successfully
+     */
+    public PublicKey getKey(String kid) {
+        return getKey(kid, null);
+    }
+
+    /**
+     * Gets the verification key with the key id for a token signed with the algorithm,
+     * refreshing the keys if they are old or the key id is unknown.
+     *
+     * @param kid the key id
+     * @param alg the token's JWS algorithm, or null to accept a key with any "alg"
+     * @return the key, or null if no key has the key id
+     * @throws TokenValidationException with {@link Reason#KEYS_UNAVAILABLE}
+     *      if the keys have never been fetched successfully,
+     *      or with {@link Reason#UNSUPPORTED_ALGORITHM} if the key's "alg" is not alg
+     */
+    public PublicKey getKey(String kid, String alg) {
+        long nowMillis = clock.currentTimeMillis();
+        Keys keys = this.keys;
+        if (null == keys || nowMillis - keys.fetchedMillis >= maxAgeMillis) {
+            keys = refresh(keys, nowMillis);
+        } else if (nowMillis - keys.fetchedMillis >= refreshAheadMillis) {
+            refreshInBackground(keys);
+        }
+        if (null == keys) {
+            throw new TokenValidationException(Reason.KEYS_UNAVAILABLE, "could not fetch " + url);
+        }
+        PublicKey key = keys.keysById.get(kid);
+        if (null == key) {
+            // perhaps the keys were rotated
+            keys = refresh(keys, nowMillis);
+            key = keys.keysById.get(kid);
+        }
+        String keyAlg = keys.algorithmsById.get(kid);
+        if (null != key && null != alg && null != keyAlg && !keyAlg.equals(alg)) {
+            throw new TokenValidationException(Reason.UNSUPPORTED_ALGORITHM,
+                    "alg " + alg + " does not match the alg " + keyAlg + " of key " + kid);
+        }
+        return key;
+    }
+
+    /**
+     * @return the number of times the key set has been fetched, successfully or not
+     */
+    public long getFetchCount() {
+        return fetchCount.get();
+    }
+
+    private void refreshInBackground(Keys seen) {
+        if (refreshing.compareAndSet(false, true)) {
+            try {
+                executor.execute(() -> {
+                    try {
+                        refresh(seen, clock.currentTimeMillis());
+                    } finally {
+                        refreshing.set(false);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                refreshing.set(false);
+            }
+        }
+    }
+
+    /**
+     * Fetches the keys, unless another thread already replaced the seen keys,
+     * or the last fetch was less than minRefreshIntervalMillis ago.
+     * If a fetch is already in flight, waits for it instead, for at most fetchTimeoutMillis.
+     *
+     * @return the current keys, which may still be the seen keys, or null if never fetched
+     */
+    private Keys refresh(Keys seen, long nowMillis) {
+        CompletableFuture<Keys> fetch;
+        lock.lock();
+        try {
+            Keys current = this.keys;
+            if (null != fetchInFlight) {
+                fetch = fetchInFlight;
+            } else if (current != seen || (fetched && nowMillis - lastFetchMillis < minRefreshIntervalMillis)) {
+                return current;
+            } else {
+                fetched = true;
+                lastFetchMillis = nowMillis;
+                fetchCount.incrementAndGet();
+                fetchInFlight = new CompletableFuture<>();
+                fetch = null;
+            }
+        } finally {
+            lock.unlock();
+        }
+        return null == fetch ? runFetch(seen, nowMillis) : await(fetch);
+    }
+
+    /**
+     * Fetches the keys on this thread, then completes the fetch in flight for any waiting threads.
+     */
+    private Keys runFetch(Keys seen, long nowMillis) {
+        Keys current = seen;
+        try {
+            current = fetch(Deadline.after(fetchTimeoutMillis, TimeUnit.MILLISECONDS), nowMillis);
+            this.keys = current;
+        } catch (IOException | HttpException | RuntimeException e) {
+            LOGGER.warning("trouble fetching " + url + ": " + e);
+        } finally {
+            CompletableFuture<Keys> fetch;
+            lock.lock();
+            try {
+                fetch = fetchInFlight;
+                fetchInFlight = null;
+            } finally {
+                lock.unlock();
+            }
+            fetch.complete(current);
+        }
+        return current;
+    }
+
+    private Keys await(CompletableFuture<Keys> fetch) {
+        try {
+            return fetch.get(fetchTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            LOGGER.fine("not waiting any longer for the fetch of " + url + ": " + e);
+        }
+        return this.keys;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Keys fetch(Deadline deadline, long nowMillis) throws IOException, HttpException {
+        HttpRequest httpRequest = httpProvider.getRequest(new NoAuthorizer(), "GET", url, (String) null);
+        HttpResponse httpResponse = httpProvider.execute(httpRequest, deadline);
+        Map<String, Object> jwks;
+        try (InputStream body = httpResponse.getResponseBody()) {
+            if (HTTP_OK != httpResponse.getStatusCode()) {
+                throw new IOException("HTTP status code " + httpResponse.getStatusCode());
+            }
+            jwks = serializer.jsonToMap(body);
+        }
+        Object keys = null != jwks ? jwks.get("keys") : null;
+        if (!(keys instanceof List)) {
+            throw new IOException("not a JSON Web Key Set");
+        }
+        Map<String, PublicKey> keysById = new HashMap<>();
+        Map<String, String> algorithmsById = new HashMap<>();
+        for (Object jwk : (List<Object>) keys) {
+            if (!(jwk instanceof Map)) {
+                continue;
+            }
+            Map<String, Object> key = (Map<String, Object>) jwk;
+            Object kid = key.get("kid");
+            Object use = key.get("use");
+            if (!(kid instanceof String) || (null != use && !"sig".equals(use))) {
+                continue;
+            }
+            try {
+                PublicKey publicKey = toPublicKey(key);
+                if (null != publicKey) {
+                    keysById.put((String) kid, publicKey);
+                    Object alg = key.get("alg");
+                    if (alg instanceof String) {
+                        algorithmsById.put((String) kid, (String) alg);
+                    }
+                }
+            } catch (GeneralSecurityException | RuntimeException e) {
+                LOGGER.warning("ignoring key " + kid + " from " + url + ": " + e);
+            }
+        }
+        return new Keys(Collections.unmodifiableMap(keysById), Collections.unmodifiableMap(algorithmsById),
+                nowMillis);
+    }
+
+    /**
+     * Converts a JWK to a public key.
+     *
+     * @return the key, or null if its key type is not supported
+     */
+    private static PublicKey toPublicKey(Map<String, Object> jwk) throws GeneralSecurityException {
+        Object kty = jwk.get("kty");
+        if ("RSA".equals(kty)) {
+            return KeyFactory.getInstance("RSA").generatePublic(new RSAPublicKeySpec(
+                    toBigInteger(jwk, "n"), toBigInteger(jwk, "e")));
+        }
+        if ("EC".equals(kty)) {
+            String curve = CURVES.get(jwk.get("crv"));
+            if (null == curve) {
+                return null;
+            }
+            AlgorithmParameters parameters = AlgorithmParameters.getInstance("EC");
+            parameters.init(new ECGenParameterSpec(curve));
+            ECParameterSpec parameterSpec = parameters.getParameterSpec(ECParameterSpec.class);
+            return KeyFactory.getInstance("EC").generatePublic(new ECPublicKeySpec(
+                    new ECPoint(toBigInteger(jwk, "x"), toBigInteger(jwk, "y")), parameterSpec));
+        }
+        return null;
+    }
+
+    private static BigInteger toBigInteger(Map<String, Object> jwk, String name) {
+        Object value = jwk.get(name);
+        if (!(value instanceof String)) {
+            throw new IllegalArgumentException("missing " + name);
+        }
+        return new BigInteger(1, Base64.getUrlDecoder().decode((String) value));
+    }
+
+    /**
+     * Stops the background refresh thread, if this JwksKeySource created it.
+     */
+    @Override
+    public void close() {
+        if (null != ownedExecutorService) {
+            ownedExecutorService.shutdown();
+        }
+    }
+}
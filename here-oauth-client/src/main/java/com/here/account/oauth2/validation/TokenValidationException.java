@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2026 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.here.account.oauth2.validation;
+
+/**
+ * If an access token failed validation by an {@link AccessTokenValidator},
+ * you get a TokenValidationException.
+ * The {@link #getReason() reason} says why; resource servers typically answer
+ * {@link Reason#KEYS_UNAVAILABLE} with HTTP status 503, and every other reason with 401.
+ */
+public class TokenValidationException extends RuntimeException {
+
+    /**
+     * default.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Why a token failed validation.
+     */
+    public enum Reason {
+        /**
+         * The token is not a JWS in compact serialization, or lacks a required header or claim.
+         */
+        MALFORMED,
+        /**
+         * The token's "alg" is not a supported signature algorithm, or does not match its key.
+         */
+        UNSUPPORTED_ALGORITHM,
+        /**
+         * No key in the key set has the token's "kid".
+         */
+        UNKNOWN_KEY,
+        /**
+         * The signature does not match the token.
+         */
+        INVALID_SIGNATURE,
+        /**
+         * The token's "exp" has passed.
+         */
+        EXPIRED,
+        /**
+         * The token's "nbf" has not yet come.
+         */
+        NOT_YET_VALID,
+        /**
+         * The token's "iss" is not the expected issuer.
+         */
+        INVALID_ISSUER,
+        /**
+         * The key set could not be fetched.
+         */
+        KEYS_UNAVAILABLE
+    }
+
+    private final Reason reason;
+
+    public TokenValidationException(Reason reason, String message) {
+        super(reason + ": " + message);
+        this.reason = reason;
+    }
+
+    public TokenValidationException(Reason reason, String message, Throwable cause) {
+        super(reason + ": " + message, cause);
+        this.reason = reason;
+    }
+
+    public Reason getReason() {
+        return reason;
+    }
+
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2026 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.here.account.reactive;
+
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import com.here.account.client.Client;
+import com.here.account.http.AsyncHttpProvider;
+import com.here.account.http.HttpProvider.HttpRequest;
+
+/**
+ * A Reactive Streams Publisher of the response to a {@link Client} request.
+ * The Publisher is cold: each Subscriber gets its own call, sent with
+ * {@link Client#sendMessageAsync(Supplier, Class, Class, BiFunction)}
+ * when the Subscriber first requests,
+ * and then receives the one response followed by onComplete, or onError with the exception
+ * sendMessage would have thrown.
+ * The threads of the Subscriber calling request and cancel never block.
+ * The call itself occupies a thread of the Client's executor until it completes,
+ * unless the Client sends it without blocking: see
+ * {@link Client#sendMessageAsync(Supplier, Class, Class, BiFunction, com.here.account.http.Deadline)}
+ * for when an {@link AsyncHttpProvider} allows that.
+ *
+ * <p>
+ * Cancelling the Subscription {@link HttpRequest#abort() aborts} every HTTP request of the call
+ * still in progress, including a hedge racing the original request,
+ * and any retry fails without being sent.
+ *
+ * <p>
+ * On JDK 9 and later, use <tt>org.reactivestreams.FlowAdapters.toFlowPublisher(publisher)</tt>
+ * to get a java.util.concurrent.Flow.Publisher.
+ *
+ * @param <T> the response type
+ */
+public class ClientResponsePublisher<T> implements Publisher<T> {
+
+    /**
+     * Gets a Publisher of the response to the requests from httpRequestSupplier.
+     *
+     * @param client the Client to send the requests
+     * @param httpRequestSupplier supplies a new HTTP Request for each attempt
+     * @param responseClass the response class
+     * @param errorResponseClass the error response class
+     * @param newExceptionFunction the function to create a RuntimeException from an error response
+     * @param <T> the Response parameterized type
+     * @param <U> the Response Error parameterized type
+     * @return the Publisher
+     */
+    public static <T, U> ClientResponsePublisher<T> of(Client client, Supplier<HttpRequest> httpRequestSupplier,
+            Class<T> responseClass, Class<U> errorResponseClass,
+            BiFunction<Integer, U, RuntimeException> newExceptionFunction) {
+        Objects.requireNonNull(client, "client cannot be null");
+        Objects.requireNonNull(httpRequestSupplier, "httpRequestSupplier cannot be null");
+        return new ClientResponsePublisher<T>(httpRequestSupplier,
+                trackingSupplier -> client.sendMessageAsync(trackingSupplier, responseClass,
+                        errorResponseClass, newExceptionFunction));
+    }
+
+    private final Supplier<HttpRequest> httpRequestSupplier;
+    private final Function<Supplier<HttpRequest>, CompletableFuture<T>> sendMessageAsync;
+
+    private ClientResponsePublisher(Supplier<HttpRequest> httpRequestSupplier,
+            Function<Supplier<HttpRequest>, CompletableFuture<T>> sendMessageAsync) {
+        this.httpRequestSupplier = httpRequestSupplier;
+        this.sendMessageAsync = sendMessageAsync;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void subscribe(Subscriber<? super T> subscriber) {
+        Objects.requireNonNull(subscriber, "subscriber cannot be null");
+        subscriber.onSubscribe(new ResponseSubscription(subscriber));
+    }
+
+    /**
+     * Sends the call on the first request, and signals its outcome unless cancelled first.
+     * The done flag ensures exactly one terminal signal, or none after cancel.
+     */
+    private class ResponseSubscription implements Subscription {
+
+        private final Subscriber<? super T> subscriber;
+        private final AtomicBoolean started = new AtomicBoolean();
+        private final AtomicBoolean done = new AtomicBoolean();
+        private final Queue<HttpRequest> sentRequests = new ConcurrentLinkedQueue<>();
+        private volatile CompletableFuture<T> future;
+
+        private ResponseSubscription(Subscriber<? super T> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                if (done.compareAndSet(false, true)) {
+                    abort();
+                    subscriber.onError(new IllegalArgumentException(
+                            "Reactive Streams rule 3.9: request must be positive: " + n));
+                }
+                return;
+            }
+            if (!done.get() && started.compareAndSet(false, true)) {
+                CompletableFuture<T> future = sendMessageAsync.apply(this::newRequest);
+                this.future = future;
+                if (done.get()) {
+                    // cancelled while sending
+                    future.cancel(false);
+                }
+                future.whenComplete(this::onComplete);
+            }
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void cancel() {
+            if (done.compareAndSet(false, true)) {
+                abort();
+            }
+        }
+
+        private HttpRequest newRequest() {
+            if (done.get()) {
+                throw new CancellationException("subscription cancelled");
+            }
+            HttpRequest httpRequest = httpRequestSupplier.get();
+            sentRequests.add(httpRequest);
+            if (done.get()) {
+                // cancelled before httpRequest was added
+                httpRequest.abort();
+            }
+            return httpRequest;
+        }
+
+        private void abort() {
+            // aborting a completed request has no effect, so abort them all
+            for (HttpRequest httpRequest : sentRequests) {
+                httpRequest.abort();
+            }
+            CompletableFuture<T> future = this.future;
+            if (null != future) {
+                future.cancel(false);
+            }
+        }
+
+        private void onComplete(T response, Throwable e) {
+            if (!done.compareAndSet(false, true)) {
+                return;
+            }
+            sentRequests.clear();
+            if (null == e) {
+                if (null != response) {
+                    subscriber.onNext(response);
+                }
+                subscriber.onComplete();
+            } else {
+                subscriber.onError(e instanceof CompletionException && null != e.getCause() ? e.getCause() : e);
+            }
+        }
+    }
+}
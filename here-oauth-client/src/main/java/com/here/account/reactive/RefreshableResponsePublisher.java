@@ -0,0 +1,245 @@
+/*
+ * Copyright (c) 2026 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.here.account.reactive;
+
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import com.here.account.oauth2.AccessTokenRequest;
+import com.here.account.oauth2.Fresh;
+import com.here.account.oauth2.TokenEndpoint;
+import com.here.account.util.RefreshableResponseProvider;
+import com.here.account.util.RefreshableResponseProvider.ExpiringResponse;
+import com.here.account.util.RefreshableResponseProvider.RefreshListener;
+
+/**
+ * A Reactive Streams Publisher of the responses of a {@link RefreshableResponseProvider} or {@link Fresh}.
+ * Each Subscriber first receives the current response,
+ * then each refreshed response as the provider swaps it in, so there is no need to poll
+ * {@link RefreshableResponseProvider#getUnexpiredResponse()}.
+ *
+ * <p>
+ * Only the latest response matters, so under backpressure responses are conflated:
+ * a Subscriber that has no outstanding demand when a refresh happens gets only the
+ * latest response once it requests more.
+ * The stream never completes on its own; cancel the Subscription to stop receiving responses.
+ *
+ * <p>
+ * Refreshed responses are delivered on the provider's here-auth-listener thread,
+ * or on an executor passed to the constructor, never on the refresh thread,
+ * so a slow Subscriber cannot delay a refresh.
+ *
+ * <p>
+ * On JDK 9 and later, use <tt>org.reactivestreams.FlowAdapters.toFlowPublisher(publisher)</tt>
+ * to get a java.util.concurrent.Flow.Publisher.
+ *
+ * @param <T> the response type that expires periodically
+ */
+public class RefreshableResponsePublisher<T extends ExpiringResponse> implements Publisher<T> {
+
+    private static final Logger LOG = Logger.getLogger(RefreshableResponsePublisher.class.getName());
+
+    private final Supplier<T> currentResponse;
+    private final Consumer<RefreshListener<T>> addRefreshListener;
+    private final Consumer<RefreshListener<T>> removeRefreshListener;
+
+    /**
+     * Construct a RefreshableResponsePublisher that delivers refreshed responses
+     * on the provider's listener thread.
+     *
+     * @param refreshableResponseProvider the provider whose responses to publish
+     */
+    public RefreshableResponsePublisher(RefreshableResponseProvider<T> refreshableResponseProvider) {
+        this(refreshableResponseProvider, null);
+    }
+
+    /**
+     * Construct a RefreshableResponsePublisher that delivers refreshed responses on the executor.
+     *
+     * @param refreshableResponseProvider the provider whose responses to publish
+     * @param executor the executor on which to deliver refreshed responses,
+     *      or null for the provider's listener thread
+     */
+    public RefreshableResponsePublisher(RefreshableResponseProvider<T> refreshableResponseProvider,
+            Executor executor) {
+        Objects.requireNonNull(refreshableResponseProvider, "refreshableResponseProvider cannot be null");
+        this.currentResponse = refreshableResponseProvider::getUnexpiredResponse;
+        this.addRefreshListener = null == executor
+                ? refreshableResponseProvider::addRefreshListener
+                : listener -> refreshableResponseProvider.addRefreshListener(listener, executor);
+        this.removeRefreshListener = refreshableResponseProvider::removeRefreshListener;
+    }
+
+    /**
+     * Construct a RefreshableResponsePublisher of a Fresh response,
+     * such as the one from {@link TokenEndpoint#requestAutoRefreshingToken(AccessTokenRequest)},
+     * that delivers refreshed responses on its listener thread.
+     *
+     * @param fresh the Fresh response to publish, which must support refresh listeners
+     */
+    public RefreshableResponsePublisher(Fresh<T> fresh) {
+        this(fresh, null);
+    }
+
+    /**
+     * Construct a RefreshableResponsePublisher of a Fresh response that delivers refreshed responses
+     * on the executor.
+     *
+     * @param fresh the Fresh response to publish, which must support refresh listeners
+     * @param executor the executor on which to deliver refreshed responses,
+     *      or null for the Fresh response's listener thread
+     */
+    public RefreshableResponsePublisher(Fresh<T> fresh, Executor executor) {
+        Objects.requireNonNull(fresh, "fresh cannot be null");
+        this.currentResponse = fresh::get;
+        this.addRefreshListener = null == executor
+                ? fresh::addRefreshListener
+                : listener -> fresh.addRefreshListener(listener, executor);
+        this.removeRefreshListener = fresh::removeRefreshListener;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void subscribe(Subscriber<? super T> subscriber) {
+        Objects.requireNonNull(subscriber, "subscriber cannot be null");
+        LatestResponseSubscription subscription = new LatestResponseSubscription(subscriber);
+        subscriber.onSubscribe(subscription);
+        subscription.start();
+    }
+
+    /**
+     * Holds at most one undelivered response, the latest,
+     * and delivers it when there is demand.
+     * All signals to the Subscriber happen inside {@link #drain()},
+     * which only one thread at a time runs.
+     */
+    private class LatestResponseSubscription implements Subscription, RefreshListener<T> {
+
+        private final Subscriber<? super T> subscriber;
+        private final AtomicReference<T> latest = new AtomicReference<>();
+        private final AtomicLong requested = new AtomicLong();
+        private final AtomicInteger wip = new AtomicInteger();
+        private volatile boolean cancelled;
+        private volatile Throwable error;
+        private boolean done;
+
+        private LatestResponseSubscription(Subscriber<? super T> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        private void start() {
+            if (cancelled) {
+                return;
+            }
+            addRefreshListener.accept(this);
+            if (cancelled) {
+                removeRefreshListener.accept(this);
+                return;
+            }
+            // a refresh since the listener was added is newer than the current response
+            latest.compareAndSet(null, currentResponse.get());
+            drain();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void onRefreshed(T previous, T current) {
+            latest.set(current);
+            drain();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void request(long n) {
+            if (cancelled) {
+                return;
+            }
+            if (n <= 0) {
+                error = new IllegalArgumentException("Reactive Streams rule 3.9: request must be positive: " + n);
+                cancel();
+                drain();
+                return;
+            }
+            requested.accumulateAndGet(n, (current, add) -> current + add < 0 ? Long.MAX_VALUE : current + add);
+            drain();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void cancel() {
+            cancelled = true;
+            removeRefreshListener.accept(this);
+        }
+
+        private void drain() {
+            if (wip.getAndIncrement() != 0) {
+                // the thread already draining will loop again
+                return;
+            }
+            int missed = 1;
+            do {
+                if (!done) {
+                    Throwable e = error;
+                    if (null != e) {
+                        done = true;
+                        latest.set(null);
+                        subscriber.onError(e);
+                    } else if (cancelled) {
+                        done = true;
+                        latest.set(null);
+                    } else if (requested.get() > 0) {
+                        T response = latest.getAndSet(null);
+                        if (null != response) {
+                            if (requested.get() != Long.MAX_VALUE) {
+                                requested.decrementAndGet();
+                            }
+                            onNext(response);
+                        }
+                    }
+                }
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void onNext(T response) {
+            try {
+                subscriber.onNext(response);
+            } catch (RuntimeException e) {
+                // Reactive Streams rule 2.13: the Subscriber is broken, so stop signalling it
+                LOG.warning("Subscriber.onNext failed, cancelling " + e);
+                cancel();
+            }
+        }
+    }
+}
@@ -23,6 +23,7 @@ import java.util.HashMap;
 import java.util.Map;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.core.JsonGenerationException;
 import com.fasterxml.jackson.core.JsonParseException;
 import com.fasterxml.jackson.core.JsonProcessingException;
@@ -49,12 +50,26 @@ public class JsonSerializer {
      */
     public static final Charset CHARSET = Charset.forName(CHARSET_STRING);
     
-    private static ObjectMapper objectMapper = new ObjectMapper();
+    /**
+     * Used for token endpoint responses, so that they do not wait on the ObjectMapper.
+     */
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    /**
+     * The ObjectMapper is expensive to create, so it is created on first use.
+     */
+    private static class ObjectMapperHolder {
+        private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+        static {
+            OBJECT_MAPPER.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+            OBJECT_MAPPER.configure(MapperFeature.PROPAGATE_TRANSIENT_MARKER, true);
+            OBJECT_MAPPER.setSerializationInclusion(JsonInclude.Include.NON_NULL);
+        }
+    }
 
-    static {
-        objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
-        objectMapper.configure(MapperFeature.PROPAGATE_TRANSIENT_MARKER, true);
-        objectMapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
+    private static ObjectMapper getObjectMapper() {
+        return ObjectMapperHolder.OBJECT_MAPPER;
     }
     
     /**
@@ -65,12 +80,16 @@ public class JsonSerializer {
      * @throws IOException if trouble deserializing
      */
     public static Map<String, Object> toMap(InputStream jsonInputStream) throws IOException {
-        return (HashMap<String, Object>) objectMapper.readValue(jsonInputStream, HashMap.class);
+        return (HashMap<String, Object>) getObjectMapper().readValue(jsonInputStream, HashMap.class);
     }
     
     /**
      * Converts the input JSON InputStream, to a POJO of the class specified as pojoClass.
-     * 
+     *
+     * <p>
+     * The token endpoint responses {@code AccessTokenResponse}, {@code FileAccessTokenResponse},
+     * and {@code TimestampResponse} are read with a streaming parser instead of databind.
+     *
      * @param <T> the type of the POJO
      * @param jsonInputStream the input stream to the JSON object
      * @param pojoClass the class to deserialize into
@@ -80,7 +99,10 @@ public class JsonSerializer {
      * @throws IOException if trouble deserializing
      */
     public static <T> T toPojo (InputStream jsonInputStream, Class<T> pojoClass) throws JsonParseException, JsonMappingException, IOException {
-        return objectMapper.readValue(jsonInputStream, pojoClass);
+        if (TokenResponseJsonParser.supports(pojoClass)) {
+            return TokenResponseJsonParser.parse(JSON_FACTORY, jsonInputStream, pojoClass);
+        }
+        return getObjectMapper().readValue(jsonInputStream, pojoClass);
     }
     
     /**
@@ -91,7 +113,7 @@ public class JsonSerializer {
      * @throws JsonProcessingException if an exception from the jackson serializer
      */
     public static String toJson(Map<String, Object> mapObject) throws JsonProcessingException {
-        return objectMapper.writeValueAsString(mapObject);
+        return getObjectMapper().writeValueAsString(mapObject);
     }
     
     /**
@@ -103,7 +125,7 @@ public class JsonSerializer {
      *      to a JSON string.
      */
     public static String objectToJson(Object object) throws JsonProcessingException {
-        return objectMapper.writeValueAsString(object);
+        return getObjectMapper().writeValueAsString(object);
     }
     
     /**
@@ -116,7 +138,7 @@ public class JsonSerializer {
      * @throws IOException if I/O trouble writing to the stream
      */
     static void writeObjectToJson(OutputStream outputStream, Object object) throws JsonGenerationException, JsonMappingException, IOException {
-        objectMapper.writeValue(outputStream, object);
+        getObjectMapper().writeValue(outputStream, object);
     }
 
 }
@@ -0,0 +1,535 @@
+/*
+ * Copyright (c) 2026 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.here.account.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.here.account.oauth2.AccessTokenResponse;
+import com.here.account.oauth2.ErrorResponse;
+import com.here.account.oauth2.FileAccessTokenResponse;
+import com.here.account.oauth2.bo.TimestampResponse;
+
+/**
+ * A dependency-free Serializer, for use when jackson-databind is not on the classpath.
+ *
+ * <p>
+ * It reads any JSON document into Maps, Lists, Strings, Numbers, and Booleans,
+ * and binds the SDK response types
+ * {@link AccessTokenResponse}, {@link FileAccessTokenResponse}, {@link TimestampResponse},
+ * and {@link ErrorResponse}.
+ * Unknown properties are ignored.
+ * Other POJO classes are not supported; use {@link JacksonSerializer} for those.
+ *
+ * <p>
+ * It writes Maps, Iterables, arrays, Strings, Numbers, Booleans, and null.
+ */
+public class MinimalJsonSerializer implements Serializer {
+
+    /**
+     * Named as a String, so that this class never loads the Jackson-based implementation.
+     */
+    private static final String JACKSON_SERIALIZER_CLASS_NAME = "com.here.account.util.JacksonSerializer";
+
+    public MinimalJsonSerializer() {
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<String, Object> jsonToMap(InputStream jsonInputStream) {
+        Object value = parse(jsonInputStream);
+        if (null == value || value instanceof Map) {
+            return asMap(value);
+        }
+        throw new RuntimeException("trouble deserializing json: expected a JSON object");
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <T> T jsonToPojo(InputStream jsonInputStream, Class<T> pojoClass) {
+        Object value = parse(jsonInputStream);
+        if (null == value) {
+            return null;
+        }
+        if (pojoClass.isInstance(value)) {
+            return pojoClass.cast(value);
+        }
+        if (!(value instanceof Map)) {
+            throw new RuntimeException("trouble deserializing json: expected a JSON object for "
+                    + pojoClass.getName());
+        }
+        Map<String, Object> map = asMap(value);
+        Object pojo;
+        if (AccessTokenResponse.class == pojoClass) {
+            pojo = new AccessTokenResponse(
+                    getString(map, "access_token"),
+                    getString(map, "token_type"),
+                    getLong(map, "expires_in"),
+                    getString(map, "refresh_token"),
+                    getString(map, "id_token"),
+                    getString(map, "scope"));
+        } else if (FileAccessTokenResponse.class == pojoClass) {
+            pojo = new FileAccessTokenResponse(
+                    getString(map, "access_token"),
+                    getString(map, "token_type"),
+                    getLong(map, "expires_in"),
+                    getString(map, "refresh_token"),
+                    getString(map, "id_token"),
+                    getLong(map, "exp"),
+                    getString(map, "scope"));
+        } else if (TimestampResponse.class == pojoClass) {
+            pojo = new TimestampResponse(getLong(map, "timestamp"));
+        } else if (ErrorResponse.class == pojoClass) {
+            pojo = new ErrorResponse(
+                    getString(map, "error"),
+                    getString(map, "error_description"),
+                    getString(map, "errorId"),
+                    getInteger(map, "httpStatus"),
+                    getInteger(map, "errorCode"),
+                    getString(map, "message"),
+                    getString(map, "title"),
+                    getInteger(map, "status"),
+                    getString(map, "code"),
+                    getString(map, "cause"),
+                    getString(map, "action"),
+                    getString(map, "correlationId"));
+        } else {
+            throw new IllegalArgumentException("no support for deserializing " + pojoClass.getName()
+                    + " without jackson-databind; use " + JACKSON_SERIALIZER_CLASS_NAME);
+        }
+        return pojoClass.cast(pojo);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String objectToJson(Object object) {
+        StringBuilder buf = new StringBuilder();
+        write(buf, object);
+        return buf.toString();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void writeObjectToJson(OutputStream outputStream, Object object) {
+        try {
+            outputStream.write(objectToJson(object).getBytes(OAuthConstants.UTF_8_CHARSET));
+        } catch (IOException e) {
+            throw new RuntimeException("trouble serializing json: " + e, e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> asMap(Object value) {
+        return (Map<String, Object>) value;
+    }
+
+    private static String getString(Map<String, Object> map, String name) {
+        Object value = map.get(name);
+        if (null == value || value instanceof String) {
+            return (String) value;
+        }
+        if (value instanceof Number || value instanceof Boolean) {
+            return value.toString();
+        }
+        throw new RuntimeException("trouble deserializing json: " + name + " is not a String");
+    }
+
+    private static Long getLong(Map<String, Object> map, String name) {
+        Object value = map.get(name);
+        if (null == value) {
+            return null;
+        }
+        if (value instanceof Number) {
+            return ((Number) value).longValue();
+        }
+        if (value instanceof String) {
+            String text = ((String) value).trim();
+            if (text.isEmpty()) {
+                return null;
+            }
+            try {
+                return Long.valueOf(text);
+            } catch (NumberFormatException e) {
+                throw new RuntimeException("trouble deserializing json: " + name + " is not a number", e);
+            }
+        }
+        throw new RuntimeException("trouble deserializing json: " + name + " is not a number");
+    }
+
+    private static Integer getInteger(Map<String, Object> map, String name) {
+        Long value = getLong(map, name);
+        return null == value ? null : value.intValue();
+    }
+
+    ////////
+    // reading
+    ////////
+
+    private static Object parse(InputStream jsonInputStream) {
+        try {
+            ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            byte[] buf = new byte[4096];
+            int numRead;
+            while ((numRead = jsonInputStream.read(buf)) > 0) {
+                baos.write(buf, 0, numRead);
+            }
+            return new Reader(new String(baos.toByteArray(), OAuthConstants.UTF_8_CHARSET)).readDocument();
+        } catch (IOException e) {
+            throw new RuntimeException("trouble deserializing json: " + e, e);
+        } finally {
+            CloseUtil.nullSafeCloseThrowingUnchecked(jsonInputStream);
+        }
+    }
+
+    /**
+     * A recursive-descent reader over a complete JSON document.
+     */
+    private static class Reader {
+        private final String json;
+        private int pos;
+
+        private Reader(String json) {
+            this.json = json;
+            this.pos = 0;
+        }
+
+        private Object readDocument() throws IOException {
+            skipWhitespace();
+            if (pos >= json.length()) {
+                throw error("no content to map due to end-of-input");
+            }
+            Object value = readValue();
+            skipWhitespace();
+            if (pos < json.length()) {
+                throw error("unexpected trailing content");
+            }
+            return value;
+        }
+
+        private IOException error(String message) {
+            return new IOException(message + " at position " + pos);
+        }
+
+        private void skipWhitespace() {
+            while (pos < json.length()) {
+                char c = json.charAt(pos);
+                if (c != ' ' && c != '\t' && c != '\n' && c != '\r') {
+                    return;
+                }
+                pos++;
+            }
+        }
+
+        private char next() throws IOException {
+            if (pos >= json.length()) {
+                throw error("unexpected end-of-input");
+            }
+            return json.charAt(pos++);
+        }
+
+        private void expect(char expected) throws IOException {
+            skipWhitespace();
+            char c = next();
+            if (c != expected) {
+                pos--;
+                throw error("expected '" + expected + "' but was '" + c + "'");
+            }
+        }
+
+        private Object readValue() throws IOException {
+            skipWhitespace();
+            if (pos >= json.length()) {
+                throw error("unexpected end-of-input");
+            }
+            char c = json.charAt(pos);
+            switch (c) {
+                case '{':
+                    return readObject();
+                case '[':
+                    return readArray();
+                case '"':
+                    return readString();
+                case 't':
+                    readLiteral("true");
+                    return Boolean.TRUE;
+                case 'f':
+                    readLiteral("false");
+                    return Boolean.FALSE;
+                case 'n':
+                    readLiteral("null");
+                    return null;
+                default:
+                    if (c == '-' || (c >= '0' && c <= '9')) {
+                        return readNumber();
+                    }
+                    throw error("unexpected character '" + c + "'");
+            }
+        }
+
+        private void readLiteral(String literal) throws IOException {
+            if (!json.startsWith(literal, pos)) {
+                throw error("expected " + literal);
+            }
+            pos += literal.length();
+        }
+
+        private Map<String, Object> readObject() throws IOException {
+            expect('{');
+            Map<String, Object> map = new LinkedHashMap<>();
+            skipWhitespace();
+            if (pos < json.length() && json.charAt(pos) == '}') {
+                pos++;
+                return map;
+            }
+            while (true) {
+                skipWhitespace();
+                if (pos >= json.length() || json.charAt(pos) != '"') {
+                    throw error("expected property name");
+                }
+                String name = readString();
+                expect(':');
+                map.put(name, readValue());
+                skipWhitespace();
+                char c = next();
+                if (c == '}') {
+                    return map;
+                }
+                if (c != ',') {
+                    pos--;
+                    throw error("expected ',' or '}'");
+                }
+            }
+        }
+
+        private List<Object> readArray() throws IOException {
+            expect('[');
+            List<Object> list = new ArrayList<>();
+            skipWhitespace();
+            if (pos < json.length() && json.charAt(pos) == ']') {
+                pos++;
+                return list;
+            }
+            while (true) {
+                list.add(readValue());
+                skipWhitespace();
+                char c = next();
+                if (c == ']') {
+                    return list;
+                }
+                if (c != ',') {
+                    pos--;
+                    throw error("expected ',' or ']'");
+                }
+            }
+        }
+
+        private String readString() throws IOException {
+            expect('"');
+            StringBuilder buf = null;
+            int start = pos;
+            while (true) {
+                char c = next();
+                if (c == '"') {
+                    if (null == buf) {
+                        return json.substring(start, pos - 1);
+                    }
+                    return buf.toString();
+                }
+                if (c < 0x20) {
+                    throw error("unescaped control character in string");
+                }
+                if (c == '\\') {
+                    if (null == buf) {
+                        buf = new StringBuilder(json.substring(start, pos - 1));
+                    }
+                    char e = next();
+                    switch (e) {
+                        case '"':
+                        case '\\':
+                        case '/':
+                            buf.append(e);
+                            break;
+                        case 'b':
+                            buf.append('\b');
+                            break;
+                        case 'f':
+                            buf.append('\f');
+                            break;
+                        case 'n':
+                            buf.append('\n');
+                            break;
+                        case 'r':
+                            buf.append('\r');
+                            break;
+                        case 't':
+                            buf.append('\t');
+                            break;
+                        case 'u':
+                            if (pos + 4 > json.length()) {
+                                throw error("truncated unicode escape");
+                            }
+                            try {
+                                buf.append((char) Integer.parseInt(json.substring(pos, pos + 4), 16));
+                            } catch (NumberFormatException nfe) {
+                                throw error("invalid unicode escape");
+                            }
+                            pos += 4;
+                            break;
+                        default:
+                            throw error("invalid escape '\\" + e + "'");
+                    }
+                } else if (null != buf) {
+                    buf.append(c);
+                }
+            }
+        }
+
+        private Number readNumber() throws IOException {
+            int start = pos;
+            boolean isInteger = true;
+            if (json.charAt(pos) == '-') {
+                pos++;
+            }
+            while (pos < json.length()) {
+                char c = json.charAt(pos);
+                if (c >= '0' && c <= '9') {
+                    pos++;
+                } else if (c == '.' || c == 'e' || c == 'E' || c == '+' || c == '-') {
+                    isInteger = false;
+                    pos++;
+                } else {
+                    break;
+                }
+            }
+            String text = json.substring(start, pos);
+            try {
+                if (isInteger) {
+                    BigInteger bigInteger = new BigInteger(text);
+                    if (bigInteger.bitLength() < Integer.SIZE) {
+                        return bigInteger.intValue();
+                    }
+                    if (bigInteger.bitLength() < Long.SIZE) {
+                        return bigInteger.longValue();
+                    }
+                    return bigInteger;
+                }
+                return new BigDecimal(text).doubleValue();
+            } catch (NumberFormatException e) {
+                pos = start;
+                throw error("invalid number '" + text + "'");
+            }
+        }
+    }
+
+    ////////
+    // writing
+    ////////
+
+    private static void write(StringBuilder buf, Object value) {
+        if (null == value) {
+            buf.append("null");
+        } else if (value instanceof String) {
+            writeString(buf, (String) value);
+        } else if (value instanceof Number || value instanceof Boolean) {
+            buf.append(value);
+        } else if (value instanceof Map) {
+            buf.append('{');
+            boolean first = true;
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                if (null == entry.getValue()) {
+                    // same as JsonInclude.Include.NON_NULL in JsonSerializer
+                    continue;
+                }
+                if (!first) {
+                    buf.append(',');
+                }
+                first = false;
+                writeString(buf, String.valueOf(entry.getKey()));
+                buf.append(':');
+                write(buf, entry.getValue());
+            }
+            buf.append('}');
+        } else if (value instanceof Iterable) {
+            buf.append('[');
+            boolean first = true;
+            for (Object element : (Iterable<?>) value) {
+                if (!first) {
+                    buf.append(',');
+                }
+                first = false;
+                write(buf, element);
+            }
+            buf.append(']');
+        } else if (value instanceof Object[]) {
+            List<Object> list = new ArrayList<>();
+            for (Object element : (Object[]) value) {
+                list.add(element);
+            }
+            write(buf, list);
+        } else {
+            throw new IllegalArgumentException("no support for serializing " + value.getClass().getName()
+                    + " without jackson-databind; use " + JACKSON_SERIALIZER_CLASS_NAME);
+        }
+    }
+
+    private static void writeString(StringBuilder buf, String value) {
+        buf.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    buf.append("\\\"");
+                    break;
+                case '\\':
+                    buf.append("\\\\");
+                    break;
+                case '\n':
+                    buf.append("\\n");
+                    break;
+                case '\r':
+                    buf.append("\\r");
+                    break;
+                case '\t':
+                    buf.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        buf.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        buf.append(c);
+                    }
+            }
+        }
+        buf.append('"');
+    }
+
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2026 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.here.account.util;
+
+/**
+ * Detects which of the SDK's third-party libraries are on the classpath,
+ * so that defaults can fall back to the built-in, dependency-free implementations.
+ *
+ * <p>
+ * When jackson-databind is absent, {@link #getDefaultSerializer()} returns a
+ * {@link MinimalJsonSerializer}.
+ * When Apache httpclient is absent, {@code HereAccessTokenProvider} defaults to
+ * the {@code JavaHttpProvider}.
+ * No class from an optional library is loaded by the checks themselves.
+ */
+public final class OptionalDependencies {
+
+    /**
+     * A small class from jackson-databind; loading ObjectMapper itself would cost more.
+     */
+    private static final String JACKSON_DATABIND_CLASS_NAME = "com.fasterxml.jackson.databind.cfg.PackageVersion";
+    private static final String APACHE_HTTP_CLIENT_CLASS_NAME = "org.apache.http.impl.client.HttpClientBuilder";
+
+    /**
+     * This class cannot be instantiated.
+     */
+    private OptionalDependencies() {}
+
+    /**
+     * Whether jackson-databind is on the classpath.
+     *
+     * @return true if jackson-databind can be loaded
+     */
+    public static boolean isJacksonDatabindPresent() {
+        return Holder.JACKSON_DATABIND_PRESENT;
+    }
+
+    /**
+     * Whether Apache httpclient is on the classpath.
+     *
+     * @return true if Apache httpclient can be loaded
+     */
+    public static boolean isApacheHttpClientPresent() {
+        return Holder.APACHE_HTTP_CLIENT_PRESENT;
+    }
+
+    /**
+     * Gets a new instance of the default Serializer:
+     * a {@link JacksonSerializer} if jackson-databind is present,
+     * otherwise a {@link MinimalJsonSerializer}.
+     *
+     * @return the default Serializer
+     */
+    public static Serializer getDefaultSerializer() {
+        if (isJacksonDatabindPresent()) {
+            return new JacksonSerializer();
+        }
+        return new MinimalJsonSerializer();
+    }
+
+    static boolean isPresent(String className) {
+        try {
+            Class.forName(className, false, OptionalDependencies.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    /**
+     * The checks run once, the first time they are needed.
+     */
+    private static class Holder {
+        private static final boolean JACKSON_DATABIND_PRESENT = isPresent(JACKSON_DATABIND_CLASS_NAME);
+        private static final boolean APACHE_HTTP_CLIENT_PRESENT = isPresent(APACHE_HTTP_CLIENT_CLASS_NAME);
+    }
+}
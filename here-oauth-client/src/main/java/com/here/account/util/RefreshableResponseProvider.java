@@ -15,11 +15,20 @@
  */
 package com.here.account.util;
 
+import java.util.List;
 import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 import java.util.logging.Logger;
 
 import com.here.account.util.RefreshableResponseProvider.ExpiringResponse;
@@ -62,6 +71,16 @@ public class RefreshableResponseProvider<T extends ExpiringResponse> {
    * attempt to refresh failed
    */
   static final long RETRY_FAIL_SECONDS = 5;
+  /**
+   * number of seconds before a scheduled refresh to warm up,
+   * see {@link ResponseRefresher#warmUp()}
+   */
+  static final long WARM_UP_SECONDS = 5;
+  /**
+   * the longest a warm-up may take; it runs on the refresh thread,
+   * so it must finish before the refresh is due
+   */
+  static final long WARM_UP_TIMEOUT_MILLIS = TimeUnit.SECONDS.toMillis(WARM_UP_SECONDS - 1);
 
   private final ResponseRefresher<T> refreshResponseFunction;
   private final ScheduledExecutorService scheduledExecutorService;
@@ -74,6 +93,13 @@ public class RefreshableResponseProvider<T extends ExpiringResponse> {
   private boolean started;
   private volatile T refreshResponse;  //volatile so consistent across threads
   private Clock clock;
+  private final List<ListenerRegistration<T>> refreshListeners = new CopyOnWriteArrayList<>();
+  private ExecutorService listenerExecutorService;
+  /**
+   * The response for which onExpired was dispatched, so it is dispatched only once.
+   * Only accessed from the refresh thread.
+   */
+  private T expiredResponse;
 
   /**
    * Create a RefreshableResponseProvider with optional refreshIntervalMillis, initialResponse,
@@ -101,10 +127,14 @@ public class RefreshableResponseProvider<T extends ExpiringResponse> {
   
   /**
    * Gets a here-auth-refresh ScheduledExecutorService with 1 core pool thread.
+   * The thread is a virtual thread if {@link VirtualThreads#isEnabled()}.
    * 
    * @return the ScheduledExecutorService size 1
    */
   public static ScheduledExecutorService getScheduledExecutorServiceSize1() {
+      if (VirtualThreads.isEnabled()) {
+          return Executors.newScheduledThreadPool(1, VirtualThreads.newThreadFactory("here-auth-refresh-"));
+      }
       return Executors.newScheduledThreadPool(
               1, new ThreadFactory() {
 
@@ -168,6 +198,30 @@ public class RefreshableResponseProvider<T extends ExpiringResponse> {
      * @return a new token
      */
     T refresh(T previous);
+
+    /**
+     * Invoked {@value RefreshableResponseProvider#WARM_UP_SECONDS} seconds before a scheduled refresh,
+     * when there is that much time, to prepare for it; for example, to open a connection
+     * to the server, so that the refresh does not wait for a DNS lookup, a TCP connect,
+     * and a TLS handshake.
+     * Failures are logged, and do not affect the refresh.
+     * The default implementation does nothing.
+     */
+    default void warmUp() {
+    }
+
+    /**
+     * Invoked {@value RefreshableResponseProvider#WARM_UP_SECONDS} seconds before a scheduled refresh,
+     * when there is that much time, to prepare for it; see {@link #warmUp()}.
+     * The warm-up runs on the thread that runs the refresh, so it must give up after
+     * <tt>timeoutMillis</tt>, which ends before the refresh is due.
+     * The default implementation calls {@link #warmUp()}.
+     *
+     * @param timeoutMillis the longest the warm-up may take, in milliseconds
+     */
+    default void warmUp(long timeoutMillis) {
+      warmUp();
+    }
   }
   
   /**
@@ -198,6 +252,78 @@ public class RefreshableResponseProvider<T extends ExpiringResponse> {
 
   }
   
+  /**
+   * You can register a refresh listener to be told each time the response is refreshed,
+   * fails to refresh, or expires, instead of polling {@link RefreshableResponseProvider#getUnexpiredResponse()}.
+   * Each listener is notified in order, one event at a time, on the executor it was registered with.
+   *
+   * @param <T> the response type that expires periodically
+   */
+  public interface RefreshListener<T> {
+
+    /**
+     * Invoked after the current response has replaced the previous one.
+     *
+     * @param previous the response that was replaced
+     * @param current the new current response
+     */
+    void onRefreshed(T previous, T current);
+
+    /**
+     * Invoked after an attempt to refresh failed.
+     * Another attempt is already scheduled.
+     *
+     * @param exception the reason the refresh failed
+     * @param timeUntilExpiryMillis milliseconds until the current response expires, or 0 if it has expired
+     */
+    default void onRefreshFailed(Exception exception, long timeUntilExpiryMillis) {
+    }
+
+    /**
+     * Invoked once, when a failed refresh finds that the current response has expired.
+     * {@link RefreshableResponseProvider#getUnexpiredResponse()} keeps returning it
+     * until a refresh succeeds.
+     *
+     * @param expired the expired response
+     */
+    default void onExpired(T expired) {
+    }
+  }
+
+  /**
+   * Adds a listener that is notified on a here-auth-listener thread,
+   * so that it cannot delay the refresh thread.
+   *
+   * @param refreshListener the listener to add
+   */
+  public void addRefreshListener(RefreshListener<T> refreshListener) {
+    addRefreshListener(refreshListener, getListenerExecutorService());
+  }
+
+  /**
+   * Adds a listener that is notified on the specified executor.
+   * Events are delivered to the listener in order, one at a time, even if the executor
+   * has many threads.
+   *
+   * @param refreshListener the listener to add
+   * @param executor the executor on which to notify the listener
+   */
+  public void addRefreshListener(RefreshListener<T> refreshListener, Executor executor) {
+    Objects.requireNonNull(refreshListener, "refreshListener cannot be null");
+    Objects.requireNonNull(executor, "executor cannot be null");
+    refreshListeners.add(new ListenerRegistration<T>(refreshListener, executor));
+  }
+
+  /**
+   * Removes a listener added by {@link #addRefreshListener(RefreshListener)}.
+   * Events already dispatched may still be delivered.
+   *
+   * @param refreshListener the listener to remove
+   */
+  public void removeRefreshListener(RefreshListener<T> refreshListener) {
+    refreshListeners.removeIf(registration -> registration.refreshListener == refreshListener);
+  }
+
   /**
    * Shutdown the background threads
    */
@@ -206,6 +332,11 @@ public class RefreshableResponseProvider<T extends ExpiringResponse> {
       try {
         LOG.info("Shutting down refresh token thread");
         scheduledExecutorService.shutdown();
+        synchronized (this) {
+          if (null != listenerExecutorService) {
+            listenerExecutorService.shutdown();
+          }
+        }
       } finally {
         started = false;
       }
@@ -261,6 +392,15 @@ public class RefreshableResponseProvider<T extends ExpiringResponse> {
     }
 
     LOG.info("Scheduling next token refresh in " + millis + " milliseconds");
+    long warmUpMillis = TimeUnit.SECONDS.toMillis(WARM_UP_SECONDS);
+    if (millis > warmUpMillis) {
+      clock.schedule(scheduledExecutorService, new Runnable() {
+          @Override
+          public void run() {
+            warmUp();
+          }
+        }, millis - warmUpMillis);
+    }
     clock.schedule(scheduledExecutorService, new Runnable() {
         @Override
         public void run() {
@@ -269,6 +409,20 @@ public class RefreshableResponseProvider<T extends ExpiringResponse> {
       }, millis);
   }
 
+  /**
+   * Prepare for the upcoming token refresh.
+   */
+  private void warmUp() {
+    if (!started) {
+      return;
+    }
+    try {
+      refreshResponseFunction.warmUp(WARM_UP_TIMEOUT_MILLIS);
+    } catch (Exception exp) {
+      LOG.fine("Failed to warm up for the HERE token refresh " + exp);
+    }
+  }
+
   /**
    * Execute the token refresh.
    */
@@ -281,14 +435,87 @@ public class RefreshableResponseProvider<T extends ExpiringResponse> {
     );
 
     try {
-      this.refreshResponse = refreshResponseFunction.refresh(refreshResponse);
+      T previous = refreshResponse;
+      T current = refreshResponseFunction.refresh(previous);
+      this.refreshResponse = current;
       scheduleTokenRefresh(nextRefreshInterval());
+      dispatch(refreshListener -> refreshListener.onRefreshed(previous, current));
     } catch (Exception exp) {
       LOG.warning("Failed to refresh HERE token " + exp);
       scheduleTokenRefresh(
           //try again within time window if call failed
           Math.min(nextRefreshInterval(), TimeUnit.SECONDS.toMillis(RETRY_FAIL_SECONDS))
       );
+      T current = refreshResponse;
+      long timeUntilExpiryMillis = Math.max(0L, current.getStartTimeMilliseconds()
+          + TimeUnit.SECONDS.toMillis(current.getExpiresIn()) - clock.currentTimeMillis());
+      dispatch(refreshListener -> refreshListener.onRefreshFailed(exp, timeUntilExpiryMillis));
+      if (0L == timeUntilExpiryMillis && expiredResponse != current) {
+        expiredResponse = current;
+        dispatch(refreshListener -> refreshListener.onExpired(current));
+      }
+    }
+  }
+
+  private void dispatch(Consumer<RefreshListener<T>> event) {
+    for (ListenerRegistration<T> registration : refreshListeners) {
+      registration.dispatch(event);
+    }
+  }
+
+  private synchronized Executor getListenerExecutorService() {
+    if (null == listenerExecutorService) {
+      ThreadFactory threadFactory = VirtualThreads.isEnabled()
+          ? VirtualThreads.newThreadFactory("here-auth-listener-")
+          : r -> {
+              Thread thread = new Thread(r, "here-auth-listener");
+              thread.setDaemon(true);
+              return thread;
+            };
+      listenerExecutorService = Executors.newSingleThreadExecutor(threadFactory);
+    }
+    return listenerExecutorService;
+  }
+
+  /**
+   * A listener and its executor, with a queue of undelivered events.
+   * At most one drain of the queue is submitted to the executor at a time,
+   * so the listener sees events in order and never concurrently.
+   */
+  private static class ListenerRegistration<T> {
+    private final RefreshListener<T> refreshListener;
+    private final Executor executor;
+    private final Queue<Consumer<RefreshListener<T>>> events = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+
+    private ListenerRegistration(RefreshListener<T> refreshListener, Executor executor) {
+      this.refreshListener = refreshListener;
+      this.executor = executor;
+    }
+
+    private void dispatch(Consumer<RefreshListener<T>> event) {
+      events.add(event);
+      if (0 == pending.getAndIncrement()) {
+        try {
+          executor.execute(this::drain);
+        } catch (RejectedExecutionException e) {
+          LOG.warning("Refresh listener executor rejected events " + e);
+          do {
+            events.poll();
+          } while (0 != pending.decrementAndGet());
+        }
+      }
+    }
+
+    private void drain() {
+      do {
+        Consumer<RefreshListener<T>> event = events.poll();
+        try {
+          event.accept(refreshListener);
+        } catch (RuntimeException e) {
+          LOG.warning("Refresh listener failed " + e);
+        }
+      } while (0 != pending.decrementAndGet());
     }
   }
 }
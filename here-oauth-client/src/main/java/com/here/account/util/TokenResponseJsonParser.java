@@ -0,0 +1,215 @@
+/*
+ * Copyright (c) 2026 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.here.account.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import com.here.account.oauth2.AccessTokenResponse;
+import com.here.account.oauth2.FileAccessTokenResponse;
+import com.here.account.oauth2.bo.TimestampResponse;
+
+/**
+ * A hand-written streaming parser for the small, fixed-shape token endpoint responses.
+ * It reads the JSON with a {@link JsonParser} and calls the public constructors directly,
+ * so the token hot path avoids databind introspection and reflection on final fields.
+ *
+ * <p>
+ * Unknown properties are skipped, the same as
+ * {@code DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES=false}
+ * in {@link JsonSerializer}.
+ */
+final class TokenResponseJsonParser {
+
+    private static final String ACCESS_TOKEN = "access_token";
+    private static final String TOKEN_TYPE = "token_type";
+    private static final String EXPIRES_IN = "expires_in";
+    private static final String REFRESH_TOKEN = "refresh_token";
+    private static final String ID_TOKEN = "id_token";
+    private static final String SCOPE = "scope";
+    private static final String EXP = "exp";
+    private static final String TIMESTAMP = "timestamp";
+
+    /**
+     * This class cannot be instantiated.
+     */
+    private TokenResponseJsonParser() {}
+
+    /**
+     * Whether this parser handles the pojoClass.
+     * Only exact classes are handled, because subclasses may declare additional properties.
+     *
+     * @param pojoClass the class to deserialize into
+     * @return true if {@link #parse(JsonFactory, InputStream, Class)} supports the pojoClass
+     */
+    static boolean supports(Class<?> pojoClass) {
+        return AccessTokenResponse.class == pojoClass
+                || FileAccessTokenResponse.class == pojoClass
+                || TimestampResponse.class == pojoClass;
+    }
+
+    /**
+     * Parses the jsonInputStream into a new instance of pojoClass.
+     * The jsonInputStream is closed when parsing completes.
+     *
+     * @param <T> the type of the POJO
+     * @param jsonFactory the factory for the streaming parser
+     * @param jsonInputStream the input stream to the JSON object
+     * @param pojoClass one of the classes for which {@link #supports(Class)} is true
+     * @return the populated instance, or null if the JSON was the null literal
+     * @throws IOException if trouble parsing, or a property had an incompatible type
+     */
+    static <T> T parse(JsonFactory jsonFactory, InputStream jsonInputStream, Class<T> pojoClass)
+            throws IOException {
+        final boolean isTimestamp = TimestampResponse.class == pojoClass;
+        final boolean isFile = FileAccessTokenResponse.class == pojoClass;
+
+        try (JsonParser parser = jsonFactory.createParser(jsonInputStream)) {
+            JsonToken token = parser.nextToken();
+            if (null == token) {
+                throw MismatchedInputException.from(parser, pojoClass,
+                        "No content to map due to end-of-input");
+            }
+            if (JsonToken.VALUE_NULL == token) {
+                return null;
+            }
+            if (JsonToken.START_OBJECT != token) {
+                throw MismatchedInputException.from(parser, pojoClass,
+                        "Cannot deserialize " + pojoClass.getName() + " from " + token);
+            }
+
+            String accessToken = null;
+            String tokenType = null;
+            Long expiresIn = null;
+            String refreshToken = null;
+            String idToken = null;
+            String scope = null;
+            Long exp = null;
+            Long timestamp = null;
+
+            while (JsonToken.FIELD_NAME == parser.nextToken()) {
+                String name = parser.currentName();
+                parser.nextToken();
+                if (isTimestamp) {
+                    if (TIMESTAMP.equals(name)) {
+                        timestamp = longValue(parser);
+                    } else {
+                        parser.skipChildren();
+                    }
+                    continue;
+                }
+                switch (name) {
+                    case ACCESS_TOKEN:
+                        accessToken = stringValue(parser);
+                        break;
+                    case TOKEN_TYPE:
+                        tokenType = stringValue(parser);
+                        break;
+                    case EXPIRES_IN:
+                        expiresIn = longValue(parser);
+                        break;
+                    case REFRESH_TOKEN:
+                        refreshToken = stringValue(parser);
+                        break;
+                    case ID_TOKEN:
+                        idToken = stringValue(parser);
+                        break;
+                    case SCOPE:
+                        scope = stringValue(parser);
+                        break;
+                    case EXP:
+                        if (isFile) {
+                            exp = longValue(parser);
+                        } else {
+                            parser.skipChildren();
+                        }
+                        break;
+                    default:
+                        // unknown properties are ignored
+                        parser.skipChildren();
+                        break;
+                }
+            }
+
+            Object pojo;
+            if (isTimestamp) {
+                pojo = new TimestampResponse(timestamp);
+            } else if (isFile) {
+                pojo = new FileAccessTokenResponse(accessToken, tokenType, expiresIn,
+                        refreshToken, idToken, exp, scope);
+            } else {
+                pojo = new AccessTokenResponse(accessToken, tokenType, expiresIn,
+                        refreshToken, idToken, scope);
+            }
+            return pojoClass.cast(pojo);
+        }
+    }
+
+    /**
+     * Reads the current value as a String, coercing scalars as databind does.
+     *
+     * @param parser the parser positioned on the value
+     * @return the String value, or null
+     * @throws IOException if the value is an object or array
+     */
+    private static String stringValue(JsonParser parser) throws IOException {
+        JsonToken token = parser.getCurrentToken();
+        if (JsonToken.VALUE_NULL == token) {
+            return null;
+        }
+        if (token.isScalarValue()) {
+            return parser.getText();
+        }
+        throw MismatchedInputException.from(parser, String.class,
+                "Cannot deserialize String from " + token);
+    }
+
+    /**
+     * Reads the current value as a Long, coercing numeric Strings and floats as databind does.
+     *
+     * @param parser the parser positioned on the value
+     * @return the Long value, or null
+     * @throws IOException if the value is not numeric
+     */
+    private static Long longValue(JsonParser parser) throws IOException {
+        JsonToken token = parser.getCurrentToken();
+        switch (token) {
+            case VALUE_NULL:
+                return null;
+            case VALUE_NUMBER_INT:
+            case VALUE_NUMBER_FLOAT:
+                return parser.getLongValue();
+            case VALUE_STRING:
+                String text = parser.getText().trim();
+                if (text.isEmpty()) {
+                    return null;
+                }
+                try {
+                    return Long.valueOf(text);
+                } catch (NumberFormatException e) {
+                    throw MismatchedInputException.from(parser, Long.class,
+                            "Cannot deserialize Long from String \"" + text + "\"");
+                }
+            default:
+                throw MismatchedInputException.from(parser, Long.class,
+                        "Cannot deserialize Long from " + token);
+        }
+    }
+}
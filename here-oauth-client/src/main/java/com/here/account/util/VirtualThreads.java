@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2026 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.here.account.util;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Access to virtual threads, on JDK 21 and later, from code compiled for Java 8.
+ * The JDK methods are looked up reflectively, so this class loads on any JDK.
+ *
+ * <p>
+ * The SDK's own background threads, for token refresh and hedged requests,
+ * are virtual threads when {@link #isEnabled()}; that is, when the System property
+ * {@value #ENABLED_PROPERTY} is "true" and the JDK supports virtual threads.
+ * Otherwise they remain daemon platform threads.
+ */
+public final class VirtualThreads {
+
+    /**
+     * The System property that turns on virtual threads for the SDK's background threads.
+     */
+    public static final String ENABLED_PROPERTY = "here.account.virtualThreads";
+
+    /**
+     * This class cannot be instantiated.
+     */
+    private VirtualThreads() {}
+
+    /**
+     * Whether the JDK supports virtual threads.
+     *
+     * @return true on JDK 21 and later
+     */
+    public static boolean isAvailable() {
+        return null != Holder.OF_VIRTUAL;
+    }
+
+    /**
+     * Whether the SDK's background threads should be virtual threads.
+     *
+     * @return true if virtual threads are available and {@value #ENABLED_PROPERTY} is "true"
+     */
+    public static boolean isEnabled() {
+        return isAvailable() && Boolean.getBoolean(ENABLED_PROPERTY);
+    }
+
+    /**
+     * Gets a new ThreadFactory for virtual threads named namePrefix followed by a counter.
+     *
+     * @param namePrefix the thread name prefix
+     * @return the ThreadFactory
+     * @throws UnsupportedOperationException if virtual threads are not available
+     */
+    public static ThreadFactory newThreadFactory(String namePrefix) {
+        if (!isAvailable()) {
+            throw new UnsupportedOperationException("virtual threads require JDK 21 or later");
+        }
+        try {
+            Object builder = Holder.OF_VIRTUAL.invoke(null);
+            builder = Holder.NAME.invoke(builder, namePrefix, 0L);
+            return (ThreadFactory) Holder.FACTORY.invoke(builder);
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            throw new UnsupportedOperationException("trouble creating virtual thread factory: " + e, e);
+        }
+    }
+
+    /**
+     * Gets a new ExecutorService that runs each task on a new virtual thread.
+     *
+     * @param namePrefix the thread name prefix
+     * @return the ExecutorService
+     * @throws UnsupportedOperationException if virtual threads are not available
+     */
+    public static ExecutorService newThreadPerTaskExecutor(String namePrefix) {
+        ThreadFactory threadFactory = newThreadFactory(namePrefix);
+        try {
+            return (ExecutorService) Holder.NEW_THREAD_PER_TASK_EXECUTOR.invoke(null, threadFactory);
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            throw new UnsupportedOperationException("trouble creating virtual thread executor: " + e, e);
+        }
+    }
+
+    /**
+     * The reflective lookups run once, the first time they are needed.
+     */
+    private static class Holder {
+        private static final Method OF_VIRTUAL;
+        private static final Method NAME;
+        private static final Method FACTORY;
+        private static final Method NEW_THREAD_PER_TASK_EXECUTOR;
+
+        static {
+            Method ofVirtual = null;
+            Method name = null;
+            Method factory = null;
+            Method newThreadPerTaskExecutor = null;
+            try {
+                Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+                name = builderClass.getMethod("name", String.class, long.class);
+                factory = builderClass.getMethod("factory");
+                newThreadPerTaskExecutor = Class.forName("java.util.concurrent.Executors")
+                        .getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+                Method candidate = Thread.class.getMethod("ofVirtual");
+                // throws on JDKs where virtual threads are a preview feature that is not enabled
+                factory.invoke(candidate.invoke(null));
+                ofVirtual = candidate;
+            } catch (ReflectiveOperationException | RuntimeException | LinkageError e) {
+                ofVirtual = null;
+            }
+            OF_VIRTUAL = ofVirtual;
+            NAME = name;
+            FACTORY = factory;
+            NEW_THREAD_PER_TASK_EXECUTOR = newThreadPerTaskExecutor;
+        }
+    }
+}
@@ -0,0 +1,280 @@
+/*
+ * Copyright (c) 2026 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.here.account.auth;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.spec.ECGenParameterSpec;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.here.account.auth.OAuth1VerificationException.Reason;
+import com.here.account.util.TestClock;
+
+public class OAuth1RequestVerifierTest {
+
+    private static final String CONSUMER_KEY = "my-access-key-id";
+    private static final String CONSUMER_SECRET = "my-access-key-secret";
+    private static final String URL = "https://api.example.com/v1/things?b=2&a=1";
+
+    private TestClock clock;
+    private Map<String, String> verificationKeys;
+    private OAuth1RequestVerifier verifier;
+
+    @Before
+    public void setUp() {
+        clock = new TestClock();
+        verificationKeys = new HashMap<>();
+        verificationKeys.put(CONSUMER_KEY, CONSUMER_SECRET);
+        verifier = OAuth1RequestVerifier.builder()
+                .setClock(clock)
+                .setVerificationKeys(verificationKeys::get)
+                .build();
+    }
+
+    private static String sign(OAuth1Signer signer, String method, String url, Map<String, List<String>> formParams) {
+        String[] authorizationHeader = new String[1];
+        signer.authorize(value -> authorizationHeader[0] = value, method, url, formParams);
+        return authorizationHeader[0];
+    }
+
+    private String sign(String method, String url, Map<String, List<String>> formParams) {
+        return sign(new OAuth1Signer(clock, CONSUMER_KEY, CONSUMER_SECRET, SignatureMethod.HMACSHA256),
+                method, url, formParams);
+    }
+
+    private static void assertFails(Reason reason, Runnable verification) {
+        try {
+            verification.run();
+            fail("expected " + reason);
+        } catch (OAuth1VerificationException e) {
+            assertEquals(e.getMessage(), reason, e.getReason());
+        }
+    }
+
+    @Test
+    public void test_verify_hmacSha256_queryAndFormParams() {
+        Map<String, List<String>> formParams = Collections.singletonMap("grant_type",
+                Collections.singletonList("client_credentials"));
+        String authorizationHeader = sign("POST", URL, formParams);
+        assertEquals(CONSUMER_KEY, verifier.verify("POST", URL, authorizationHeader, formParams));
+        assertEquals(1, verifier.getNonceCount());
+    }
+
+    @Test
+    public void test_verify_hmacSha1() {
+        String authorizationHeader = sign(new OAuth1Signer(clock, CONSUMER_KEY, CONSUMER_SECRET), "GET", URL, null);
+        assertEquals(CONSUMER_KEY, verifier.verify("GET", URL, authorizationHeader, null));
+    }
+
+    @Test
+    public void test_verify_es512() throws Exception {
+        KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance(SignatureCalculator.ELLIPTIC_CURVE_ALGORITHM);
+        keyPairGenerator.initialize(new ECGenParameterSpec("secp521r1"));
+        KeyPair keyPair = keyPairGenerator.generateKeyPair();
+        verificationKeys.put("es512-client", Base64.getEncoder().encodeToString(keyPair.getPublic().getEncoded()));
+        OAuth1Signer signer = new OAuth1Signer(clock, "es512-client",
+                Base64.getEncoder().encodeToString(keyPair.getPrivate().getEncoded()), SignatureMethod.ES512);
+
+        assertEquals("es512-client", verifier.verify("GET", URL, sign(signer, "GET", URL, null), null));
+        assertFails(Reason.INVALID_SIGNATURE, () ->
+                verifier.verify("GET", URL + "&c=3", sign(signer, "GET", URL, null), null));
+    }
+
+    @Test
+    public void test_verify_replay() {
+        String authorizationHeader = sign("GET", URL, null);
+        verifier.verify("GET", URL, authorizationHeader, null);
+        assertFails(Reason.REPLAYED_NONCE, () -> verifier.verify("GET", URL, authorizationHeader, null));
+    }
+
+    @Test
+    public void test_verify_replay_afterSkewIsRejectedBySkew() {
+        String authorizationHeader = sign("GET", URL, null);
+        verifier.verify("GET", URL, authorizationHeader, null);
+        clock.setCurrentTimeMillis(clock.currentTimeMillis()
+                + TimeUnit.SECONDS.toMillis(OAuth1RequestVerifier.DEFAULT_MAX_CLOCK_SKEW_SECONDS + 1L));
+        assertFails(Reason.TIMESTAMP_SKEW, () -> verifier.verify("GET", URL, authorizationHeader, null));
+    }
+
+    @Test
+    public void test_verify_concurrentReplay_exactlyOneSucceeds() throws Exception {
+        String authorizationHeader = sign("GET", URL, null);
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            Callable<Boolean> verification = () -> {
+                try {
+                    verifier.verify("GET", URL, authorizationHeader, null);
+                    return true;
+                } catch (OAuth1VerificationException e) {
+                    assertEquals(Reason.REPLAYED_NONCE, e.getReason());
+                    return false;
+                }
+            };
+            int succeeded = 0;
+            for (Future<Boolean> future : executor.invokeAll(Collections.nCopies(threads, verification))) {
+                if (future.get()) {
+                    succeeded++;
+                }
+            }
+            assertEquals(1, succeeded);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void test_verify_skew() {
+        long skewMillis = TimeUnit.SECONDS.toMillis(OAuth1RequestVerifier.DEFAULT_MAX_CLOCK_SKEW_SECONDS + 1L);
+        long now = clock.currentTimeMillis();
+
+        clock.setCurrentTimeMillis(now - skewMillis);
+        String oldHeader = sign("GET", URL, null);
+        clock.setCurrentTimeMillis(now + skewMillis);
+        String futureHeader = sign("GET", URL, null);
+        clock.setCurrentTimeMillis(now);
+
+        assertFails(Reason.TIMESTAMP_SKEW, () -> verifier.verify("GET", URL, oldHeader, null));
+        assertFails(Reason.TIMESTAMP_SKEW, () -> verifier.verify("GET", URL, futureHeader, null));
+    }
+
+    @Test
+    public void test_verify_withinSkew() {
+        OAuth1RequestVerifier strictVerifier = OAuth1RequestVerifier.builder()
+                .setClock(clock)
+                .setVerificationKeys(verificationKeys::get)
+                .setMaxClockSkewSeconds(30L)
+                .build();
+        long now = clock.currentTimeMillis();
+        clock.setCurrentTimeMillis(now - TimeUnit.SECONDS.toMillis(29L));
+        String authorizationHeader = sign("GET", URL, null);
+        clock.setCurrentTimeMillis(now);
+        assertEquals(CONSUMER_KEY, strictVerifier.verify("GET", URL, authorizationHeader, null));
+    }
+
+    @Test
+    public void test_verify_invalidSignature_nonceNotRemembered() {
+        String authorizationHeader = sign("GET", URL, null);
+        assertFails(Reason.INVALID_SIGNATURE, () -> verifier.verify("POST", URL, authorizationHeader, null));
+        assertFails(Reason.INVALID_SIGNATURE, () ->
+                verifier.verify("GET", "https://api.example.com/v1/other", authorizationHeader, null));
+        assertEquals(0, verifier.getNonceCount());
+        // the genuine request still goes through
+        assertEquals(CONSUMER_KEY, verifier.verify("GET", URL, authorizationHeader, null));
+    }
+
+    @Test
+    public void test_verify_wrongSecret() {
+        String authorizationHeader = sign(new OAuth1Signer(clock, CONSUMER_KEY, "not-the-secret",
+                SignatureMethod.HMACSHA256), "GET", URL, null);
+        assertFails(Reason.INVALID_SIGNATURE, () -> verifier.verify("GET", URL, authorizationHeader, null));
+    }
+
+    @Test
+    public void test_verify_keyRotation() {
+        String oldHeader = sign("GET", URL, null);
+        verificationKeys.put(CONSUMER_KEY, "rotated-secret");
+        assertFails(Reason.INVALID_SIGNATURE, () -> verifier.verify("GET", URL, oldHeader, null));
+        String newHeader = sign(new OAuth1Signer(clock, CONSUMER_KEY, "rotated-secret",
+                SignatureMethod.HMACSHA256), "GET", URL, null);
+        assertEquals(CONSUMER_KEY, verifier.verify("GET", URL, newHeader, null));
+    }
+
+    @Test
+    public void test_verify_unknownConsumerKey() {
+        String authorizationHeader = sign(new OAuth1Signer(clock, "someone-else", CONSUMER_SECRET,
+                SignatureMethod.HMACSHA256), "GET", URL, null);
+        assertFails(Reason.UNKNOWN_CONSUMER_KEY, () -> verifier.verify("GET", URL, authorizationHeader, null));
+    }
+
+    @Test
+    public void test_verify_malformedHeader() {
+        for (String authorizationHeader : Arrays.asList(null, "", "Bearer abc",
+                "OAuth oauth_consumer_key=unquoted",
+                "OAuth oauth_consumer_key=\"a\", oauth_consumer_key=\"b\"",
+                "OAuth oauth_consumer_key=\"a\", oauth_signature_method=\"HMAC-SHA256\", oauth_signature=\"x\", "
+                        + "oauth_timestamp=\"soon\", oauth_nonce=\"n\"")) {
+            assertFails(Reason.MALFORMED_HEADER, () -> verifier.verify("GET", URL, authorizationHeader, null));
+        }
+    }
+
+    @Test
+    public void test_verify_unsupportedSignatureMethod() {
+        String authorizationHeader = sign("GET", URL, null).replace("HMAC-SHA256", "PLAINTEXT");
+        assertFails(Reason.UNSUPPORTED_SIGNATURE_METHOD, () ->
+                verifier.verify("GET", URL, authorizationHeader, null));
+    }
+
+    @Test
+    public void test_nonceCache_boundedAndExpires() {
+        OAuth1RequestVerifier smallVerifier = OAuth1RequestVerifier.builder()
+                .setClock(clock)
+                .setVerificationKeys(verificationKeys::get)
+                .setMaxClockSkewSeconds(30L)
+                .setBucketSeconds(5L)
+                .setMaxNonces(2)
+                .setStripes(1)
+                .build();
+        smallVerifier.verify("GET", URL, sign("GET", URL, null), null);
+        smallVerifier.verify("GET", URL, sign("GET", URL, null), null);
+        assertFails(Reason.NONCE_CACHE_FULL, () -> smallVerifier.verify("GET", URL, sign("GET", URL, null), null));
+        assertEquals(2, smallVerifier.getNonceCount());
+
+        // once the old timestamps are out of the skew, their buckets are dropped
+        clock.setCurrentTimeMillis(clock.currentTimeMillis() + TimeUnit.SECONDS.toMillis(30L + 5L));
+        smallVerifier.verify("GET", URL, sign("GET", URL, null), null);
+        assertEquals(1, smallVerifier.getNonceCount());
+    }
+
+    @Test
+    public void test_parseAuthorizationHeader_roundTrip() {
+        SignatureCalculator calculator = new SignatureCalculator("key with spaces&symbols", CONSUMER_SECRET);
+        String authorizationHeader = calculator.constructAuthHeader("c2lnbmF0dXJl+/=", "n~n", 1234567890L,
+                SignatureMethod.HMACSHA1);
+        Map<String, String> oauthParams = OAuth1RequestVerifier.parseAuthorizationHeader(
+                "OAuth realm=\"Example\", " + authorizationHeader.substring("OAuth ".length()));
+        assertEquals("key with spaces&symbols", oauthParams.get("oauth_consumer_key"));
+        assertEquals("c2lnbmF0dXJl+/=", oauthParams.get("oauth_signature"));
+        assertEquals("n~n", oauthParams.get("oauth_nonce"));
+        assertEquals("1234567890", oauthParams.get("oauth_timestamp"));
+        assertEquals("HMAC-SHA1", oauthParams.get("oauth_signature_method"));
+        assertEquals("1.0", oauthParams.get("oauth_version"));
+        assertEquals(null, oauthParams.get("realm"));
+    }
+
+    @Test
+    public void test_oauth1VerifierBenchmark() throws Exception {
+        Properties results = OAuth1VerifierBenchmark.run(2, 2000);
+        assertEquals("4000", results.getProperty("verified"));
+    }
+}
@@ -15,6 +15,7 @@
  */
 package com.here.account.auth;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
 import java.io.UnsupportedEncodingException;
@@ -34,6 +35,7 @@ import org.junit.Before;
 import org.junit.Test;
 
 import com.here.account.http.HttpProvider.HttpRequest;
+import com.here.account.http.RequestTemplate;
 import com.here.account.util.Clock;
 import com.here.account.util.OAuthConstants;
 
@@ -466,4 +468,25 @@ public class OAuth1SignerTest {
         String expectedSignature = "OAuth oauth_consumer_key=\"access-key-id\", oauth_signature_method=\"HMAC-SHA256\", oauth_signature=\"IWx3kZAwS%2B%2Ba90pYRXvzJg0TkCK6D0FPf%2FCNzu5wK88%3D\", oauth_timestamp=\"1600000000\", oauth_nonce=\"AAECAw\", oauth_version=\"1.0\"";
         assertTrue("signatureWithValueOnlyInQueryParams doesn't match expectedSignature", signatureWithValueOnlyInQueryParams.equals(expectedSignature));
     }
+
+    @Test
+    public void test_OAuth1Signer_requestTemplate_sameSignature() {
+        this.clockCurrentTimeMillis = 1600000000000L;
+        Map<String, List<String>> formParams = new HashMap<String, List<String>>();
+        formParams.put("grant_type", Collections.singletonList("client_credentials"));
+        for (String url : new String[] {
+                "https://account.api.here.com/oauth2/token",
+                "https://account.api.here.com:443/oauth2/token",
+                "http://example.com/photos/photo1?format=jpg&key1=value1&key1=value2&empty",
+                "http://example.com/photos/photo1?key%20with%20spaces=a%2Ab~c"}) {
+            oauth1Signer.authorize(httpRequest, "POST", url, formParams);
+            String expected = httpRequest.getAuthorizationHeader();
+            RequestTemplate requestTemplate = RequestTemplate.builder().setMethod("POST").setUrl(url).build();
+            oauth1Signer.authorize(httpRequest, requestTemplate, formParams);
+            assertEquals(url, expected, httpRequest.getAuthorizationHeader());
+            // again, with the prepared base string
+            oauth1Signer.authorize(httpRequest, requestTemplate, formParams);
+            assertEquals(url, expected, httpRequest.getAuthorizationHeader());
+        }
+    }
 }
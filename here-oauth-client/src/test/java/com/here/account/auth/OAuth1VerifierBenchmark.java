@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2026 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.here.account.auth;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import com.here.account.util.Benchmark;
+import com.here.account.util.Clock;
+
+/**
+ * How {@link OAuth1RequestVerifier} throughput scales across cores:
+ * distinct HMAC-SHA256 signed requests, pre-signed with unique nonces, verified by
+ * 1, 2, 4, ... threads at once, up to the number of available processors,
+ * so that the striped nonce cache and cached key material are shared between them.
+ * The size is the number of requests per thread, by default 200000.
+ * Each result is prefixed with its thread count.
+ */
+public class OAuth1VerifierBenchmark extends Benchmark {
+
+    private static final String CONSUMER_KEY = "benchmark-key";
+    private static final String CONSUMER_SECRET = "benchmark-secret";
+    private static final String URL = "https://api.example.com/v1/things";
+
+    public OAuth1VerifierBenchmark() {
+        super(200000);
+    }
+
+    @Override
+    public Properties run(int requestsPerThread) throws Exception {
+        Properties results = new Properties();
+        int processors = Runtime.getRuntime().availableProcessors();
+        for (int threads = 1; ; threads = Math.min(threads * 2, processors)) {
+            Properties threadResults = run(threads, requestsPerThread);
+            for (String name : threadResults.stringPropertyNames()) {
+                results.setProperty(threads + "." + name, threadResults.getProperty(name));
+            }
+            if (threads == processors) {
+                break;
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Runs the benchmark once, at one thread count.
+     *
+     * @param threads the number of verifying threads
+     * @param requestsPerThread the number of requests each thread verifies
+     * @return the results
+     * @throws Exception if any verification fails
+     */
+    static Properties run(int threads, int requestsPerThread) throws Exception {
+        long timestamp = TimeUnit.MILLISECONDS.toSeconds(Clock.SYSTEM.currentTimeMillis());
+        SignatureCalculator calculator = new SignatureCalculator(CONSUMER_KEY, CONSUMER_SECRET);
+        List<String[]> headersByThread = new ArrayList<>(threads);
+        for (int t = 0; t < threads; t++) {
+            String[] headers = new String[requestsPerThread];
+            for (int i = 0; i < requestsPerThread; i++) {
+                String nonce = t + "-" + i;
+                String signature = calculator.calculateSignature("GET", URL, timestamp, nonce,
+                        SignatureMethod.HMACSHA256, null, null);
+                headers[i] = calculator.constructAuthHeader(signature, nonce, timestamp, SignatureMethod.HMACSHA256);
+            }
+            headersByThread.add(headers);
+        }
+        OAuth1RequestVerifier verifier = OAuth1RequestVerifier.builder()
+                .setVerificationKeys(consumerKey -> CONSUMER_KEY.equals(consumerKey) ? CONSUMER_SECRET : null)
+                .setMaxNonces(Math.max(OAuth1RequestVerifier.DEFAULT_MAX_NONCES, 2 * threads * requestsPerThread))
+                .build();
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Integer>> futures = new ArrayList<>(threads);
+            for (String[] headers : headersByThread) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    int verified = 0;
+                    for (String header : headers) {
+                        if (CONSUMER_KEY.equals(verifier.verify("GET", URL, header, null))) {
+                            verified++;
+                        }
+                    }
+                    return verified;
+                }));
+            }
+            long startNanos = System.nanoTime();
+            start.countDown();
+            int verified = 0;
+            for (Future<Integer> future : futures) {
+                verified += future.get();
+            }
+            long elapsedNanos = System.nanoTime() - startNanos;
+
+            Properties results = new Properties();
+            results.setProperty("threads", String.valueOf(threads));
+            results.setProperty("verified", String.valueOf(verified));
+            results.setProperty("elapsedMillis", String.valueOf(TimeUnit.NANOSECONDS.toMillis(elapsedNanos)));
+            results.setProperty("verificationsPerSecond", perSecond(verified, elapsedNanos));
+            return results;
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -32,7 +32,9 @@ import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
@@ -194,6 +196,50 @@ public class ClientAuthorizationProviderChainTest {
         verifyExpected(providerChain, fromPropertiesFile);
     }
 
+    @Test
+    public void test_lazyProviders_laterProvidersNotCreated() throws Exception {
+        ClientAuthorizationRequestProvider fromSystemProperties = getClientAuthorizationRequestProviderFromSystemPropertiesWithNoPropertiesSet();
+        ClientAuthorizationRequestProvider fromIniFile = getClientAuthorizationRequestProviderFromIniFile();
+        AtomicInteger fromSystemPropertiesCount = new AtomicInteger();
+        AtomicInteger fromIniFileCount = new AtomicInteger();
+        AtomicInteger laterCount = new AtomicInteger();
+
+        ClientAuthorizationProviderChain providerChain = ClientAuthorizationProviderChain.ofLazyProviders(
+                () -> {
+                    fromSystemPropertiesCount.incrementAndGet();
+                    return fromSystemProperties;
+                },
+                () -> {
+                    fromIniFileCount.incrementAndGet();
+                    return fromIniFile;
+                },
+                () -> {
+                    laterCount.incrementAndGet();
+                    return new FromRunAsIdFileProvider();
+                });
+        assertEquals(0, fromSystemPropertiesCount.get());
+
+        verifyExpected(providerChain, fromIniFile);
+        providerChain.getTokenEndpointUrl();
+        assertEquals(1, fromSystemPropertiesCount.get());
+        assertEquals(1, fromIniFileCount.get());
+        assertEquals(0, laterCount.get());
+    }
+
+    @Test
+    public void test_lazyProviders_failingProviderSkipped() throws Exception {
+        ClientAuthorizationRequestProvider fromIniFile = getClientAuthorizationRequestProviderFromIniFile();
+
+        ClientAuthorizationProviderChain providerChain = ClientAuthorizationProviderChain.ofLazyProviders(
+                () -> {
+                    throw new RequestProviderException("unreadable credentials file");
+                },
+                () -> null,
+                () -> fromIniFile);
+
+        verifyExpected(providerChain, fromIniFile);
+    }
+
     protected void verifyExpected(ClientAuthorizationProviderChain providerChain, ClientAuthorizationRequestProvider
                                   clientAuthorizationRequestProvider) {
 
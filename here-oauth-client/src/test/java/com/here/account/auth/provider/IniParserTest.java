@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2026 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.here.account.auth.provider;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.apache.commons.configuration2.INIConfiguration;
+import org.apache.commons.configuration2.SubnodeConfiguration;
+import org.apache.commons.configuration2.ex.ConfigurationException;
+import org.junit.Test;
+
+/**
+ * Differential tests of {@link IniParser} against the commons-configuration INIConfiguration
+ * it replaced.
+ */
+public class IniParserTest {
+
+    private static final String[] INI_FILES = {
+            "[default]\n"
+                    + "here.user.id = HERE-user\n"
+                    + "here.client.id = client\n"
+                    + "here.access.key.id = key\n"
+                    + "here.access.key.secret = secret\n"
+                    + "here.token.endpoint.url = https://account.api.here.com/oauth2/token\n",
+            "; comment\n# comment\n[default]\nkey=value\n\n[other]\nkey=other\n",
+            "[other]\nkey=other\n[default]\nkey=value\n",
+            "[default]\nkey : value\nkey2=a=b\n",
+            "[default]\nkey = \"quoted ; value\"\nkey2 = 'single # quoted'\n",
+            "[default]\nkey = \"escaped \\\" quote\"\n",
+            "[default]\nkey = value ; inline comment\nkey2 = value#notacomment\n",
+            "[default]\n   key   =   padded value   \n",
+            "[default]\nkey = line1 \\\n  line2\n",
+            "[default]\nkey = first\nkey = second\n",
+            "[default]\nkey = value\n[default]\nkey2 = value2\n",
+            "[default]\nempty =\n",
+            "key = global\n[default]\nkey = value\n",
+            "[default]\nhere..token..endpoint..url = dotted\n",
+            "",
+    };
+
+    private static Map<String, String> readWithIniConfiguration(String ini, String sectionName)
+            throws ConfigurationException, IOException {
+        INIConfiguration iniConfiguration = new INIConfiguration();
+        iniConfiguration.read(new StringReader(ini));
+        SubnodeConfiguration section = iniConfiguration.getSection(sectionName);
+        Map<String, String> map = new LinkedHashMap<String, String>();
+        Iterator<String> keys = section.getKeys();
+        while (keys.hasNext()) {
+            String key = keys.next();
+            map.put(key.replaceAll("\\.+", "."), section.getString(key));
+        }
+        return map;
+    }
+
+    private static Map<String, String> readWithIniParser(String ini, String sectionName) throws IOException {
+        Map<String, String> map = new LinkedHashMap<String, String>();
+        for (Map.Entry<String, String> entry : IniParser.readSection(new StringReader(ini), sectionName).entrySet()) {
+            map.put(entry.getKey().replaceAll("\\.+", "."), entry.getValue());
+        }
+        return map;
+    }
+
+    @Test
+    public void test_sameAsIniConfiguration() throws ConfigurationException, IOException {
+        for (String ini : INI_FILES) {
+            assertEquals(ini, readWithIniConfiguration(ini, "default"), readWithIniParser(ini, "default"));
+        }
+    }
+
+    @Test
+    public void test_values() throws IOException {
+        assertEquals("quoted ; value",
+                IniParser.readSection(new StringReader(INI_FILES[4]), "default").get("key"));
+        assertEquals("escaped \" quote",
+                IniParser.readSection(new StringReader(INI_FILES[5]), "default").get("key"));
+        assertEquals("line1\nline2",
+                IniParser.readSection(new StringReader(INI_FILES[8]), "default").get("key"));
+        assertEquals("first",
+                IniParser.readSection(new StringReader(INI_FILES[9]), "default").get("key"));
+    }
+
+    @Test
+    public void test_missingSection() throws IOException {
+        assertTrue(IniParser.readSection(new StringReader(INI_FILES[1]), "missing").isEmpty());
+    }
+}
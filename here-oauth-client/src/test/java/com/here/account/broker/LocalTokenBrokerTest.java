@@ -0,0 +1,196 @@
+/*
+ * Copyright (c) 2026 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.here.account.broker;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import com.here.account.auth.OAuth1ClientCredentialsProvider;
+import com.here.account.auth.provider.incubator.RunAsIdAuthorizationProvider;
+import com.here.account.http.HttpProvider;
+import com.here.account.http.StubHttpServer;
+import com.here.account.http.java.JavaHttpProvider;
+import com.here.account.oauth2.AccessTokenResponse;
+import com.here.account.oauth2.ClientCredentialsGrantRequest;
+import com.here.account.oauth2.Fresh;
+import com.here.account.oauth2.HereAccessTokenProvider;
+import com.here.account.oauth2.HereAccount;
+import com.here.account.util.MinimalJsonSerializer;
+import com.here.account.util.SettableSystemClock;
+
+public class LocalTokenBrokerTest {
+
+    private StubHttpServer upstream;
+    private HttpProvider httpProvider;
+    private LocalTokenBroker broker;
+
+    @Before
+    public void setUp() throws Exception {
+        upstream = StubHttpServer.startTokenEndpoint();
+        httpProvider = JavaHttpProvider.builder().build();
+        Fresh<AccessTokenResponse> token = HereAccount.getTokenEndpoint(httpProvider,
+                new OAuth1ClientCredentialsProvider(upstream.getUrl("/oauth2/token"), "key", "secret"))
+                .requestAutoRefreshingToken(new ClientCredentialsGrantRequest());
+        broker = LocalTokenBroker.builder()
+                .setPort(0)
+                .addToken(LocalTokenBroker.DEFAULT_PATH, token)
+                .build();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        broker.close();
+        httpProvider.close();
+        upstream.close();
+    }
+
+    private static int get(String url, Map<String, Object>[] json) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
+        int statusCode = connection.getResponseCode();
+        try (InputStream body = statusCode < 400 ? connection.getInputStream() : connection.getErrorStream()) {
+            if (null != json) {
+                json[0] = new MinimalJsonSerializer().jsonToMap(body);
+            }
+        }
+        return statusCode;
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    public void test_runAsIdAuthorizationProvider() throws IOException {
+        try (HereAccessTokenProvider accessTokenProvider = HereAccessTokenProvider.builder()
+                .setHttpProvider(httpProvider)
+                .setClientAuthorizationRequestProvider(new RunAsIdAuthorizationProvider(new SettableSystemClock(),
+                        broker.getUrl(LocalTokenBroker.DEFAULT_PATH)))
+                .setAlwaysRequestNewToken(true)
+                .build()) {
+            assertEquals("stub-access-token", accessTokenProvider.getAccessToken());
+            assertEquals("stub-access-token", accessTokenProvider.getAccessToken());
+        }
+        assertEquals(2, broker.getServedCount());
+        assertEquals(1, upstream.getRequestCount());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void test_expiresIn_remaining() throws IOException {
+        Map<String, Object>[] json = new Map[1];
+        assertEquals(200, get(broker.getUrl(LocalTokenBroker.DEFAULT_PATH), json));
+        assertEquals("stub-access-token", json[0].get("access_token"));
+        assertEquals("bearer", json[0].get("token_type"));
+        long expiresIn = ((Number) json[0].get("expires_in")).longValue();
+        assertTrue("expiresIn " + expiresIn, expiresIn <= 3600L && expiresIn > 3590L);
+    }
+
+    @Test
+    public void test_headers() throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(broker.getUrl(LocalTokenBroker.DEFAULT_PATH))
+                .openConnection();
+        assertEquals(200, connection.getResponseCode());
+        assertEquals("application/json", connection.getHeaderField("Content-Type"));
+        assertEquals("no-store", connection.getHeaderField("Cache-Control"));
+        connection.getInputStream().close();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void test_notFound() throws IOException {
+        Map<String, Object>[] json = new Map[1];
+        assertEquals(404, get(broker.getUrl("/token/other"), json));
+        assertEquals("not_found", json[0].get("error"));
+    }
+
+    @Test
+    public void test_methodNotAllowed() throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(broker.getUrl(LocalTokenBroker.DEFAULT_PATH))
+                .openConnection();
+        connection.setRequestMethod("DELETE");
+        assertEquals(405, connection.getResponseCode());
+        assertEquals("GET", connection.getHeaderField("Allow"));
+    }
+
+    @Test
+    public void test_manyConcurrentClients() throws Exception {
+        final int clients = 32;
+        final int requestsPerClient = 50;
+        ExecutorService executor = Executors.newFixedThreadPool(clients);
+        try {
+            List<Future<Integer>> futures = new ArrayList<>();
+            for (int i = 0; i < clients; i++) {
+                futures.add(executor.submit(() -> {
+                    int succeeded = 0;
+                    for (int j = 0; j < requestsPerClient; j++) {
+                        if (200 == get(broker.getUrl(LocalTokenBroker.DEFAULT_PATH), null)) {
+                            succeeded++;
+                        }
+                    }
+                    return succeeded;
+                }));
+            }
+            int succeeded = 0;
+            for (Future<Integer> future : futures) {
+                succeeded += future.get(60, TimeUnit.SECONDS);
+            }
+            assertEquals(clients * requestsPerClient, succeeded);
+            assertEquals(clients * requestsPerClient, broker.getServedCount());
+            // one upstream token request, however many local clients
+            assertEquals(1, upstream.getRequestCount());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void test_build_portInUse() throws IOException {
+        @SuppressWarnings("unchecked")
+        Fresh<AccessTokenResponse> token = Mockito.mock(Fresh.class);
+        LocalTokenBroker.builder()
+                .setPort(broker.getPort())
+                .addToken(LocalTokenBroker.DEFAULT_PATH, token)
+                .build();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void test_build_noTokens() throws IOException {
+        LocalTokenBroker.builder().setPort(0).build();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_addToken_duplicatePath() {
+        @SuppressWarnings("unchecked")
+        Fresh<AccessTokenResponse> token = Mockito.mock(Fresh.class);
+        LocalTokenBroker.builder()
+                .addToken("/token", token)
+                .addToken("/token", token);
+    }
+}
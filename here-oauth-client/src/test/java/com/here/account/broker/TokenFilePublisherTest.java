@@ -0,0 +1,304 @@
+/*
+ * Copyright (c) 2026 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.here.account.broker;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermission;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.here.account.auth.OAuth1ClientCredentialsProvider;
+import com.here.account.auth.provider.FromRunAsIdFileProvider;
+import com.here.account.http.StubHttpServer;
+import com.here.account.oauth2.AccessTokenResponse;
+import com.here.account.oauth2.FileAccessTokenResponse;
+import com.here.account.oauth2.HereAccessTokenProvider;
+import com.here.account.oauth2.MappedTokenSlot;
+import com.here.account.util.Clock;
+import com.here.account.util.MinimalJsonSerializer;
+import com.here.account.util.SettableSystemClock;
+
+public class TokenFilePublisherTest {
+
+    private static final long REFRESH_MILLIS = 100L;
+
+    private final AtomicInteger tokenNumber = new AtomicInteger();
+    private volatile String accessTokenOverride;
+    private StubHttpServer upstream;
+    private Path dir;
+    private Path path;
+
+    @Before
+    public void setUp() throws IOException {
+        upstream = StubHttpServer.start(exchange -> {
+            if ("HEAD".equals(exchange.getRequestMethod())) {
+                // a connection warm-up, not a token request
+                StubHttpServer.respond(exchange, 200, "");
+                return;
+            }
+            String accessToken = null != accessTokenOverride
+                    ? accessTokenOverride
+                    : "token-" + tokenNumber.incrementAndGet();
+            StubHttpServer.respond(exchange, 200, "{\"access_token\":\"" + accessToken
+                    + "\",\"token_type\":\"bearer\",\"expires_in\":3600}");
+        });
+        dir = Files.createTempDirectory("TokenFilePublisherTest");
+        path = dir.resolve("identity").resolve("access-token");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        upstream.close();
+        try (Stream<Path> paths = Files.walk(dir)) {
+            paths.sorted((a, b) -> b.compareTo(a)).forEach(p -> p.toFile().delete());
+        }
+    }
+
+    /**
+     * A token provider against the stub endpoint that refreshes every {@link #REFRESH_MILLIS}.
+     */
+    private HereAccessTokenProvider fastRefreshingTokenProvider() {
+        Clock clock = new SettableSystemClock() {
+            @Override
+            public void schedule(ScheduledExecutorService scheduledExecutorService,
+                    Runnable runnable, long millisecondsInTheFutureToSchedule) {
+                super.schedule(scheduledExecutorService, runnable, REFRESH_MILLIS);
+            }
+        };
+        return HereAccessTokenProvider.builder()
+                .setClientAuthorizationRequestProvider(new OAuth1ClientCredentialsProvider(
+                        clock, upstream.getUrl("/oauth2/token"), "key", "secret", null))
+                .build();
+    }
+
+    private Map<String, Object> readJson() throws IOException {
+        try (InputStream inputStream = Files.newInputStream(path)) {
+            return new MinimalJsonSerializer().jsonToMap(inputStream);
+        }
+    }
+
+    private List<Path> listDir() throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (Stream<Path> paths = Files.list(path.getParent())) {
+            paths.forEach(files::add);
+        }
+        return files;
+    }
+
+    @Test
+    public void test_endToEnd_fromRunAsIdFileProvider() throws Exception {
+        try (TokenFilePublisher publisher = TokenFilePublisher.builder()
+                    .setTokenProvider(fastRefreshingTokenProvider())
+                    .setPath(path)
+                    .build();
+                HereAccessTokenProvider reader = HereAccessTokenProvider.builder()
+                    .setClientAuthorizationRequestProvider(
+                            new FromRunAsIdFileProvider(new SettableSystemClock(), publisher.getUrl()))
+                    .setAlwaysRequestNewToken(true)
+                    .build()) {
+            // read continuously while the publisher replaces the file underneath
+            int lastSeen = 0;
+            long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(10);
+            while (lastSeen < 5) {
+                if (System.currentTimeMillis() > deadline) {
+                    fail("only saw token-" + lastSeen + " after " + publisher.getPublishedCount() + " publishes");
+                }
+                AccessTokenResponse response = reader.getAccessTokenResponse();
+                String accessToken = response.getAccessToken();
+                assertTrue(accessToken, accessToken.startsWith("token-"));
+                int seen = Integer.parseInt(accessToken.substring("token-".length()));
+                assertTrue("went back from token-" + lastSeen + " to " + accessToken, seen >= lastSeen);
+                lastSeen = seen;
+                long expiresIn = response.getExpiresIn();
+                assertTrue("expiresIn " + expiresIn, expiresIn <= 3600L && expiresIn > 3590L);
+            }
+            // each publish writes the latest token, so the refresh that fetched it may not have published yet
+            while (publisher.getPublishedCount() < 5) {
+                if (System.currentTimeMillis() > deadline) {
+                    fail("saw token-" + lastSeen + " after only " + publisher.getPublishedCount() + " publishes");
+                }
+                Thread.sleep(10L);
+            }
+        }
+        assertEquals("no temporary files left behind", 1, listDir().size());
+    }
+
+    @Test
+    public void test_exp() throws IOException {
+        long beforeSeconds = TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis());
+        try (TokenFilePublisher publisher = TokenFilePublisher.builder()
+                .setTokenProvider(HereAccessTokenProvider.builder()
+                        .setClientAuthorizationRequestProvider(new OAuth1ClientCredentialsProvider(
+                                upstream.getUrl("/oauth2/token"), "key", "secret"))
+                        .build())
+                .setPath(path)
+                .build()) {
+            long afterSeconds = TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis());
+            Map<String, Object> json = readJson();
+            assertEquals("token-1", json.get("access_token"));
+            assertEquals("bearer", json.get("token_type"));
+            long exp = ((Number) json.get("exp")).longValue();
+            assertTrue("exp " + exp, exp >= beforeSeconds + 3599L && exp <= afterSeconds + 3600L);
+            assertEquals(1L, publisher.getPublishedCount());
+        }
+    }
+
+    @Test
+    public void test_exp_jwtClaim() throws IOException {
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        long expClaim = 1234567890L;
+        accessTokenOverride = encoder.encodeToString("{\"alg\":\"RS256\"}".getBytes(StandardCharsets.UTF_8))
+                + "." + encoder.encodeToString(("{\"exp\":" + expClaim + "}").getBytes(StandardCharsets.UTF_8))
+                + ".c2lnbmF0dXJl";
+        try (TokenFilePublisher publisher = TokenFilePublisher.builder()
+                .setTokenProvider(HereAccessTokenProvider.builder()
+                        .setClientAuthorizationRequestProvider(new OAuth1ClientCredentialsProvider(
+                                upstream.getUrl("/oauth2/token"), "key", "secret"))
+                        .build())
+                .setPath(path)
+                .build()) {
+            assertEquals(expClaim, ((Number) readJson().get("exp")).longValue());
+        }
+    }
+
+    @Test
+    public void test_filePermissions() throws IOException {
+        Assume.assumeTrue(null != Files.getFileAttributeView(dir, PosixFileAttributeView.class));
+        try (TokenFilePublisher publisher = TokenFilePublisher.builder()
+                .setTokenProvider(fastRefreshingTokenProvider())
+                .setPath(path)
+                .build()) {
+            assertEquals(EnumSet.of(PosixFilePermission.OWNER_READ, PosixFilePermission.OWNER_WRITE),
+                    Files.getPosixFilePermissions(path));
+        }
+        EnumSet<PosixFilePermission> shared = EnumSet.of(PosixFilePermission.OWNER_READ,
+                PosixFilePermission.OWNER_WRITE, PosixFilePermission.GROUP_READ);
+        try (TokenFilePublisher publisher = TokenFilePublisher.builder()
+                .setTokenProvider(fastRefreshingTokenProvider())
+                .setPath(path)
+                .setFilePermissions(shared)
+                .build()) {
+            assertEquals(shared, Files.getPosixFilePermissions(path));
+        }
+    }
+
+    @Test
+    public void test_close_leavesFile() throws IOException {
+        TokenFilePublisher publisher = TokenFilePublisher.builder()
+                .setTokenProvider(fastRefreshingTokenProvider())
+                .setPath(path)
+                .build();
+        publisher.close();
+        long publishedCount = publisher.getPublishedCount();
+        Map<String, Object> json = readJson();
+        assertTrue(((String) json.get("access_token")).startsWith("token-"));
+        try {
+            Thread.sleep(REFRESH_MILLIS * 3);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        assertEquals("published after close", publishedCount, publisher.getPublishedCount());
+    }
+
+    @Test
+    public void test_slotEnabled() throws IOException {
+        try (TokenFilePublisher publisher = TokenFilePublisher.builder()
+                .setTokenProvider(fastRefreshingTokenProvider())
+                .setPath(path)
+                .setSlotEnabled(true)
+                .build()) {
+            Map<String, Object> json = readJson();
+            FileAccessTokenResponse fromSlot = MappedTokenSlot.openForReading(MappedTokenSlot.getSlotPath(path))
+                    .read();
+            assertTrue(fromSlot.getAccessToken().startsWith("token-"));
+            assertEquals(((Number) json.get("exp")).longValue(), fromSlot.getExp().longValue());
+        }
+    }
+
+    @Test
+    public void test_close_unmapsSlot() throws IOException {
+        TokenFilePublisher publisher = TokenFilePublisher.builder()
+                .setTokenProvider(fastRefreshingTokenProvider())
+                .setPath(path)
+                .setSlotEnabled(true)
+                .build();
+        publisher.close();
+        // the slot file is left in place, with the last token
+        FileAccessTokenResponse fromSlot = MappedTokenSlot.openForReading(MappedTokenSlot.getSlotPath(path))
+                .read();
+        assertTrue(fromSlot.getAccessToken().startsWith("token-"));
+        // and no longer mapped for writing, so it can be deleted everywhere
+        Files.delete(MappedTokenSlot.getSlotPath(path));
+    }
+
+    @Test
+    public void test_firstPublishFails_unmapsSlot() throws IOException {
+        Path maps = Paths.get("/proc/self/maps");
+        Assume.assumeTrue(Files.isReadable(maps));
+        // a non-empty directory where the token file should be cannot be replaced
+        Files.createDirectories(path.resolve("occupied"));
+        try (HereAccessTokenProvider tokenProvider = fastRefreshingTokenProvider()) {
+            TokenFilePublisher.builder()
+                    .setTokenProvider(tokenProvider)
+                    .setPath(path)
+                    .setSlotEnabled(true)
+                    .build();
+            fail("published over a directory");
+        } catch (IOException e) {
+            // expected
+        }
+        Path slotPath = MappedTokenSlot.getSlotPath(path).toRealPath();
+        String mappings = new String(Files.readAllBytes(maps), StandardCharsets.UTF_8);
+        assertFalse("slot still mapped", mappings.contains(slotPath.toString()));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void test_alwaysRequestNewToken() throws IOException {
+        try (HereAccessTokenProvider tokenProvider = HereAccessTokenProvider.builder()
+                .setClientAuthorizationRequestProvider(new OAuth1ClientCredentialsProvider(
+                        upstream.getUrl("/oauth2/token"), "key", "secret"))
+                .setAlwaysRequestNewToken(true)
+                .build()) {
+            TokenFilePublisher.builder()
+                    .setTokenProvider(tokenProvider)
+                    .setPath(path)
+                    .build();
+        }
+    }
+}
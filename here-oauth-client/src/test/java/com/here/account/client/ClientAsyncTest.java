@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2026 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.here.account.client;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.here.account.auth.NoAuthorizer;
+import com.here.account.http.HttpProvider;
+import com.here.account.http.StubHttpServer;
+import com.here.account.http.asynchttpclient.AsyncHttpClientProvider;
+import com.here.account.http.java.JavaHttpProvider;
+import com.here.account.oauth2.AccessTokenException;
+import com.here.account.oauth2.AccessTokenResponse;
+import com.here.account.oauth2.ErrorResponse;
+import com.here.account.oauth2.retry.Socket5xxExponentialRandomBackoffPolicy;
+import com.here.account.util.JacksonSerializer;
+import com.here.account.util.VirtualThreads;
+
+public class ClientAsyncTest {
+
+    private static final int CONCURRENT_REQUESTS = 20;
+
+    private final CountDownLatch allArrived = new CountDownLatch(CONCURRENT_REQUESTS);
+    private final AtomicInteger flakyCount = new AtomicInteger();
+
+    private StubHttpServer server;
+    private HttpProvider httpProvider;
+
+    @Before
+    public void setUp() throws IOException {
+        server = StubHttpServer.start(exchange -> {
+            String path = exchange.getRequestURI().getPath();
+            if (path.startsWith("/together")) {
+                // every request must be on the wire at once for any of them to complete
+                allArrived.countDown();
+                try {
+                    allArrived.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            if (path.startsWith("/bad")) {
+                StubHttpServer.respond(exchange, 401, "{\"error\":\"invalid_client\",\"errorCode\":401300}");
+            } else if (path.startsWith("/flaky") && flakyCount.incrementAndGet() <= 2) {
+                StubHttpServer.respond(exchange, 503, "{\"error\":\"unavailable\",\"errorCode\":503000}");
+            } else {
+                StubHttpServer.respond(exchange, 200, StubHttpServer.ACCESS_TOKEN_JSON);
+            }
+        }, CONCURRENT_REQUESTS + 4);
+        httpProvider = JavaHttpProvider.builder().build();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        httpProvider.close();
+        server.close();
+    }
+
+    private CompletableFuture<AccessTokenResponse> sendAsync(Client client, String path) {
+        return client.sendMessageAsync(
+                () -> httpProvider.getRequest(client.getClientAuthorizer(), "GET", server.getUrl(path), (String) null),
+                AccessTokenResponse.class, ErrorResponse.class,
+                AccessTokenException::new);
+    }
+
+    private Client.Builder clientBuilder() {
+        return Client.builder()
+                .withHttpProvider(httpProvider)
+                .withSerializer(new JacksonSerializer())
+                .withClientAuthorizer(new NoAuthorizer());
+    }
+
+    @Test
+    public void test_sendMessageAsync_defaultExecutor() throws Exception {
+        AccessTokenResponse response = sendAsync(clientBuilder().build(), "/oauth2/token")
+                .get(10, TimeUnit.SECONDS);
+        assertEquals("stub-access-token", response.getAccessToken());
+    }
+
+    @Test
+    public void test_sendMessageAsync_executor() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor(r -> new Thread(r, "test-client-executor"));
+        try {
+            Client client = clientBuilder().withExecutor(executor).build();
+            String threadName = sendAsync(client, "/oauth2/token")
+                    .thenApply(response -> Thread.currentThread().getName())
+                    .get(10, TimeUnit.SECONDS);
+            assertEquals("test-client-executor", threadName);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void test_sendMessageAsync_error() throws Exception {
+        try {
+            sendAsync(clientBuilder().build(), "/bad/oauth2/token").get(10, TimeUnit.SECONDS);
+            fail("expected AccessTokenException");
+        } catch (ExecutionException e) {
+            AccessTokenException cause = (AccessTokenException) e.getCause();
+            assertEquals(401, cause.getStatusCode());
+        }
+    }
+
+    @Test
+    public void test_sendMessageAsync_asyncHttpProvider_nonBlocking() throws Exception {
+        httpProvider.close();
+        httpProvider = AsyncHttpClientProvider.builder().setIoThreads(1).build();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            // one Client thread and one I/O thread, yet every request is in flight at once
+            Client client = clientBuilder().withExecutor(executor).build();
+            List<CompletableFuture<AccessTokenResponse>> futures = new ArrayList<>();
+            for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+                futures.add(sendAsync(client, "/together/oauth2/token"));
+            }
+            for (CompletableFuture<AccessTokenResponse> future : futures) {
+                assertEquals("stub-access-token", future.get(10, TimeUnit.SECONDS).getAccessToken());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void test_sendMessageAsync_asyncHttpProvider_retries() throws Exception {
+        httpProvider.close();
+        httpProvider = AsyncHttpClientProvider.builder().build();
+        Client client = clientBuilder()
+                .withRetryPolicy(new Socket5xxExponentialRandomBackoffPolicy(3, 1))
+                .build();
+        AccessTokenResponse response = sendAsync(client, "/flaky/oauth2/token").get(10, TimeUnit.SECONDS);
+        assertEquals("stub-access-token", response.getAccessToken());
+        assertEquals(3, server.getRequestCount());
+    }
+
+    @Test
+    public void test_sendMessageAsync_asyncHttpProvider_error() throws Exception {
+        httpProvider.close();
+        httpProvider = AsyncHttpClientProvider.builder().build();
+        try {
+            sendAsync(clientBuilder().build(), "/bad/oauth2/token").get(10, TimeUnit.SECONDS);
+            fail("expected AccessTokenException");
+        } catch (ExecutionException e) {
+            AccessTokenException cause = (AccessTokenException) e.getCause();
+            assertEquals(401, cause.getStatusCode());
+        }
+    }
+
+    @Test
+    public void test_virtualThreadBenchmark() throws Exception {
+        Assume.assumeTrue(VirtualThreads.isAvailable());
+        Properties results = new VirtualThreadBenchmark().run(1000);
+        assertEquals("1000", results.getProperty("succeeded"));
+        int peakPlatformThreads = Integer.parseInt(results.getProperty("peakPlatformThreads"));
+        assertTrue(results.toString(), peakPlatformThreads < 1000);
+    }
+}
@@ -19,6 +19,7 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import com.here.account.http.HttpConstants;
 import com.here.account.http.HttpException;
 import com.here.account.http.HttpProvider;
+import com.here.account.http.RequestTemplate;
 import com.here.account.oauth2.AccessTokenException;
 import com.here.account.oauth2.ErrorResponse;
 import com.here.account.oauth2.RequestExecutionException;
@@ -31,6 +32,7 @@ import com.here.account.util.Serializer;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 
 import java.io.*;
@@ -136,7 +138,8 @@ public class ClientTest {
         Mockito.when(mockHttpResponse.getStatusCode()).thenReturn(200);
         Mockito.when(mockHttpResponse.getHeaders()).thenReturn(createMockResponseHeader());
         Mockito.when(mockHttpProvider.execute(mockHttpRequest)).thenReturn(mockHttpResponse);
-        Mockito.when(mockHttpProvider.getRequest(Mockito.any(HttpProvider.HttpRequestAuthorizer.class), anyString(), anyString(), anyString()))
+        Mockito.when(mockHttpProvider.getRequest(Mockito.any(HttpProvider.HttpRequestAuthorizer.class),
+                Mockito.any(RequestTemplate.class), Mockito.anyString()))
                 .thenReturn(mockHttpRequest);
     }
 
@@ -232,6 +235,27 @@ public class ClientTest {
         assertTrue(expectedResponseObject.getCorrelationId().equals(actualResponse.getCorrelationId()));
     }
 
+    @Test
+    public void test_sendMessage1_requestTemplateCached() throws IOException {
+        Mockito.when(mockHttpResponse.getStatusCode()).thenReturn(201);
+        String responseString = serializer.objectToJson(expectedResponseObject);
+        Mockito.when(mockHttpResponse.getResponseBody()).thenAnswer(
+                invocation -> new ByteArrayInputStream(responseString.getBytes("UTF-8")));
+        Client client = Client.builder().withHttpProvider(mockHttpProvider).withSerializer(serializer)
+                .withClientAuthorizer(mockHttpRequestAuthorizer).build();
+        for (int i = 0; i < 2; i++) {
+            client.sendMessage("POST", "http://test.com/path?a=b", null, FakeResponse.class, ErrorResponse.class,
+                    (statusCode, errorResponse) -> new AccessTokenException(statusCode, errorResponse));
+        }
+        ArgumentCaptor<RequestTemplate> requestTemplates = ArgumentCaptor.forClass(RequestTemplate.class);
+        Mockito.verify(mockHttpProvider, Mockito.times(2)).getRequest(Mockito.eq(mockHttpRequestAuthorizer),
+                requestTemplates.capture(), Mockito.isNull(String.class));
+        RequestTemplate requestTemplate = requestTemplates.getAllValues().get(0);
+        Assert.assertSame(requestTemplate, requestTemplates.getAllValues().get(1));
+        Assert.assertEquals("POST", requestTemplate.getMethod());
+        Assert.assertEquals("http://test.com/path", requestTemplate.getBaseUrl());
+    }
+
     @Test
     public void test_getClientAuthorizer() {
         Mockito.when(mockHttpResponse.getStatusCode()).thenReturn(201);
@@ -0,0 +1,541 @@
+/*
+ * Copyright (c) 2026 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.here.account.client;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import com.here.account.auth.NoAuthorizer;
+import com.here.account.http.Deadline;
+import com.here.account.http.HttpException;
+import com.here.account.http.HttpProvider;
+import com.here.account.http.StubHttpServer;
+import com.here.account.oauth2.AccessTokenException;
+import com.here.account.oauth2.AccessTokenResponse;
+import com.here.account.oauth2.ErrorResponse;
+import com.here.account.oauth2.RequestExecutionException;
+import com.here.account.util.JacksonSerializer;
+
+public class ConcurrencyLimiterTest {
+
+    private static final String URL = "http://localhost:1/oauth2/token";
+
+    /**
+     * A simulated server that serves at most capacity requests at once, each taking serviceMillis;
+     * the rest queue, so their latency grows with the number in flight.
+     * Optionally the requests, or the reading of their response bodies, block until released.
+     */
+    private static class SimulatedHttpProvider implements HttpProvider {
+        private final Semaphore capacity;
+        private final long serviceMillis;
+        private volatile int statusCode = 200;
+        private volatile CountDownLatch blocked;
+        private volatile CountDownLatch bodyBlocked;
+        private final AtomicInteger executed = new AtomicInteger();
+
+        private SimulatedHttpProvider(int capacity, long serviceMillis) {
+            this.capacity = new Semaphore(capacity, true);
+            this.serviceMillis = serviceMillis;
+        }
+
+        @Override
+        public HttpRequest getRequest(HttpRequestAuthorizer httpRequestAuthorizer, String method, String url,
+                String requestBodyJson) {
+            return new SimulatedHttpRequest(url);
+        }
+
+        @Override
+        public HttpRequest getRequest(HttpRequestAuthorizer httpRequestAuthorizer, String method, String url,
+                Map<String, List<String>> formParams) {
+            return new SimulatedHttpRequest(url);
+        }
+
+        @Override
+        public HttpResponse execute(HttpRequest httpRequest) throws HttpException, IOException {
+            executed.incrementAndGet();
+            try {
+                CountDownLatch blocked = this.blocked;
+                if (null != blocked) {
+                    blocked.await();
+                }
+                capacity.acquire();
+                try {
+                    Thread.sleep(serviceMillis);
+                } finally {
+                    capacity.release();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException(e);
+            }
+            int statusCode = this.statusCode;
+            CountDownLatch bodyBlocked = this.bodyBlocked;
+            return new HttpResponse() {
+                @Override
+                public int getStatusCode() {
+                    return statusCode;
+                }
+
+                @Override
+                public long getContentLength() {
+                    return -1L;
+                }
+
+                @Override
+                public InputStream getResponseBody() {
+                    InputStream body = new ByteArrayInputStream((200 == statusCode
+                            ? StubHttpServer.ACCESS_TOKEN_JSON
+                            : "{\"error\":\"too_many_requests\"}").getBytes(StandardCharsets.UTF_8));
+                    if (null == bodyBlocked) {
+                        return body;
+                    }
+                    return new FilterInputStream(body) {
+                        @Override
+                        public int read(byte[] b, int off, int len) throws IOException {
+                            try {
+                                bodyBlocked.await();
+                            } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                                throw new IOException(e);
+                            }
+                            return super.read(b, off, len);
+                        }
+                    };
+                }
+            };
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    private static class SimulatedHttpRequest implements HttpProvider.HttpRequest {
+        private final String url;
+
+        private SimulatedHttpRequest(String url) {
+            this.url = url;
+        }
+
+        @Override
+        public void addAuthorizationHeader(String value) {
+        }
+
+        @Override
+        public String getUrl() {
+            return url;
+        }
+    }
+
+    private static Client newClient(HttpProvider httpProvider, ConcurrencyLimiter concurrencyLimiter) {
+        return Client.builder()
+                .withHttpProvider(httpProvider)
+                .withSerializer(new JacksonSerializer())
+                .withClientAuthorizer(new NoAuthorizer())
+                .withConcurrencyLimiter(concurrencyLimiter)
+                .build();
+    }
+
+    private static AccessTokenResponse send(Client client, HttpProvider httpProvider, String url) {
+        return client.sendMessage(httpProvider.getRequest(client.getClientAuthorizer(), "POST", url, (String) null),
+                AccessTokenResponse.class, ErrorResponse.class, AccessTokenException::new);
+    }
+
+    /**
+     * Sends requests from many threads for a while, and returns the limit at the end.
+     */
+    private static int runLoad(ConcurrencyLimiter concurrencyLimiter, SimulatedHttpProvider httpProvider,
+            int threads, long durationMillis) throws Exception {
+        Client client = newClient(httpProvider, concurrencyLimiter);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            long endNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(durationMillis);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    while (System.nanoTime() < endNanos) {
+                        try {
+                            send(client, httpProvider, URL);
+                        } catch (ConcurrencyLimitExceededException e) {
+                            // expected under overload
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(durationMillis + 10000L, TimeUnit.MILLISECONDS);
+            }
+            return concurrencyLimiter.getLimit();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * The limit settles a few requests above the server's capacity, as the limiter allows a small queue;
+     * the bounds leave room for sleep jitter on a busy machine.
+     */
+    private static void assertConverged(int capacity, int limit) {
+        assertTrue("limit " + limit, limit >= capacity / 2 && limit <= 4 * capacity);
+    }
+
+    @Test
+    public void test_convergence_fromAbove() throws Exception {
+        int capacity = 10;
+        ConcurrencyLimiter concurrencyLimiter = ConcurrencyLimiter.builder()
+                .setInitialLimit(60)
+                .setMaxWaitMillis(1000L)
+                .build();
+        int limit = runLoad(concurrencyLimiter, new SimulatedHttpProvider(capacity, 5L), 40, 2000L);
+        assertConverged(capacity, limit);
+        assertEquals(0, concurrencyLimiter.getInFlight());
+    }
+
+    @Test
+    public void test_convergence_fromBelow() throws Exception {
+        int capacity = 10;
+        ConcurrencyLimiter concurrencyLimiter = ConcurrencyLimiter.builder()
+                .setInitialLimit(1)
+                .setMaxWaitMillis(1000L)
+                .build();
+        int limit = runLoad(concurrencyLimiter, new SimulatedHttpProvider(capacity, 5L), 40, 2000L);
+        assertConverged(capacity, limit);
+    }
+
+    @Test
+    public void test_failFast() throws Exception {
+        SimulatedHttpProvider httpProvider = new SimulatedHttpProvider(10, 1L);
+        httpProvider.blocked = new CountDownLatch(1);
+        ConcurrencyLimiter concurrencyLimiter = ConcurrencyLimiter.builder()
+                .setInitialLimit(2)
+                .build();
+        Client client = newClient(httpProvider, concurrencyLimiter);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            List<Future<AccessTokenResponse>> futures = new ArrayList<>();
+            for (int i = 0; i < 2; i++) {
+                futures.add(executor.submit(() -> send(client, httpProvider, URL)));
+            }
+            while (concurrencyLimiter.getInFlight() < 2) {
+                Thread.sleep(1L);
+            }
+            assertEquals(2, concurrencyLimiter.getInFlight(URL));
+            try {
+                send(client, httpProvider, URL);
+                fail("expected ConcurrencyLimitExceededException");
+            } catch (ConcurrencyLimitExceededException e) {
+                assertEquals(2, e.getLimit());
+            }
+            assertEquals(1L, concurrencyLimiter.getRejectedCount());
+            assertEquals("the rejected request is not sent", 2, httpProvider.executed.get());
+
+            httpProvider.blocked.countDown();
+            for (Future<AccessTokenResponse> future : futures) {
+                assertEquals("stub-access-token", future.get(10, TimeUnit.SECONDS).getAccessToken());
+            }
+            assertEquals(0, concurrencyLimiter.getInFlight());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void test_inFlightWhileBodyStreams() throws Exception {
+        SimulatedHttpProvider httpProvider = new SimulatedHttpProvider(10, 1L);
+        httpProvider.bodyBlocked = new CountDownLatch(1);
+        ConcurrencyLimiter concurrencyLimiter = ConcurrencyLimiter.builder()
+                .setInitialLimit(1)
+                .build();
+        Client client = newClient(httpProvider, concurrencyLimiter);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<AccessTokenResponse> future = executor.submit(() -> send(client, httpProvider, URL));
+            long stopMillis = System.currentTimeMillis() + 5000L;
+            while (httpProvider.executed.get() < 1 && System.currentTimeMillis() < stopMillis) {
+                Thread.sleep(1L);
+            }
+            Thread.sleep(50L);
+            assertEquals("the response is still streaming", 1, concurrencyLimiter.getInFlight());
+            try {
+                send(client, httpProvider, URL);
+                fail("expected ConcurrencyLimitExceededException");
+            } catch (ConcurrencyLimitExceededException e) {
+                assertEquals(1, e.getLimit());
+            }
+
+            httpProvider.bodyBlocked.countDown();
+            assertEquals("stub-access-token", future.get(10, TimeUnit.SECONDS).getAccessToken());
+            assertEquals(0, concurrencyLimiter.getInFlight());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void test_boundedWait() throws Exception {
+        SimulatedHttpProvider httpProvider = new SimulatedHttpProvider(10, 1L);
+        httpProvider.blocked = new CountDownLatch(1);
+        ConcurrencyLimiter concurrencyLimiter = ConcurrencyLimiter.builder()
+                .setInitialLimit(1)
+                .setLimitBounds(1, 1)
+                .setMaxWaitMillis(10000L)
+                .build();
+        Client client = newClient(httpProvider, concurrencyLimiter);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<AccessTokenResponse> first = executor.submit(() -> send(client, httpProvider, URL));
+            while (concurrencyLimiter.getInFlight() < 1) {
+                Thread.sleep(1L);
+            }
+            Future<AccessTokenResponse> second = executor.submit(() -> send(client, httpProvider, URL));
+            Thread.sleep(50L);
+            assertEquals("the second request waits for the first", 1, httpProvider.executed.get());
+
+            httpProvider.blocked.countDown();
+            assertEquals("stub-access-token", first.get(10, TimeUnit.SECONDS).getAccessToken());
+            assertEquals("stub-access-token", second.get(10, TimeUnit.SECONDS).getAccessToken());
+            assertEquals(0L, concurrencyLimiter.getRejectedCount());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void test_boundedWait_deadline() throws Exception {
+        SimulatedHttpProvider httpProvider = new SimulatedHttpProvider(10, 1L);
+        httpProvider.blocked = new CountDownLatch(1);
+        ConcurrencyLimiter concurrencyLimiter = ConcurrencyLimiter.builder()
+                .setInitialLimit(1)
+                .setLimitBounds(1, 1)
+                .setMaxWaitMillis(60000L)
+                .build();
+        Client client = newClient(httpProvider, concurrencyLimiter);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<AccessTokenResponse> first = executor.submit(() -> send(client, httpProvider, URL));
+            while (concurrencyLimiter.getInFlight() < 1) {
+                Thread.sleep(1L);
+            }
+            long startNanos = System.nanoTime();
+            try {
+                client.sendMessage(() -> httpProvider.getRequest(client.getClientAuthorizer(), "POST", URL,
+                        (String) null), AccessTokenResponse.class, ErrorResponse.class,
+                        AccessTokenException::new, Deadline.after(100L, TimeUnit.MILLISECONDS));
+                fail("expected ConcurrencyLimitExceededException");
+            } catch (ConcurrencyLimitExceededException e) {
+                long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+                assertTrue("waited " + elapsedMillis, elapsedMillis < 10000L);
+            }
+            httpProvider.blocked.countDown();
+            first.get(10, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void test_boundedWait_interrupted() throws Exception {
+        SimulatedHttpProvider httpProvider = new SimulatedHttpProvider(10, 1L);
+        httpProvider.blocked = new CountDownLatch(1);
+        ConcurrencyLimiter concurrencyLimiter = ConcurrencyLimiter.builder()
+                .setInitialLimit(1)
+                .setLimitBounds(1, 1)
+                .setMaxWaitMillis(60000L)
+                .build();
+        Client client = newClient(httpProvider, concurrencyLimiter);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<AccessTokenResponse> first = executor.submit(() -> send(client, httpProvider, URL));
+            while (concurrencyLimiter.getInFlight() < 1) {
+                Thread.sleep(1L);
+            }
+            Thread mainThread = Thread.currentThread();
+            executor.submit(() -> {
+                Thread.sleep(50L);
+                mainThread.interrupt();
+                return null;
+            });
+            try {
+                send(client, httpProvider, URL);
+                fail("expected RequestExecutionException");
+            } catch (ConcurrencyLimitExceededException e) {
+                fail("an interrupt is not a rejection: " + e);
+            } catch (RequestExecutionException e) {
+                assertTrue(String.valueOf(e.getCause()), e.getCause() instanceof InterruptedIOException);
+                assertTrue("interrupt flag restored", Thread.interrupted());
+            }
+            assertEquals(0L, concurrencyLimiter.getRejectedCount());
+            httpProvider.blocked.countDown();
+            first.get(10, TimeUnit.SECONDS);
+        } finally {
+            Thread.interrupted();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void test_partitionByEndpoint_bounded() throws Exception {
+        SimulatedHttpProvider httpProvider = new SimulatedHttpProvider(10, 0L);
+        ConcurrencyLimiter concurrencyLimiter = ConcurrencyLimiter.builder()
+                .setPartitionByEndpoint(true)
+                .build();
+        Client client = newClient(httpProvider, concurrencyLimiter);
+        for (int i = 0; i <= ConcurrencyLimiter.MAX_PARTITIONS; i++) {
+            send(client, httpProvider, "http://host-" + i + ".example.com/api");
+            assertTrue(concurrencyLimiter.getPartitionCount() <= ConcurrencyLimiter.MAX_PARTITIONS);
+        }
+        // idle endpoints were forgotten to make room, so new endpoints still get a limit of their own
+        assertTrue(concurrencyLimiter.getPartitionCount() < ConcurrencyLimiter.MAX_PARTITIONS);
+        assertEquals(0, concurrencyLimiter.getInFlight());
+    }
+
+    @Test
+    public void test_partitionByEndpoint() throws Exception {
+        SimulatedHttpProvider httpProvider = new SimulatedHttpProvider(10, 1L);
+        httpProvider.blocked = new CountDownLatch(1);
+        ConcurrencyLimiter concurrencyLimiter = ConcurrencyLimiter.builder()
+                .setInitialLimit(1)
+                .setPartitionByEndpoint(true)
+                .build();
+        Client client = newClient(httpProvider, concurrencyLimiter);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            String slowUrl = "http://slow.example.com/api";
+            String otherUrl = "http://other.example.com:8080/api?q=1";
+            Future<AccessTokenResponse> slow = executor.submit(() -> send(client, httpProvider, slowUrl));
+            while (concurrencyLimiter.getInFlight(slowUrl) < 1) {
+                Thread.sleep(1L);
+            }
+            try {
+                send(client, httpProvider, "HTTP://SLOW.example.com/other");
+                fail("expected ConcurrencyLimitExceededException");
+            } catch (ConcurrencyLimitExceededException e) {
+                assertTrue(e.getMessage(), e.getMessage().contains("http://slow.example.com"));
+            }
+            Future<AccessTokenResponse> other = executor.submit(() -> send(client, httpProvider, otherUrl));
+            while (concurrencyLimiter.getInFlight(otherUrl) < 1) {
+                Thread.sleep(1L);
+            }
+            assertEquals(1, concurrencyLimiter.getInFlight("http://other.example.com:8080"));
+            assertEquals(2, concurrencyLimiter.getInFlight());
+
+            httpProvider.blocked.countDown();
+            slow.get(10, TimeUnit.SECONDS);
+            other.get(10, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void test_overloaded_decreasesLimit() throws Exception {
+        SimulatedHttpProvider httpProvider = new SimulatedHttpProvider(10, 0L);
+        httpProvider.statusCode = 503;
+        ConcurrencyLimiter concurrencyLimiter = ConcurrencyLimiter.builder()
+                .setInitialLimit(20)
+                .setLimitBounds(5, 200)
+                .build();
+        Client client = newClient(httpProvider, concurrencyLimiter);
+        for (int i = 0; i < 3; i++) {
+            try {
+                send(client, httpProvider, URL);
+                fail("expected AccessTokenException");
+            } catch (AccessTokenException e) {
+                assertEquals(503, e.getStatusCode());
+            }
+        }
+        // 20 * 0.9 * 0.9 * 0.9
+        assertEquals(14, concurrencyLimiter.getLimit());
+        for (int i = 0; i < 30; i++) {
+            try {
+                send(client, httpProvider, URL);
+            } catch (AccessTokenException e) {
+                // expected
+            }
+        }
+        assertEquals("limit stays within its bounds", 5, concurrencyLimiter.getLimit());
+    }
+
+    @Test
+    public void test_ioException_decreasesLimit() throws Exception {
+        ConcurrencyLimiter concurrencyLimiter = ConcurrencyLimiter.builder().build();
+        SimulatedHttpProvider httpProvider = new SimulatedHttpProvider(10, 0L) {
+            @Override
+            public HttpResponse execute(HttpRequest httpRequest) throws IOException {
+                throw new IOException("connection reset");
+            }
+        };
+        Client client = newClient(httpProvider, concurrencyLimiter);
+        try {
+            send(client, httpProvider, URL);
+            fail("expected RequestExecutionException");
+        } catch (RuntimeException e) {
+            assertTrue(e.getCause() instanceof IOException);
+        }
+        assertEquals(18, concurrencyLimiter.getLimit());
+        assertEquals(0, concurrencyLimiter.getInFlight());
+    }
+
+    @Test
+    public void test_defaults() {
+        ConcurrencyLimiter concurrencyLimiter = ConcurrencyLimiter.builder().build();
+        assertEquals(ConcurrencyLimiter.DEFAULT_INITIAL_LIMIT, concurrencyLimiter.getLimit());
+        assertEquals(ConcurrencyLimiter.DEFAULT_INITIAL_LIMIT, concurrencyLimiter.getLimit("http://example.com"));
+        assertEquals(0, concurrencyLimiter.getInFlight());
+        assertEquals(0L, concurrencyLimiter.getRejectedCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_setInitialLimit_zero() {
+        ConcurrencyLimiter.builder().setInitialLimit(0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_setLimitBounds_inverted() {
+        ConcurrencyLimiter.builder().setLimitBounds(10, 5);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_setMaxWaitMillis_negative() {
+        ConcurrencyLimiter.builder().setMaxWaitMillis(-1L);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void test_build_initialLimitOutOfBounds() {
+        ConcurrencyLimiter.builder().setLimitBounds(1, 10).build();
+    }
+}
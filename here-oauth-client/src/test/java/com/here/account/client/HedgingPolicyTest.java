@@ -0,0 +1,254 @@
+/*
+ * Copyright (c) 2026 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.here.account.client;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.here.account.auth.OAuth1ClientCredentialsProvider;
+import com.here.account.http.HttpConstants;
+import com.here.account.http.HttpProvider;
+import com.here.account.http.StubHttpServer;
+import com.here.account.http.java.JavaHttpProvider;
+import com.here.account.oauth2.HereAccessTokenProvider;
+
+public class HedgingPolicyTest {
+
+    private StubHttpServer server;
+    private HttpProvider httpProvider;
+
+    @After
+    public void tearDown() throws IOException {
+        if (null != httpProvider) {
+            httpProvider.close();
+        }
+        if (null != server) {
+            server.close();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private HereAccessTokenProvider newProvider(HedgingPolicy hedgingPolicy) {
+        httpProvider = JavaHttpProvider.builder().build();
+        return HereAccessTokenProvider.builder()
+                .setHttpProvider(httpProvider)
+                .setClientAuthorizationRequestProvider(new OAuth1ClientCredentialsProvider(
+                        server.getUrl("/oauth2/token"), "key", "secret"))
+                .setAlwaysRequestNewToken(true)
+                .setHedgingPolicy(hedgingPolicy)
+                .build();
+    }
+
+    @Test
+    public void test_slowFirstAttempt_hedgeWins() throws IOException {
+        AtomicInteger requests = new AtomicInteger();
+        Set<String> authorizations = ConcurrentHashMap.newKeySet();
+        CountDownLatch slowDone = new CountDownLatch(1);
+        server = StubHttpServer.start(exchange -> {
+            authorizations.add(exchange.getRequestHeaders().getFirst(HttpConstants.AUTHORIZATION_HEADER));
+            if (1 == requests.incrementAndGet()) {
+                // injected tail latency
+                sleep(2000);
+                slowDone.countDown();
+            }
+            StubHttpServer.respond(exchange, 200, StubHttpServer.ACCESS_TOKEN_JSON);
+        });
+        HedgingPolicy hedgingPolicy = HedgingPolicy.builder()
+                .setInitialDelayMillis(100)
+                .setMaxHedgeRatio(1.0)
+                .build();
+        try (HereAccessTokenProvider provider = newProvider(hedgingPolicy)) {
+            long startNanos = System.nanoTime();
+            assertEquals("stub-access-token", provider.getAccessToken());
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+            assertTrue("elapsedMillis " + elapsedMillis, elapsedMillis < 1500);
+        }
+        assertEquals(2, requests.get());
+        // each attempt is signed separately
+        assertEquals(2, authorizations.size());
+        assertEquals(1, hedgingPolicy.getRequestCount());
+        assertEquals(1, hedgingPolicy.getHedgeCount());
+        assertEquals(1, hedgingPolicy.getHedgeWinCount());
+    }
+
+    @Test
+    public void test_fastAttempt_noHedge() throws IOException {
+        server = StubHttpServer.startTokenEndpoint();
+        HedgingPolicy hedgingPolicy = HedgingPolicy.builder()
+                .setInitialDelayMillis(1000)
+                .setMaxHedgeRatio(1.0)
+                .build();
+        try (HereAccessTokenProvider provider = newProvider(hedgingPolicy)) {
+            for (int i = 0; i < 5; i++) {
+                assertEquals("stub-access-token", provider.getAccessToken());
+            }
+        }
+        assertEquals(5, server.getRequestCount());
+        assertEquals(5, hedgingPolicy.getRequestCount());
+        assertEquals(0, hedgingPolicy.getHedgeCount());
+    }
+
+    @Test
+    public void test_budget_capsHedges() throws IOException {
+        server = StubHttpServer.start(exchange -> {
+            sleep(150);
+            StubHttpServer.respond(exchange, 200, StubHttpServer.ACCESS_TOKEN_JSON);
+        }, 8);
+        // balance starts at 1, and each request earns 0.5
+        HedgingPolicy hedgingPolicy = HedgingPolicy.builder()
+                .setInitialDelayMillis(20)
+                .setMaxHedgeRatio(0.5)
+                .build();
+        try (HereAccessTokenProvider provider = newProvider(hedgingPolicy)) {
+            for (int i = 0; i < 4; i++) {
+                provider.getAccessToken();
+            }
+        }
+        assertEquals(4, hedgingPolicy.getRequestCount());
+        // 1.5 hedge, 1.0 hedge, 0.5 no, 1.0 hedge
+        assertEquals(3, hedgingPolicy.getHedgeCount());
+        assertEquals(1, hedgingPolicy.getBudgetExhaustedCount());
+    }
+
+    @Test
+    public void test_firstAttemptFails_otherAttemptUsed() throws IOException, Exception {
+        AtomicInteger calls = new AtomicInteger();
+        HedgingPolicy hedgingPolicy = HedgingPolicy.builder()
+                .setInitialDelayMillis(10)
+                .setMaxHedgeRatio(1.0)
+                .build();
+        HttpProvider.HttpResponse expected = mock(HttpProvider.HttpResponse.class);
+        HttpProvider.HttpResponse actual = hedgingPolicy.execute(() -> {
+            if (1 == calls.incrementAndGet()) {
+                sleep(100);
+                throw new IOException("first attempt failed");
+            }
+            sleep(300);
+            return expected;
+        });
+        assertTrue(expected == actual);
+        assertEquals(1, hedgingPolicy.getHedgeWinCount());
+    }
+
+    @Test
+    public void test_losingRequestAborted() throws Exception {
+        HedgingPolicy hedgingPolicy = HedgingPolicy.builder()
+                .setInitialDelayMillis(10)
+                .setMaxHedgeRatio(1.0)
+                .build();
+        HttpProvider.HttpRequest slow = mock(HttpProvider.HttpRequest.class);
+        HttpProvider.HttpRequest fast = mock(HttpProvider.HttpRequest.class);
+        HttpProvider.HttpResponse expected = mock(HttpProvider.HttpResponse.class);
+        AtomicInteger requests = new AtomicInteger();
+        HttpProvider.HttpResponse actual = hedgingPolicy.execute(
+                () -> 1 == requests.incrementAndGet() ? slow : fast,
+                httpRequest -> {
+                    if (httpRequest == slow) {
+                        sleep(1000);
+                        throw new IOException("aborted");
+                    }
+                    return expected;
+                });
+        assertTrue(expected == actual);
+        verify(slow, timeout(1000)).abort();
+        verify(fast, never()).abort();
+    }
+
+    @Test
+    public void test_allAttemptsFail_lastExceptionThrown() {
+        HedgingPolicy hedgingPolicy = HedgingPolicy.builder()
+                .setInitialDelayMillis(10)
+                .setMaxHedgeRatio(1.0)
+                .build();
+        AtomicInteger calls = new AtomicInteger();
+        try {
+            hedgingPolicy.execute(() -> {
+                int call = calls.incrementAndGet();
+                sleep(1 == call ? 50 : 100);
+                throw new IOException("attempt " + call);
+            });
+            fail("expected IOException");
+        } catch (IOException e) {
+            assertEquals("attempt 2", e.getMessage());
+        } catch (Exception e) {
+            fail("unexpected " + e);
+        }
+    }
+
+    @Test
+    public void test_hedgeDelay_percentileOfLatencies() {
+        HedgingPolicy hedgingPolicy = HedgingPolicy.builder()
+                .setInitialDelayMillis(777)
+                .setPercentile(90)
+                .setSampleSize(100)
+                .setDelayBoundsMillis(5, 80)
+                .build();
+        for (int i = 1; i < HedgingPolicy.MIN_SAMPLES; i++) {
+            hedgingPolicy.recordLatency(i);
+        }
+        assertEquals(777, hedgingPolicy.getHedgeDelayMillis());
+        for (int i = HedgingPolicy.MIN_SAMPLES; i <= 70; i++) {
+            hedgingPolicy.recordLatency(i);
+        }
+        // 90th percentile of 1..70
+        assertEquals(63, hedgingPolicy.getHedgeDelayMillis());
+        for (int i = 71; i <= 200; i++) {
+            hedgingPolicy.recordLatency(i);
+        }
+        // the last 100 latencies are 101..200, clamped to the maximum
+        assertEquals(80, hedgingPolicy.getHedgeDelayMillis());
+    }
+
+    @Test
+    public void test_noBudget_neverHedges() throws Exception {
+        HedgingPolicy hedgingPolicy = HedgingPolicy.builder()
+                .setInitialDelayMillis(1)
+                .setMaxHedgeRatio(0)
+                .build();
+        Set<Integer> calls = new HashSet<>();
+        hedgingPolicy.execute(() -> {
+            calls.add(calls.size());
+            sleep(50);
+            return mock(HttpProvider.HttpResponse.class);
+        });
+        assertEquals(1, calls.size());
+        assertEquals(0, hedgingPolicy.getHedgeCount());
+        assertEquals(1, hedgingPolicy.getBudgetExhaustedCount());
+    }
+}
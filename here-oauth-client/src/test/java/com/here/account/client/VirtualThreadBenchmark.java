@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2026 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.here.account.client;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.here.account.auth.NoAuthorizer;
+import com.here.account.http.HttpProvider;
+import com.here.account.http.StubHttpServer;
+import com.here.account.http.java.JavaHttpProvider;
+import com.here.account.oauth2.AccessTokenResponse;
+import com.here.account.oauth2.ErrorResponse;
+import com.here.account.util.Benchmark;
+import com.here.account.util.JacksonSerializer;
+import com.here.account.util.VirtualThreads;
+
+/**
+ * How many blocking {@link Client} calls a virtual-thread executor keeps in flight:
+ * the size is the number of simultaneous {@link Client#sendMessageAsync} calls, by default 10000,
+ * each on its own virtual thread, against a local stub server that answers after 10 ms
+ * over at most 64 connections.
+ * peakPlatformThreads should stay far below the number of calls in flight.
+ * Runs only on JDK 21 or later.
+ */
+public class VirtualThreadBenchmark extends Benchmark {
+
+    private static final int MAX_CONNECTIONS = 64;
+    private static final long SERVER_DELAY_MILLIS = 10L;
+
+    public VirtualThreadBenchmark() {
+        super(10000);
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return VirtualThreads.isAvailable();
+    }
+
+    @Override
+    public Properties run(int calls) throws Exception {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        long startNanos = System.nanoTime();
+        try (StubHttpServer server = StubHttpServer.start(exchange -> {
+                    try {
+                        Thread.sleep(SERVER_DELAY_MILLIS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    StubHttpServer.respond(exchange, 200, StubHttpServer.ACCESS_TOKEN_JSON);
+                }, MAX_CONNECTIONS);
+                HttpProvider httpProvider = JavaHttpProvider.builder()
+                        .setMaxConnections(MAX_CONNECTIONS)
+                        .setConnectionTimeoutInMs(0)
+                        .build()) {
+            ExecutorService executor = VirtualThreads.newThreadPerTaskExecutor("benchmark-");
+            Client client = Client.builder()
+                    .withHttpProvider(httpProvider)
+                    .withSerializer(new JacksonSerializer())
+                    .withClientAuthorizer(new NoAuthorizer())
+                    .withExecutor(executor)
+                    .build();
+            String url = server.getUrl("/oauth2/token");
+            List<CompletableFuture<AccessTokenResponse>> futures = new ArrayList<>(calls);
+            for (int i = 0; i < calls; i++) {
+                futures.add(client.sendMessageAsync(() -> {
+                    maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                    return httpProvider.getRequest(client.getClientAuthorizer(), "GET", url, (String) null);
+                }, AccessTokenResponse.class, ErrorResponse.class,
+                        (statusCode, errorResponse) -> new RuntimeException("status " + statusCode))
+                        .whenComplete((response, e) -> inFlight.decrementAndGet()));
+            }
+            int succeeded = 0;
+            for (CompletableFuture<AccessTokenResponse> future : futures) {
+                if ("stub-access-token".equals(future.get().getAccessToken())) {
+                    succeeded++;
+                }
+            }
+            executor.shutdown();
+
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+            Properties results = new Properties();
+            results.setProperty("calls", String.valueOf(calls));
+            results.setProperty("succeeded", String.valueOf(succeeded));
+            results.setProperty("maxCallsInFlight", String.valueOf(maxInFlight.get()));
+            results.setProperty("elapsedMillis", String.valueOf(elapsedMillis));
+            results.setProperty("peakPlatformThreads",
+                    String.valueOf(ManagementFactory.getThreadMXBean().getPeakThreadCount()));
+            return results;
+        }
+    }
+}
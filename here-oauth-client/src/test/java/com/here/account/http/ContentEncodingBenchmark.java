@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2026 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.here.account.http;
+
+import java.io.InputStream;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.here.account.auth.NoAuthorizer;
+import com.here.account.http.HttpProvider.HttpResponse;
+import com.here.account.http.apache.ApacheHttpClientProvider;
+import com.here.account.http.java.JavaHttpProvider;
+import com.here.account.util.Benchmark;
+import com.here.account.util.JsonSerializer;
+
+/**
+ * What response compression saves on the wire and costs in CPU:
+ * sequential requests for a 41.5 KB JSON Web Key Set-like body from a local stub server,
+ * parsed from the response stream as {@link com.here.account.client.Client} does,
+ * through each HttpProvider with content compression enabled and disabled.
+ * The size is the number of requests per variant, by default 2000, after as many warm-up requests.
+ * wireBytesPerRequest is the body size as sent, before decompression.
+ * Over loopback, bandwidth is free, so requestsPerSecond shows only the CPU cost of decompression.
+ */
+public class ContentEncodingBenchmark extends Benchmark {
+
+    private static final int KEYS = 100;
+
+    public ContentEncodingBenchmark() {
+        super(2000);
+    }
+
+    @Override
+    public Properties run(int requests) throws Exception {
+        String json = largeJson();
+        AtomicLong wireBytes = new AtomicLong();
+        Properties results = new Properties();
+        results.setProperty("requests", String.valueOf(requests));
+        results.setProperty("decodedBytesPerRequest", String.valueOf(json.length()));
+        try (StubHttpServer server = StubHttpServer.start(
+                exchange -> wireBytes.set(StubHttpServer.respondEncoded(exchange, 200, json)))) {
+            String url = server.getUrl("/keys");
+            for (boolean compression : new boolean[] {false, true}) {
+                String suffix = compression ? ".compressed" : ".uncompressed";
+                try (HttpProvider httpProvider = JavaHttpProvider.builder()
+                        .setContentCompressionEnabled(compression)
+                        .build()) {
+                    measure(results, "java" + suffix, requests, httpProvider, url, wireBytes);
+                }
+                try (HttpProvider httpProvider = ApacheHttpClientProvider.builder()
+                        .setContentCompressionEnabled(compression)
+                        .build()) {
+                    measure(results, "apache" + suffix, requests, httpProvider, url, wireBytes);
+                }
+            }
+        }
+        return results;
+    }
+
+    /**
+     * A JSON Web Key Set-like body of {@link #KEYS} keys, repetitive as real responses are.
+     */
+    private static String largeJson() {
+        StringBuilder json = new StringBuilder("{\"keys\":[");
+        for (int i = 0; i < KEYS; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"kty\":\"RSA\",\"use\":\"sig\",\"alg\":\"RS256\",\"kid\":\"key-").append(i)
+                    .append("\",\"e\":\"AQAB\",\"n\":\"");
+            for (int j = 0; j < 342; j++) {
+                json.append((char) ('A' + (i * 31 + j * 7) % 26));
+            }
+            json.append("\"}");
+        }
+        return json.append("]}").toString();
+    }
+
+    private static void measure(Properties results, String name, int requests, HttpProvider httpProvider,
+            String url, AtomicLong wireBytes) throws Exception {
+        for (int i = 0; i < requests; i++) {
+            request(httpProvider, url);
+        }
+        long startNanos = System.nanoTime();
+        for (int i = 0; i < requests; i++) {
+            request(httpProvider, url);
+        }
+        long elapsedNanos = System.nanoTime() - startNanos;
+        // every response is the same, and the server counts it only after it is sent
+        results.setProperty(name + ".wireBytesPerRequest", String.valueOf(wireBytes.get()));
+        results.setProperty(name + ".requestsPerSecond", perSecond(requests, elapsedNanos));
+    }
+
+    private static void request(HttpProvider httpProvider, String url) throws Exception {
+        HttpResponse httpResponse = httpProvider.execute(
+                httpProvider.getRequest(new NoAuthorizer(), "GET", url, (String) null));
+        if (200 != httpResponse.getStatusCode()) {
+            throw new IllegalStateException("status " + httpResponse.getStatusCode());
+        }
+        try (InputStream body = httpResponse.getResponseBody()) {
+            Map<String, Object> map = JsonSerializer.toMap(body);
+            if (!map.containsKey("keys")) {
+                throw new IllegalStateException("no keys");
+            }
+        }
+    }
+}
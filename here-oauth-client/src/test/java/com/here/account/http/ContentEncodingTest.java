@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2026 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.here.account.http;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Properties;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+import org.junit.Test;
+
+public class ContentEncodingTest {
+
+    private static final byte[] BODY = StubHttpServer.ACCESS_TOKEN_JSON.getBytes(StandardCharsets.UTF_8);
+
+    private static byte[] readAll(InputStream inputStream) throws IOException {
+        try (InputStream in = inputStream) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buf = new byte[64];
+            int n;
+            while ((n = in.read(buf)) > 0) {
+                out.write(buf, 0, n);
+            }
+            return out.toByteArray();
+        }
+    }
+
+    private static byte[] decode(String contentEncoding, byte[] encoded) throws IOException {
+        return readAll(ContentEncoding.decode(contentEncoding, new ByteArrayInputStream(encoded)));
+    }
+
+    @Test
+    public void test_isEncoded() {
+        assertFalse(ContentEncoding.isEncoded(null));
+        assertFalse(ContentEncoding.isEncoded(""));
+        assertFalse(ContentEncoding.isEncoded(" identity "));
+        assertFalse(ContentEncoding.isEncoded("IDENTITY"));
+        assertTrue(ContentEncoding.isEncoded("gzip"));
+    }
+
+    @Test
+    public void test_decode_identity() throws IOException {
+        InputStream inputStream = new ByteArrayInputStream(BODY);
+        assertSame(inputStream, ContentEncoding.decode("identity", inputStream));
+        assertSame(inputStream, ContentEncoding.decode(null, inputStream));
+    }
+
+    @Test
+    public void test_decode_gzip() throws IOException {
+        byte[] encoded = StubHttpServer.encode("gzip", BODY);
+        assertTrue(encoded.length > 0);
+        assertEquals(StubHttpServer.ACCESS_TOKEN_JSON,
+                new String(decode("gzip", encoded), StandardCharsets.UTF_8));
+        assertEquals(StubHttpServer.ACCESS_TOKEN_JSON,
+                new String(decode(" X-GZIP ", encoded), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void test_decode_deflate_zlib() throws IOException {
+        assertEquals(StubHttpServer.ACCESS_TOKEN_JSON,
+                new String(decode("deflate", StubHttpServer.encode("deflate", BODY)), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void test_decode_deflate_raw() throws IOException {
+        ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+        try (DeflaterOutputStream outputStream = new DeflaterOutputStream(byteArrayOutputStream,
+                new Deflater(Deflater.DEFAULT_COMPRESSION, true))) {
+            outputStream.write(BODY);
+        }
+        assertEquals(StubHttpServer.ACCESS_TOKEN_JSON,
+                new String(decode("deflate", byteArrayOutputStream.toByteArray()), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void test_decode_empty() throws IOException {
+        assertEquals(0, decode("gzip", new byte[0]).length);
+        assertEquals(0, decode("deflate", new byte[0]).length);
+    }
+
+    @Test
+    public void test_isDecodable() {
+        assertFalse(ContentEncoding.isDecodable(null));
+        assertFalse(ContentEncoding.isDecodable("identity"));
+        assertFalse(ContentEncoding.isDecodable("br"));
+        assertFalse(ContentEncoding.isDecodable("gzip, identity"));
+        assertTrue(ContentEncoding.isDecodable(" X-GZIP "));
+        assertTrue(ContentEncoding.isDecodable("deflate"));
+    }
+
+    @Test
+    public void test_decode_unsupported() throws IOException {
+        InputStream inputStream = new ByteArrayInputStream(BODY);
+        assertSame(inputStream, ContentEncoding.decode("br", inputStream));
+        assertSame(inputStream, ContentEncoding.decode("gzip, identity", inputStream));
+        assertEquals(StubHttpServer.ACCESS_TOKEN_JSON,
+                new String(decode("deflate, gzip", BODY), StandardCharsets.UTF_8));
+    }
+
+    @Test(expected = IOException.class)
+    public void test_decode_corrupt() throws IOException {
+        decode("gzip", BODY);
+    }
+
+    @Test
+    public void test_contentEncodingBenchmark() throws Exception {
+        Properties results = new ContentEncodingBenchmark().run(20);
+        long decodedBytes = Long.parseLong(results.getProperty("decodedBytesPerRequest"));
+        for (String provider : new String[] {"java", "apache"}) {
+            long uncompressed = Long.parseLong(results.getProperty(provider + ".uncompressed.wireBytesPerRequest"));
+            long compressed = Long.parseLong(results.getProperty(provider + ".compressed.wireBytesPerRequest"));
+            assertEquals(results.toString(), decodedBytes, uncompressed);
+            assertTrue(results.toString(), compressed < decodedBytes / 2);
+        }
+    }
+}
@@ -0,0 +1,199 @@
+/*
+ * Copyright (c) 2026 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.here.account.http;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.here.account.client.Client;
+import com.here.account.http.apache.ApacheHttpClientProvider;
+import com.here.account.http.java.JavaHttpProvider;
+import com.here.account.oauth2.ErrorResponse;
+import com.here.account.oauth2.RequestExecutionException;
+import com.here.account.oauth2.retry.RetryContext;
+import com.here.account.oauth2.retry.RetryExecutor;
+import com.here.account.oauth2.retry.RetryPolicy;
+import com.here.account.util.JacksonSerializer;
+
+public class DeadlineTest {
+
+    private static final HttpProvider.HttpRequestAuthorizer NO_AUTHORIZATION =
+            (httpRequest, method, url, formParams) -> { };
+
+    private StubHttpServer server;
+
+    @Before
+    public void setUp() throws IOException {
+        server = StubHttpServer.start(exchange -> {
+            try {
+                Thread.sleep(2000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            StubHttpServer.respond(exchange, 200, "{}");
+        });
+    }
+
+    @After
+    public void tearDown() {
+        server.close();
+    }
+
+    @Test
+    public void test_getTimeoutMillis() throws SocketTimeoutException {
+        Deadline deadline = Deadline.after(10, TimeUnit.SECONDS);
+        assertFalse(deadline.isExpired());
+        assertEquals(500, deadline.getTimeoutMillis(500));
+        int timeoutMillis = deadline.getTimeoutMillis(0);
+        assertTrue("timeoutMillis " + timeoutMillis, timeoutMillis > 9000 && timeoutMillis <= 10000);
+        timeoutMillis = deadline.getTimeoutMillis(60000);
+        assertTrue("timeoutMillis " + timeoutMillis, timeoutMillis <= 10000);
+    }
+
+    @Test
+    public void test_expired() {
+        Deadline deadline = Deadline.after(0, TimeUnit.MILLISECONDS);
+        assertTrue(deadline.isExpired());
+        assertTrue(deadline.getRemainingMillis() <= 0);
+        try {
+            deadline.getTimeoutMillis(500);
+            fail("should have thrown SocketTimeoutException");
+        } catch (SocketTimeoutException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void test_javaHttpProvider_deadline() throws IOException, HttpException {
+        try (HttpProvider httpProvider = JavaHttpProvider.builder().build()) {
+            verifyTimesOut(httpProvider);
+        }
+    }
+
+    @Test
+    public void test_apacheHttpClientProvider_deadline() throws IOException, HttpException {
+        try (HttpProvider httpProvider = ApacheHttpClientProvider.builder().build()) {
+            verifyTimesOut(httpProvider);
+        }
+    }
+
+    private void verifyTimesOut(HttpProvider httpProvider) throws IOException, HttpException {
+        HttpProvider.HttpRequest httpRequest = httpProvider.getRequest(NO_AUTHORIZATION,
+                "GET", server.getUrl("/slow"), (String) null);
+        long startNanos = System.nanoTime();
+        try {
+            httpProvider.execute(httpRequest, Deadline.after(200, TimeUnit.MILLISECONDS));
+            fail("should have timed out");
+        } catch (SocketTimeoutException e) {
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+            assertTrue("elapsedMillis " + elapsedMillis, elapsedMillis < 1500);
+        }
+    }
+
+    @Test(expected = SocketTimeoutException.class)
+    public void test_defaultExecute_expired() throws IOException, HttpException {
+        HttpProvider httpProvider = new HttpProvider() {
+            @Override
+            public HttpRequest getRequest(HttpRequestAuthorizer httpRequestAuthorizer, String method,
+                    String url, String requestBodyJson) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public HttpRequest getRequest(HttpRequestAuthorizer httpRequestAuthorizer, String method,
+                    String url, Map<String, List<String>> formParams) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public HttpResponse execute(HttpRequest httpRequest) {
+                throw new AssertionError("should not execute after the deadline");
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        httpProvider.execute(mock(HttpProvider.HttpRequest.class), Deadline.after(0, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void test_retryExecutor_skipsRetryPastDeadline() throws Exception {
+        AtomicInteger attempts = new AtomicInteger();
+        HttpProvider.HttpResponse response = mock(HttpProvider.HttpResponse.class);
+        when(response.getStatusCode()).thenReturn(503);
+        RetryExecutor retryExecutor = new RetryExecutor(new RetryPolicy() {
+            @Override
+            public boolean shouldRetry(RetryContext retryContext) {
+                return true;
+            }
+
+            @Override
+            public int getNextRetryIntervalMillis(RetryContext retryContext) {
+                return 1000;
+            }
+        });
+
+        long startNanos = System.nanoTime();
+        HttpProvider.HttpResponse lastResponse = retryExecutor.execute(() -> {
+            attempts.incrementAndGet();
+            return response;
+        }, Deadline.after(500, TimeUnit.MILLISECONDS));
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+
+        assertTrue(response == lastResponse);
+        assertEquals(1, attempts.get());
+        assertTrue("elapsedMillis " + elapsedMillis, elapsedMillis < 500);
+    }
+
+    @Test
+    public void test_client_deadline() throws IOException {
+        try (HttpProvider httpProvider = JavaHttpProvider.builder().build()) {
+            Client client = Client.builder()
+                    .withHttpProvider(httpProvider)
+                    .withSerializer(new JacksonSerializer())
+                    .withClientAuthorizer(NO_AUTHORIZATION)
+                    .build();
+            long startNanos = System.nanoTime();
+            try {
+                client.sendMessage("GET", server.getUrl("/slow"), null, null,
+                        ErrorResponse.class, ErrorResponse.class,
+                        (statusCode, errorResponse) -> new RuntimeException("status " + statusCode),
+                        Deadline.after(200, TimeUnit.MILLISECONDS));
+                fail("should have timed out");
+            } catch (RequestExecutionException e) {
+                assertTrue(e.getCause() instanceof SocketTimeoutException);
+            }
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+            assertTrue("elapsedMillis " + elapsedMillis, elapsedMillis < 1500);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2026 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.here.account.http;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import com.here.account.auth.OAuth1Signer;
+import com.here.account.http.apache.ApacheHttpClientProvider;
+import com.here.account.http.java.JavaHttpProvider;
+import com.here.account.util.Benchmark;
+
+/**
+ * The CPU time and allocation per signed token request built from a URL,
+ * {@link HttpProvider#getRequest(HttpProvider.HttpRequestAuthorizer, String, String, Map)},
+ * which parses the URL and query string on every call, against one built from a
+ * {@link HttpProvider#getRequest(HttpProvider.HttpRequestAuthorizer, RequestTemplate, Map) RequestTemplate}.
+ * Requests are built and signed with an {@link OAuth1Signer}, but not sent.
+ * The size is the number of requests per variant, by default 200000, after as many warm-up requests.
+ * bytesPerRequest is only reported on JVMs that measure per-thread allocation.
+ */
+public class RequestTemplateBenchmark extends Benchmark {
+
+    private static final String URL = "https://account.api.here.com/oauth2/token?client=benchmark&region=eu";
+
+    public RequestTemplateBenchmark() {
+        super(200000);
+    }
+
+    @Override
+    public Properties run(int requests) throws Exception {
+        OAuth1Signer signer = new OAuth1Signer("benchmark-access-key-id", "benchmark-access-key-secret");
+        RequestTemplate requestTemplate = RequestTemplate.builder()
+                .setMethod("POST")
+                .setUrl(URL)
+                .build();
+        Map<String, List<String>> formParams = new HashMap<>();
+        formParams.put("grant_type", Collections.singletonList("client_credentials"));
+
+        Properties results = new Properties();
+        results.setProperty("requests", String.valueOf(requests));
+        try (HttpProvider apache = ApacheHttpClientProvider.builder().build();
+                HttpProvider java = JavaHttpProvider.builder().build()) {
+            measure(results, "apache.url", requests,
+                    () -> apache.getRequest(signer, "POST", URL, formParams));
+            measure(results, "apache.template", requests,
+                    () -> apache.getRequest(signer, requestTemplate, formParams));
+            measure(results, "java.url", requests,
+                    () -> java.getRequest(signer, "POST", URL, formParams));
+            measure(results, "java.template", requests,
+                    () -> java.getRequest(signer, requestTemplate, formParams));
+        }
+        return results;
+    }
+
+    private static void measure(Properties results, String name, int requests, Runnable request) {
+        for (int i = 0; i < requests; i++) {
+            request.run();
+        }
+        ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        com.sun.management.ThreadMXBean allocations = threadMXBean instanceof com.sun.management.ThreadMXBean
+                ? (com.sun.management.ThreadMXBean) threadMXBean : null;
+        long threadId = Thread.currentThread().getId();
+        long startBytes = null != allocations ? allocations.getThreadAllocatedBytes(threadId) : -1L;
+        long startCpuNanos = threadMXBean.getCurrentThreadCpuTime();
+        long startNanos = System.nanoTime();
+        for (int i = 0; i < requests; i++) {
+            request.run();
+        }
+        long elapsedNanos = System.nanoTime() - startNanos;
+        long cpuNanos = threadMXBean.getCurrentThreadCpuTime() - startCpuNanos;
+        results.setProperty(name + ".nanosPerRequest", String.valueOf(elapsedNanos / requests));
+        results.setProperty(name + ".cpuNanosPerRequest", String.valueOf(cpuNanos / requests));
+        if (null != allocations) {
+            long bytes = allocations.getThreadAllocatedBytes(threadId) - startBytes;
+            results.setProperty(name + ".bytesPerRequest", String.valueOf(bytes / requests));
+        }
+    }
+}
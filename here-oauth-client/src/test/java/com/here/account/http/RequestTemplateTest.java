@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2026 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.here.account.http;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import com.here.account.auth.NoAuthorizer;
+import com.here.account.http.HttpProvider.HttpResponse;
+import com.here.account.http.apache.ApacheHttpClientProvider;
+import com.here.account.http.java.JavaHttpProvider;
+import com.here.account.util.ReadUtil;
+
+public class RequestTemplateTest {
+
+    @Test
+    public void test_build() {
+        RequestTemplate requestTemplate = RequestTemplate.builder()
+                .setMethod("GET")
+                .setUrl("https://example.com/catalogs?q=a%20b&q=c&flag")
+                .addHeader("Accept", "application/json")
+                .build();
+        assertEquals("GET", requestTemplate.getMethod());
+        assertEquals("example.com", requestTemplate.getUri().getHost());
+        assertEquals("https://example.com/catalogs", requestTemplate.getBaseUrl());
+        assertEquals(Arrays.asList("a b", "c"), requestTemplate.getQueryParams().get("q"));
+        assertEquals(Collections.singletonList(""), requestTemplate.getQueryParams().get("flag"));
+        assertEquals("application/json", requestTemplate.getHeaders().get("Accept"));
+    }
+
+    @Test
+    public void test_build_noQuery() {
+        RequestTemplate requestTemplate = RequestTemplate.builder()
+                .setMethod("POST")
+                .setUrl("https://example.com/oauth2/token")
+                .build();
+        assertEquals("https://example.com/oauth2/token", requestTemplate.getBaseUrl());
+        assertNull(requestTemplate.getQueryParams());
+        assertTrue(requestTemplate.getHeaders().isEmpty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_build_malformedUrl() {
+        RequestTemplate.builder().setMethod("GET").setUrl("htp:/ asdf8080:a:z").build();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void test_build_noMethod() {
+        RequestTemplate.builder().setUrl("https://example.com/").build();
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void test_queryParams_unmodifiable() {
+        RequestTemplate.builder().setMethod("GET").setUrl("https://example.com/?a=b").build()
+                .getQueryParams().get("a").add("c");
+    }
+
+    @Test
+    public void test_getPrepared_once() {
+        RequestTemplate requestTemplate = RequestTemplate.builder()
+                .setMethod("GET")
+                .setUrl("https://example.com/")
+                .build();
+        AtomicInteger prepared = new AtomicInteger();
+        StringBuilder first = requestTemplate.getPrepared(StringBuilder.class, template -> {
+            prepared.incrementAndGet();
+            return new StringBuilder(template.getUrl());
+        });
+        StringBuilder second = requestTemplate.getPrepared(StringBuilder.class, template -> {
+            prepared.incrementAndGet();
+            return new StringBuilder();
+        });
+        assertSame(first, second);
+        assertEquals(1, prepared.get());
+    }
+
+    @Test
+    public void test_getRequest_apache() throws Exception {
+        try (HttpProvider httpProvider = ApacheHttpClientProvider.builder().build()) {
+            verifyRequests(httpProvider);
+        }
+    }
+
+    @Test
+    public void test_getRequest_java() throws Exception {
+        try (HttpProvider httpProvider = JavaHttpProvider.builder().build()) {
+            verifyRequests(httpProvider);
+        }
+    }
+
+    private void verifyRequests(HttpProvider httpProvider) throws IOException, HttpException {
+        try (StubHttpServer server = StubHttpServer.start(exchange -> StubHttpServer.respond(exchange, 200,
+                "{\"method\":\"" + exchange.getRequestMethod()
+                + "\",\"query\":\"" + exchange.getRequestURI().getRawQuery()
+                + "\",\"accept\":\"" + exchange.getRequestHeaders().getFirst("Accept")
+                + "\",\"contentType\":\"" + exchange.getRequestHeaders().getFirst(HttpConstants.CONTENT_TYPE_HEADER)
+                + "\"}"))) {
+            RequestTemplate requestTemplate = RequestTemplate.builder()
+                    .setMethod("POST")
+                    .setUrl(server.getUrl("/oauth2/token?x=1"))
+                    .addHeader("Accept", "application/json")
+                    .build();
+            Map<String, List<String>> formParams =
+                    Collections.singletonMap("grant_type", Collections.singletonList("client_credentials"));
+            for (int i = 0; i < 2; i++) {
+                HttpResponse httpResponse = httpProvider.execute(
+                        httpProvider.getRequest(new NoAuthorizer(), requestTemplate, formParams));
+                assertEquals(200, httpResponse.getStatusCode());
+                String body = new String(ReadUtil.readUpTo16KBytes(httpResponse.getResponseBody()),
+                        HttpConstants.ENCODING_CHARSET);
+                assertEquals("{\"method\":\"POST\",\"query\":\"x=1\",\"accept\":\"application/json\""
+                        + ",\"contentType\":\"" + HttpConstants.CONTENT_TYPE_FORM_URLENCODED + "\"}", body);
+            }
+        }
+    }
+
+    @Test
+    public void test_requestTemplateBenchmark() throws Exception {
+        Properties results = new RequestTemplateBenchmark().run(1000);
+        assertEquals("1000", results.getProperty("requests"));
+    }
+}
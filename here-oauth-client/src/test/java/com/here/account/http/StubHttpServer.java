@@ -0,0 +1,327 @@
+/*
+ * Copyright (c) 2026 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.here.account.http;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.TrustManagerFactory;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import com.sun.net.httpserver.HttpsConfigurator;
+import com.sun.net.httpserver.HttpsServer;
+
+/**
+ * A local HTTP server for tests, bound to an ephemeral loopback port.
+ * With {@link #startTls(HttpHandler, int)} it serves HTTPS, with a self-signed certificate
+ * for localhost that {@link #getClientSslContext()} trusts.
+ */
+public class StubHttpServer implements Closeable {
+
+    /**
+     * A token endpoint response body, valid for one hour.
+     */
+    public static final String ACCESS_TOKEN_JSON =
+            "{\"access_token\":\"stub-access-token\",\"token_type\":\"bearer\",\"expires_in\":3600}";
+
+    static {
+        // without TCP_NODELAY, small responses wait for the client's delayed ACK, adding about 40 ms each
+        if (null == System.getProperty("sun.net.httpserver.nodelay")) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+    }
+
+    private static final String KEY_ALIAS = "stub";
+    private static final char[] KEY_PASSWORD = "changeit".toCharArray();
+
+    private final HttpServer httpServer;
+    private final String scheme;
+    private final ExecutorService executorService;
+    private final AtomicInteger requestCount = new AtomicInteger();
+
+    private StubHttpServer(HttpHandler handler, int threads, boolean tls) throws IOException {
+        InetSocketAddress address = new InetSocketAddress(InetAddress.getLoopbackAddress(), 0);
+        if (tls) {
+            HttpsServer httpsServer = HttpsServer.create(address, 0);
+            httpsServer.setHttpsConfigurator(new HttpsConfigurator(TlsHolder.SERVER_SSL_CONTEXT));
+            httpServer = httpsServer;
+            scheme = "https";
+        } else {
+            httpServer = HttpServer.create(address, 0);
+            scheme = "http";
+        }
+        httpServer.createContext("/", exchange -> {
+            requestCount.incrementAndGet();
+            try {
+                handler.handle(exchange);
+            } finally {
+                exchange.close();
+            }
+        });
+        executorService = Executors.newFixedThreadPool(threads, r -> {
+            Thread thread = new Thread(r, "stub-http-server");
+            thread.setDaemon(true);
+            return thread;
+        });
+        httpServer.setExecutor(executorService);
+        httpServer.start();
+    }
+
+    /**
+     * Starts a server where every request is passed to handler.
+     *
+     * @param handler the handler for all paths
+     * @return the started server
+     * @throws IOException if the server cannot bind
+     */
+    public static StubHttpServer start(HttpHandler handler) throws IOException {
+        return start(handler, 4);
+    }
+
+    /**
+     * Starts a server where every request is passed to handler, on threads request-handling threads.
+     *
+     * @param handler the handler for all paths
+     * @param threads the number of request-handling threads
+     * @return the started server
+     * @throws IOException if the server cannot bind
+     */
+    public static StubHttpServer start(HttpHandler handler, int threads) throws IOException {
+        return new StubHttpServer(handler, threads, false);
+    }
+
+    /**
+     * Starts an HTTPS server where every request is passed to handler, on threads request-handling threads.
+     *
+     * @param handler the handler for all paths
+     * @param threads the number of request-handling threads
+     * @return the started server
+     * @throws IOException if the server cannot bind
+     */
+    public static StubHttpServer startTls(HttpHandler handler, int threads) throws IOException {
+        return new StubHttpServer(handler, threads, true);
+    }
+
+    /**
+     * Gets an SSLContext that trusts the certificate of the servers started with
+     * {@link #startTls(HttpHandler, int)}.
+     *
+     * @return the client SSLContext
+     */
+    public static SSLContext getClientSslContext() {
+        return TlsHolder.CLIENT_SSL_CONTEXT;
+    }
+
+    /**
+     * Starts a server that answers every request with 200 and {@link #ACCESS_TOKEN_JSON}.
+     *
+     * @return the started server
+     * @throws IOException if the server cannot bind
+     */
+    public static StubHttpServer startTokenEndpoint() throws IOException {
+        return start(exchange -> respond(exchange, 200, ACCESS_TOKEN_JSON));
+    }
+
+    /**
+     * Reads and discards the request body, then writes a JSON response,
+     * or only its headers for a HEAD request.
+     *
+     * @param exchange the exchange
+     * @param statusCode the HTTP status code
+     * @param json the response body
+     * @throws IOException if I/O trouble
+     */
+    public static void respond(HttpExchange exchange, int statusCode, String json) throws IOException {
+        drain(exchange.getRequestBody());
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set(HttpConstants.CONTENT_TYPE, HttpConstants.CONTENT_TYPE_JSON);
+        if ("HEAD".equals(exchange.getRequestMethod())) {
+            exchange.sendResponseHeaders(statusCode, -1L);
+            return;
+        }
+        exchange.sendResponseHeaders(statusCode, body.length);
+        try (OutputStream outputStream = exchange.getResponseBody()) {
+            outputStream.write(body);
+        }
+    }
+
+    /**
+     * Like {@link #respond(HttpExchange, int, String)}, but compresses the body with gzip,
+     * or failing that deflate, if the request's Accept-Encoding header allows it.
+     *
+     * @param exchange the exchange
+     * @param statusCode the HTTP status code
+     * @param json the response body
+     * @return the number of body bytes sent
+     * @throws IOException if I/O trouble
+     */
+    public static int respondEncoded(HttpExchange exchange, int statusCode, String json) throws IOException {
+        String acceptEncoding = exchange.getRequestHeaders().getFirst(ContentEncoding.ACCEPT_ENCODING_HEADER);
+        acceptEncoding = null == acceptEncoding ? "" : acceptEncoding.toLowerCase(Locale.ROOT);
+        String contentEncoding = acceptEncoding.contains("gzip") ? "gzip"
+                : acceptEncoding.contains("deflate") ? "deflate"
+                : null;
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        if (null == contentEncoding) {
+            respond(exchange, statusCode, json);
+            return body.length;
+        }
+        drain(exchange.getRequestBody());
+        body = encode(contentEncoding, body);
+        exchange.getResponseHeaders().set(HttpConstants.CONTENT_TYPE, HttpConstants.CONTENT_TYPE_JSON);
+        exchange.getResponseHeaders().set(ContentEncoding.CONTENT_ENCODING_HEADER, contentEncoding);
+        if ("HEAD".equals(exchange.getRequestMethod())) {
+            exchange.sendResponseHeaders(statusCode, -1L);
+            return 0;
+        }
+        exchange.sendResponseHeaders(statusCode, body.length);
+        try (OutputStream outputStream = exchange.getResponseBody()) {
+            outputStream.write(body);
+        }
+        return body.length;
+    }
+
+    /**
+     * Compresses body with gzip, or zlib-wrapped deflate.
+     *
+     * @param contentEncoding gzip or deflate
+     * @param body the body to compress
+     * @return the compressed body
+     * @throws IOException if I/O trouble
+     */
+    public static byte[] encode(String contentEncoding, byte[] body) throws IOException {
+        ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+        try (OutputStream outputStream = "gzip".equals(contentEncoding)
+                ? new GZIPOutputStream(byteArrayOutputStream)
+                : new DeflaterOutputStream(byteArrayOutputStream)) {
+            outputStream.write(body);
+        }
+        return byteArrayOutputStream.toByteArray();
+    }
+
+    private static void drain(InputStream inputStream) throws IOException {
+        byte[] buf = new byte[1024];
+        while (inputStream.read(buf) > 0) {
+            // discard
+        }
+    }
+
+    /**
+     * Gets the URL for path on this server.
+     *
+     * @param path the path, starting with '/'
+     * @return the http or https URL
+     */
+    public String getUrl(String path) {
+        return scheme + "://localhost:" + httpServer.getAddress().getPort() + path;
+    }
+
+    /**
+     * Gets the number of requests received so far.
+     *
+     * @return the request count
+     */
+    public int getRequestCount() {
+        return requestCount.get();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() {
+        httpServer.stop(0);
+        executorService.shutdownNow();
+    }
+
+    /**
+     * The self-signed key and certificate for localhost, generated with keytool on first use.
+     */
+    private static class TlsHolder {
+        private static final SSLContext SERVER_SSL_CONTEXT;
+        private static final SSLContext CLIENT_SSL_CONTEXT;
+
+        static {
+            try {
+                KeyStore keyStore = generateKeyStore();
+                KeyManagerFactory keyManagerFactory =
+                        KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+                keyManagerFactory.init(keyStore, KEY_PASSWORD);
+                SERVER_SSL_CONTEXT = SSLContext.getInstance("TLS");
+                SERVER_SSL_CONTEXT.init(keyManagerFactory.getKeyManagers(), null, null);
+
+                KeyStore trustStore = KeyStore.getInstance(KeyStore.getDefaultType());
+                trustStore.load(null, null);
+                trustStore.setCertificateEntry(KEY_ALIAS, keyStore.getCertificate(KEY_ALIAS));
+                TrustManagerFactory trustManagerFactory =
+                        TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
+                trustManagerFactory.init(trustStore);
+                CLIENT_SSL_CONTEXT = SSLContext.getInstance("TLS");
+                CLIENT_SSL_CONTEXT.init(null, trustManagerFactory.getTrustManagers(), null);
+            } catch (IOException | GeneralSecurityException | InterruptedException e) {
+                throw new ExceptionInInitializerError(e);
+            }
+        }
+
+        private static KeyStore generateKeyStore()
+                throws IOException, GeneralSecurityException, InterruptedException {
+            File keyStoreFile = File.createTempFile("stub-http-server", ".jks");
+            try {
+                Files.delete(keyStoreFile.toPath());
+                String keytool = System.getProperty("java.home") + File.separator + "bin" + File.separator + "keytool";
+                Process process = new ProcessBuilder(keytool, "-genkeypair",
+                        "-alias", KEY_ALIAS, "-keyalg", "RSA", "-keysize", "2048", "-validity", "1",
+                        "-dname", "CN=localhost", "-ext", "SAN=dns:localhost,ip:127.0.0.1",
+                        "-storetype", "JKS", "-keystore", keyStoreFile.getPath(),
+                        "-storepass", new String(KEY_PASSWORD), "-keypass", new String(KEY_PASSWORD))
+                        .redirectErrorStream(true)
+                        .start();
+                drain(process.getInputStream());
+                if (!process.waitFor(60L, TimeUnit.SECONDS) || 0 != process.exitValue()) {
+                    throw new IOException("keytool failed to generate the stub server key");
+                }
+                KeyStore keyStore = KeyStore.getInstance("JKS");
+                try (InputStream inputStream = Files.newInputStream(keyStoreFile.toPath())) {
+                    keyStore.load(inputStream, KEY_PASSWORD);
+                }
+                return keyStore;
+            } finally {
+                Files.deleteIfExists(keyStoreFile.toPath());
+            }
+        }
+    }
+}
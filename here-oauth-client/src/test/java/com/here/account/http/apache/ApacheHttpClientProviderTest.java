@@ -15,10 +15,14 @@
  */
 package com.here.account.http.apache;
 
+import com.here.account.auth.NoAuthorizer;
+import com.here.account.http.ContentEncoding;
 import com.here.account.http.HttpException;
 import com.here.account.http.HttpProvider;
 import com.here.account.http.HttpProvider.HttpRequest;
 import com.here.account.http.HttpProvider.HttpRequestAuthorizer;
+import com.here.account.http.HttpProvider.HttpResponse;
+import com.here.account.http.StubHttpServer;
 import com.here.account.oauth2.HereAccessTokenProvider;
 import com.here.account.oauth2.RequestExecutionException;
 import com.here.account.oauth2.retry.Socket5xxExponentialRandomBackoffPolicy;
@@ -30,6 +34,7 @@ import org.apache.http.HttpEntity;
 import org.apache.http.ParseException;
 import org.apache.http.client.methods.*;
 import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
 import org.apache.http.protocol.HttpContext;
 import org.junit.Before;
 import org.junit.Test;
@@ -41,6 +46,7 @@ import java.io.IOException;
 import java.lang.reflect.Field;
 import java.net.HttpURLConnection;
 import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import static org.junit.Assert.*;
 import static org.mockito.Matchers.any;
@@ -422,4 +428,92 @@ public class ApacheHttpClientProviderTest {
             accessTokenProvider.getAccessToken();
         }
     }
+
+    @Test
+    public void test_getReservedLane() throws IOException {
+        HttpProvider httpProvider = ApacheHttpClientProvider.builder().build();
+        HttpProvider reservedLane = httpProvider.getReservedLane();
+        assertNotSame(httpProvider, reservedLane);
+        assertSame(reservedLane, httpProvider.getReservedLane());
+        assertSame(reservedLane, reservedLane.getReservedLane());
+        httpProvider.close();
+        assertSame(httpProvider, httpProvider.getReservedLane());
+    }
+
+    @Test
+    public void test_getReservedLane_injectedHttpClient() throws IOException {
+        CloseableHttpClient httpClient = mock(CloseableHttpClient.class);
+        HttpProvider httpProvider = ApacheHttpClientProvider.builder().setHttpClient(httpClient).build();
+        assertSame(httpProvider, httpProvider.getReservedLane());
+    }
+
+    @Test
+    public void test_getReservedLane_none() throws IOException {
+        HttpProvider httpProvider = ApacheHttpClientProvider.builder().setReservedConnections(0).build();
+        assertSame(httpProvider, httpProvider.getReservedLane());
+        httpProvider.close();
+    }
+
+    @Test
+    public void test_warmUp_tls() throws IOException, HttpException {
+        List<String> requests = new CopyOnWriteArrayList<String>();
+        try (StubHttpServer server = StubHttpServer.startTls(exchange -> {
+                    requests.add(exchange.getRequestMethod() + " " + exchange.getRemoteAddress().getPort());
+                    StubHttpServer.respond(exchange, 200, StubHttpServer.ACCESS_TOKEN_JSON);
+                }, 2);
+                HttpProvider httpProvider = ApacheHttpClientProvider.builder()
+                        .setHttpClient(HttpClients.custom()
+                                .setSSLContext(StubHttpServer.getClientSslContext())
+                                .build())
+                        .build()) {
+            String url = server.getUrl("/oauth2/token");
+            assertTrue(url, url.startsWith("https://"));
+            httpProvider.warmUp(url);
+            HttpResponse httpResponse = httpProvider.execute(
+                    httpProvider.getRequest(new NoAuthorizer(), "POST", url, (String) null));
+            assertEquals(200, httpResponse.getStatusCode());
+            httpResponse.getResponseBody().close();
+
+            assertEquals(2, requests.size());
+            String[] warmUp = requests.get(0).split(" ");
+            String[] request = requests.get(1).split(" ");
+            assertEquals("HEAD", warmUp[0]);
+            assertEquals("POST", request[0]);
+            assertEquals("the request reuses the warmed-up connection", warmUp[1], request[1]);
+        }
+    }
+
+    @Test
+    public void test_contentCompression() throws IOException, HttpException {
+        assertEquals(-1L, requestEncoded(true));
+    }
+
+    @Test
+    public void test_contentCompression_disabled() throws IOException, HttpException {
+        assertEquals(StubHttpServer.ACCESS_TOKEN_JSON.length(), requestEncoded(false));
+    }
+
+    /**
+     * @return the response Content-Length
+     */
+    private long requestEncoded(boolean contentCompressionEnabled) throws IOException, HttpException {
+        try (StubHttpServer server = StubHttpServer.start(
+                    exchange -> StubHttpServer.respondEncoded(exchange, 200, StubHttpServer.ACCESS_TOKEN_JSON));
+                HttpProvider httpProvider = ApacheHttpClientProvider.builder()
+                        .setContentCompressionEnabled(contentCompressionEnabled)
+                        .build()) {
+            HttpResponse httpResponse = httpProvider.execute(httpProvider.getRequest(
+                    new NoAuthorizer(), "GET", server.getUrl("/oauth2/token"), (String) null));
+            assertEquals(200, httpResponse.getStatusCode());
+            Set<String> headerNames = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+            headerNames.addAll(httpResponse.getHeaders().keySet());
+            // either the body was not encoded, or the header was removed when it was decoded
+            assertFalse(headerNames.toString(), headerNames.contains(ContentEncoding.CONTENT_ENCODING_HEADER));
+            assertEquals(headerNames.toString(), !contentCompressionEnabled, headerNames.contains("Content-Length"));
+            try (Scanner scanner = new Scanner(httpResponse.getResponseBody(), "UTF-8")) {
+                assertEquals(StubHttpServer.ACCESS_TOKEN_JSON, scanner.useDelimiter("\\A").next());
+            }
+            return httpResponse.getContentLength();
+        }
+    }
 }
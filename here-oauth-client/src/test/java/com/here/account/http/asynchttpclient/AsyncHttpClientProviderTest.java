@@ -0,0 +1,268 @@
+/*
+ * Copyright (c) 2026 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.here.account.http.asynchttpclient;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.SocketTimeoutException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.asynchttpclient.DefaultAsyncHttpClient;
+import org.asynchttpclient.DefaultAsyncHttpClientConfig;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.here.account.auth.NoAuthorizer;
+import com.here.account.http.ContentEncoding;
+import com.here.account.http.Deadline;
+import com.here.account.http.HttpConstants;
+import com.here.account.http.HttpProvider.HttpRequest;
+import com.here.account.http.HttpProvider.HttpResponse;
+import com.here.account.http.StubHttpServer;
+
+public class AsyncHttpClientProviderTest {
+
+    private static final int CONCURRENT_REQUESTS = 50;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final List<String> contentTypes = Collections.synchronizedList(new ArrayList<String>());
+    private final List<String> requestBodies = Collections.synchronizedList(new ArrayList<String>());
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final CountDownLatch allArrived = new CountDownLatch(CONCURRENT_REQUESTS);
+
+    private StubHttpServer server;
+    private AsyncHttpClientProvider httpProvider;
+
+    @Before
+    public void setUp() throws IOException {
+        server = StubHttpServer.start(exchange -> {
+            inFlight.incrementAndGet();
+            contentTypes.add(exchange.getRequestHeaders().getFirst(HttpConstants.CONTENT_TYPE_HEADER));
+            requestBodies.add(read(exchange.getRequestBody()));
+            String path = exchange.getRequestURI().getPath();
+            try {
+                if (path.startsWith("/slow")) {
+                    release.await(10, TimeUnit.SECONDS);
+                } else if (path.startsWith("/together")) {
+                    // every request must be on the wire at once for any of them to complete
+                    allArrived.countDown();
+                    allArrived.await(10, TimeUnit.SECONDS);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            inFlight.decrementAndGet();
+            StubHttpServer.respond(exchange, 200, StubHttpServer.ACCESS_TOKEN_JSON);
+        }, CONCURRENT_REQUESTS + 4);
+        httpProvider = AsyncHttpClientProvider.builder()
+                .setIoThreads(1)
+                .build();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        release.countDown();
+        httpProvider.close();
+        server.close();
+    }
+
+    private HttpRequest get(String path) {
+        return httpProvider.getRequest(new NoAuthorizer(), "GET", server.getUrl(path), (String) null);
+    }
+
+    @Test
+    public void test_executeAsync_manyInFlightOnOneThread() throws Exception {
+        List<CompletableFuture<HttpResponse>> futures = new ArrayList<>();
+        for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+            futures.add(httpProvider.executeAsync(get("/together")));
+        }
+        for (CompletableFuture<HttpResponse> future : futures) {
+            HttpResponse httpResponse = future.get(10, TimeUnit.SECONDS);
+            assertEquals(200, httpResponse.getStatusCode());
+            try (InputStream responseBody = httpResponse.getResponseBody()) {
+                assertEquals(StubHttpServer.ACCESS_TOKEN_JSON, read(responseBody));
+            }
+        }
+        assertEquals(CONCURRENT_REQUESTS, server.getRequestCount());
+    }
+
+    @Test
+    public void test_execute_bodies() throws Exception {
+        HttpRequest jsonRequest = httpProvider.getRequest(new NoAuthorizer(), "POST",
+                server.getUrl("/json"), "{\"foo\":\"bar\"}");
+        Map<String, List<String>> formParams = Collections.singletonMap("foo", Collections.singletonList("b r"));
+        HttpRequest formRequest = httpProvider.getRequest(new NoAuthorizer(), "POST",
+                server.getUrl("/form"), formParams);
+        assertEquals(200, httpProvider.execute(jsonRequest).getStatusCode());
+        assertEquals(200, httpProvider.execute(formRequest).getStatusCode());
+        assertEquals(HttpConstants.CONTENT_TYPE_JSON, contentTypes.get(0));
+        assertEquals("{\"foo\":\"bar\"}", requestBodies.get(0));
+        assertEquals(HttpConstants.CONTENT_TYPE_FORM_URLENCODED, contentTypes.get(1));
+        assertEquals("foo=b+r", requestBodies.get(1));
+    }
+
+    @Test
+    public void test_contentCompression() throws Exception {
+        List<String> acceptEncodings = Collections.synchronizedList(new ArrayList<String>());
+        try (StubHttpServer compressingServer = StubHttpServer.start(exchange -> {
+                    acceptEncodings.add(String.valueOf(
+                            exchange.getRequestHeaders().getFirst(ContentEncoding.ACCEPT_ENCODING_HEADER)));
+                    StubHttpServer.respondEncoded(exchange, 200, StubHttpServer.ACCESS_TOKEN_JSON);
+                });
+                AsyncHttpClientProvider compressingProvider = AsyncHttpClientProvider.builder()
+                        .setContentCompressionEnabled(true)
+                        .build()) {
+            HttpRequest httpRequest = compressingProvider.getRequest(new NoAuthorizer(), "GET",
+                    compressingServer.getUrl("/oauth2/token"), (String) null);
+            // executed twice, as a retry does
+            for (int i = 0; i < 2; i++) {
+                HttpResponse httpResponse = compressingProvider.execute(httpRequest);
+                assertEquals(200, httpResponse.getStatusCode());
+                assertEquals(StubHttpServer.ACCESS_TOKEN_JSON.length(), httpResponse.getContentLength());
+                for (String name : httpResponse.getHeaders().keySet()) {
+                    assertTrue(name, !ContentEncoding.CONTENT_ENCODING_HEADER.equalsIgnoreCase(name)
+                            && !HttpConstants.CONTENT_LENGTH_HEADER.equalsIgnoreCase(name));
+                }
+                assertEquals(StubHttpServer.ACCESS_TOKEN_JSON, read(httpResponse.getResponseBody()));
+            }
+            assertEquals(Arrays.asList(ContentEncoding.ACCEPTED_ENCODINGS, ContentEncoding.ACCEPTED_ENCODINGS),
+                    acceptEncodings);
+        }
+    }
+
+    @Test
+    public void test_contentCompression_keepEncodingHeader() throws Exception {
+        try (StubHttpServer compressingServer = StubHttpServer.start(exchange ->
+                    StubHttpServer.respondEncoded(exchange, 200, StubHttpServer.ACCESS_TOKEN_JSON));
+                AsyncHttpClientProvider compressingProvider = AsyncHttpClientProvider.builder()
+                        .setAsyncHttpClient(new DefaultAsyncHttpClient(new DefaultAsyncHttpClientConfig.Builder()
+                                .setKeepEncodingHeader(true).build()))
+                        .setDoCloseAsyncHttpClient(true)
+                        .setContentCompressionEnabled(true)
+                        .build()) {
+            HttpResponse httpResponse = compressingProvider.execute(compressingProvider.getRequest(
+                    new NoAuthorizer(), "GET", compressingServer.getUrl("/oauth2/token"), (String) null));
+            for (String name : httpResponse.getHeaders().keySet()) {
+                assertTrue(name, !ContentEncoding.CONTENT_ENCODING_HEADER.equalsIgnoreCase(name));
+            }
+            // decompressed once, by AsyncHttpClient
+            assertEquals(StubHttpServer.ACCESS_TOKEN_JSON, read(httpResponse.getResponseBody()));
+        }
+    }
+
+    @Test
+    public void test_contentCompression_disabledByDefault() throws Exception {
+        List<String> acceptEncodings = Collections.synchronizedList(new ArrayList<String>());
+        try (StubHttpServer compressingServer = StubHttpServer.start(exchange -> {
+                    acceptEncodings.add(String.valueOf(
+                            exchange.getRequestHeaders().getFirst(ContentEncoding.ACCEPT_ENCODING_HEADER)));
+                    StubHttpServer.respondEncoded(exchange, 200, StubHttpServer.ACCESS_TOKEN_JSON);
+                })) {
+            HttpResponse httpResponse = httpProvider.execute(httpProvider.getRequest(new NoAuthorizer(), "GET",
+                    compressingServer.getUrl("/oauth2/token"), (String) null));
+            assertEquals(StubHttpServer.ACCESS_TOKEN_JSON.length(), httpResponse.getContentLength());
+            assertEquals(StubHttpServer.ACCESS_TOKEN_JSON, read(httpResponse.getResponseBody()));
+            assertEquals(Collections.singletonList("null"), acceptEncodings);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_getRequest_bodyNotPermitted() {
+        httpProvider.getRequest(new NoAuthorizer(), "GET", server.getUrl("/json"), "{\"foo\":\"bar\"}");
+    }
+
+    @Test
+    public void test_executeAsync_deadline() throws Exception {
+        try {
+            httpProvider.executeAsync(get("/slow"), Deadline.after(200, TimeUnit.MILLISECONDS))
+                    .get(10, TimeUnit.SECONDS);
+            fail("expected the deadline to time out the request");
+        } catch (ExecutionException e) {
+            assertTrue(String.valueOf(e.getCause()), e.getCause() instanceof SocketTimeoutException);
+        }
+        assertEquals(1, release.getCount());
+    }
+
+    @Test
+    public void test_executeAsync_expiredDeadline() throws Exception {
+        try {
+            httpProvider.executeAsync(get("/get"), Deadline.after(0, TimeUnit.MILLISECONDS))
+                    .get(10, TimeUnit.SECONDS);
+            fail("expected the expired deadline to fail the request");
+        } catch (ExecutionException e) {
+            assertTrue(String.valueOf(e.getCause()), e.getCause() instanceof SocketTimeoutException);
+        }
+        assertEquals(0, server.getRequestCount());
+    }
+
+    @Test
+    public void test_executeAsync_cancelAborts() throws Exception {
+        HttpRequest httpRequest = get("/slow");
+        CompletableFuture<HttpResponse> future = httpProvider.executeAsync(httpRequest);
+        long stopMillis = System.currentTimeMillis() + 5000L;
+        while (0 == inFlight.get() && System.currentTimeMillis() < stopMillis) {
+            Thread.sleep(10);
+        }
+        assertTrue(future.cancel(false));
+        // the aborted request does not stop the next one while the server is still stalled
+        HttpResponse httpResponse = httpProvider.execute(get("/get"), Deadline.after(5, TimeUnit.SECONDS));
+        assertEquals(200, httpResponse.getStatusCode());
+        assertEquals(1, release.getCount());
+    }
+
+    @Test
+    public void test_execute_abortedBeforeSending() throws Exception {
+        HttpRequest httpRequest = get("/get");
+        httpRequest.abort();
+        try {
+            httpProvider.execute(httpRequest);
+            fail("expected the aborted request to fail");
+        } catch (IOException e) {
+            // expected
+        }
+        assertEquals(0, server.getRequestCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_ioThreads_invalid() {
+        AsyncHttpClientProvider.builder().setIoThreads(0);
+    }
+
+    private static String read(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buf = new byte[1024];
+        int n;
+        while ((n = in.read(buf)) >= 0) {
+            out.write(buf, 0, n);
+        }
+        return new String(out.toByteArray(), HttpConstants.ENCODING_CHARSET);
+    }
+}
@@ -18,6 +18,7 @@ package com.here.account.http.java;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
@@ -27,12 +28,17 @@ import java.io.OutputStream;
 import java.io.UnsupportedEncodingException;
 import java.net.HttpURLConnection;
 import java.net.MalformedURLException;
+import java.net.SocketTimeoutException;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import com.here.account.auth.NoAuthorizer;
 import org.junit.Before;
@@ -40,12 +46,15 @@ import org.junit.Test;
 import org.mockito.Mockito;
 
 import com.here.account.auth.OAuth2Authorizer;
+import com.here.account.http.ContentEncoding;
+import com.here.account.http.Deadline;
 import com.here.account.http.HttpConstants;
 import com.here.account.http.HttpException;
 import com.here.account.http.HttpProvider;
 import com.here.account.http.HttpProvider.HttpRequest;
 import com.here.account.http.HttpProvider.HttpRequestAuthorizer;
 import com.here.account.http.HttpProvider.HttpResponse;
+import com.here.account.http.StubHttpServer;
 import com.here.account.http.apache.ApacheHttpClientProvider;
 import com.here.account.util.JsonSerializer;
 
@@ -297,6 +306,7 @@ public class JavaHttpProviderTest {
     }
 
     int statusCode = 200;
+    boolean chunked = false;
     ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
     Map<String, String> requestHeaders = new HashMap<String, String>();
 
@@ -336,7 +346,7 @@ public class JavaHttpProviderTest {
             @Override
             public String getHeaderField(String headerFieldName) {
                 if (HttpConstants.CONTENT_LENGTH_HEADER.equals(headerFieldName)) {
-                    return "" + urlString.getBytes(JsonSerializer.CHARSET).length;
+                    return chunked ? null : "" + urlString.getBytes(JsonSerializer.CHARSET).length;
                 }
                 return null;
             }
@@ -375,4 +385,299 @@ public class JavaHttpProviderTest {
         assertTrue("Content-Type Header should be present", response.getHeaders().get("Content-Type") != null);
     }
 
+    @Test
+    public void test_getContentLength_chunked() throws IOException {
+        JavaHttpProvider javaHttpProvider = (JavaHttpProvider) JavaHttpProvider.builder().build();
+        chunked = true;
+        assertEquals(-1L, javaHttpProvider.getContentLength(getMockHttpUrlConnection()));
+        chunked = false;
+        assertEquals(urlString.length(), javaHttpProvider.getContentLength(getMockHttpUrlConnection()));
+    }
+
+    @Test
+    public void test_proxy() throws IOException, HttpException {
+        List<String> requestUris = new CopyOnWriteArrayList<String>();
+        try (StubHttpServer proxy = StubHttpServer.start(exchange -> {
+                    requestUris.add(exchange.getRequestURI().toString());
+                    StubHttpServer.respond(exchange, 200, StubHttpServer.ACCESS_TOKEN_JSON);
+                });
+                HttpProvider httpProvider = JavaHttpProvider.builder()
+                        .setProxy("localhost", new URL(proxy.getUrl("/")).getPort())
+                        .build()) {
+            HttpRequest httpRequest = httpProvider.getRequest(new NoAuthorizer(), "GET",
+                    "http://proxied.example.com/foo", (String) null);
+            HttpResponse httpResponse = httpProvider.execute(httpRequest);
+            httpResponse.getResponseBody().close();
+            assertEquals(200, httpResponse.getStatusCode());
+            assertEquals(Collections.singletonList("http://proxied.example.com/foo"), requestUris);
+        }
+    }
+
+    @Test
+    public void test_proxyAuthentication() throws IOException, HttpException {
+        List<String> proxyAuthorizations = new CopyOnWriteArrayList<String>();
+        try (StubHttpServer proxy = StubHttpServer.start(exchange -> {
+                    proxyAuthorizations.add(String.valueOf(
+                            exchange.getRequestHeaders().getFirst("Proxy-Authorization")));
+                    StubHttpServer.respond(exchange, 200, StubHttpServer.ACCESS_TOKEN_JSON);
+                });
+                HttpProvider httpProvider = JavaHttpProvider.builder()
+                        .setProxy("localhost", new URL(proxy.getUrl("/")).getPort())
+                        .setProxyAuthentication("user", "secret")
+                        .build()) {
+            HttpRequest httpRequest = httpProvider.getRequest(new NoAuthorizer(), "GET",
+                    "http://proxied.example.com/foo", (String) null);
+            HttpResponse httpResponse = httpProvider.execute(httpRequest);
+            httpResponse.getResponseBody().close();
+            assertEquals(200, httpResponse.getStatusCode());
+            // "user:secret"
+            assertEquals(Collections.singletonList("Basic dXNlcjpzZWNyZXQ="), proxyAuthorizations);
+        }
+    }
+
+    @Test
+    public void test_maxConnections() throws IOException, HttpException {
+        try (StubHttpServer server = StubHttpServer.startTokenEndpoint();
+                HttpProvider httpProvider = JavaHttpProvider.builder()
+                        .setMaxConnections(1)
+                        .setConnectionTimeoutInMs(200)
+                        .build()) {
+            String url = server.getUrl("/oauth2/token");
+            HttpResponse first = httpProvider.execute(
+                    httpProvider.getRequest(new NoAuthorizer(), "GET", url, (String) null));
+            try {
+                httpProvider.execute(httpProvider.getRequest(new NoAuthorizer(), "GET", url, (String) null));
+                fail("expected SocketTimeoutException while the only connection is in use");
+            } catch (SocketTimeoutException e) {
+                // expected
+            }
+            first.getResponseBody().close();
+
+            HttpResponse second = httpProvider.execute(
+                    httpProvider.getRequest(new NoAuthorizer(), "GET", url, (String) null));
+            assertEquals(200, second.getStatusCode());
+            second.getResponseBody().close();
+            assertEquals(2, server.getRequestCount());
+        }
+    }
+
+    @Test
+    public void test_maxConnections_noContentBodyNeverTouched() throws IOException, HttpException {
+        try (StubHttpServer server = StubHttpServer.start(exchange -> exchange.sendResponseHeaders(204, -1L));
+                HttpProvider httpProvider = JavaHttpProvider.builder()
+                        .setMaxConnections(1)
+                        .setConnectionTimeoutInMs(200)
+                        .build()) {
+            String url = server.getUrl("/resource");
+            for (int i = 0; i < 3; i++) {
+                HttpResponse httpResponse = httpProvider.execute(
+                        httpProvider.getRequest(new NoAuthorizer(), "DELETE", url, (String) null));
+                assertEquals(204, httpResponse.getStatusCode());
+            }
+            assertEquals(3, server.getRequestCount());
+        }
+    }
+
+    @Test
+    public void test_maxConnections_unclosedBodyReclaimed() throws IOException, HttpException {
+        try (StubHttpServer server = StubHttpServer.startTokenEndpoint();
+                HttpProvider httpProvider = JavaHttpProvider.builder()
+                        .setMaxConnections(1)
+                        .setConnectionTimeoutInMs(5000)
+                        .build()) {
+            String url = server.getUrl("/oauth2/token");
+            for (int i = 0; i < 3; i++) {
+                // the body is never read or closed, and is unreachable once the loop moves on
+                assertEquals(200, httpProvider.execute(
+                        httpProvider.getRequest(new NoAuthorizer(), "GET", url, (String) null)).getStatusCode());
+                System.gc();
+            }
+            assertEquals(3, server.getRequestCount());
+        }
+    }
+
+    @Test
+    public void test_keepAlive_false() throws IOException, HttpException {
+        List<String> connectionHeaders = new CopyOnWriteArrayList<String>();
+        try (StubHttpServer server = StubHttpServer.start(exchange -> {
+                    connectionHeaders.add(String.valueOf(exchange.getRequestHeaders().getFirst("Connection")));
+                    StubHttpServer.respond(exchange, 200, StubHttpServer.ACCESS_TOKEN_JSON);
+                });
+                HttpProvider httpProvider = JavaHttpProvider.builder()
+                        .setKeepAlive(false)
+                        .build()) {
+            HttpResponse httpResponse = httpProvider.execute(httpProvider.getRequest(new NoAuthorizer(),
+                    "GET", server.getUrl("/oauth2/token"), (String) null));
+            httpResponse.getResponseBody().close();
+            assertEquals(Collections.singletonList("close"), connectionHeaders);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_connectionTimeout_negative() {
+        JavaHttpProvider.builder().setConnectionTimeoutInMs(-1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_maxConnections_negative() {
+        JavaHttpProvider.builder().setMaxConnections(-1);
+    }
+
+
+    @Test
+    public void test_getReservedLane() throws IOException {
+        HttpProvider unlimited = JavaHttpProvider.builder().build();
+        assertTrue("no connection limit, so no lane", unlimited.getReservedLane() == unlimited);
+
+        HttpProvider limited = JavaHttpProvider.builder().setMaxConnections(4).build();
+        HttpProvider reservedLane = limited.getReservedLane();
+        assertTrue(reservedLane != limited);
+        assertTrue(reservedLane.getReservedLane() == reservedLane);
+
+        HttpProvider noLane = JavaHttpProvider.builder().setMaxConnections(4).setReservedConnections(0).build();
+        assertTrue(noLane.getReservedLane() == noLane);
+    }
+
+    @Test
+    public void test_warmUp() throws IOException, HttpException {
+        List<String> requests = new CopyOnWriteArrayList<String>();
+        try (StubHttpServer server = StubHttpServer.start(exchange -> {
+                    requests.add(exchange.getRequestMethod() + " " + exchange.getRemoteAddress().getPort());
+                    StubHttpServer.respond(exchange, 200, StubHttpServer.ACCESS_TOKEN_JSON);
+                });
+                HttpProvider httpProvider = JavaHttpProvider.builder()
+                        .setMaxConnections(1)
+                        .setConnectionTimeoutInMs(200)
+                        .build()) {
+            String url = server.getUrl("/oauth2/token");
+            httpProvider.warmUp(url);
+            HttpResponse httpResponse = httpProvider.execute(
+                    httpProvider.getRequest(new NoAuthorizer(), "POST", url, (String) null));
+            assertEquals(200, httpResponse.getStatusCode());
+            httpResponse.getResponseBody().close();
+
+            assertEquals(2, requests.size());
+            String[] warmUp = requests.get(0).split(" ");
+            String[] request = requests.get(1).split(" ");
+            assertEquals("HEAD", warmUp[0]);
+            assertEquals("POST", request[0]);
+            assertEquals("the request reuses the warmed-up connection", warmUp[1], request[1]);
+        }
+    }
+
+    @Test
+    public void test_warmUp_deadline() throws IOException, HttpException {
+        CountDownLatch release = new CountDownLatch(1);
+        try (StubHttpServer server = StubHttpServer.start(exchange -> {
+                    try {
+                        release.await(10, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    StubHttpServer.respond(exchange, 200, StubHttpServer.ACCESS_TOKEN_JSON);
+                });
+                HttpProvider httpProvider = JavaHttpProvider.builder().build()) {
+            long startMillis = System.currentTimeMillis();
+            try {
+                httpProvider.warmUp(server.getUrl("/oauth2/token"), Deadline.after(200, TimeUnit.MILLISECONDS));
+                fail("expected the stalled warm-up to time out");
+            } catch (SocketTimeoutException e) {
+                long elapsedMillis = System.currentTimeMillis() - startMillis;
+                assertTrue("elapsedMillis " + elapsedMillis, elapsedMillis < 2000L);
+            } finally {
+                release.countDown();
+            }
+        }
+    }
+
+    @Test
+    public void test_contentCompression() throws IOException, HttpException {
+        List<String> acceptEncodings = new CopyOnWriteArrayList<String>();
+        try (StubHttpServer server = StubHttpServer.start(exchange -> {
+                    acceptEncodings.add(String.valueOf(
+                            exchange.getRequestHeaders().getFirst(ContentEncoding.ACCEPT_ENCODING_HEADER)));
+                    StubHttpServer.respondEncoded(exchange, 200, StubHttpServer.ACCESS_TOKEN_JSON);
+                });
+                HttpProvider httpProvider = JavaHttpProvider.builder()
+                        .setMaxConnections(1)
+                        .setConnectionTimeoutInMs(1000)
+                        .setContentCompressionEnabled(true)
+                        .build()) {
+            String url = server.getUrl("/oauth2/token");
+            // a warm-up HEAD has an encoded but empty body
+            httpProvider.warmUp(url);
+            // more requests than connections, so each must release its connection when read to the end
+            for (int i = 0; i < 3; i++) {
+                HttpResponse httpResponse = httpProvider.execute(
+                        httpProvider.getRequest(new NoAuthorizer(), "GET", url, (String) null));
+                assertEquals(200, httpResponse.getStatusCode());
+                assertEquals(-1L, httpResponse.getContentLength());
+                for (String name : httpResponse.getHeaders().keySet()) {
+                    assertTrue(name, !ContentEncoding.CONTENT_ENCODING_HEADER.equalsIgnoreCase(name)
+                            && !HttpConstants.CONTENT_LENGTH_HEADER.equalsIgnoreCase(name));
+                }
+                assertEquals(StubHttpServer.ACCESS_TOKEN_JSON, readBody(httpResponse.getResponseBody()));
+            }
+            assertEquals(4, acceptEncodings.size());
+            for (String acceptEncoding : acceptEncodings) {
+                assertEquals(ContentEncoding.ACCEPTED_ENCODINGS, acceptEncoding);
+            }
+        }
+    }
+
+    @Test
+    public void test_contentCompression_undecodable() throws IOException, HttpException {
+        try (StubHttpServer server = StubHttpServer.start(exchange -> {
+                    exchange.getResponseHeaders().set(ContentEncoding.CONTENT_ENCODING_HEADER,
+                            exchange.getRequestURI().getPath().startsWith("/br") ? "br" : "gzip, identity");
+                    StubHttpServer.respond(exchange, 200, StubHttpServer.ACCESS_TOKEN_JSON);
+                });
+                HttpProvider httpProvider = JavaHttpProvider.builder()
+                        .setContentCompressionEnabled(true)
+                        .build()) {
+            for (String path : new String[] {"/br/oauth2/token", "/list/oauth2/token"}) {
+                HttpResponse httpResponse = httpProvider.execute(httpProvider.getRequest(
+                        new NoAuthorizer(), "GET", server.getUrl(path), (String) null));
+                // passed through as received, headers and all
+                assertEquals(StubHttpServer.ACCESS_TOKEN_JSON.length(), httpResponse.getContentLength());
+                assertTrue(path, httpResponse.getHeaders().keySet().stream()
+                        .anyMatch(ContentEncoding.CONTENT_ENCODING_HEADER::equalsIgnoreCase));
+                assertEquals(StubHttpServer.ACCESS_TOKEN_JSON, readBody(httpResponse.getResponseBody()));
+            }
+        }
+    }
+
+    @Test
+    public void test_contentCompression_disabled() throws IOException, HttpException {
+        List<String> acceptEncodings = new CopyOnWriteArrayList<String>();
+        try (StubHttpServer server = StubHttpServer.start(exchange -> {
+                    acceptEncodings.add(String.valueOf(
+                            exchange.getRequestHeaders().getFirst(ContentEncoding.ACCEPT_ENCODING_HEADER)));
+                    StubHttpServer.respondEncoded(exchange, 200, StubHttpServer.ACCESS_TOKEN_JSON);
+                });
+                HttpProvider httpProvider = JavaHttpProvider.builder().build()) {
+            HttpResponse httpResponse = httpProvider.execute(httpProvider.getRequest(
+                    new NoAuthorizer(), "GET", server.getUrl("/oauth2/token"), (String) null));
+            assertEquals(StubHttpServer.ACCESS_TOKEN_JSON.length(), httpResponse.getContentLength());
+            assertEquals(StubHttpServer.ACCESS_TOKEN_JSON, readBody(httpResponse.getResponseBody()));
+            assertEquals(Collections.singletonList("null"), acceptEncodings);
+        }
+    }
+
+    private static String readBody(InputStream inputStream) throws IOException {
+        try (InputStream in = inputStream) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buf = new byte[64];
+            int n;
+            while ((n = in.read(buf)) > 0) {
+                out.write(buf, 0, n);
+            }
+            return new String(out.toByteArray(), StandardCharsets.UTF_8);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_setReservedConnections_negative() {
+        JavaHttpProvider.builder().setReservedConnections(-1);
+    }
 }
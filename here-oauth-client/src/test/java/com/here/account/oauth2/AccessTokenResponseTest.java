@@ -21,6 +21,7 @@ import com.here.account.auth.OAuth1Signer;
 import com.here.account.http.HttpConstants;
 import com.here.account.http.HttpException;
 import com.here.account.http.HttpProvider;
+import com.here.account.http.RequestTemplate;
 import com.here.account.util.Clock;
 import org.apache.http.HttpStatus;
 import org.junit.Test;
@@ -33,8 +34,8 @@ import java.nio.charset.StandardCharsets;
 import java.util.*;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.fail;
-import static org.mockito.Matchers.anyString;
 
 public class AccessTokenResponseTest extends AbstractCredentialTezt{
 
@@ -106,8 +107,8 @@ public class AccessTokenResponseTest extends AbstractCredentialTezt{
                 .when(mockHttpRequest).addHeader(Mockito.anyString(), Mockito.anyString());
 
         HttpProvider mockHttpProvider = Mockito.mock(HttpProvider.class);
-        Mockito.when(mockHttpProvider.getRequest(Mockito.any(HttpProvider.HttpRequestAuthorizer.class), anyString(),
-                anyString(), Mockito.any(Map.class)))
+        Mockito.when(mockHttpProvider.getRequest(Mockito.any(HttpProvider.HttpRequestAuthorizer.class),
+                Mockito.any(RequestTemplate.class), Mockito.any(Map.class)))
                 .thenReturn(mockHttpRequest);
         final HttpProvider.HttpResponse mockHttpResponse = new HttpProvider.HttpResponse() {
             @Override
@@ -173,4 +174,45 @@ public class AccessTokenResponseTest extends AbstractCredentialTezt{
         response.setCorrelationId(expectedCorrelationId);
         assertEquals(expectedCorrelationId, response.getCorrelationId());
     }
+
+    @Test
+    public void test_getClaims() {
+        String accessToken = JwtClaimsTest.jwt("{\"aid\":\"app-1\",\"exp\":1700086400}");
+        AccessTokenResponse response = new AccessTokenResponse(accessToken, "bearer", 3600L, null, null, null);
+        JwtClaims claims = response.getClaims();
+        assertEquals("app-1", claims.getAid());
+        assertEquals(Long.valueOf(1700086400L), claims.getExp());
+        assertTrue("claims are decoded once", claims == response.getClaims());
+    }
+
+    @Test
+    public void test_getClaims_notJwt() {
+        AccessTokenResponse response = new AccessTokenResponse("opaque", "bearer", 3600L, null, null, null);
+        assertNull(response.getClaims());
+        assertNull(response.getClaims());
+        assertNull(new AccessTokenResponse().getClaims());
+    }
+
+    @Test
+    public void test_getTimeToExpiryMillis_expiresIn() {
+        AccessTokenResponse response = new AccessTokenResponse("opaque", "bearer", 3600L, null, null, null);
+        long timeToExpiryMillis = response.getTimeToExpiryMillis();
+        assertTrue("timeToExpiryMillis " + timeToExpiryMillis,
+                timeToExpiryMillis <= 3600000L && timeToExpiryMillis > 3590000L);
+    }
+
+    @Test
+    public void test_getTimeToExpiryMillis_expClaim() {
+        long exp = System.currentTimeMillis() / 1000L + 600L;
+        AccessTokenResponse response = new AccessTokenResponse(JwtClaimsTest.jwt("{\"exp\":" + exp + "}"),
+                "bearer", null, null, null, null);
+        long timeToExpiryMillis = response.getTimeToExpiryMillis();
+        assertTrue("timeToExpiryMillis " + timeToExpiryMillis,
+                timeToExpiryMillis <= 600000L && timeToExpiryMillis > 590000L);
+    }
+
+    @Test
+    public void test_getTimeToExpiryMillis_unknown() {
+        assertNull(new AccessTokenResponse("opaque", "bearer", null, null, null, null).getTimeToExpiryMillis());
+    }
 }
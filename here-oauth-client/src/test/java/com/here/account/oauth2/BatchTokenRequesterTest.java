@@ -0,0 +1,230 @@
+/*
+ * Copyright (c) 2026 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.here.account.oauth2;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.here.account.auth.OAuth1ClientCredentialsProvider;
+import com.here.account.http.HttpProvider;
+import com.here.account.http.StubHttpServer;
+import com.here.account.http.java.JavaHttpProvider;
+import com.here.account.oauth2.ratelimit.RateLimiter;
+
+public class BatchTokenRequesterTest {
+
+    private static final String ERROR_JSON =
+            "{\"error\":\"invalid_client\",\"errorCode\":401300,\"message\":\"Signature mismatch\"}";
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+
+    private StubHttpServer server;
+    private HttpProvider httpProvider;
+
+    @Before
+    public void setUp() throws IOException {
+        server = StubHttpServer.start(exchange -> {
+            int current = inFlight.incrementAndGet();
+            maxInFlight.accumulateAndGet(current, Math::max);
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            inFlight.decrementAndGet();
+            if (exchange.getRequestURI().getPath().startsWith("/bad/")) {
+                StubHttpServer.respond(exchange, 401, ERROR_JSON);
+            } else {
+                StubHttpServer.respond(exchange, 200, StubHttpServer.ACCESS_TOKEN_JSON);
+            }
+        }, 32);
+        httpProvider = JavaHttpProvider.builder().build();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        httpProvider.close();
+        server.close();
+    }
+
+    private List<ClientAuthorizationRequestProvider> getCredentials(int good, int bad) {
+        List<ClientAuthorizationRequestProvider> credentials = new ArrayList<>();
+        for (int i = 0; i < good + bad; i++) {
+            String path = i < good ? "/oauth2/token" : "/bad/oauth2/token";
+            credentials.add(new OAuth1ClientCredentialsProvider(server.getUrl(path), "key" + i, "secret" + i));
+        }
+        return credentials;
+    }
+
+    @Test
+    public void test_requestTokens_resultsInOrder() throws IOException {
+        List<ClientAuthorizationRequestProvider> credentials = getCredentials(6, 2);
+        Collections.shuffle(credentials);
+        try (BatchTokenRequester requester = BatchTokenRequester.builder()
+                .setHttpProvider(httpProvider)
+                .build()) {
+            List<BatchTokenRequester.Result> results = requester.requestTokens(credentials);
+            assertEquals(credentials.size(), results.size());
+            for (int i = 0; i < results.size(); i++) {
+                BatchTokenRequester.Result result = results.get(i);
+                assertTrue(credentials.get(i) == result.getClientAuthorizationRequestProvider());
+                if (credentials.get(i).getTokenEndpointUrl().contains("/bad/")) {
+                    assertFalse(result.isSuccess());
+                    assertNull(result.getAccessTokenResponse());
+                    AccessTokenException e = (AccessTokenException) result.getException();
+                    assertEquals(401, e.getStatusCode());
+                    assertEquals(Integer.valueOf(401300), e.getErrorResponse().getErrorCode());
+                } else {
+                    assertTrue(result.isSuccess());
+                    assertNull(result.getException());
+                    assertEquals("stub-access-token", result.getAccessTokenResponse().getAccessToken());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void test_requestTokens_boundedConcurrency() throws IOException {
+        int maxConcurrency = 4;
+        try (BatchTokenRequester requester = BatchTokenRequester.builder()
+                .setHttpProvider(httpProvider)
+                .setMaxConcurrency(maxConcurrency)
+                .build()) {
+            long startNanos = System.nanoTime();
+            List<BatchTokenRequester.Result> results = requester.requestTokens(getCredentials(40, 0));
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+            assertEquals(40, results.size());
+            assertTrue("maxInFlight " + maxInFlight.get(), maxInFlight.get() <= maxConcurrency);
+            assertTrue("maxInFlight " + maxInFlight.get(), maxInFlight.get() > 1);
+            // 40 requests of 50 ms each, 4 at a time, take at least 10 rounds
+            assertTrue("elapsedMillis " + elapsedMillis, elapsedMillis >= 500);
+        }
+    }
+
+    @Test
+    public void test_requestTokens_rateLimited() throws IOException {
+        try (BatchTokenRequester requester = BatchTokenRequester.builder()
+                .setHttpProvider(httpProvider)
+                .setMaxConcurrency(10)
+                .setMaxRequestsPerSecond(20)
+                .build()) {
+            long startNanos = System.nanoTime();
+            requester.requestTokens(getCredentials(10, 0));
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+            // the 10th request starts 9 intervals of 50 ms after the first
+            assertTrue("elapsedMillis " + elapsedMillis, elapsedMillis >= 450);
+        }
+    }
+
+    @Test
+    public void test_requestTokens_progress() throws IOException {
+        List<BatchTokenRequester.Progress> progress = new CopyOnWriteArrayList<>();
+        try (BatchTokenRequester requester = BatchTokenRequester.builder()
+                .setHttpProvider(httpProvider)
+                .setMaxRequestsPerSecond(100)
+                .setProgressListener(progress::add)
+                .build()) {
+            requester.requestTokens(getCredentials(5, 3));
+        }
+        assertEquals(8, progress.size());
+        int maxCompleted = 0;
+        for (BatchTokenRequester.Progress p : progress) {
+            assertEquals(8, p.getTotal());
+            assertEquals(p.getSucceeded() + p.getFailed(), p.getCompleted());
+            maxCompleted = Math.max(maxCompleted, p.getCompleted());
+        }
+        assertEquals(8, maxCompleted);
+        BatchTokenRequester.Progress last = progress.get(progress.size() - 1);
+        assertTrue(last.toString(), last.getRateLimitWaitMillis() > 0);
+
+        int succeeded = 0;
+        int failed = 0;
+        for (BatchTokenRequester.Progress p : progress) {
+            succeeded = Math.max(succeeded, p.getSucceeded());
+            failed = Math.max(failed, p.getFailed());
+        }
+        assertEquals(5, succeeded);
+        assertEquals(3, failed);
+    }
+
+    @Test
+    public void test_requestTokens_interruptedWaitingForRateLimit() throws IOException {
+        AtomicInteger acquired = new AtomicInteger();
+        RateLimiter rateLimiter = new RateLimiter() {
+            @Override
+            public boolean tryAcquire() {
+                return true;
+            }
+
+            @Override
+            public boolean tryAcquire(long timeout, TimeUnit unit) throws InterruptedException {
+                if (acquired.incrementAndGet() > 2) {
+                    throw new InterruptedException();
+                }
+                return true;
+            }
+        };
+        try (BatchTokenRequester requester = BatchTokenRequester.builder()
+                .setHttpProvider(httpProvider)
+                .setMaxConcurrency(1)
+                .setRateLimiter(rateLimiter)
+                .build()) {
+            List<BatchTokenRequester.Result> results = requester.requestTokens(getCredentials(3, 0));
+            assertEquals(3, results.size());
+            assertTrue(results.get(0).isSuccess());
+            assertTrue(results.get(1).isSuccess());
+            assertFalse(results.get(2).isSuccess());
+            RequestExecutionException e = (RequestExecutionException) results.get(2).getException();
+            assertTrue(e.getCause() instanceof InterruptedException);
+        }
+        assertEquals(2, server.getRequestCount());
+    }
+
+    @Test
+    public void test_requestTokens_empty() throws IOException {
+        try (BatchTokenRequester requester = BatchTokenRequester.builder()
+                .setHttpProvider(httpProvider)
+                .build()) {
+            assertTrue(requester.requestTokens(Collections.emptyList()).isEmpty());
+        }
+        assertEquals(0, server.getRequestCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_maxConcurrency_invalid() {
+        BatchTokenRequester.builder().setMaxConcurrency(0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_maxRequestsPerSecond_invalid() {
+        BatchTokenRequester.builder().setMaxRequestsPerSecond(-1);
+    }
+}
@@ -16,6 +16,8 @@
  */
 package com.here.account.oauth2;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 import com.here.account.util.JacksonSerializer;
@@ -186,4 +188,20 @@ public class FileAccessTokenResponseTest {
         }
     }
 
-}
\ No newline at end of file
+    @Test
+    public void test_exp_fromClaims() {
+        long exp = System.currentTimeMillis() / 1000L + 600L;
+        String accessToken = JwtClaimsTest.jwt("{\"exp\":" + exp + "}");
+        response = new FileAccessTokenResponse(accessToken, "bearer", null, null, null, null, null);
+        assertEquals(Long.valueOf(exp), response.getExp());
+        long expiresIn = response.getExpiresIn();
+        assertTrue("expiresIn " + expiresIn, expiresIn <= 600L && expiresIn > 590L);
+    }
+
+    @Test
+    public void test_exp_unknown() {
+        response = new FileAccessTokenResponse("opaque", "bearer", null, null, null, null, null);
+        assertNull(response.getExp());
+        assertNull(response.getExpiresIn());
+    }
+}
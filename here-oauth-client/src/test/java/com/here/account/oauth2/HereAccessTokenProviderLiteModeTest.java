@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2026 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.here.account.oauth2;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.logging.Logger;
+
+import org.junit.Test;
+
+/**
+ * Runs the {@link StartupBenchmark} in a fresh JVM, once with the full classpath and
+ * once without jackson-databind, Apache httpclient, or commons-configuration,
+ * and compares startup time and loaded class counts.
+ */
+public class HereAccessTokenProviderLiteModeTest {
+
+    private static final Logger LOGGER = Logger.getLogger(HereAccessTokenProviderLiteModeTest.class.getName());
+
+    @Test
+    public void test_liteMode_startupAndFootprint() throws IOException, InterruptedException {
+        String classPath = StartupBenchmark.getTestClassPath();
+        String liteClassPath = StartupBenchmark.withoutOptionalJars(classPath);
+        assertTrue("expected optional jars on the test classpath", liteClassPath.length() < classPath.length());
+
+        Map<String, String> full = StartupBenchmark.runInNewJvm(classPath);
+        Map<String, String> lite = StartupBenchmark.runInNewJvm(liteClassPath);
+
+        assertEquals("stub-access-token", full.get("token"));
+        assertEquals("true", full.get("jackson"));
+        assertEquals("true", full.get("apache"));
+
+        assertEquals("stub-access-token", lite.get("token"));
+        assertEquals("false", lite.get("jackson"));
+        assertEquals("false", lite.get("apache"));
+
+        int fullClasses = Integer.parseInt(full.get("loadedClasses"));
+        int liteClasses = Integer.parseInt(lite.get("loadedClasses"));
+        assertTrue("lite mode loaded " + liteClasses + " classes, full mode " + fullClasses,
+                liteClasses < fullClasses);
+
+        LOGGER.info("full mode: first token in " + full.get("elapsedMillis") + " ms, JVM uptime "
+                + full.get("uptimeMillis") + " ms, " + fullClasses + " classes loaded, "
+                + full.get("heapUsedBytes") + " heap bytes used");
+        LOGGER.info("lite mode: first token in " + lite.get("elapsedMillis") + " ms, JVM uptime "
+                + lite.get("uptimeMillis") + " ms, " + liteClasses + " classes loaded, "
+                + lite.get("heapUsedBytes") + " heap bytes used");
+    }
+}
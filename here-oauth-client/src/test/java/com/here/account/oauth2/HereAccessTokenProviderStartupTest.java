@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2026 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.here.account.oauth2;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.logging.Logger;
+
+import org.junit.Test;
+
+/**
+ * Runs the {@link StartupBenchmark} in fresh JVMs, and checks that the cold start
+ * only loads what the selected credentials and the token response need.
+ */
+public class HereAccessTokenProviderStartupTest {
+
+    private static final Logger LOGGER = Logger.getLogger(HereAccessTokenProviderStartupTest.class.getName());
+
+    private static final int RUNS = 3;
+
+    /**
+     * Loaded by -verbose:class as "[Loaded name from ...]" on Java 8,
+     * and "[...][class,load] name source: ..." on later versions.
+     */
+    private static boolean isLoaded(String verboseClassOutput, String className) {
+        for (String line : verboseClassOutput.split("\n")) {
+            if (line.startsWith("[") && line.contains(" " + className + " ")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Test
+    public void test_defaultChain_coldStart() throws IOException, InterruptedException {
+        String classPath = StartupBenchmark.getTestClassPath();
+        long[] elapsedMillis = new long[RUNS];
+        Map<String, String> results = null;
+        for (int i = 0; i < RUNS; i++) {
+            results = StartupBenchmark.runInNewJvm(classPath, "-verbose:class");
+            assertEquals("stub-access-token", results.get("token"));
+            elapsedMillis[i] = Long.parseLong(results.get("elapsedMillis"));
+        }
+        String output = results.get("output");
+
+        // the System properties provider supplied the credentials, so the later providers were never created
+        assertTrue(isLoaded(output, "com.here.account.auth.provider.FromSystemProperties"));
+        assertFalse(isLoaded(output, "com.here.account.auth.provider.FromHereCredentialsIniFile"));
+        assertFalse(isLoaded(output, "com.here.account.auth.provider.FromDefaultHereCredentialsPropertiesFile"));
+        assertFalse(isLoaded(output, "com.here.account.auth.provider.FromRunAsIdFileProvider"));
+
+        // the token response was read without creating an ObjectMapper
+        assertTrue(isLoaded(output, "com.fasterxml.jackson.core.JsonFactory"));
+        assertFalse(isLoaded(output, "com.fasterxml.jackson.databind.ObjectMapper"));
+
+        Arrays.sort(elapsedMillis);
+        LOGGER.info("default chain: median time-to-first-token " + elapsedMillis[RUNS / 2]
+                + " ms over " + RUNS + " cold starts " + Arrays.toString(elapsedMillis)
+                + ", " + results.get("loadedClasses") + " classes loaded");
+    }
+}
@@ -21,9 +21,13 @@ import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
 
 import com.here.account.auth.NoAuthorizer;
+import com.here.account.auth.OAuth1ClientCredentialsProvider;
 import com.here.account.http.HttpConstants;
 import com.here.account.http.HttpException;
 import com.here.account.http.HttpProvider;
+import com.here.account.http.StubHttpServer;
+import com.here.account.http.apache.ApacheHttpClientProvider;
+import com.here.account.http.java.JavaHttpProvider;
 import com.here.account.oauth2.retry.Socket5xxExponentialRandomBackoffPolicy;
 import com.here.account.util.Clock;
 import com.here.account.util.Serializer;
@@ -34,9 +38,19 @@ import org.mockito.Mockito;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.net.ServerSocket;
 import java.net.SocketTimeoutException;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
 import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class HereAccessTokenProviderTest {
 
@@ -323,4 +337,167 @@ public class HereAccessTokenProviderTest {
         }
     }
 
+
+    @Test
+    public void test_HereAccessTokenProvider_reservedLane_apache() throws Exception {
+        HttpProvider httpProvider = ApacheHttpClientProvider.builder()
+                .setMaxConnections(2)
+                .setConnectionTimeoutInMs(500)
+                .build();
+        assertEquals("stub-access-token", getAccessTokenWhileSaturated(httpProvider, true));
+    }
+
+    @Test
+    public void test_HereAccessTokenProvider_reservedLane_java() throws Exception {
+        HttpProvider httpProvider = JavaHttpProvider.builder()
+                .setMaxConnections(2)
+                .setConnectionTimeoutInMs(500)
+                .build();
+        assertEquals("stub-access-token", getAccessTokenWhileSaturated(httpProvider, true));
+    }
+
+    @Test(expected = RequestExecutionException.class)
+    public void test_HereAccessTokenProvider_noReservedLane_saturated() throws Exception {
+        HttpProvider httpProvider = ApacheHttpClientProvider.builder()
+                .setMaxConnections(2)
+                .setConnectionTimeoutInMs(500)
+                .build();
+        getAccessTokenWhileSaturated(httpProvider, false);
+    }
+
+    @Test
+    public void test_HereAccessTokenProvider_reservedLane_mockHttpProvider() throws IOException {
+        // a mock returns null from getReservedLane, so the HttpProvider itself is used
+        try (HereAccessTokenProvider accessTokens = HereAccessTokenProvider.builder()
+                .setClientAuthorizationRequestProvider(clientAuthorizationRequestProvider)
+                .setHttpProvider(mockHttpProvider)
+                .setAlwaysRequestNewToken(true)
+                .build()) {
+            assertEquals(expectedAccessToken, accessTokens.getAccessToken());
+        }
+    }
+
+    /**
+     * Holds all of the httpProvider's connections with slow data requests, then gets an access token.
+     */
+    private String getAccessTokenWhileSaturated(HttpProvider httpProvider, boolean useReservedLane)
+            throws Exception {
+        AtomicInteger dataRequests = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService dataExecutor = Executors.newFixedThreadPool(2);
+        try (StubHttpServer server = StubHttpServer.start(exchange -> {
+                    if (exchange.getRequestURI().getPath().startsWith("/data")) {
+                        dataRequests.incrementAndGet();
+                        try {
+                            release.await(10L, TimeUnit.SECONDS);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                    }
+                    StubHttpServer.respond(exchange, 200, StubHttpServer.ACCESS_TOKEN_JSON);
+                }, 8)) {
+            for (int i = 0; i < 2; i++) {
+                dataExecutor.execute(() -> {
+                    try {
+                        HttpProvider.HttpResponse httpResponse = httpProvider.execute(httpProvider.getRequest(
+                                new NoAuthorizer(), "GET", server.getUrl("/data"), (String) null));
+                        httpResponse.getResponseBody().close();
+                    } catch (IOException | HttpException e) {
+                        // the test fails on the token request instead
+                    }
+                });
+            }
+            long deadlineMillis = System.currentTimeMillis() + 10000L;
+            while (dataRequests.get() < 2 && System.currentTimeMillis() < deadlineMillis) {
+                Thread.sleep(10L);
+            }
+            assertEquals("the connection pool is saturated", 2, dataRequests.get());
+
+            String tokenUrl = server.getUrl("/oauth2/token");
+            try (HereAccessTokenProvider accessTokens = HereAccessTokenProvider.builder()
+                    .setClientAuthorizationRequestProvider(new ClientAuthorizationRequestProvider() {
+                        @Override
+                        public String getTokenEndpointUrl() {
+                            return tokenUrl;
+                        }
+
+                        @Override
+                        public HttpProvider.HttpRequestAuthorizer getClientAuthorizer() {
+                            return new NoAuthorizer();
+                        }
+
+                        @Override
+                        public AccessTokenRequest getNewAccessTokenRequest() {
+                            return new ClientCredentialsGrantRequest();
+                        }
+
+                        @Override
+                        public HttpConstants.HttpMethods getHttpMethod() {
+                            return HttpConstants.HttpMethods.POST;
+                        }
+
+                        @Override
+                        public Clock getClock() {
+                            return Clock.SYSTEM;
+                        }
+
+                        @Override
+                        public String getScope() {
+                            return null;
+                        }
+                    })
+                    .setHttpProvider(httpProvider)
+                    .setAlwaysRequestNewToken(true)
+                    .setUseReservedLane(useReservedLane)
+                    .build()) {
+                return accessTokens.getAccessToken();
+            }
+        } finally {
+            release.countDown();
+            dataExecutor.shutdown();
+            dataExecutor.awaitTermination(10L, TimeUnit.SECONDS);
+            httpProvider.close();
+        }
+    }
+
+    @Test
+    public void test_warmUp() throws IOException {
+        List<String> methods = new CopyOnWriteArrayList<String>();
+        try (StubHttpServer server = StubHttpServer.start(exchange -> {
+                    methods.add(exchange.getRequestMethod());
+                    StubHttpServer.respond(exchange, 200, StubHttpServer.ACCESS_TOKEN_JSON);
+                });
+                HereAccessTokenProvider provider = HereAccessTokenProvider.builder()
+                        .setClientAuthorizationRequestProvider(new OAuth1ClientCredentialsProvider(
+                                server.getUrl("/oauth2/token"), "key", "secret"))
+                        .setAlwaysRequestNewToken(true)
+                        .build()) {
+            provider.warmUp();
+            assertEquals("stub-access-token", provider.getAccessToken());
+            assertEquals(Arrays.asList("HEAD", "POST"), methods);
+        }
+    }
+
+    @Test(expected = RequestExecutionException.class)
+    public void test_warmUp_unreachable() throws IOException {
+        int port;
+        try (ServerSocket serverSocket = new ServerSocket(0)) {
+            port = serverSocket.getLocalPort();
+        }
+        try (HereAccessTokenProvider provider = HereAccessTokenProvider.builder()
+                .setClientAuthorizationRequestProvider(new OAuth1ClientCredentialsProvider(
+                        "http://localhost:" + port + "/oauth2/token", "key", "secret"))
+                .setAlwaysRequestNewToken(true)
+                .build()) {
+            provider.warmUp();
+        }
+    }
+
+    @Test
+    public void test_warmUpBenchmark() throws Exception {
+        Properties results = new WarmUpBenchmark().run(5);
+        assertEquals("5", results.getProperty("refreshes"));
+        assertNotNull(results.getProperty("coldMedianMicros"));
+        assertNotNull(results.getProperty("warmMedianMicros"));
+    }
 }
@@ -21,6 +21,7 @@ import com.here.account.auth.OAuth1Signer;
 import com.here.account.http.HttpConstants;
 import com.here.account.http.HttpException;
 import com.here.account.http.HttpProvider;
+import com.here.account.http.RequestTemplate;
 import com.here.account.http.HttpProvider.HttpResponse;
 import com.here.account.identity.bo.IdentityTokenRequest;
 import com.here.account.oauth2.retry.NoRetryPolicy;
@@ -36,7 +37,10 @@ import org.mockito.stubbing.OngoingStubbing;
 import java.io.*;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.junit.Assert.*;
@@ -436,10 +440,10 @@ public class HereAccountTest extends AbstractCredentialTezt {
 
         /*
         httpRequest = httpProvider.getRequest(
-                clientAuthorizer, method, url, authorizationRequest.toFormParams());
+                clientAuthorizer, tokenRequestTemplate, authorizationRequest.toFormParams());
                 */
         Mockito.verify(mockHttpProvider, times(1))
-                .getRequest(Mockito.any(HttpProvider.HttpRequestAuthorizer.class), Mockito.anyString(), Mockito.anyString(),
+                .getRequest(Mockito.any(HttpProvider.HttpRequestAuthorizer.class), Mockito.any(RequestTemplate.class),
                         Mockito.eq(expectedMap));
     }
 
@@ -759,6 +763,36 @@ public class HereAccountTest extends AbstractCredentialTezt {
         Assert.assertEquals("67890", freshToken.get().getAccessToken());
     }
 
+    @Test
+    public void testGetFreshTokenRefreshListener() throws Exception {
+        String validToken1 = "{ \"access_token\": \"12345\", \"expires_in\": 30 }";
+        String validToken2 = "{ \"access_token\": \"67890\", \"expires_in\": 30 }";
+        Clock mySettableClock = new SettableSystemClock() {
+            @Override
+            public void schedule(ScheduledExecutorService scheduledExecutorService,
+                    Runnable runnable, long millisecondsInTheFutureToSchedule) {
+                super.schedule(scheduledExecutorService, runnable, 100L);
+            }
+        };
+        TokenEndpoint tokenEndpoint = (TokenEndpoint) HereAccount.getTokenEndpoint(
+                mockHttpProvider(dummyResponse(200,
+                                               validToken1.getBytes().length,
+                                               new ByteArrayInputStream(validToken1.getBytes("UTF-8"))),
+                                 dummyResponse(200,
+                                               validToken2.getBytes().length,
+                                               new ByteArrayInputStream(validToken2.getBytes("UTF-8")))),
+                new OAuth1ClientCredentialsProvider(mySettableClock, url, accessKeyId, accessKeySecret, scope),
+                new JacksonSerializer());
+
+        try (Fresh<AccessTokenResponse> freshToken = tokenEndpoint.
+                requestAutoRefreshingToken(new ClientCredentialsGrantRequest())) {
+            BlockingQueue<String> refreshed = new LinkedBlockingQueue<String>();
+            freshToken.addRefreshListener((previous, current) ->
+                    refreshed.add(previous.getAccessToken() + "->" + current.getAccessToken()));
+            Assert.assertEquals("12345->67890", refreshed.poll(5, TimeUnit.SECONDS));
+        }
+    }
+
 
     private HttpResponse dummyResponse(final int statusCode,
                                        final long contentLength,
@@ -959,7 +993,7 @@ public class HereAccountTest extends AbstractCredentialTezt {
 //                        .verboseLogging()
         );
         Mockito.when(mockHttpProvider.getRequest(Mockito.any(HttpProvider.HttpRequestAuthorizer.class),
-                Mockito.anyString(), Mockito.anyString(), Mockito.any(Map.class))).thenReturn(mockHttpRequest);
+                Mockito.any(RequestTemplate.class), Mockito.any(Map.class))).thenReturn(mockHttpRequest);
 
         TokenEndpoint tokenEndpoint = HereAccount.getTokenEndpoint(mockHttpProvider, mockClientCredentialsProvider);
 
@@ -1042,7 +1076,7 @@ public class HereAccountTest extends AbstractCredentialTezt {
 //                        .verboseLogging()
         );
         Mockito.when(mockHttpProvider.getRequest(Mockito.any(HttpProvider.HttpRequestAuthorizer.class),
-                Mockito.anyString(), Mockito.anyString(), Mockito.any(Map.class))).thenReturn(mockHttpRequest);
+                Mockito.any(RequestTemplate.class), Mockito.any(Map.class))).thenReturn(mockHttpRequest);
 
         TokenEndpoint tokenEndpoint = HereAccount.getTokenEndpoint(mockHttpProvider, mockClientCredentialsProvider);
 
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2026 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.here.account.oauth2;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+
+import org.junit.Test;
+
+public class JwtClaimsTest {
+
+    static String jwt(String payloadJson) {
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        return encoder.encodeToString("{\"alg\":\"RS256\",\"typ\":\"JWT\"}".getBytes(StandardCharsets.UTF_8))
+                + "." + encoder.encodeToString(payloadJson.getBytes(StandardCharsets.UTF_8))
+                + ".c2lnbmF0dXJl";
+    }
+
+    @Test
+    public void test_decode() {
+        JwtClaims claims = JwtClaims.decode(jwt("{\"aid\":\"app-1\",\"iat\":1700000000,\"exp\":1700086400,"
+                + "\"iss\":\"https://account.api.here.com\",\"sub\":\"HERE-123\",\"scope\":\"hrn:here:authorization::org:project/p\","
+                + "\"roles\":[\"a\",\"b\"],\"nested\":{\"n\":1}}"));
+        assertEquals("app-1", claims.getAid());
+        assertEquals(Long.valueOf(1700000000L), claims.getIat());
+        assertEquals(Long.valueOf(1700086400L), claims.getExp());
+        assertEquals("https://account.api.here.com", claims.getIss());
+        assertEquals("HERE-123", claims.getSub());
+        assertEquals("hrn:here:authorization::org:project/p", claims.getScope());
+        assertEquals(Arrays.asList("a", "b"), claims.get("roles"));
+        assertEquals(8, claims.asMap().size());
+    }
+
+    @Test
+    public void test_decode_unicodeNeedsBase64Url() {
+        // this payload encodes with '-' and '_', which plain Base64 rejects
+        JwtClaims claims = JwtClaims.decode(jwt("{\"name\":\"üÿþ???\"}"));
+        assertEquals("üÿþ???", claims.getString("name"));
+    }
+
+    @Test
+    public void test_typeMismatch() {
+        JwtClaims claims = JwtClaims.decode(jwt("{\"aid\":7,\"exp\":\"soon\"}"));
+        assertNull(claims.getAid());
+        assertNull(claims.getExp());
+        assertNull(claims.get("absent"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_decode_opaqueToken() {
+        JwtClaims.decode("opaque-access-token");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_decode_tooManyParts() {
+        JwtClaims.decode(jwt("{}") + ".extra");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_decode_notBase64() {
+        JwtClaims.decode("a.b*c.d");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_decode_notObject() {
+        JwtClaims.decode(jwt("[1,2]"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_decode_null() {
+        JwtClaims.decode(null);
+    }
+}
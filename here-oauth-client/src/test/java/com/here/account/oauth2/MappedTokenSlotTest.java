@@ -0,0 +1,263 @@
+/*
+ * Copyright (c) 2026 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.here.account.oauth2;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.here.account.auth.provider.FromRunAsIdFileProvider;
+import com.here.account.util.SettableSystemClock;
+
+public class MappedTokenSlotTest {
+
+    private Path dir;
+    private Path tokenFile;
+    private Path slotFile;
+
+    @Before
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("MappedTokenSlotTest");
+        tokenFile = dir.resolve("access-token");
+        slotFile = MappedTokenSlot.getSlotPath(tokenFile);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(dir)) {
+            paths.sorted((a, b) -> b.compareTo(a)).forEach(p -> p.toFile().delete());
+        }
+    }
+
+    private static long expInSeconds(long seconds) {
+        return TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis()) + seconds;
+    }
+
+    @Test
+    public void test_getSlotPath() {
+        assertEquals(dir.resolve("access-token.slot"), slotFile);
+    }
+
+    @Test
+    public void test_write_read() throws IOException {
+        MappedTokenSlot writer = MappedTokenSlot.openForWriting(slotFile);
+        MappedTokenSlot reader = MappedTokenSlot.openForReading(slotFile);
+        long exp = expInSeconds(3600L);
+        writer.write("my-token", "bearer", exp, "hrn:here:authorization::myrealm:project/my-project-0000");
+
+        FileAccessTokenResponse response = reader.read();
+        assertEquals("my-token", response.getAccessToken());
+        assertEquals("bearer", response.getTokenType());
+        assertEquals(Long.valueOf(exp), response.getExp());
+        assertEquals("hrn:here:authorization::myrealm:project/my-project-0000", response.getScope());
+        long expiresIn = response.getExpiresIn();
+        assertTrue("expiresIn " + expiresIn, expiresIn <= 3600L && expiresIn > 3590L);
+
+        writer.write("other-token", null, null, null);
+        response = reader.read();
+        assertEquals("other-token", response.getAccessToken());
+        assertNull(response.getTokenType());
+        assertNull(response.getExp());
+        assertNull(response.getScope());
+    }
+
+    @Test
+    public void test_read_unchangedSlotIsNotDecodedAgain() throws IOException {
+        MappedTokenSlot writer = MappedTokenSlot.openForWriting(slotFile);
+        MappedTokenSlot reader = MappedTokenSlot.openForReading(slotFile);
+        writer.write("my-token", "bearer", expInSeconds(3600L), null);
+        FileAccessTokenResponse first = reader.read();
+        FileAccessTokenResponse second = reader.read();
+        assertTrue(first != second);
+        assertSame(first.getAccessToken(), second.getAccessToken());
+    }
+
+    @Test
+    public void test_close() throws IOException {
+        MappedTokenSlot writer = MappedTokenSlot.openForWriting(slotFile);
+        MappedTokenSlot reader = MappedTokenSlot.openForReading(slotFile);
+        writer.write("my-token", "bearer", expInSeconds(3600L), null);
+        assertEquals("my-token", reader.read().getAccessToken());
+
+        writer.close();
+        try {
+            writer.write("other-token", "bearer", expInSeconds(3600L), null);
+            fail("expected a closed slot not to be written");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+        assertNull(writer.read());
+        // the reader's own mapping outlives the writer's
+        assertEquals("my-token", reader.read().getAccessToken());
+        reader.close();
+        assertNull(reader.read());
+        writer.close();
+    }
+
+    @Test
+    public void test_read_neverWritten() throws IOException {
+        MappedTokenSlot.openForWriting(slotFile);
+        assertNull(MappedTokenSlot.openForReading(slotFile).read());
+    }
+
+    @Test(expected = IOException.class)
+    public void test_openForReading_notASlot() throws IOException {
+        Files.write(tokenFile, "{}".getBytes(StandardCharsets.UTF_8));
+        MappedTokenSlot.openForReading(tokenFile);
+    }
+
+    @Test
+    public void test_read_writerDiedMidWrite() throws IOException {
+        MappedTokenSlot writer = MappedTokenSlot.openForWriting(slotFile);
+        writer.write("my-token", "bearer", expInSeconds(3600L), null);
+        try (FileChannel channel = FileChannel.open(slotFile, StandardOpenOption.WRITE)) {
+            // an odd sequence means a write is in progress
+            channel.write(ByteBuffer.allocate(8).putLong(0, 3L), 8L);
+        }
+        assertNull(MappedTokenSlot.openForReading(slotFile).read());
+
+        // the next writer recovers
+        MappedTokenSlot.openForWriting(slotFile).write("new-token", "bearer", expInSeconds(3600L), null);
+        assertEquals("new-token", MappedTokenSlot.openForReading(slotFile).read().getAccessToken());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_write_tooLarge() throws IOException {
+        char[] accessToken = new char[MappedTokenSlot.SLOT_SIZE];
+        Arrays.fill(accessToken, 'x');
+        MappedTokenSlot.openForWriting(slotFile).write(new String(accessToken), "bearer", null, null);
+    }
+
+    /**
+     * Alternates lengths, so that a torn read would also see mismatched lengths.
+     */
+    private static String concurrentToken(long n) {
+        return "token-" + n + (n % 2 == 0 ? "" : "-with-some-padding");
+    }
+
+    @Test
+    public void test_read_concurrentWrites_neverTorn() throws Exception {
+        MappedTokenSlot writer = MappedTokenSlot.openForWriting(slotFile);
+        MappedTokenSlot reader = MappedTokenSlot.openForReading(slotFile);
+        writer.write(concurrentToken(0L), "bearer", 0L, "scope-0");
+        AtomicBoolean done = new AtomicBoolean();
+        AtomicReference<String> torn = new AtomicReference<>();
+        Thread readerThread = new Thread(() -> {
+            while (!done.get()) {
+                FileAccessTokenResponse response = reader.read();
+                if (null == response) {
+                    continue;
+                }
+                // every field of one write carries the same number
+                long n = response.getExp();
+                if (!concurrentToken(n).equals(response.getAccessToken())
+                        || !("scope-" + n).equals(response.getScope())) {
+                    torn.set(response.getAccessToken() + " " + response.getScope() + " " + response.getExp());
+                }
+            }
+        });
+        readerThread.start();
+        for (long n = 1; n <= 100000 && null == torn.get(); n++) {
+            writer.write(concurrentToken(n), "bearer", n, "scope-" + n);
+        }
+        done.set(true);
+        readerThread.join();
+        assertNull(torn.get(), torn.get());
+    }
+
+    @Test
+    public void test_tokenEndpoint_prefersUnexpiredSlot() throws IOException {
+        Files.write(tokenFile, ("{\"access_token\":\"file-token\",\"token_type\":\"bearer\",\"exp\":"
+                + expInSeconds(3600L) + "}").getBytes(StandardCharsets.UTF_8));
+        MappedTokenSlot writer = MappedTokenSlot.openForWriting(slotFile);
+        writer.write("slot-token", "bearer", expInSeconds(3600L), null);
+
+        FromRunAsIdFileProvider fileProvider = new FromRunAsIdFileProvider(new SettableSystemClock(),
+                tokenFile.toUri().toString());
+        TokenEndpoint tokenEndpoint = HereAccount.getTokenEndpoint(null, fileProvider);
+        assertEquals("slot-token", tokenEndpoint.requestToken(fileProvider.getNewAccessTokenRequest())
+                .getAccessToken());
+
+        // a slot left behind with an expired token does not hide the file
+        writer.write("stale-token", "bearer", expInSeconds(-10L), null);
+        assertEquals("file-token", tokenEndpoint.requestToken(fileProvider.getNewAccessTokenRequest())
+                .getAccessToken());
+    }
+
+    @Test
+    public void test_tokenEndpoint_replacedSlot() throws Exception {
+        Files.write(tokenFile, ("{\"access_token\":\"file-token\",\"token_type\":\"bearer\",\"exp\":"
+                + expInSeconds(3600L) + "}").getBytes(StandardCharsets.UTF_8));
+        MappedTokenSlot writer = MappedTokenSlot.openForWriting(slotFile);
+        writer.write("stale-token", "bearer", expInSeconds(-10L), null);
+        writer.close();
+
+        FromRunAsIdFileProvider fileProvider = new FromRunAsIdFileProvider(new SettableSystemClock(),
+                tokenFile.toUri().toString());
+        TokenEndpoint tokenEndpoint = HereAccount.getTokenEndpoint(null, fileProvider);
+        assertEquals("file-token", tokenEndpoint.requestToken(fileProvider.getNewAccessTokenRequest())
+                .getAccessToken());
+
+        // a new publisher replaces the slot file; the stale mapping was dropped, so the new file is mapped
+        Files.delete(slotFile);
+        writer = MappedTokenSlot.openForWriting(slotFile);
+        writer.write("new-slot-token", "bearer", expInSeconds(3600L), null);
+        Thread.sleep(1100L);
+        assertEquals("new-slot-token", tokenEndpoint.requestToken(fileProvider.getNewAccessTokenRequest())
+                .getAccessToken());
+        writer.close();
+    }
+
+    @Test
+    public void test_tokenEndpoint_noSlot() throws IOException {
+        Files.write(tokenFile, ("{\"access_token\":\"file-token\",\"token_type\":\"bearer\",\"exp\":"
+                + expInSeconds(3600L) + "}").getBytes(StandardCharsets.UTF_8));
+        FromRunAsIdFileProvider fileProvider = new FromRunAsIdFileProvider(new SettableSystemClock(),
+                tokenFile.toUri().toString());
+        TokenEndpoint tokenEndpoint = HereAccount.getTokenEndpoint(null, fileProvider);
+        assertEquals("file-token", tokenEndpoint.requestToken(fileProvider.getNewAccessTokenRequest())
+                .getAccessToken());
+    }
+
+    @Test
+    public void test_tokenSlotBenchmark() throws Exception {
+        Properties results = new TokenSlotBenchmark().run(20000);
+        assertEquals("true", results.getProperty("sameToken"));
+        double fileNanos = Double.parseDouble(results.getProperty("fileNanosPerRead"));
+        double slotNanos = Double.parseDouble(results.getProperty("slotNanosPerRead"));
+        assertTrue(results.toString(), slotNanos < fileNanos);
+    }
+}
@@ -0,0 +1,212 @@
+/*
+ * Copyright (c) 2026 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.here.account.oauth2;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import com.here.account.auth.OAuth1ClientCredentialsProvider;
+import com.here.account.http.StubHttpServer;
+import com.here.account.util.Benchmark;
+import com.here.account.util.OptionalDependencies;
+
+/**
+ * Cold-start cost: time-to-first-token for a HereAccessTokenProvider built with all defaults,
+ * each time in a fresh JVM, against a local stub token endpoint,
+ * both with the full classpath and in lite mode, without the optional jars.
+ * The size is the number of JVMs started in each mode, by default 5;
+ * the results are the medians of their elapsed times and loaded class counts.
+ *
+ * <p>
+ * {@link #main(String[])} is the program each JVM runs. Its credentials come from System properties,
+ * the first entry of the default provider chain, and it writes its measurements as properties
+ * to the file named by its first argument, if any, otherwise to stdout.
+ */
+public class StartupBenchmark extends Benchmark {
+
+    private static final String[] OPTIONAL_JAR_PREFIXES = {
+            "jackson-", "httpclient-", "httpcore-", "commons-configuration2-", "commons-text-",
+            "commons-lang3-", "commons-logging-", "commons-codec-"
+    };
+
+    public StartupBenchmark() {
+        super(5);
+    }
+
+    @Override
+    public Properties run(int jvms) throws Exception {
+        String classPath = getTestClassPath();
+        Properties results = new Properties();
+        results.setProperty("jvms", String.valueOf(jvms));
+        measure(results, "full", classPath, jvms);
+        measure(results, "lite", withoutOptionalJars(classPath), jvms);
+        return results;
+    }
+
+    private static void measure(Properties results, String mode, String classPath, int jvms)
+            throws IOException, InterruptedException {
+        long[] elapsedMillis = new long[jvms];
+        long[] loadedClasses = new long[jvms];
+        for (int i = 0; i < jvms; i++) {
+            Map<String, String> jvmResults = runInNewJvm(classPath);
+            elapsedMillis[i] = Long.parseLong(jvmResults.get("elapsedMillis"));
+            loadedClasses[i] = Long.parseLong(jvmResults.get("loadedClasses"));
+        }
+        results.setProperty(mode + ".medianElapsedMillis", String.valueOf(median(elapsedMillis)));
+        results.setProperty(mode + ".medianLoadedClasses", String.valueOf(median(loadedClasses)));
+    }
+
+    private static long median(long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+
+    public static void main(String[] args) throws Exception {
+        long startNanos = System.nanoTime();
+        String token;
+        try (StubHttpServer server = StubHttpServer.startTokenEndpoint()) {
+            System.setProperty(OAuth1ClientCredentialsProvider.FromProperties.TOKEN_ENDPOINT_URL_PROPERTY,
+                    server.getUrl("/oauth2/token"));
+            System.setProperty(OAuth1ClientCredentialsProvider.FromProperties.ACCESS_KEY_ID_PROPERTY, "key");
+            System.setProperty(OAuth1ClientCredentialsProvider.FromProperties.ACCESS_KEY_SECRET_PROPERTY, "secret");
+            try (HereAccessTokenProvider provider = HereAccessTokenProvider.builder().build()) {
+                token = provider.getAccessToken();
+            }
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        Properties results = new Properties();
+        results.setProperty("token", token);
+        results.setProperty("jackson", String.valueOf(OptionalDependencies.isJacksonDatabindPresent()));
+        results.setProperty("apache", String.valueOf(OptionalDependencies.isApacheHttpClientPresent()));
+        results.setProperty("elapsedMillis", String.valueOf(elapsedMillis));
+        results.setProperty("uptimeMillis", String.valueOf(ManagementFactory.getRuntimeMXBean().getUptime()));
+        results.setProperty("loadedClasses",
+                String.valueOf(ManagementFactory.getClassLoadingMXBean().getLoadedClassCount()));
+        results.setProperty("heapUsedBytes",
+                String.valueOf(ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed()));
+        if (args.length > 0) {
+            try (OutputStream outputStream = new FileOutputStream(args[0])) {
+                results.store(outputStream, null);
+            }
+        } else {
+            results.store(System.out, null);
+        }
+    }
+
+    /**
+     * Gets the classpath of the running tests.
+     *
+     * @return the classpath
+     */
+    static String getTestClassPath() {
+        String classPath = System.getProperty("surefire.test.class.path");
+        if (null == classPath || classPath.isEmpty()) {
+            classPath = System.getProperty("java.class.path");
+        }
+        return classPath;
+    }
+
+    /**
+     * Removes jackson, Apache httpclient, and commons-configuration jars and their dependencies.
+     *
+     * @param classPath the classpath
+     * @return the classpath for lite mode
+     */
+    static String withoutOptionalJars(String classPath) {
+        StringBuilder buf = new StringBuilder();
+        for (String entry : classPath.split(File.pathSeparator)) {
+            String name = new File(entry).getName();
+            boolean optional = false;
+            for (String prefix : OPTIONAL_JAR_PREFIXES) {
+                if (name.startsWith(prefix) && name.endsWith(".jar")) {
+                    optional = true;
+                }
+            }
+            if (!optional) {
+                if (buf.length() > 0) {
+                    buf.append(File.pathSeparator);
+                }
+                buf.append(entry);
+            }
+        }
+        return buf.toString();
+    }
+
+    /**
+     * Runs the benchmark once in a new JVM.
+     * The JVM's console output is returned under the "output" key.
+     *
+     * @param classPath the classpath of the new JVM
+     * @param jvmArgs additional JVM arguments
+     * @return the results
+     * @throws IOException if trouble starting the JVM
+     * @throws InterruptedException if interrupted while waiting
+     */
+    static Map<String, String> runInNewJvm(String classPath, String... jvmArgs)
+            throws IOException, InterruptedException {
+        String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+        File resultsFile = File.createTempFile("startup-benchmark", ".properties");
+        File outputFile = File.createTempFile("startup-benchmark", ".out");
+        try {
+            List<String> command = new ArrayList<>();
+            command.add(java);
+            command.addAll(Arrays.asList(jvmArgs));
+            command.add("-cp");
+            command.add(classPath);
+            command.add(StartupBenchmark.class.getName());
+            command.add(resultsFile.getAbsolutePath());
+            Process process = new ProcessBuilder(command)
+                    .redirectErrorStream(true)
+                    .redirectOutput(outputFile)
+                    .start();
+            assertTrue("benchmark JVM timed out", process.waitFor(60, TimeUnit.SECONDS));
+            String output = new String(Files.readAllBytes(outputFile.toPath()), StandardCharsets.UTF_8);
+            assertEquals("benchmark JVM failed:\n" + output, 0, process.exitValue());
+
+            Properties properties = new Properties();
+            try (InputStream inputStream = new FileInputStream(resultsFile)) {
+                properties.load(inputStream);
+            }
+            Map<String, String> results = new HashMap<>();
+            for (String name : properties.stringPropertyNames()) {
+                results.put(name, properties.getProperty(name));
+            }
+            results.put("output", output);
+            return results;
+        } finally {
+            resultsFile.delete();
+            outputFile.delete();
+        }
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2026 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.here.account.oauth2;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import com.here.account.auth.provider.FromRunAsIdFileProvider;
+import com.here.account.util.Benchmark;
+import com.here.account.util.SettableSystemClock;
+
+/**
+ * The cost of a token read from a shared token file: a file:// token endpoint that parses the
+ * JSON token file on every request, against the same endpoint reading its {@link MappedTokenSlot}.
+ * The size is the number of reads on each path, by default 1000000, after a tenth as many warm-up reads.
+ */
+public class TokenSlotBenchmark extends Benchmark {
+
+    public TokenSlotBenchmark() {
+        super(1000000);
+    }
+
+    @Override
+    public Properties run(int reads) throws Exception {
+        Path dir = Files.createTempDirectory("TokenSlotBenchmark");
+        try {
+            String accessToken = JwtClaimsTest.jwt("{\"aid\":\"my-app\",\"exp\":"
+                    + (TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis()) + 3600L) + "}");
+            long exp = TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis()) + 3600L;
+
+            Path fileOnly = Files.createDirectory(dir.resolve("file")).resolve("access-token");
+            Path withSlot = Files.createDirectory(dir.resolve("slot")).resolve("access-token");
+            byte[] json = ("{\"access_token\":\"" + accessToken + "\",\"token_type\":\"bearer\",\"exp\":" + exp + "}")
+                    .getBytes(StandardCharsets.UTF_8);
+            Files.write(fileOnly, json);
+            Files.write(withSlot, json);
+            MappedTokenSlot.openForWriting(MappedTokenSlot.getSlotPath(withSlot))
+                    .write(accessToken, "bearer", exp, null);
+
+            TokenEndpoint fileEndpoint = getTokenEndpoint(fileOnly);
+            TokenEndpoint slotEndpoint = getTokenEndpoint(withSlot);
+
+            // warm up both paths before timing either
+            timeReads(fileEndpoint, reads / 10 + 1);
+            timeReads(slotEndpoint, reads / 10 + 1);
+            long fileNanos = timeReads(fileEndpoint, reads);
+            long slotNanos = timeReads(slotEndpoint, reads);
+
+            boolean sameToken = accessToken.equals(read(fileEndpoint).getAccessToken())
+                    && accessToken.equals(read(slotEndpoint).getAccessToken());
+            Properties results = new Properties();
+            results.setProperty("reads", String.valueOf(reads));
+            results.setProperty("sameToken", String.valueOf(sameToken));
+            results.setProperty("fileNanosPerRead", String.valueOf((double) fileNanos / reads));
+            results.setProperty("slotNanosPerRead", String.valueOf((double) slotNanos / reads));
+            return results;
+        } finally {
+            try (Stream<Path> paths = Files.walk(dir)) {
+                paths.sorted((a, b) -> b.compareTo(a)).forEach(p -> p.toFile().delete());
+            }
+        }
+    }
+
+    private static TokenEndpoint getTokenEndpoint(Path tokenFile) {
+        return HereAccount.getTokenEndpoint(null,
+                new FromRunAsIdFileProvider(new SettableSystemClock(), tokenFile.toUri().toString()));
+    }
+
+    private static AccessTokenResponse read(TokenEndpoint tokenEndpoint) {
+        // the request is ignored for file:// endpoints
+        return tokenEndpoint.requestToken(null);
+    }
+
+    private static long timeReads(TokenEndpoint tokenEndpoint, int reads) {
+        long startNanos = System.nanoTime();
+        long blackhole = 0L;
+        for (int i = 0; i < reads; i++) {
+            blackhole += read(tokenEndpoint).getAccessToken().length();
+        }
+        long elapsedNanos = System.nanoTime() - startNanos;
+        if (blackhole == 42L) {
+            System.out.print("");
+        }
+        return elapsedNanos;
+    }
+}
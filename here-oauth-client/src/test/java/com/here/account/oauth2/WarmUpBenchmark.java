@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2026 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.here.account.oauth2;
+
+import java.util.Arrays;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+
+import com.here.account.auth.OAuth1ClientCredentialsProvider;
+import com.here.account.http.HttpProvider;
+import com.here.account.http.StubHttpServer;
+import com.here.account.http.apache.ApacheHttpClientProvider;
+import com.here.account.util.Benchmark;
+
+/**
+ * Token refresh latency with and without {@link HereAccessTokenProvider#warmUp()},
+ * against a local HTTPS stub token endpoint, as median and 90th percentile microseconds.
+ *
+ * <p>
+ * Before each token request, the pooled connections are closed, as the server would have closed them
+ * in the hour between refreshes. Cold requests then pay for a TCP connect and a TLS handshake;
+ * warm requests follow a warmUp(), as the scheduled refresh does, and reuse its connection.
+ * Against a loopback stub there is no DNS lookup or network round trip,
+ * so real endpoints gain more than this measures.
+ * The size is the number of measured refreshes of each kind, by default 200, after as many unmeasured ones.
+ */
+public class WarmUpBenchmark extends Benchmark {
+
+    public WarmUpBenchmark() {
+        super(200);
+    }
+
+    @Override
+    public Properties run(int refreshes) throws Exception {
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager(
+                RegistryBuilder.<ConnectionSocketFactory>create()
+                        .register("http", PlainConnectionSocketFactory.getSocketFactory())
+                        .register("https", new SSLConnectionSocketFactory(StubHttpServer.getClientSslContext()))
+                        .build());
+        try (StubHttpServer server = StubHttpServer.startTls(
+                    exchange -> StubHttpServer.respond(exchange, 200, StubHttpServer.ACCESS_TOKEN_JSON), 2);
+                HttpProvider httpProvider = ApacheHttpClientProvider.builder()
+                        .setHttpClient(HttpClients.custom().setConnectionManager(connectionManager).build())
+                        .build();
+                HereAccessTokenProvider provider = HereAccessTokenProvider.builder()
+                        .setHttpProvider(httpProvider)
+                        .setClientAuthorizationRequestProvider(new OAuth1ClientCredentialsProvider(
+                                server.getUrl("/oauth2/token"), "key", "secret"))
+                        .setAlwaysRequestNewToken(true)
+                        .build()) {
+            measure(provider, connectionManager, refreshes, false);
+            measure(provider, connectionManager, refreshes, true);
+            long[] coldMicros = measure(provider, connectionManager, refreshes, false);
+            long[] warmMicros = measure(provider, connectionManager, refreshes, true);
+
+            Properties results = new Properties();
+            results.setProperty("refreshes", String.valueOf(refreshes));
+            results.setProperty("coldMedianMicros", String.valueOf(percentile(coldMicros, 50)));
+            results.setProperty("coldP90Micros", String.valueOf(percentile(coldMicros, 90)));
+            results.setProperty("warmMedianMicros", String.valueOf(percentile(warmMicros, 50)));
+            results.setProperty("warmP90Micros", String.valueOf(percentile(warmMicros, 90)));
+            return results;
+        }
+    }
+
+    private static long[] measure(HereAccessTokenProvider provider,
+            PoolingHttpClientConnectionManager connectionManager, int refreshes, boolean warmUp) {
+        long[] micros = new long[refreshes];
+        for (int i = 0; i < refreshes; i++) {
+            connectionManager.closeIdleConnections(0L, TimeUnit.MILLISECONDS);
+            if (warmUp) {
+                provider.warmUp();
+            }
+            long startNanos = System.nanoTime();
+            if (!"stub-access-token".equals(provider.getAccessToken())) {
+                throw new IllegalStateException("unexpected token");
+            }
+            micros[i] = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos);
+        }
+        return micros;
+    }
+
+    private static long percentile(long[] values, int percentile) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[Math.min(sorted.length - 1, sorted.length * percentile / 100)];
+    }
+}
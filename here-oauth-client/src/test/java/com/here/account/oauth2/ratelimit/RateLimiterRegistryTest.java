@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2026 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.here.account.oauth2.ratelimit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.here.account.auth.OAuth1ClientCredentialsProvider;
+import com.here.account.http.HttpProvider;
+import com.here.account.http.StubHttpServer;
+import com.here.account.http.java.JavaHttpProvider;
+import com.here.account.oauth2.HereAccessTokenProvider;
+import com.here.account.oauth2.retry.Socket5xxExponentialRandomBackoffPolicy;
+
+public class RateLimiterRegistryTest {
+
+    private StubHttpServer server;
+    private HttpProvider httpProvider;
+    private String url;
+
+    @Before
+    public void setUp() throws IOException {
+        server = StubHttpServer.startTokenEndpoint();
+        httpProvider = JavaHttpProvider.builder().build();
+        url = server.getUrl("/oauth2/token");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        RateLimiterRegistry.getDefault().unregister(url);
+        httpProvider.close();
+        server.close();
+    }
+
+    private HereAccessTokenProvider.Builder newProviderBuilder() {
+        return HereAccessTokenProvider.builder()
+                .setHttpProvider(httpProvider)
+                .setClientAuthorizationRequestProvider(new OAuth1ClientCredentialsProvider(url, "key", "secret"))
+                .setAlwaysRequestNewToken(true);
+    }
+
+    private static TokenBucketRateLimiter newRateLimiter() {
+        return TokenBucketRateLimiter.builder().setPermitsPerSecond(1000).setCapacity(100).build();
+    }
+
+    @Test
+    public void test_registered_sharedAcrossProviders() throws IOException {
+        TokenBucketRateLimiter rateLimiter = newRateLimiter();
+        assertNull(RateLimiterRegistry.getDefault().register(url, rateLimiter));
+
+        try (HereAccessTokenProvider first = newProviderBuilder().build();
+                HereAccessTokenProvider second = newProviderBuilder().build()) {
+            first.getAccessToken();
+            first.getAccessToken();
+            second.getAccessToken();
+        }
+        assertEquals(3, rateLimiter.getAcquiredCount());
+        assertEquals(3, server.getRequestCount());
+    }
+
+    @Test
+    public void test_explicit_overridesRegistered() throws IOException {
+        TokenBucketRateLimiter registered = newRateLimiter();
+        TokenBucketRateLimiter explicit = newRateLimiter();
+        RateLimiterRegistry.getDefault().register(url, registered);
+
+        try (HereAccessTokenProvider provider = newProviderBuilder().setRateLimiter(explicit).build()) {
+            provider.getAccessToken();
+        }
+        assertEquals(0, registered.getAcquiredCount());
+        assertEquals(1, explicit.getAcquiredCount());
+    }
+
+    @Test
+    public void test_retriesAreLimited() throws IOException {
+        AtomicInteger requestNumber = new AtomicInteger();
+        try (StubHttpServer flaky = StubHttpServer.start(exchange -> {
+                    if (requestNumber.incrementAndGet() <= 2) {
+                        StubHttpServer.respond(exchange, 503, "{\"error\":\"unavailable\"}");
+                    } else {
+                        StubHttpServer.respond(exchange, 200, StubHttpServer.ACCESS_TOKEN_JSON);
+                    }
+                })) {
+            String flakyUrl = flaky.getUrl("/oauth2/token");
+            // one permit up front, then one every 100 ms
+            TokenBucketRateLimiter rateLimiter = TokenBucketRateLimiter.builder()
+                    .setPermitsPerSecond(10)
+                    .setCapacity(1)
+                    .build();
+            long startNanos = System.nanoTime();
+            try (HereAccessTokenProvider provider = HereAccessTokenProvider.builder()
+                    .setHttpProvider(httpProvider)
+                    .setClientAuthorizationRequestProvider(
+                            new OAuth1ClientCredentialsProvider(flakyUrl, "key", "secret"))
+                    .setAlwaysRequestNewToken(true)
+                    .setRetryPolicy(new Socket5xxExponentialRandomBackoffPolicy(3, 1))
+                    .setRateLimiter(rateLimiter)
+                    .build()) {
+                assertEquals("stub-access-token", provider.getAccessToken());
+            }
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+            assertEquals(3, flaky.getRequestCount());
+            assertEquals("every attempt takes a permit", 3, rateLimiter.getAcquiredCount());
+            assertTrue("elapsedMillis " + elapsedMillis, elapsedMillis >= 150);
+        }
+    }
+
+    @Test
+    public void test_getOrRegister() {
+        RateLimiterRegistry registry = new RateLimiterRegistry();
+        RateLimiter rateLimiter = registry.getOrRegister("https://example.com/oauth2/token", u -> newRateLimiter());
+        assertTrue(rateLimiter == registry.getOrRegister("https://example.com/oauth2/token",
+                u -> newRateLimiter()));
+        assertTrue(rateLimiter == registry.get("https://example.com/oauth2/token"));
+        assertNull(registry.get("https://example.com/other"));
+        assertNull(registry.get(null));
+        assertTrue(rateLimiter == registry.unregister("https://example.com/oauth2/token"));
+        assertNull(registry.get("https://example.com/oauth2/token"));
+    }
+}
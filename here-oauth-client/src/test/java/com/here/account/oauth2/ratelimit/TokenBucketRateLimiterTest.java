@@ -0,0 +1,187 @@
+/*
+ * Copyright (c) 2026 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.here.account.oauth2.ratelimit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.here.account.util.TestClock;
+
+public class TokenBucketRateLimiterTest {
+
+    /**
+     * A TestClock that is safe to advance from the test thread while
+     * acquiring threads schedule wake-ups against it.
+     */
+    private static class ConcurrentTestClock extends TestClock {
+        private final Semaphore scheduled = new Semaphore(0);
+
+        @Override
+        public synchronized long currentTimeMillis() {
+            return super.currentTimeMillis();
+        }
+
+        @Override
+        public synchronized void setCurrentTimeMillis(long currentTimeMillis) {
+            super.setCurrentTimeMillis(currentTimeMillis);
+        }
+
+        @Override
+        public synchronized void schedule(ScheduledExecutorService scheduledExecutorService, Runnable runnable,
+                long millisecondsInTheFutureToSchedule) {
+            super.schedule(scheduledExecutorService, runnable, millisecondsInTheFutureToSchedule);
+            scheduled.release();
+        }
+
+        void advance(long millis) {
+            setCurrentTimeMillis(currentTimeMillis() + millis);
+        }
+
+        void awaitScheduled() throws InterruptedException {
+            assertTrue("no wait was scheduled", scheduled.tryAcquire(10, TimeUnit.SECONDS));
+        }
+    }
+
+    private final ConcurrentTestClock clock = new ConcurrentTestClock();
+    private final ExecutorService executorService = Executors.newSingleThreadExecutor();
+
+    @After
+    public void tearDown() {
+        executorService.shutdownNow();
+    }
+
+    private TokenBucketRateLimiter newRateLimiter(double permitsPerSecond, int capacity) {
+        return TokenBucketRateLimiter.builder()
+                .setPermitsPerSecond(permitsPerSecond)
+                .setCapacity(capacity)
+                .setClock(clock)
+                .build();
+    }
+
+    @Test
+    public void test_tryAcquire_burstThenRefill() {
+        TokenBucketRateLimiter rateLimiter = newRateLimiter(1, 3);
+        assertTrue(rateLimiter.tryAcquire());
+        assertTrue(rateLimiter.tryAcquire());
+        assertTrue(rateLimiter.tryAcquire());
+        assertFalse(rateLimiter.tryAcquire());
+
+        clock.advance(999);
+        assertFalse(rateLimiter.tryAcquire());
+        clock.advance(1);
+        assertTrue(rateLimiter.tryAcquire());
+
+        assertEquals(4, rateLimiter.getAcquiredCount());
+        assertEquals(2, rateLimiter.getRejectedCount());
+        assertEquals(0, rateLimiter.getTotalWaitMillis());
+    }
+
+    @Test
+    public void test_refill_cappedAtCapacity() {
+        TokenBucketRateLimiter rateLimiter = newRateLimiter(10, 5);
+        for (int i = 0; i < 5; i++) {
+            assertTrue(rateLimiter.tryAcquire());
+        }
+        assertEquals(0, rateLimiter.getAvailablePermits());
+        clock.advance(TimeUnit.HOURS.toMillis(1));
+        assertEquals(5, rateLimiter.getAvailablePermits());
+    }
+
+    @Test
+    public void test_clockMovesBackwards_noPermitsAdded() {
+        TokenBucketRateLimiter rateLimiter = newRateLimiter(1, 1);
+        assertTrue(rateLimiter.tryAcquire());
+        clock.advance(-TimeUnit.MINUTES.toMillis(5));
+        assertFalse(rateLimiter.tryAcquire());
+        clock.advance(1000);
+        assertTrue(rateLimiter.tryAcquire());
+    }
+
+    @Test
+    public void test_acquire_waitsForClock() throws Exception {
+        TokenBucketRateLimiter rateLimiter = newRateLimiter(2, 1);
+        assertTrue(rateLimiter.tryAcquire());
+
+        Future<?> acquired = executorService.submit(() -> {
+            rateLimiter.acquire();
+            return null;
+        });
+        clock.awaitScheduled();
+        assertFalse(acquired.isDone());
+
+        clock.advance(500);
+        acquired.get(10, TimeUnit.SECONDS);
+        assertEquals(2, rateLimiter.getAcquiredCount());
+        assertEquals(500, rateLimiter.getTotalWaitMillis());
+        assertEquals(500, rateLimiter.getMaxWaitMillis());
+    }
+
+    @Test
+    public void test_tryAcquireTimeout_rejectedAfterTimeout() throws Exception {
+        TokenBucketRateLimiter rateLimiter = newRateLimiter(1, 1);
+        assertTrue(rateLimiter.tryAcquire());
+
+        Future<Boolean> acquired = executorService.submit(() -> rateLimiter.tryAcquire(300, TimeUnit.MILLISECONDS));
+        clock.awaitScheduled();
+        clock.advance(300);
+        assertFalse(acquired.get(10, TimeUnit.SECONDS));
+        assertEquals(1, rateLimiter.getRejectedCount());
+        assertEquals(300, rateLimiter.getTotalWaitMillis());
+
+        // the rest of the refill interval
+        clock.advance(700);
+        assertTrue(rateLimiter.tryAcquire(0, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void test_systemClock_paces() throws InterruptedException {
+        TokenBucketRateLimiter rateLimiter = TokenBucketRateLimiter.builder().setPermitsPerSecond(20).build();
+        long startNanos = System.nanoTime();
+        for (int i = 0; i < 5; i++) {
+            rateLimiter.acquire();
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        assertTrue("elapsedMillis " + elapsedMillis, elapsedMillis >= 190);
+        assertEquals(5, rateLimiter.getAcquiredCount());
+        assertTrue(rateLimiter.toString(), rateLimiter.getTotalWaitMillis() >= 190);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_permitsPerSecond_invalid() {
+        TokenBucketRateLimiter.builder().setPermitsPerSecond(0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_capacity_invalid() {
+        TokenBucketRateLimiter.builder().setCapacity(0);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void test_permitsPerSecond_notSet() {
+        TokenBucketRateLimiter.builder().build();
+    }
+}
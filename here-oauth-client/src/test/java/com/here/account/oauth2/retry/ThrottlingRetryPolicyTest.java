@@ -0,0 +1,264 @@
+/*
+ * Copyright (c) 2026 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.here.account.oauth2.retry;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.SocketTimeoutException;
+import java.time.ZonedDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.here.account.auth.OAuth1ClientCredentialsProvider;
+import com.here.account.http.HttpProvider;
+import com.here.account.http.StubHttpServer;
+import com.here.account.http.java.JavaHttpProvider;
+import com.here.account.oauth2.AccessTokenException;
+import com.here.account.oauth2.HereAccessTokenProvider;
+import com.here.account.util.TestClock;
+
+public class ThrottlingRetryPolicyTest {
+
+    private static final String THROTTLED_JSON =
+            "{\"error\":\"too_many_requests\",\"errorCode\":429002,\"message\":\"Too many requests\"}";
+
+    private StubHttpServer server;
+    private HttpProvider httpProvider;
+
+    @After
+    public void tearDown() throws IOException {
+        if (null != httpProvider) {
+            httpProvider.close();
+        }
+        if (null != server) {
+            server.close();
+        }
+    }
+
+    private static HttpProvider.HttpResponse response(int statusCode, Map<String, List<String>> headers) {
+        return new HttpProvider.HttpResponse() {
+            @Override
+            public int getStatusCode() {
+                return statusCode;
+            }
+
+            @Override
+            public long getContentLength() {
+                return 0;
+            }
+
+            @Override
+            public InputStream getResponseBody() {
+                return null;
+            }
+
+            @Override
+            public Map<String, List<String>> getHeaders() {
+                return headers;
+            }
+        };
+    }
+
+    private static RetryContext context(int statusCode, String retryAfter) {
+        RetryContext retryContext = new RetryContext();
+        Map<String, List<String>> headers = null == retryAfter ? Collections.emptyMap()
+                : Collections.singletonMap("retry-after", Collections.singletonList(retryAfter));
+        retryContext.setLastRetryResponse(response(statusCode, headers));
+        return retryContext;
+    }
+
+    @Test
+    public void test_parseRetryAfter_seconds() {
+        assertEquals(Long.valueOf(120000L), ThrottlingRetryPolicy.parseRetryAfterMillis("120", 0L));
+        assertEquals(Long.valueOf(0L), ThrottlingRetryPolicy.parseRetryAfterMillis(" 0 ", 0L));
+        assertEquals(Long.valueOf(Long.MAX_VALUE),
+                ThrottlingRetryPolicy.parseRetryAfterMillis("99999999999999999999", 0L));
+        assertNull(ThrottlingRetryPolicy.parseRetryAfterMillis("-1", 0L));
+        assertNull(ThrottlingRetryPolicy.parseRetryAfterMillis("1.5", 0L));
+        assertNull(ThrottlingRetryPolicy.parseRetryAfterMillis("", 0L));
+        assertNull(ThrottlingRetryPolicy.parseRetryAfterMillis("soon", 0L));
+    }
+
+    @Test
+    public void test_parseRetryAfter_httpDate() {
+        long dateMillis = ZonedDateTime.parse("2015-10-21T07:28:00Z").toInstant().toEpochMilli();
+        long now = dateMillis - 30000L;
+        assertEquals(Long.valueOf(30000L),
+                ThrottlingRetryPolicy.parseRetryAfterMillis("Wed, 21 Oct 2015 07:28:00 GMT", now));
+        assertEquals(Long.valueOf(30000L),
+                ThrottlingRetryPolicy.parseRetryAfterMillis("Wednesday, 21-Oct-15 07:28:00 GMT", now));
+        assertEquals(Long.valueOf(30000L),
+                ThrottlingRetryPolicy.parseRetryAfterMillis("Wed Oct 21 07:28:00 2015", now));
+        // a date in the past means retry now
+        assertEquals(Long.valueOf(0L),
+                ThrottlingRetryPolicy.parseRetryAfterMillis("Wed, 21 Oct 2015 07:28:00 GMT", dateMillis + 1000L));
+    }
+
+    @Test
+    public void test_retryAfter_httpDate_usesClock() {
+        TestClock clock = new TestClock();
+        clock.setCurrentTimeMillis(ZonedDateTime.parse("2015-10-21T07:27:58Z").toInstant().toEpochMilli());
+        ThrottlingRetryPolicy policy = ThrottlingRetryPolicy.builder()
+                .setBaseIntervalMillis(10)
+                .setMaxIntervalMillis(20)
+                .setClock(clock)
+                .build();
+        RetryContext retryContext = context(429, "Wed, 21 Oct 2015 07:28:00 GMT");
+        assertTrue(policy.shouldRetry(retryContext));
+        assertEquals(2000, policy.getNextRetryIntervalMillis(retryContext));
+    }
+
+    @Test
+    public void test_shouldRetry_statusCodes() {
+        ThrottlingRetryPolicy policy = ThrottlingRetryPolicy.builder().build();
+        assertTrue(policy.shouldRetry(context(429, null)));
+        assertTrue(policy.shouldRetry(context(503, "1")));
+        assertTrue(policy.shouldRetry(context(500, null)));
+        assertFalse(policy.shouldRetry(context(401, null)));
+        assertFalse(policy.shouldRetry(context(200, null)));
+
+        RetryContext timeout = new RetryContext();
+        timeout.setLastException(new SocketTimeoutException());
+        assertTrue(policy.shouldRetry(timeout));
+
+        ThrottlingRetryPolicy only429 = ThrottlingRetryPolicy.builder().setRetryServerErrors(false).build();
+        assertTrue(only429.shouldRetry(context(429, null)));
+        assertFalse(only429.shouldRetry(context(500, null)));
+        assertFalse(only429.shouldRetry(timeout));
+    }
+
+    @Test
+    public void test_shouldRetry_maxNumberOfRetries() {
+        ThrottlingRetryPolicy policy = ThrottlingRetryPolicy.builder().setMaxNumberOfRetries(2).build();
+        RetryContext retryContext = context(429, null);
+        assertTrue(policy.shouldRetry(retryContext));
+        retryContext.incrementRetryCount();
+        retryContext.incrementRetryCount();
+        assertFalse(policy.shouldRetry(retryContext));
+    }
+
+    @Test
+    public void test_decorrelatedJitter_boundedAndNeverZero() {
+        ThrottlingRetryPolicy policy = ThrottlingRetryPolicy.builder()
+                .setBaseIntervalMillis(100)
+                .setMaxIntervalMillis(1000)
+                .setMaxTotalWaitMillis(Long.MAX_VALUE)
+                .build();
+        RetryContext retryContext = context(429, null);
+        boolean reachedMax = false;
+        for (int i = 0; i < 1000; i++) {
+            int previous = Math.max(100, retryContext.getLastRetryIntervalMillis());
+            int interval = policy.getNextRetryIntervalMillis(retryContext);
+            assertTrue("interval " + interval, interval >= 100);
+            assertTrue("interval " + interval, interval <= Math.min(1000, previous * 3));
+            reachedMax |= interval > 900;
+            retryContext.addRetryIntervalMillis(interval);
+        }
+        assertTrue(reachedMax);
+    }
+
+    @Test
+    public void test_totalWait_capped() {
+        ThrottlingRetryPolicy policy = ThrottlingRetryPolicy.builder()
+                .setBaseIntervalMillis(100)
+                .setMaxIntervalMillis(1000)
+                .setMaxTotalWaitMillis(1500)
+                .setMaxNumberOfRetries(100)
+                .build();
+        RetryContext retryContext = context(429, null);
+        while (policy.shouldRetry(retryContext)) {
+            retryContext.incrementRetryCount();
+            retryContext.addRetryIntervalMillis(policy.getNextRetryIntervalMillis(retryContext));
+        }
+        assertTrue(retryContext.getTotalRetryIntervalMillis() <= 1500);
+        assertTrue(retryContext.getTotalRetryIntervalMillis() > 1400);
+
+        // the server asks for more than the whole budget
+        assertFalse(policy.shouldRetry(context(429, "2")));
+    }
+
+    private HereAccessTokenProvider newProvider(ThrottlingRetryPolicy policy) {
+        httpProvider = JavaHttpProvider.builder().build();
+        return HereAccessTokenProvider.builder()
+                .setHttpProvider(httpProvider)
+                .setClientAuthorizationRequestProvider(new OAuth1ClientCredentialsProvider(
+                        server.getUrl("/oauth2/token"), "key", "secret"))
+                .setAlwaysRequestNewToken(true)
+                .setRetryPolicy(policy)
+                .build();
+    }
+
+    @Test
+    public void test_stubServer_retriesThrottledThenSucceeds() throws IOException {
+        AtomicInteger requests = new AtomicInteger();
+        server = StubHttpServer.start(exchange -> {
+            int n = requests.incrementAndGet();
+            if (1 == n) {
+                exchange.getResponseHeaders().set("Retry-After", "1");
+                StubHttpServer.respond(exchange, 429, THROTTLED_JSON);
+            } else if (2 == n) {
+                StubHttpServer.respond(exchange, 429, THROTTLED_JSON);
+            } else {
+                StubHttpServer.respond(exchange, 200, StubHttpServer.ACCESS_TOKEN_JSON);
+            }
+        });
+        ThrottlingRetryPolicy policy = ThrottlingRetryPolicy.builder()
+                .setBaseIntervalMillis(10)
+                .setMaxIntervalMillis(100)
+                .build();
+        try (HereAccessTokenProvider provider = newProvider(policy)) {
+            long startNanos = System.nanoTime();
+            assertEquals("stub-access-token", provider.getAccessToken());
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+            assertTrue("elapsedMillis " + elapsedMillis, elapsedMillis >= 1000);
+        }
+        assertEquals(3, requests.get());
+    }
+
+    @Test
+    public void test_stubServer_retryAfterBeyondCap_givesUp() throws IOException {
+        server = StubHttpServer.start(exchange -> {
+            exchange.getResponseHeaders().set("Retry-After", "120");
+            StubHttpServer.respond(exchange, 429, THROTTLED_JSON);
+        });
+        ThrottlingRetryPolicy policy = ThrottlingRetryPolicy.builder().setMaxTotalWaitMillis(5000).build();
+        try (HereAccessTokenProvider provider = newProvider(policy)) {
+            provider.getAccessToken();
+            fail("expected AccessTokenException");
+        } catch (AccessTokenException e) {
+            assertEquals(429, e.getStatusCode());
+            assertEquals(Integer.valueOf(429002), e.getErrorResponse().getErrorCode());
+        }
+        assertEquals(1, server.getRequestCount());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void test_builder_maxLessThanBase() {
+        ThrottlingRetryPolicy.builder().setBaseIntervalMillis(100).setMaxIntervalMillis(50).build();
+    }
+}
@@ -0,0 +1,337 @@
+/*
+ * Copyright (c) 2026 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.here.account.oauth2.validation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.here.account.http.HttpProvider;
+import com.here.account.http.StubHttpServer;
+import com.here.account.http.java.JavaHttpProvider;
+import com.here.account.oauth2.JwtClaims;
+import com.here.account.oauth2.validation.TokenValidationException.Reason;
+import com.here.account.util.TestClock;
+
+public class AccessTokenValidatorTest {
+
+    private static final String ISSUER = "https://account.api.here.com";
+
+    private static TestJwks jwks;
+
+    private volatile String jwksJson;
+    private volatile int jwksStatusCode = 200;
+    private volatile boolean stalled;
+    private final CountDownLatch release = new CountDownLatch(1);
+    private TestClock clock;
+    private StubHttpServer server;
+    private HttpProvider httpProvider;
+    private JwksKeySource keySource;
+    private AccessTokenValidator validator;
+
+    @BeforeClass
+    public static void setUpKeys() throws Exception {
+        jwks = new TestJwks()
+                .addRsaKey("rsa-1")
+                .addRsaKey("rsa-rs512")
+                .setAlg("rsa-rs512", "RS512")
+                .addEcKey("ec-256", "secp256r1")
+                .addEcKey("ec-521", "secp521r1");
+    }
+
+    @Before
+    public void setUp() throws IOException {
+        jwksJson = jwks.toJson();
+        server = StubHttpServer.start(exchange -> {
+            if (stalled) {
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            StubHttpServer.respond(exchange, jwksStatusCode, jwksJson);
+        }, 4);
+        httpProvider = JavaHttpProvider.builder().build();
+        clock = new TestClock();
+        keySource = JwksKeySource.builder()
+                .setHttpProvider(httpProvider)
+                .setUrl(server.getUrl("/.well-known/jwks.json"))
+                .setClock(clock)
+                .setExecutor(Runnable::run)
+                .build();
+        validator = AccessTokenValidator.builder()
+                .setKeySource(keySource)
+                .setClock(clock)
+                .setIssuer(ISSUER)
+                .build();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        release.countDown();
+        keySource.close();
+        httpProvider.close();
+        server.close();
+    }
+
+    private long nowSeconds() {
+        return TimeUnit.MILLISECONDS.toSeconds(clock.currentTimeMillis());
+    }
+
+    private String claims(long expInSeconds) {
+        return "{\"iss\":\"" + ISSUER + "\",\"aid\":\"my-app\",\"iat\":" + nowSeconds()
+                + ",\"exp\":" + (nowSeconds() + expInSeconds) + "}";
+    }
+
+    private void advanceSeconds(long seconds) {
+        clock.setCurrentTimeMillis(clock.currentTimeMillis() + TimeUnit.SECONDS.toMillis(seconds));
+    }
+
+    private void assertFails(Reason reason, String accessToken) {
+        try {
+            validator.validate(accessToken);
+            fail("expected " + reason);
+        } catch (TokenValidationException e) {
+            assertEquals(e.getMessage(), reason, e.getReason());
+        }
+    }
+
+    @Test
+    public void test_validate_rs256() throws Exception {
+        JwtClaims claims = validator.validate(jwks.sign("rsa-1", "RS256", claims(3600L)));
+        assertEquals("my-app", claims.getAid());
+        assertEquals(ISSUER, claims.getIss());
+    }
+
+    @Test
+    public void test_validate_rs512() throws Exception {
+        assertEquals("my-app", validator.validate(jwks.sign("rsa-1", "RS512", claims(3600L))).getAid());
+    }
+
+    @Test
+    public void test_validate_es256() throws Exception {
+        assertEquals("my-app", validator.validate(jwks.sign("ec-256", "ES256", claims(3600L))).getAid());
+    }
+
+    @Test
+    public void test_validate_es512() throws Exception {
+        assertEquals("my-app", validator.validate(jwks.sign("ec-521", "ES512", claims(3600L))).getAid());
+    }
+
+    @Test
+    public void test_validate_cachedForLifetime() throws Exception {
+        String accessToken = jwks.sign("rsa-1", "RS256", claims(600L));
+        JwtClaims claims = validator.validate(accessToken);
+        assertEquals(1, validator.getCachedTokenCount());
+        assertEquals(claims, validator.validate(accessToken));
+        assertEquals(1L, keySource.getFetchCount());
+
+        advanceSeconds(600L + AccessTokenValidator.DEFAULT_CLOCK_SKEW_SECONDS + 1L);
+        assertFails(Reason.EXPIRED, accessToken);
+        assertEquals(0, validator.getCachedTokenCount());
+    }
+
+    @Test
+    public void test_validate_expired() throws Exception {
+        assertFails(Reason.EXPIRED, jwks.sign("rsa-1", "RS256",
+                claims(-AccessTokenValidator.DEFAULT_CLOCK_SKEW_SECONDS - 1L)));
+        // within the skew allowance
+        assertNotNull(validator.validate(jwks.sign("rsa-1", "RS256", claims(-10L))));
+    }
+
+    @Test
+    public void test_validate_notYetValid() throws Exception {
+        String notYet = "{\"exp\":" + (nowSeconds() + 3600L) + ",\"nbf\":" + (nowSeconds() + 600L)
+                + ",\"iss\":\"" + ISSUER + "\"}";
+        assertFails(Reason.NOT_YET_VALID, jwks.sign("rsa-1", "RS256", notYet));
+        advanceSeconds(600L);
+        assertNotNull(validator.validate(jwks.sign("rsa-1", "RS256", notYet)));
+    }
+
+    @Test
+    public void test_validate_missingExp() throws Exception {
+        assertFails(Reason.MALFORMED, jwks.sign("rsa-1", "RS256", "{\"iss\":\"" + ISSUER + "\"}"));
+    }
+
+    @Test
+    public void test_validate_wrongIssuer() throws Exception {
+        assertFails(Reason.INVALID_ISSUER, jwks.sign("rsa-1", "RS256",
+                "{\"iss\":\"https://evil.example.com\",\"exp\":" + (nowSeconds() + 3600L) + "}"));
+    }
+
+    @Test
+    public void test_validate_tampered() throws Exception {
+        String accessToken = jwks.sign("ec-256", "ES256", claims(3600L));
+        String[] parts = accessToken.split("\\.");
+        String otherPayload = jwks.sign("ec-256", "ES256", claims(7200L)).split("\\.")[1];
+        assertFails(Reason.INVALID_SIGNATURE, parts[0] + "." + otherPayload + "." + parts[2]);
+        assertEquals(0, validator.getCachedTokenCount());
+    }
+
+    @Test
+    public void test_validate_signedByOtherKey() throws Exception {
+        TestJwks other = new TestJwks().addRsaKey("rsa-1");
+        assertFails(Reason.INVALID_SIGNATURE, other.sign("rsa-1", "RS256", claims(3600L)));
+    }
+
+    @Test
+    public void test_validate_unsupportedAlgorithm() throws Exception {
+        String accessToken = jwks.sign("rsa-1", "RS256", claims(3600L));
+        String payload = accessToken.split("\\.")[1];
+        String none = java.util.Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("{\"alg\":\"none\",\"kid\":\"rsa-1\"}".getBytes("UTF-8"));
+        assertFails(Reason.UNSUPPORTED_ALGORITHM, none + "." + payload + ".");
+        // an EC alg with an RSA key
+        assertFails(Reason.UNSUPPORTED_ALGORITHM, jwks.sign("rsa-1", "RS256", claims(3600L))
+                .replaceFirst("^[^.]+", java.util.Base64.getUrlEncoder().withoutPadding()
+                        .encodeToString("{\"alg\":\"ES256\",\"kid\":\"rsa-1\"}".getBytes("UTF-8"))));
+    }
+
+    @Test
+    public void test_validate_keyAlgMismatch() throws Exception {
+        assertNotNull(validator.validate(jwks.sign("rsa-rs512", "RS512", claims(3600L))));
+        assertFails(Reason.UNSUPPORTED_ALGORITHM, jwks.sign("rsa-rs512", "RS256", claims(3600L)));
+    }
+
+    @Test
+    public void test_validate_curveMismatch() throws Exception {
+        // a valid ECDSA signature, but with SHA-512 on a P-256 key
+        assertFails(Reason.UNSUPPORTED_ALGORITHM, jwks.sign("ec-256", "ES512", claims(3600L)));
+        // ES256 claimed for a P-521 key
+        assertFails(Reason.UNSUPPORTED_ALGORITHM, jwks.sign("ec-521", "ES512", claims(3600L))
+                .replaceFirst("^[^.]+", java.util.Base64.getUrlEncoder().withoutPadding()
+                        .encodeToString("{\"alg\":\"ES256\",\"kid\":\"ec-521\"}".getBytes("UTF-8"))));
+    }
+
+    @Test
+    public void test_validate_cacheBounded() throws Exception {
+        AccessTokenValidator boundedValidator = AccessTokenValidator.builder()
+                .setKeySource(keySource)
+                .setClock(clock)
+                .setMaxCachedTokens(2)
+                .build();
+        for (long expInSeconds = 600L; expInSeconds <= 6000L; expInSeconds += 600L) {
+            String accessToken = jwks.sign("rsa-1", "RS256", claims(expInSeconds));
+            assertNotNull(boundedValidator.validate(accessToken));
+            assertTrue(boundedValidator.getCachedTokenCount() <= 2);
+            assertNotNull(boundedValidator.validate(accessToken));
+        }
+        assertEquals(2, boundedValidator.getCachedTokenCount());
+    }
+
+    @Test
+    public void test_validate_malformed() {
+        for (String accessToken : new String[] {"", "abc", "a.b", "a.b.c.d", "!!!.e30.e30", "bnVsbA.e30.e30"}) {
+            assertFails(Reason.MALFORMED, accessToken);
+        }
+    }
+
+    @Test
+    public void test_keySource_unknownKid_rateLimited() throws Exception {
+        TestJwks rotated = new TestJwks().addRsaKey("rsa-2");
+        String accessToken = rotated.sign("rsa-2", "RS256", claims(3600L));
+
+        assertFails(Reason.UNKNOWN_KEY, accessToken);
+        assertFails(Reason.UNKNOWN_KEY, accessToken);
+        assertFails(Reason.UNKNOWN_KEY, rotated.sign("rsa-2", "RS256", claims(1800L)));
+        assertEquals("no fetches within the minimum interval", 1L, keySource.getFetchCount());
+
+        // the key is rotated in, and found after the minimum interval
+        jwksJson = rotated.toJson();
+        clock.setCurrentTimeMillis(clock.currentTimeMillis() + JwksKeySource.DEFAULT_MIN_REFRESH_INTERVAL_MILLIS);
+        assertEquals("my-app", validator.validate(accessToken).getAid());
+        assertEquals(2L, keySource.getFetchCount());
+    }
+
+    @Test
+    public void test_keySource_refreshAhead() throws Exception {
+        validator.validate(jwks.sign("rsa-1", "RS256", claims(3600L)));
+        assertEquals(1L, keySource.getFetchCount());
+        clock.setCurrentTimeMillis(clock.currentTimeMillis() + JwksKeySource.DEFAULT_REFRESH_AHEAD_MILLIS);
+        validator.validate(jwks.sign("rsa-1", "RS256", claims(3600L)));
+        assertEquals(2L, keySource.getFetchCount());
+    }
+
+    @Test
+    public void test_keySource_unavailable_thenStaleKeysServed() throws Exception {
+        jwksStatusCode = 503;
+        assertFails(Reason.KEYS_UNAVAILABLE, jwks.sign("rsa-1", "RS256", claims(3600L)));
+
+        jwksStatusCode = 200;
+        clock.setCurrentTimeMillis(clock.currentTimeMillis() + JwksKeySource.DEFAULT_MIN_REFRESH_INTERVAL_MILLIS);
+        validator.validate(jwks.sign("rsa-1", "RS256", claims(7200L)));
+
+        // past the maximum age the refresh fails, and the cached keys carry on
+        jwksStatusCode = 503;
+        clock.setCurrentTimeMillis(clock.currentTimeMillis() + JwksKeySource.DEFAULT_MAX_AGE_MILLIS);
+        assertEquals("my-app", validator.validate(jwks.sign("rsa-1", "RS256", claims(3600L))).getAid());
+        assertEquals(3L, keySource.getFetchCount());
+    }
+
+    @Test
+    public void test_keySource_stalledFetch_timesOut() throws Exception {
+        stalled = true;
+        JwksKeySource stalledKeySource = JwksKeySource.builder()
+                .setHttpProvider(httpProvider)
+                .setUrl(server.getUrl("/.well-known/jwks.json"))
+                .setClock(clock)
+                .setFetchTimeoutMillis(300L)
+                .build();
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        try {
+            long startMillis = System.currentTimeMillis();
+            // one thread fetches, the other waits for that fetch rather than sending its own
+            Future<?> first = executorService.submit(() -> stalledKeySource.getKey("rsa-1"));
+            Future<?> second = executorService.submit(() -> stalledKeySource.getKey("rsa-1"));
+            for (Future<?> future : new Future<?>[] {first, second}) {
+                try {
+                    future.get(5, TimeUnit.SECONDS);
+                    fail("expected " + Reason.KEYS_UNAVAILABLE);
+                } catch (ExecutionException e) {
+                    assertEquals(Reason.KEYS_UNAVAILABLE, ((TokenValidationException) e.getCause()).getReason());
+                }
+            }
+            long elapsedMillis = System.currentTimeMillis() - startMillis;
+            assertTrue("elapsedMillis " + elapsedMillis, elapsedMillis < 2000L);
+            assertEquals(1L, stalledKeySource.getFetchCount());
+        } finally {
+            executorService.shutdown();
+            stalledKeySource.close();
+        }
+    }
+
+    @Test
+    public void test_jwtValidationBenchmark() throws Exception {
+        Properties results = new JwtValidationBenchmark().run(200);
+        assertEquals("200", results.getProperty("validated"));
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2026 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.here.account.oauth2.validation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import com.here.account.http.HttpProvider;
+import com.here.account.http.StubHttpServer;
+import com.here.account.http.java.JavaHttpProvider;
+import com.here.account.util.Benchmark;
+
+/**
+ * How many access tokens {@link AccessTokenValidator} validates per second:
+ * distinct RS256 and ES256 tokens, each needing a signature check, then the same RS256 tokens
+ * again 100 times each from the validated-token cache, with keys from a local stub JWKS endpoint.
+ * The size is the number of distinct tokens per algorithm, by default 10000.
+ */
+public class JwtValidationBenchmark extends Benchmark {
+
+    private static final int CACHED_VALIDATIONS_PER_TOKEN = 100;
+
+    public JwtValidationBenchmark() {
+        super(10000);
+    }
+
+    @Override
+    public Properties run(int tokens) throws Exception {
+        TestJwks jwks = new TestJwks()
+                .addRsaKey("rsa")
+                .addEcKey("ec", "secp256r1");
+        String jwksJson = jwks.toJson();
+        try (StubHttpServer server = StubHttpServer.start(
+                    exchange -> StubHttpServer.respond(exchange, 200, jwksJson));
+                HttpProvider httpProvider = JavaHttpProvider.builder().build();
+                JwksKeySource keySource = JwksKeySource.builder()
+                        .setHttpProvider(httpProvider)
+                        .setUrl(server.getUrl("/.well-known/jwks.json"))
+                        .build()) {
+            AccessTokenValidator validator = AccessTokenValidator.builder()
+                    .setKeySource(keySource)
+                    .setMaxCachedTokens(2 * tokens)
+                    .build();
+            long exp = TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis()) + 3600L;
+            List<String> rs256 = new ArrayList<>(tokens);
+            List<String> es256 = new ArrayList<>(tokens);
+            for (int i = 0; i < tokens; i++) {
+                String claims = "{\"aid\":\"app-" + i + "\",\"exp\":" + exp + "}";
+                rs256.add(jwks.sign("rsa", "RS256", claims));
+                es256.add(jwks.sign("ec", "ES256", claims));
+            }
+
+            Properties results = new Properties();
+            int validated = 0;
+            long startNanos = System.nanoTime();
+            for (String accessToken : rs256) {
+                validator.validate(accessToken);
+                validated++;
+            }
+            results.setProperty("rs256ValidationsPerSecond", perSecond(tokens, System.nanoTime() - startNanos));
+            startNanos = System.nanoTime();
+            for (String accessToken : es256) {
+                validator.validate(accessToken);
+            }
+            results.setProperty("es256ValidationsPerSecond", perSecond(tokens, System.nanoTime() - startNanos));
+            startNanos = System.nanoTime();
+            for (int i = 0; i < CACHED_VALIDATIONS_PER_TOKEN; i++) {
+                for (String accessToken : rs256) {
+                    validator.validate(accessToken);
+                }
+            }
+            results.setProperty("cachedValidationsPerSecond",
+                    perSecond(CACHED_VALIDATIONS_PER_TOKEN * tokens, System.nanoTime() - startNanos));
+            results.setProperty("tokens", String.valueOf(tokens));
+            results.setProperty("validated", String.valueOf(validated));
+            results.setProperty("jwksFetches", String.valueOf(keySource.getFetchCount()));
+            return results;
+        }
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2026 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.here.account.oauth2.validation;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.Signature;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.here.account.util.MinimalJsonSerializer;
+
+/**
+ * Signing keys, a JSON Web Key Set for them, and signed tokens, for tests and benchmarks.
+ */
+class TestJwks {
+
+    private static final Base64.Encoder BASE64URL = Base64.getUrlEncoder().withoutPadding();
+
+    private final Map<String, KeyPair> keyPairs = new LinkedHashMap<>();
+    private final Map<String, String> algorithms = new LinkedHashMap<>();
+
+    /**
+     * Adds a new RSA key.
+     */
+    TestJwks addRsaKey(String kid) throws GeneralSecurityException {
+        KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("RSA");
+        keyPairGenerator.initialize(2048);
+        keyPairs.put(kid, keyPairGenerator.generateKeyPair());
+        return this;
+    }
+
+    /**
+     * Adds a new EC key on the curve, one of secp256r1, secp384r1, or secp521r1.
+     */
+    TestJwks addEcKey(String kid, String curve) throws GeneralSecurityException {
+        KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("EC");
+        keyPairGenerator.initialize(new ECGenParameterSpec(curve));
+        keyPairs.put(kid, keyPairGenerator.generateKeyPair());
+        return this;
+    }
+
+    /**
+     * Restricts the key to one JWS alg, with the JWK "alg" parameter.
+     */
+    TestJwks setAlg(String kid, String alg) {
+        algorithms.put(kid, alg);
+        return this;
+    }
+
+    TestJwks removeKey(String kid) {
+        keyPairs.remove(kid);
+        algorithms.remove(kid);
+        return this;
+    }
+
+    /**
+     * @return the public keys as a JSON Web Key Set
+     */
+    String toJson() {
+        List<Map<String, Object>> keys = new ArrayList<>();
+        for (Map.Entry<String, KeyPair> entry : keyPairs.entrySet()) {
+            Map<String, Object> jwk = new LinkedHashMap<>();
+            jwk.put("kid", entry.getKey());
+            jwk.put("use", "sig");
+            if (algorithms.containsKey(entry.getKey())) {
+                jwk.put("alg", algorithms.get(entry.getKey()));
+            }
+            if (entry.getValue().getPublic() instanceof RSAPublicKey) {
+                RSAPublicKey publicKey = (RSAPublicKey) entry.getValue().getPublic();
+                jwk.put("kty", "RSA");
+                jwk.put("n", encode(publicKey.getModulus(), 0));
+                jwk.put("e", encode(publicKey.getPublicExponent(), 0));
+            } else {
+                ECPublicKey publicKey = (ECPublicKey) entry.getValue().getPublic();
+                int fieldSize = publicKey.getParams().getCurve().getField().getFieldSize();
+                int length = (fieldSize + 7) / 8;
+                jwk.put("kty", "EC");
+                jwk.put("crv", 521 == fieldSize ? "P-521" : "P-" + fieldSize);
+                jwk.put("x", encode(publicKey.getW().getAffineX(), length));
+                jwk.put("y", encode(publicKey.getW().getAffineY(), length));
+            }
+            keys.add(jwk);
+        }
+        Map<String, Object> jwks = new LinkedHashMap<>();
+        jwks.put("keys", keys);
+        return new MinimalJsonSerializer().objectToJson(jwks);
+    }
+
+    /**
+     * Signs a token with the key.
+     *
+     * @param kid the key id
+     * @param alg the JWS alg, matching the key
+     * @param claimsJson the claims
+     * @return the token
+     */
+    String sign(String kid, String alg, String claimsJson) throws GeneralSecurityException {
+        String signingInput = BASE64URL.encodeToString(("{\"alg\":\"" + alg + "\",\"kid\":\"" + kid
+                + "\",\"typ\":\"JWT\"}").getBytes(StandardCharsets.UTF_8))
+                + "." + BASE64URL.encodeToString(claimsJson.getBytes(StandardCharsets.UTF_8));
+        PrivateKey privateKey = keyPairs.get(kid).getPrivate();
+        String bits = alg.substring(2);
+        boolean ecdsa = alg.startsWith("ES");
+        Signature signer = Signature.getInstance("SHA" + bits + "with" + (ecdsa ? "ECDSA" : "RSA"));
+        signer.initSign(privateKey);
+        signer.update(signingInput.getBytes(StandardCharsets.US_ASCII));
+        byte[] signature = signer.sign();
+        if (ecdsa) {
+            signature = derToJws(signature, "512".equals(bits) ? 66 : Integer.parseInt(bits) / 8);
+        }
+        return signingInput + "." + BASE64URL.encodeToString(signature);
+    }
+
+    /**
+     * Converts a DER ECDSA signature to R and S as fixed-length unsigned integers.
+     */
+    private static byte[] derToJws(byte[] der, int integerLength) {
+        int offset = 2;
+        if ((der[1] & 0xFF) == 0x81) {
+            offset = 3;
+        }
+        byte[] jws = new byte[2 * integerLength];
+        for (int i = 0; i < 2; i++) {
+            int length = der[offset + 1];
+            byte[] integer = Arrays.copyOfRange(der, offset + 2, offset + 2 + length);
+            byte[] unsigned = encodeUnsigned(new BigInteger(integer), integerLength);
+            System.arraycopy(unsigned, 0, jws, i * integerLength, integerLength);
+            offset += 2 + length;
+        }
+        return jws;
+    }
+
+    private static String encode(BigInteger value, int length) {
+        return BASE64URL.encodeToString(encodeUnsigned(value, length));
+    }
+
+    /**
+     * Big-endian unsigned bytes, left-padded to length if length is not 0.
+     */
+    private static byte[] encodeUnsigned(BigInteger value, int length) {
+        byte[] bytes = value.toByteArray();
+        if (bytes.length > 1 && bytes[0] == 0) {
+            bytes = Arrays.copyOfRange(bytes, 1, bytes.length);
+        }
+        if (0 == length || bytes.length == length) {
+            return bytes;
+        }
+        byte[] padded = new byte[length];
+        System.arraycopy(bytes, 0, padded, length - bytes.length, bytes.length);
+        return padded;
+    }
+}
@@ -0,0 +1,271 @@
+/*
+ * Copyright (c) 2026 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.here.account.reactive;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.here.account.auth.NoAuthorizer;
+import com.here.account.client.Client;
+import com.here.account.client.HedgingPolicy;
+import com.here.account.http.HttpException;
+import com.here.account.http.HttpProvider;
+import com.here.account.http.StubHttpServer;
+import com.here.account.http.asynchttpclient.AsyncHttpClientProvider;
+import com.here.account.http.java.JavaHttpProvider;
+import com.here.account.oauth2.AccessTokenException;
+import com.here.account.oauth2.AccessTokenResponse;
+import com.here.account.oauth2.ErrorResponse;
+import com.here.account.util.JacksonSerializer;
+
+public class ClientResponsePublisherTest {
+
+    private final CountDownLatch received = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    private StubHttpServer server;
+    private HttpProvider httpProvider;
+    private Client client;
+
+    @Before
+    public void setUp() throws IOException {
+        server = StubHttpServer.start(exchange -> {
+            String path = exchange.getRequestURI().getPath();
+            if (path.startsWith("/slow")) {
+                received.countDown();
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            if (path.startsWith("/bad")) {
+                StubHttpServer.respond(exchange, 401, "{\"error\":\"invalid_client\",\"errorCode\":401300}");
+            } else {
+                StubHttpServer.respond(exchange, 200, StubHttpServer.ACCESS_TOKEN_JSON);
+            }
+        }, 4);
+        httpProvider = JavaHttpProvider.builder().build();
+        client = Client.builder()
+                .withHttpProvider(httpProvider)
+                .withSerializer(new JacksonSerializer())
+                .withClientAuthorizer(new NoAuthorizer())
+                .withExecutor(executor)
+                .build();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        release.countDown();
+        executor.shutdown();
+        httpProvider.close();
+        server.close();
+    }
+
+    private ClientResponsePublisher<AccessTokenResponse> publisher(String path) {
+        return publisher(client, httpProvider, path);
+    }
+
+    private ClientResponsePublisher<AccessTokenResponse> publisher(Client client, HttpProvider httpProvider,
+            String path) {
+        return ClientResponsePublisher.of(client,
+                () -> httpProvider.getRequest(client.getClientAuthorizer(), "GET", server.getUrl(path), (String) null),
+                AccessTokenResponse.class, ErrorResponse.class, AccessTokenException::new);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void test_subscribe_null() {
+        publisher("/oauth2/token").subscribe(null);
+    }
+
+    @Test
+    public void test_response() throws Exception {
+        RecordingSubscriber<AccessTokenResponse> subscriber = new RecordingSubscriber<>(1);
+        publisher("/oauth2/token").subscribe(subscriber);
+        subscriber.awaitTerminated();
+        assertEquals(1, subscriber.getValues().size());
+        assertEquals("stub-access-token", subscriber.getValues().get(0).getAccessToken());
+        assertTrue(subscriber.isCompleted());
+        subscriber.assertNoViolations();
+    }
+
+    @Test
+    public void test_cold() throws Exception {
+        ClientResponsePublisher<AccessTokenResponse> publisher = publisher("/oauth2/token");
+        RecordingSubscriber<AccessTokenResponse> first = new RecordingSubscriber<>(1);
+        RecordingSubscriber<AccessTokenResponse> second = new RecordingSubscriber<>(Long.MAX_VALUE);
+        publisher.subscribe(first);
+        publisher.subscribe(second);
+        first.awaitTerminated();
+        second.awaitTerminated();
+        assertEquals(2, server.getRequestCount());
+    }
+
+    @Test
+    public void test_noDemand_noRequest() throws Exception {
+        RecordingSubscriber<AccessTokenResponse> subscriber = new RecordingSubscriber<>(0);
+        publisher("/oauth2/token").subscribe(subscriber);
+        Thread.sleep(100);
+        assertEquals(0, server.getRequestCount());
+        subscriber.assertNoTerminalSignal();
+    }
+
+    @Test
+    public void test_error() throws Exception {
+        RecordingSubscriber<AccessTokenResponse> subscriber = new RecordingSubscriber<>(1);
+        publisher("/bad/oauth2/token").subscribe(subscriber);
+        subscriber.awaitTerminated();
+        assertEquals(401, ((AccessTokenException) subscriber.getError()).getStatusCode());
+        assertEquals(0, subscriber.getValues().size());
+        subscriber.assertNoViolations();
+    }
+
+    @Test
+    public void test_request_nonPositive() throws Exception {
+        RecordingSubscriber<AccessTokenResponse> subscriber = new RecordingSubscriber<>(-1);
+        publisher("/oauth2/token").subscribe(subscriber);
+        subscriber.awaitTerminated();
+        assertTrue(String.valueOf(subscriber.getError()),
+                subscriber.getError() instanceof IllegalArgumentException);
+        subscriber.getSubscription().request(1);
+        Thread.sleep(100);
+        assertEquals(0, server.getRequestCount());
+        subscriber.assertNoViolations();
+    }
+
+    @Test
+    public void test_cancel_abortsRequest() throws Exception {
+        RecordingSubscriber<AccessTokenResponse> subscriber = new RecordingSubscriber<>(1);
+        publisher("/slow/oauth2/token").subscribe(subscriber);
+        assertTrue(received.await(10, TimeUnit.SECONDS));
+        subscriber.getSubscription().cancel();
+        // the aborted request frees the Client's only thread while the server is still stalled
+        executor.submit(() -> { }).get(5, TimeUnit.SECONDS);
+        assertEquals(1, release.getCount());
+        assertEquals(0, subscriber.getValues().size());
+        subscriber.assertNoTerminalSignal();
+        subscriber.assertNoViolations();
+    }
+
+    @Test
+    public void test_asyncHttpProvider() throws Exception {
+        try (AsyncHttpClientProvider asyncHttpProvider = AsyncHttpClientProvider.builder().build()) {
+            Client asyncClient = Client.builder()
+                    .withHttpProvider(asyncHttpProvider)
+                    .withSerializer(new JacksonSerializer())
+                    .withClientAuthorizer(new NoAuthorizer())
+                    .withExecutor(executor)
+                    .build();
+            RecordingSubscriber<AccessTokenResponse> subscriber = new RecordingSubscriber<>(1);
+            publisher(asyncClient, asyncHttpProvider, "/slow/oauth2/token").subscribe(subscriber);
+            assertTrue(received.await(10, TimeUnit.SECONDS));
+            // the request in flight does not occupy the Client's only thread
+            executor.submit(() -> { }).get(5, TimeUnit.SECONDS);
+            release.countDown();
+            subscriber.awaitTerminated();
+            assertEquals("stub-access-token", subscriber.getValues().get(0).getAccessToken());
+            assertTrue(subscriber.isCompleted());
+            subscriber.assertNoViolations();
+        }
+    }
+
+    @Test
+    public void test_cancel_abortsHedgedRequests() throws Exception {
+        StallingHttpProvider stallingHttpProvider = new StallingHttpProvider();
+        Client hedgingClient = Client.builder()
+                .withHttpProvider(stallingHttpProvider)
+                .withSerializer(new JacksonSerializer())
+                .withClientAuthorizer(new NoAuthorizer())
+                .withHedgingPolicy(HedgingPolicy.builder().setInitialDelayMillis(10L).build())
+                .withExecutor(executor)
+                .build();
+        RecordingSubscriber<AccessTokenResponse> subscriber = new RecordingSubscriber<>(1);
+        publisher(hedgingClient, stallingHttpProvider, "/oauth2/token").subscribe(subscriber);
+        assertTrue(stallingHttpProvider.executing.await(10, TimeUnit.SECONDS));
+        subscriber.getSubscription().cancel();
+        assertEquals(2, stallingHttpProvider.requests.size());
+        for (StallingHttpProvider.StallingRequest httpRequest : stallingHttpProvider.requests) {
+            assertTrue(httpRequest.aborted.await(5, TimeUnit.SECONDS));
+        }
+        subscriber.assertNoTerminalSignal();
+        subscriber.assertNoViolations();
+    }
+
+    /**
+     * Each request stalls until it is aborted.
+     */
+    private static class StallingHttpProvider implements HttpProvider {
+
+        private static class StallingRequest implements HttpRequest {
+            private final CountDownLatch aborted = new CountDownLatch(1);
+
+            @Override
+            public void addAuthorizationHeader(String value) {
+            }
+
+            @Override
+            public void abort() {
+                aborted.countDown();
+            }
+        }
+
+        private final List<StallingRequest> requests = new CopyOnWriteArrayList<>();
+        private final CountDownLatch executing = new CountDownLatch(2);
+
+        @Override
+        public HttpRequest getRequest(HttpRequestAuthorizer httpRequestAuthorizer, String method, String url,
+                String requestBodyJson) {
+            return new StallingRequest();
+        }
+
+        @Override
+        public HttpRequest getRequest(HttpRequestAuthorizer httpRequestAuthorizer, String method, String url,
+                Map<String, List<String>> formParams) {
+            return new StallingRequest();
+        }
+
+        @Override
+        public HttpResponse execute(HttpRequest httpRequest) throws HttpException, IOException {
+            StallingRequest request = (StallingRequest) httpRequest;
+            requests.add(request);
+            executing.countDown();
+            try {
+                request.aborted.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            throw new IOException("request aborted");
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2026 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.here.account.reactive;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+/**
+ * A Subscriber that records its signals, and asserts the Reactive Streams rules
+ * on the order of signals as they arrive.
+ */
+class RecordingSubscriber<T> implements Subscriber<T> {
+
+    private final long initialRequest;
+    private final List<T> values = new ArrayList<>();
+    private final CountDownLatch terminated = new CountDownLatch(1);
+    private volatile Subscription subscription;
+    private volatile Throwable error;
+    private volatile boolean completed;
+    private volatile AssertionError violation;
+
+    RecordingSubscriber(long initialRequest) {
+        this.initialRequest = initialRequest;
+    }
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+        check(null == this.subscription, "rule 2.12: onSubscribe more than once");
+        this.subscription = subscription;
+        if (initialRequest != 0) {
+            subscription.request(initialRequest);
+        }
+    }
+
+    @Override
+    public synchronized void onNext(T value) {
+        check(null != subscription, "rule 1.9: onNext before onSubscribe");
+        check(!isTerminated(), "rule 1.7: onNext after a terminal signal");
+        values.add(value);
+    }
+
+    @Override
+    public void onError(Throwable error) {
+        check(null != subscription, "rule 1.9: onError before onSubscribe");
+        check(!isTerminated(), "rule 1.7: more than one terminal signal");
+        this.error = error;
+        terminated.countDown();
+    }
+
+    @Override
+    public void onComplete() {
+        check(null != subscription, "rule 1.9: onComplete before onSubscribe");
+        check(!isTerminated(), "rule 1.7: more than one terminal signal");
+        this.completed = true;
+        terminated.countDown();
+    }
+
+    private boolean isTerminated() {
+        return 0 == terminated.getCount();
+    }
+
+    private void check(boolean condition, String message) {
+        if (!condition && null == violation) {
+            violation = new AssertionError(message);
+        }
+    }
+
+    Subscription getSubscription() {
+        return subscription;
+    }
+
+    synchronized List<T> getValues() {
+        return new ArrayList<>(values);
+    }
+
+    Throwable getError() {
+        return error;
+    }
+
+    boolean isCompleted() {
+        return completed;
+    }
+
+    void awaitTerminated() throws InterruptedException {
+        assertTrue("no terminal signal", terminated.await(10, TimeUnit.SECONDS));
+    }
+
+    void assertNoViolations() {
+        if (null != violation) {
+            throw violation;
+        }
+    }
+
+    void assertNoTerminalSignal() {
+        assertEquals(null, error);
+        assertEquals(false, completed);
+    }
+}
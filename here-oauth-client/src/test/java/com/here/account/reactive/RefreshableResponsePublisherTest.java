@@ -0,0 +1,239 @@
+/*
+ * Copyright (c) 2026 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.here.account.reactive;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.here.account.oauth2.Fresh;
+import com.here.account.util.RefreshableResponseProvider;
+import com.here.account.util.RefreshableResponseProvider.ExpiringResponse;
+import com.here.account.util.RefreshableResponseProvider.RefreshListener;
+import com.here.account.util.TestClock;
+
+public class RefreshableResponsePublisherTest {
+
+    private static final long REFRESH_INTERVAL_MILLIS = 1000L;
+
+    private static class NumberedResponse implements ExpiringResponse {
+        private final int number;
+
+        private NumberedResponse(int number) {
+            this.number = number;
+        }
+
+        @Override
+        public Long getExpiresIn() {
+            return 3600L;
+        }
+
+        @Override
+        public Long getStartTimeMilliseconds() {
+            return 0L;
+        }
+
+        @Override
+        public String toString() {
+            return String.valueOf(number);
+        }
+    }
+
+    private TestClock clock;
+    private RefreshableResponseProvider<NumberedResponse> provider;
+    private RefreshableResponsePublisher<NumberedResponse> publisher;
+
+    @Before
+    public void setUp() {
+        clock = new TestClock();
+        AtomicInteger numbers = new AtomicInteger();
+        provider = new RefreshableResponseProvider<>(clock, REFRESH_INTERVAL_MILLIS,
+                new NumberedResponse(numbers.get()),
+                previous -> new NumberedResponse(numbers.incrementAndGet()),
+                RefreshableResponseProvider.getScheduledExecutorServiceSize1());
+        // deliver on the refreshing thread, so each refresh() has been delivered when it returns
+        publisher = new RefreshableResponsePublisher<>(provider, Runnable::run);
+    }
+
+    @After
+    public void tearDown() {
+        provider.shutdown();
+    }
+
+    private void refresh() {
+        clock.setCurrentTimeMillis(clock.currentTimeMillis() + REFRESH_INTERVAL_MILLIS);
+    }
+
+    private static String numbers(RecordingSubscriber<NumberedResponse> subscriber) {
+        return subscriber.getValues().toString();
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void test_subscribe_null() {
+        publisher.subscribe(null);
+    }
+
+    @Test
+    public void test_currentThenRefreshed() {
+        RecordingSubscriber<NumberedResponse> subscriber = new RecordingSubscriber<>(Long.MAX_VALUE);
+        publisher.subscribe(subscriber);
+        refresh();
+        refresh();
+        assertEquals("[0, 1, 2]", numbers(subscriber));
+        subscriber.assertNoTerminalSignal();
+        subscriber.assertNoViolations();
+    }
+
+    @Test
+    public void test_noDemand_noSignals() {
+        RecordingSubscriber<NumberedResponse> subscriber = new RecordingSubscriber<>(0);
+        publisher.subscribe(subscriber);
+        refresh();
+        assertEquals("[]", numbers(subscriber));
+        subscriber.assertNoViolations();
+    }
+
+    @Test
+    public void test_backpressure_conflatesToLatest() {
+        RecordingSubscriber<NumberedResponse> subscriber = new RecordingSubscriber<>(1);
+        publisher.subscribe(subscriber);
+        refresh();
+        refresh();
+        assertEquals("[0]", numbers(subscriber));
+        subscriber.getSubscription().request(5);
+        assertEquals("[0, 2]", numbers(subscriber));
+        refresh();
+        assertEquals("[0, 2, 3]", numbers(subscriber));
+        subscriber.assertNoViolations();
+    }
+
+    @Test
+    public void test_request_nonPositive() {
+        RecordingSubscriber<NumberedResponse> subscriber = new RecordingSubscriber<>(0);
+        publisher.subscribe(subscriber);
+        subscriber.getSubscription().request(0);
+        assertTrue(String.valueOf(subscriber.getError()),
+                subscriber.getError() instanceof IllegalArgumentException);
+        subscriber.getSubscription().request(1);
+        refresh();
+        assertEquals("[]", numbers(subscriber));
+        subscriber.assertNoViolations();
+    }
+
+    @Test
+    public void test_cancel() {
+        RecordingSubscriber<NumberedResponse> subscriber = new RecordingSubscriber<>(Long.MAX_VALUE);
+        publisher.subscribe(subscriber);
+        subscriber.getSubscription().cancel();
+        subscriber.getSubscription().cancel();
+        refresh();
+        subscriber.getSubscription().request(1);
+        assertEquals("[0]", numbers(subscriber));
+        subscriber.assertNoTerminalSignal();
+        subscriber.assertNoViolations();
+    }
+
+    @Test
+    public void test_requestFromOnNext() {
+        // a Subscriber that requests one more from each onNext, as Reactor's does
+        RecordingSubscriber<NumberedResponse> subscriber = new RecordingSubscriber<NumberedResponse>(1) {
+            @Override
+            public void onNext(NumberedResponse value) {
+                super.onNext(value);
+                getSubscription().request(1);
+            }
+        };
+        publisher.subscribe(subscriber);
+        refresh();
+        assertEquals(Arrays.asList("0", "1").toString(), numbers(subscriber));
+        subscriber.assertNoViolations();
+    }
+
+    @Test
+    public void test_fresh() {
+        Fresh<NumberedResponse> fresh = new Fresh<NumberedResponse>() {
+            @Override
+            public NumberedResponse get() {
+                return provider.getUnexpiredResponse();
+            }
+
+            @Override
+            public void addRefreshListener(RefreshListener<NumberedResponse> refreshListener, Executor executor) {
+                provider.addRefreshListener(refreshListener, executor);
+            }
+
+            @Override
+            public void removeRefreshListener(RefreshListener<NumberedResponse> refreshListener) {
+                provider.removeRefreshListener(refreshListener);
+            }
+
+            @Override
+            public void close() {
+                provider.shutdown();
+            }
+        };
+        RecordingSubscriber<NumberedResponse> subscriber = new RecordingSubscriber<>(Long.MAX_VALUE);
+        new RefreshableResponsePublisher<>(fresh, Runnable::run).subscribe(subscriber);
+        refresh();
+        assertEquals("[0, 1]", numbers(subscriber));
+        subscriber.getSubscription().cancel();
+        refresh();
+        assertEquals("[0, 1]", numbers(subscriber));
+    }
+
+    @Test
+    public void test_defaultExecutor_notRefreshThread() throws Exception {
+        CountDownLatch delivered = new CountDownLatch(1);
+        AtomicReference<String> threadName = new AtomicReference<>();
+        RecordingSubscriber<NumberedResponse> subscriber = new RecordingSubscriber<NumberedResponse>(Long.MAX_VALUE) {
+            @Override
+            public void onNext(NumberedResponse value) {
+                super.onNext(value);
+                if (1 == value.number) {
+                    threadName.set(Thread.currentThread().getName());
+                    delivered.countDown();
+                }
+            }
+        };
+        new RefreshableResponsePublisher<>(provider).subscribe(subscriber);
+        refresh();
+        assertTrue(delivered.await(5, TimeUnit.SECONDS));
+        assertTrue(threadName.get(), threadName.get().startsWith("here-auth-listener"));
+        subscriber.assertNoViolations();
+    }
+
+    @Test
+    public void test_multipleSubscribers() {
+        RecordingSubscriber<NumberedResponse> first = new RecordingSubscriber<>(Long.MAX_VALUE);
+        RecordingSubscriber<NumberedResponse> second = new RecordingSubscriber<>(Long.MAX_VALUE);
+        publisher.subscribe(first);
+        refresh();
+        publisher.subscribe(second);
+        refresh();
+        assertEquals("[0, 1, 2]", numbers(first));
+        assertEquals("[1, 2]", numbers(second));
+    }
+}
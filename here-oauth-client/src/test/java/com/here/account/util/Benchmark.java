@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2026 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.here.account.util;
+
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A benchmark in the SDK's test sources, run by {@link BenchmarkRunner}.
+ *
+ * <p>
+ * JMH is not a build dependency, so each benchmark is a plain timed loop, with a warm-up pass
+ * where the JIT matters. Compare the variants within one run; do not compare results across machines.
+ * Every benchmark also has a unit test that runs it at a small size, so it keeps working
+ * as the code it measures changes.
+ */
+public abstract class Benchmark {
+
+    private final int defaultSize;
+
+    /**
+     * @param defaultSize the size {@link BenchmarkRunner} uses unless told otherwise
+     */
+    protected Benchmark(int defaultSize) {
+        this.defaultSize = defaultSize;
+    }
+
+    /**
+     * Gets the name to select this benchmark by.
+     *
+     * @return the simple class name
+     */
+    public String getName() {
+        return getClass().getSimpleName();
+    }
+
+    /**
+     * Gets the size {@link BenchmarkRunner} uses unless told otherwise.
+     *
+     * @return the default size
+     */
+    public int getDefaultSize() {
+        return defaultSize;
+    }
+
+    /**
+     * Whether this benchmark can run in this JVM.
+     *
+     * @return true by default
+     */
+    public boolean isAvailable() {
+        return true;
+    }
+
+    /**
+     * Runs the benchmark once in this JVM.
+     *
+     * @param size the amount of work, whose unit each benchmark defines
+     * @return the results
+     * @throws Exception if any measured operation fails
+     */
+    public abstract Properties run(int size) throws Exception;
+
+    /**
+     * Formats a rate for the results.
+     *
+     * @param operations the number of operations
+     * @param elapsedNanos the time they took
+     * @return operations per second
+     */
+    protected static String perSecond(long operations, long elapsedNanos) {
+        return String.valueOf(operations * TimeUnit.SECONDS.toNanos(1L) / Math.max(1L, elapsedNanos));
+    }
+}
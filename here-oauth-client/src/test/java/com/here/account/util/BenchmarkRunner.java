@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2026 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.here.account.util;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.here.account.auth.OAuth1VerifierBenchmark;
+import com.here.account.client.VirtualThreadBenchmark;
+import com.here.account.http.ContentEncodingBenchmark;
+import com.here.account.http.RequestTemplateBenchmark;
+import com.here.account.oauth2.StartupBenchmark;
+import com.here.account.oauth2.TokenSlotBenchmark;
+import com.here.account.oauth2.WarmUpBenchmark;
+import com.here.account.oauth2.validation.JwtValidationBenchmark;
+
+/**
+ * Runs the {@link Benchmark}s, writing each one's results to stdout as properties.
+ *
+ * <p>
+ * The benchmarks profile runs them all at their default sizes:
+ * <pre>
+ *     mvn -Pbenchmarks test -pl here-oauth-client [-Dbenchmark=&lt;name&gt;] [-Dbenchmark.size=&lt;size&gt;]
+ * </pre>
+ * To run one in a JVM of your own choosing, with its own flags:
+ * <pre>
+ *     java -cp &lt;test classpath&gt; com.here.account.util.BenchmarkRunner [name [size]]
+ * </pre>
+ */
+public class BenchmarkRunner {
+
+    static List<Benchmark> getBenchmarks() {
+        return Arrays.asList(
+                new StartupBenchmark(),
+                new RequestTemplateBenchmark(),
+                new ContentEncodingBenchmark(),
+                new WarmUpBenchmark(),
+                new TokenSlotBenchmark(),
+                new JwtValidationBenchmark(),
+                new OAuth1VerifierBenchmark(),
+                new VirtualThreadBenchmark());
+    }
+
+    public static void main(String[] args) throws Exception {
+        run(args.length > 0 ? args[0] : null, args.length > 1 ? Integer.parseInt(args[1]) : 0);
+    }
+
+    /**
+     * The entry point for the benchmarks profile.
+     *
+     * @throws Exception if a benchmark fails
+     */
+    @Test
+    public void runBenchmarks() throws Exception {
+        run(System.getProperty("benchmark"), Integer.getInteger("benchmark.size", 0));
+    }
+
+    /**
+     * Runs the named benchmark, or all of them.
+     *
+     * @param name the benchmark name, or null for all
+     * @param size the size, or 0 for each benchmark's default
+     * @throws Exception if a benchmark fails
+     */
+    static void run(String name, int size) throws Exception {
+        boolean found = false;
+        for (Benchmark benchmark : getBenchmarks()) {
+            if (null == name || benchmark.getName().equals(name)) {
+                found = true;
+                if (benchmark.isAvailable()) {
+                    benchmark.run(size > 0 ? size : benchmark.getDefaultSize())
+                            .store(System.out, benchmark.getName());
+                } else {
+                    System.out.println("#" + benchmark.getName() + " cannot run in this JVM");
+                }
+            }
+        }
+        if (!found) {
+            throw new IllegalArgumentException("no benchmark named " + name);
+        }
+    }
+}
@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2026 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.here.account.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+import com.here.account.oauth2.AccessTokenResponse;
+import com.here.account.oauth2.ErrorResponse;
+import com.here.account.oauth2.FileAccessTokenResponse;
+import com.here.account.oauth2.bo.TimestampResponse;
+
+public class MinimalJsonSerializerTest {
+
+    private final MinimalJsonSerializer serializer = new MinimalJsonSerializer();
+    private final JacksonSerializer jacksonSerializer = new JacksonSerializer();
+
+    private static InputStream stream(String json) {
+        return new ByteArrayInputStream(json.getBytes(OAuthConstants.UTF_8_CHARSET));
+    }
+
+    @Test
+    public void test_jsonToMap_sameAsJackson() {
+        String[] documents = {
+                "{}",
+                "{\"a\":1,\"b\":\"two\",\"c\":true,\"d\":null,\"e\":[1,2.5,\"x\"],\"f\":{\"g\":{}}}",
+                "{\"big\":12345678901,\"bigger\":123456789012345678901234567890,\"neg\":-3,\"exp\":1e3}",
+                "{\"s\":\"quote\\\" backslash\\\\ slash\\/ tab\\t unicode\\u00e9 newline\\n\"}",
+                " \r\n\t{ \"a\" : [ ] , \"b\" : { } } ",
+        };
+        for (String json : documents) {
+            assertEquals(json, jacksonSerializer.jsonToMap(stream(json)), serializer.jsonToMap(stream(json)));
+        }
+    }
+
+    @Test
+    public void test_jsonToMap_invalid() {
+        String[] invalid = {
+                "",
+                "{",
+                "{\"a\"}",
+                "{\"a\":1,}",
+                "{\"a\":1} x",
+                "{a:1}",
+                "{\"a\":tru}",
+                "{\"a\":\"\\x\"}",
+                "{\"a\":-}",
+                "[1,2]",
+        };
+        for (String json : invalid) {
+            try {
+                serializer.jsonToMap(stream(json));
+                fail("expected RuntimeException for " + json);
+            } catch (RuntimeException e) {
+                assertTrue(e.getMessage(), e.getMessage().startsWith("trouble deserializing json"));
+            }
+        }
+    }
+
+    @Test
+    public void test_accessTokenResponse() {
+        String json = "{\"access_token\":\"at\",\"token_type\":\"bearer\",\"expires_in\":3600,"
+                + "\"refresh_token\":\"rt\",\"id_token\":\"it\",\"scope\":\"s\",\"unknown\":{\"x\":[1]}}";
+        AccessTokenResponse expected = jacksonSerializer.jsonToPojo(stream(json), AccessTokenResponse.class);
+        AccessTokenResponse actual = serializer.jsonToPojo(stream(json), AccessTokenResponse.class);
+        assertEquals(expected.getAccessToken(), actual.getAccessToken());
+        assertEquals(expected.getTokenType(), actual.getTokenType());
+        assertEquals(expected.getExpiresIn(), actual.getExpiresIn());
+        assertEquals(expected.getRefreshToken(), actual.getRefreshToken());
+        assertEquals(expected.getIdToken(), actual.getIdToken());
+        assertEquals(expected.getScope(), actual.getScope());
+    }
+
+    @Test
+    public void test_fileAccessTokenResponse() {
+        String json = "{\"access_token\":\"at\",\"exp\":\"1900000000\"}";
+        FileAccessTokenResponse actual = serializer.jsonToPojo(stream(json), FileAccessTokenResponse.class);
+        assertEquals("at", actual.getAccessToken());
+        assertEquals(Long.valueOf(1900000000L), actual.getExp());
+    }
+
+    @Test
+    public void test_timestampResponse() {
+        TimestampResponse actual = serializer.jsonToPojo(stream("{\"timestamp\":1536000000}"),
+                TimestampResponse.class);
+        assertEquals(Long.valueOf(1536000000L), actual.getTimestamp());
+    }
+
+    @Test
+    public void test_errorResponse_sameAsJackson() {
+        String json = "{\"error\":\"invalid_client\",\"error_description\":\"errorCode: '401300'. Signature mismatch.\","
+                + "\"errorId\":\"ERROR-1\",\"httpStatus\":401,\"errorCode\":401300,\"message\":\"m\","
+                + "\"title\":\"t\",\"status\":401,\"code\":\"c\",\"cause\":\"ca\",\"action\":\"a\","
+                + "\"correlationId\":\"cid\"}";
+        ErrorResponse expected = jacksonSerializer.jsonToPojo(stream(json), ErrorResponse.class);
+        ErrorResponse actual = serializer.jsonToPojo(stream(json), ErrorResponse.class);
+        assertEquals(expected.getError(), actual.getError());
+        assertEquals(expected.getErrorDescription(), actual.getErrorDescription());
+        assertEquals(expected.getErrorId(), actual.getErrorId());
+        assertEquals(expected.getHttpStatus(), actual.getHttpStatus());
+        assertEquals(expected.getErrorCode(), actual.getErrorCode());
+        assertEquals(expected.getMessage(), actual.getMessage());
+        assertEquals(expected.getTitle(), actual.getTitle());
+        assertEquals(expected.getStatus(), actual.getStatus());
+        assertEquals(expected.getCode(), actual.getCode());
+        assertEquals(expected.getCause(), actual.getCause());
+        assertEquals(expected.getAction(), actual.getAction());
+        assertEquals(expected.getCorrelationId(), actual.getCorrelationId());
+    }
+
+    @Test
+    public void test_jsonToPojo_nullLiteral() {
+        assertNull(serializer.jsonToPojo(stream("null"), AccessTokenResponse.class));
+    }
+
+    @Test
+    public void test_jsonToPojo_map() {
+        Map<?, ?> map = serializer.jsonToPojo(stream("{\"a\":1}"), Map.class);
+        assertEquals(1, map.get("a"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_jsonToPojo_unsupportedClass() {
+        serializer.jsonToPojo(stream("{\"a\":1}"), StringBuilder.class);
+    }
+
+    @Test
+    public void test_objectToJson_sameAsJackson() {
+        Map<String, Object> nested = new LinkedHashMap<>();
+        nested.put("n", 1L);
+        nested.put("skipped", null);
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("string", "quote\" backslash\\ newline\n control\u0001");
+        map.put("int", 42);
+        map.put("double", 2.5);
+        map.put("bool", false);
+        map.put("list", Arrays.asList("a", null, 3));
+        map.put("array", new Object[] {"b", 4});
+        map.put("nested", nested);
+        map.put("null", null);
+
+        String expected = jacksonSerializer.objectToJson(map);
+        assertEquals(expected, serializer.objectToJson(map));
+        assertEquals(jacksonSerializer.jsonToMap(stream(expected)),
+                serializer.jsonToMap(stream(serializer.objectToJson(map))));
+    }
+
+    @Test
+    public void test_writeObjectToJson() {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        serializer.writeObjectToJson(baos, Arrays.asList("\u00e9", 1));
+        assertEquals("[\"\u00e9\",1]", new String(baos.toByteArray(), OAuthConstants.UTF_8_CHARSET));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_objectToJson_unsupportedClass() {
+        serializer.objectToJson(new StringBuilder("pojo"));
+    }
+}
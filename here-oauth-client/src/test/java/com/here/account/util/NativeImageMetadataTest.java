@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2026 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.here.account.util;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.here.account.identity.bo.IdentityTokenRequest;
+import com.here.account.oauth2.AccessTokenRequest;
+import com.here.account.oauth2.AccessTokenResponse;
+import com.here.account.oauth2.ClientCredentialsGrantRequest;
+import com.here.account.oauth2.ErrorResponse;
+import com.here.account.oauth2.FileAccessTokenResponse;
+import com.here.account.oauth2.bo.TimestampResponse;
+
+/**
+ * Checks the GraalVM native-image metadata shipped in the jar against the classes it describes.
+ */
+public class NativeImageMetadataTest {
+
+    private static final String METADATA_DIRECTORY = "/META-INF/native-image/com.here.account/here-oauth-client/";
+
+    /**
+     * The classes that jackson-databind binds, or that Client instantiates reflectively.
+     */
+    private static final Class<?>[] REFLECTIVELY_BOUND_CLASSES = {
+            AccessTokenResponse.class,
+            FileAccessTokenResponse.class,
+            ErrorResponse.class,
+            TimestampResponse.class,
+    };
+
+    /**
+     * The request classes that jackson-databind serializes through their getters.
+     */
+    private static final Class<?>[] REFLECTIVELY_SERIALIZED_CLASSES = {
+            AccessTokenRequest.class,
+            ClientCredentialsGrantRequest.class,
+            IdentityTokenRequest.class,
+    };
+
+    private static <T> T read(String name, Class<T> type) throws IOException {
+        try (InputStream inputStream = NativeImageMetadataTest.class.getResourceAsStream(METADATA_DIRECTORY + name)) {
+            assertNotNull(name + " is missing", inputStream);
+            return new ObjectMapper().readValue(inputStream, type);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Map<String, Object>> readReflectConfig() throws IOException {
+        Map<String, Map<String, Object>> entries = new HashMap<>();
+        for (Object entry : read("reflect-config.json", List.class)) {
+            Map<String, Object> map = (Map<String, Object>) entry;
+            entries.put((String) map.get("name"), map);
+        }
+        return entries;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Set<String> getWritableFields(Map<String, Object> entry) {
+        Set<String> names = new HashSet<>();
+        List<Map<String, Object>> fields = (List<Map<String, Object>>) entry.get("fields");
+        if (null != fields) {
+            for (Map<String, Object> field : fields) {
+                if (Boolean.TRUE.equals(field.get("allowWrite"))) {
+                    names.add((String) field.get("name"));
+                }
+            }
+        }
+        return names;
+    }
+
+    @Test
+    public void test_reflectConfig_classesAndFieldsExist() throws Exception {
+        for (Map.Entry<String, Map<String, Object>> entry : readReflectConfig().entrySet()) {
+            Class<?> clazz = Class.forName(entry.getKey());
+            for (String fieldName : getWritableFields(entry.getValue())) {
+                assertNotNull(clazz.getDeclaredField(fieldName));
+            }
+        }
+    }
+
+    @Test
+    public void test_reflectConfig_coversBoundClasses() throws IOException {
+        Map<String, Map<String, Object>> reflectConfig = readReflectConfig();
+        for (Class<?> clazz : REFLECTIVELY_BOUND_CLASSES) {
+            Map<String, Object> entry = reflectConfig.get(clazz.getName());
+            assertNotNull(clazz.getName() + " is missing from reflect-config.json", entry);
+            assertTrue(Boolean.TRUE.equals(entry.get("allDeclaredConstructors")));
+            assertTrue(Boolean.TRUE.equals(entry.get("allDeclaredFields")));
+
+            // jackson-databind writes final fields after calling the no-arg constructor
+            Set<String> writableFields = getWritableFields(entry);
+            for (Field field : clazz.getDeclaredFields()) {
+                int modifiers = field.getModifiers();
+                if (Modifier.isFinal(modifiers) && !Modifier.isStatic(modifiers) && !Modifier.isTransient(modifiers)) {
+                    assertTrue(clazz.getName() + "." + field.getName() + " needs allowWrite",
+                            writableFields.contains(field.getName()));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void test_reflectConfig_coversSerializedClasses() throws IOException {
+        Map<String, Map<String, Object>> reflectConfig = readReflectConfig();
+        for (Class<?> clazz : REFLECTIVELY_SERIALIZED_CLASSES) {
+            Map<String, Object> entry = reflectConfig.get(clazz.getName());
+            assertNotNull(clazz.getName() + " is missing from reflect-config.json", entry);
+            assertTrue(Boolean.TRUE.equals(entry.get("allPublicMethods")));
+            assertTrue(Boolean.TRUE.equals(entry.get("allDeclaredFields")));
+        }
+    }
+
+    @Test
+    public void test_resourceAndProxyConfig_parse() throws IOException {
+        assertNotNull(read("resource-config.json", Map.class));
+        assertNotNull(read("proxy-config.json", List.class));
+    }
+}
@@ -1,6 +1,7 @@
 package com.here.account.util;
 
 import com.here.account.util.RefreshableResponseProvider.ExpiringResponse;
+import com.here.account.util.RefreshableResponseProvider.RefreshListener;
 import com.here.account.util.RefreshableResponseProvider.ResponseRefresher;
 import org.junit.After;
 import org.junit.Before;
@@ -8,8 +9,22 @@ import org.junit.Test;
 import org.mockito.Matchers;
 import org.mockito.Mockito;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 public class RefreshableResponseProviderTest {
@@ -177,6 +192,230 @@ public class RefreshableResponseProviderTest {
         }
     }
 
+    @Test
+    public void test_refreshListener() {
+        TestClock clock = new TestClock();
+        this.refreshableResponseProvider = new RefreshableResponseProvider<MyExpiringResponse>(
+                clock,
+                100L,
+                initialToken,
+                refreshTokenFunction,
+                RefreshableResponseProvider.getScheduledExecutorServiceSize1());
+        List<MyExpiringResponse> refreshed = new ArrayList<MyExpiringResponse>();
+        RefreshListener<MyExpiringResponse> refreshListener = (previous, current) -> {
+            assertTrue("previous should be the replaced response", refreshed.isEmpty() 
+                    ? previous == initialToken : previous == refreshed.get(refreshed.size() - 1));
+            refreshed.add(current);
+        };
+        refreshableResponseProvider.addRefreshListener((previous, current) -> {
+            throw new RuntimeException("listener failures are ignored");
+        }, Runnable::run);
+        refreshableResponseProvider.addRefreshListener(refreshListener, Runnable::run);
 
+        clock.setCurrentTimeMillis(clock.currentTimeMillis() + 100L);
+        clock.setCurrentTimeMillis(clock.currentTimeMillis() + 100L);
+        assertEquals(2, refreshed.size());
+        assertTrue(refreshed.get(1) == refreshableResponseProvider.getUnexpiredResponse());
+
+        refreshableResponseProvider.removeRefreshListener(refreshListener);
+        clock.setCurrentTimeMillis(clock.currentTimeMillis() + 100L);
+        assertEquals(2, refreshed.size());
+        refreshableResponseProvider.shutdown();
+    }
+
+    @Test
+    public void test_refreshListener_failedAndExpired() {
+        TestClock clock = new TestClock();
+        MyExpiringResponse expiring = new MyExpiringResponse();
+        this.refreshableResponseProvider = new RefreshableResponseProvider<MyExpiringResponse>(
+                clock,
+                100L,
+                expiring,
+                previous -> {
+                    throw new RuntimeException("refresh failed");
+                },
+                RefreshableResponseProvider.getScheduledExecutorServiceSize1());
+        List<String> events = new ArrayList<String>();
+        refreshableResponseProvider.addRefreshListener(new RefreshListener<MyExpiringResponse>() {
+            @Override
+            public void onRefreshed(MyExpiringResponse previous, MyExpiringResponse current) {
+                events.add("refreshed");
+            }
+
+            @Override
+            public void onRefreshFailed(Exception exception, long timeUntilExpiryMillis) {
+                events.add("failed " + (timeUntilExpiryMillis > 0 ? "unexpired" : "expired"));
+            }
 
+            @Override
+            public void onExpired(MyExpiringResponse expired) {
+                assertTrue(expired == expiring);
+                events.add("expired");
+            }
+        }, Runnable::run);
+
+        clock.setCurrentTimeMillis(clock.currentTimeMillis() + 100L);
+        // past the 10 minute expiry
+        clock.setCurrentTimeMillis(clock.getStartTimeMillis() + 11 * 60 * 1000L);
+        clock.setCurrentTimeMillis(clock.currentTimeMillis() + 100L);
+        assertEquals(Arrays.asList("failed unexpired", "failed expired", "expired", "failed expired"), events);
+        refreshableResponseProvider.shutdown();
+    }
+
+    @Test
+    public void test_refreshListener_defaultExecutor() throws InterruptedException {
+        TestClock clock = new TestClock();
+        this.refreshableResponseProvider = new RefreshableResponseProvider<MyExpiringResponse>(
+                clock,
+                100L,
+                initialToken,
+                refreshTokenFunction,
+                RefreshableResponseProvider.getScheduledExecutorServiceSize1());
+        CountDownLatch released = new CountDownLatch(1);
+        BlockingQueue<String> threadNames = new LinkedBlockingQueue<String>();
+        refreshableResponseProvider.addRefreshListener((previous, current) -> {
+            threadNames.add(Thread.currentThread().getName());
+            try {
+                released.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        // a slow listener does not delay the refreshes
+        clock.setCurrentTimeMillis(clock.currentTimeMillis() + 100L);
+        clock.setCurrentTimeMillis(clock.currentTimeMillis() + 100L);
+        assertEquals("here-auth-listener", threadNames.poll(5, TimeUnit.SECONDS));
+        released.countDown();
+        assertEquals("here-auth-listener", threadNames.poll(5, TimeUnit.SECONDS));
+        refreshableResponseProvider.shutdown();
+    }
+
+    @Test
+    public void test_refreshListener_inOrder() throws InterruptedException {
+        TestClock clock = new TestClock();
+        this.refreshableResponseProvider = new RefreshableResponseProvider<MyExpiringResponse>(
+                clock,
+                100L,
+                initialToken,
+                refreshTokenFunction,
+                RefreshableResponseProvider.getScheduledExecutorServiceSize1());
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<MyExpiringResponse> refreshed = Collections.synchronizedList(new ArrayList<MyExpiringResponse>());
+        AtomicInteger concurrent = new AtomicInteger();
+        AtomicInteger maxConcurrent = new AtomicInteger();
+        AtomicBoolean outOfOrder = new AtomicBoolean();
+        refreshableResponseProvider.addRefreshListener((previous, current) -> {
+            maxConcurrent.accumulateAndGet(concurrent.incrementAndGet(), Math::max);
+            if (!refreshed.isEmpty() && previous != refreshed.get(refreshed.size() - 1)) {
+                outOfOrder.set(true);
+            }
+            refreshed.add(current);
+            concurrent.decrementAndGet();
+        }, executor);
+
+        for (int i = 0; i < 50; i++) {
+            clock.setCurrentTimeMillis(clock.currentTimeMillis() + 100L);
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        assertEquals(50, refreshed.size());
+        assertEquals(1, maxConcurrent.get());
+        assertFalse(outOfOrder.get());
+        assertTrue(refreshed.get(49) == refreshableResponseProvider.getUnexpiredResponse());
+        refreshableResponseProvider.shutdown();
+    }
+
+    @Test
+    public void test_warmUp_beforeRefresh() {
+        TestClock clock = new TestClock();
+        List<String> events = new ArrayList<String>();
+        this.refreshableResponseProvider = new RefreshableResponseProvider<MyExpiringResponse>(
+                clock,
+                null,
+                initialToken,
+                new ResponseRefresher<MyExpiringResponse>() {
+                    @Override
+                    public MyExpiringResponse refresh(MyExpiringResponse previous) {
+                        events.add("refresh");
+                        return new MyExpiringResponse();
+                    }
+
+                    @Override
+                    public void warmUp() {
+                        events.add("warmUp");
+                        throw new RuntimeException("warm-up failures are ignored");
+                    }
+                },
+                RefreshableResponseProvider.getScheduledExecutorServiceSize1());
+        long refreshMillis = refreshableResponseProvider.nextRefreshInterval();
+        long warmUpMillis = TimeUnit.SECONDS.toMillis(RefreshableResponseProvider.WARM_UP_SECONDS);
+        long startMillis = clock.currentTimeMillis();
+
+        clock.setCurrentTimeMillis(startMillis + refreshMillis - warmUpMillis - 1L);
+        assertEquals(Collections.emptyList(), events);
+        clock.setCurrentTimeMillis(startMillis + refreshMillis - warmUpMillis);
+        assertEquals(Arrays.asList("warmUp"), events);
+        clock.setCurrentTimeMillis(startMillis + refreshMillis);
+        assertEquals(Arrays.asList("warmUp", "refresh"), events);
+        // and again ahead of the next refresh
+        clock.setCurrentTimeMillis(startMillis + 2 * refreshMillis - warmUpMillis);
+        assertEquals(Arrays.asList("warmUp", "refresh", "warmUp"), events);
+        refreshableResponseProvider.shutdown();
+    }
+
+    @Test
+    public void test_warmUp_timeoutEndsBeforeRefresh() {
+        TestClock clock = new TestClock();
+        List<Long> timeouts = new ArrayList<Long>();
+        this.refreshableResponseProvider = new RefreshableResponseProvider<MyExpiringResponse>(
+                clock,
+                null,
+                initialToken,
+                new ResponseRefresher<MyExpiringResponse>() {
+                    @Override
+                    public MyExpiringResponse refresh(MyExpiringResponse previous) {
+                        return new MyExpiringResponse();
+                    }
+
+                    @Override
+                    public void warmUp(long timeoutMillis) {
+                        timeouts.add(timeoutMillis);
+                    }
+                },
+                RefreshableResponseProvider.getScheduledExecutorServiceSize1());
+        long refreshMillis = refreshableResponseProvider.nextRefreshInterval();
+        long warmUpMillis = TimeUnit.SECONDS.toMillis(RefreshableResponseProvider.WARM_UP_SECONDS);
+        clock.setCurrentTimeMillis(clock.currentTimeMillis() + refreshMillis - warmUpMillis);
+        assertEquals(1, timeouts.size());
+        assertTrue("timeout " + timeouts.get(0), timeouts.get(0) > 0L && timeouts.get(0) < warmUpMillis);
+        refreshableResponseProvider.shutdown();
+    }
+
+    @Test
+    public void test_warmUp_notWhenTooSoon() {
+        TestClock clock = new TestClock();
+        AtomicInteger warmUps = new AtomicInteger();
+        this.refreshableResponseProvider = new RefreshableResponseProvider<MyExpiringResponse>(
+                clock,
+                100L,
+                initialToken,
+                new ResponseRefresher<MyExpiringResponse>() {
+                    @Override
+                    public MyExpiringResponse refresh(MyExpiringResponse previous) {
+                        return new MyExpiringResponse();
+                    }
+
+                    @Override
+                    public void warmUp() {
+                        warmUps.incrementAndGet();
+                    }
+                },
+                RefreshableResponseProvider.getScheduledExecutorServiceSize1());
+        for (int i = 0; i < 3; i++) {
+            clock.setCurrentTimeMillis(clock.currentTimeMillis() + 100L);
+        }
+        assertEquals(0, warmUps.get());
+        refreshableResponseProvider.shutdown();
+    }
 }
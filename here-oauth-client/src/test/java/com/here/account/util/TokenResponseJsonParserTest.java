@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2026 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.here.account.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.junit.Test;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.here.account.oauth2.AccessTokenResponse;
+import com.here.account.oauth2.FileAccessTokenResponse;
+import com.here.account.oauth2.bo.TimestampResponse;
+
+/**
+ * Differential tests of {@link TokenResponseJsonParser} against the databind output.
+ */
+public class TokenResponseJsonParserTest {
+
+    private static final ObjectMapper DATABIND = new ObjectMapper();
+
+    static {
+        // same configuration as JsonSerializer
+        DATABIND.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        DATABIND.configure(MapperFeature.PROPAGATE_TRANSIENT_MARKER, true);
+        DATABIND.setSerializationInclusion(JsonInclude.Include.NON_NULL);
+    }
+
+    private static final String[] ACCESS_TOKEN_RESPONSES = {
+            "{\"access_token\":\"h1.abc.def\",\"token_type\":\"bearer\",\"expires_in\":86399}",
+            "{\"access_token\":\"at\",\"token_type\":\"bearer\",\"expires_in\":3600,"
+                    + "\"refresh_token\":\"rt\",\"id_token\":\"it\",\"scope\":\"hrn:here:authorization::org:project/p\"}",
+            "{\"expires_in\":\"3600\",\"access_token\":\"at\"}",
+            "{\"expires_in\":3600.9,\"access_token\":\"at\"}",
+            "{\"expires_in\":null,\"access_token\":null,\"token_type\":123,\"scope\":true}",
+            "{\"access_token\":\"a\\\"b\\\\c\\/d\\u00e9\",\"token_type\":\"bearer\"}",
+            "{\"unknown\":{\"nested\":[1,2,{\"access_token\":\"wrong\"}]},\"access_token\":\"right\"}",
+            "{\"correlationId\":\"c\",\"startTimeMilliseconds\":1,\"expiresIn\":2,\"access_token\":\"at\"}",
+            "{\"exp\":1234,\"access_token\":\"at\",\"expires_in\":10}",
+            "{\"access_token\":\"first\",\"access_token\":\"second\"}",
+            "{}",
+            " \n{ \"access_token\" : \"at\" , \"expires_in\" : 1 }\n",
+    };
+
+    private static final String[] FILE_ACCESS_TOKEN_RESPONSES = {
+            "{\"access_token\":\"at\",\"token_type\":\"bearer\",\"expires_in\":3600,\"exp\":1900000000}",
+            "{\"access_token\":\"at\",\"exp\":\"1900000000\",\"scope\":\"s\",\"id_token\":\"it\"}",
+            "{\"exp\":1900000000,\"extra\":[true,false,null]}",
+    };
+
+    private static final String[] TIMESTAMP_RESPONSES = {
+            "{\"timestamp\":1536000000}",
+            "{\"timestamp\":\"1536000000\",\"access_token\":{\"ignored\":true}}",
+            "{\"other\":1}",
+    };
+
+    private static InputStream stream(String json) {
+        return new ByteArrayInputStream(json.getBytes(JsonSerializer.CHARSET));
+    }
+
+    private static void assertSameAccessToken(String json, AccessTokenResponse expected, AccessTokenResponse actual) {
+        assertEquals(json, expected.getAccessToken(), actual.getAccessToken());
+        assertEquals(json, expected.getTokenType(), actual.getTokenType());
+        assertEquals(json, expected.getRefreshToken(), actual.getRefreshToken());
+        assertEquals(json, expected.getIdToken(), actual.getIdToken());
+        assertEquals(json, expected.getScope(), actual.getScope());
+        assertEquals(json, expected.getCorrelationId(), actual.getCorrelationId());
+    }
+
+    @Test
+    public void test_supports() {
+        assertTrue(TokenResponseJsonParser.supports(AccessTokenResponse.class));
+        assertTrue(TokenResponseJsonParser.supports(FileAccessTokenResponse.class));
+        assertTrue(TokenResponseJsonParser.supports(TimestampResponse.class));
+        assertFalse(TokenResponseJsonParser.supports(Object.class));
+        assertFalse(TokenResponseJsonParser.supports(new AccessTokenResponse() {}.getClass()));
+    }
+
+    @Test
+    public void test_accessTokenResponse_sameAsDatabind() throws IOException {
+        for (String json : ACCESS_TOKEN_RESPONSES) {
+            AccessTokenResponse expected = DATABIND.readValue(stream(json), AccessTokenResponse.class);
+            AccessTokenResponse actual = JsonSerializer.toPojo(stream(json), AccessTokenResponse.class);
+            assertEquals(json, AccessTokenResponse.class, actual.getClass());
+            assertSameAccessToken(json, expected, actual);
+            assertEquals(json, expected.getExpiresIn(), actual.getExpiresIn());
+        }
+    }
+
+    @Test
+    public void test_fileAccessTokenResponse_sameAsDatabind() throws IOException {
+        for (String json : FILE_ACCESS_TOKEN_RESPONSES) {
+            FileAccessTokenResponse expected = DATABIND.readValue(stream(json), FileAccessTokenResponse.class);
+            FileAccessTokenResponse actual = JsonSerializer.toPojo(stream(json), FileAccessTokenResponse.class);
+            assertSameAccessToken(json, expected, actual);
+            assertEquals(json, expected.getExp(), actual.getExp());
+        }
+    }
+
+    @Test
+    public void test_timestampResponse_sameAsDatabind() throws IOException {
+        for (String json : TIMESTAMP_RESPONSES) {
+            TimestampResponse expected = DATABIND.readValue(stream(json), TimestampResponse.class);
+            TimestampResponse actual = JsonSerializer.toPojo(stream(json), TimestampResponse.class);
+            assertEquals(json, expected.getTimestamp(), actual.getTimestamp());
+        }
+    }
+
+    @Test
+    public void test_nullLiteral() throws IOException {
+        assertNull(DATABIND.readValue(stream("null"), AccessTokenResponse.class));
+        assertNull(JsonSerializer.toPojo(stream("null"), AccessTokenResponse.class));
+    }
+
+    @Test
+    public void test_invalid_sameAsDatabind() {
+        String[] invalid = {
+                "",
+                "[]",
+                "\"token\"",
+                "{\"access_token\":{\"a\":1}}",
+                "{\"access_token\":[\"a\"]}",
+                "{\"expires_in\":\"soon\"}",
+                "{\"expires_in\":true}",
+                "{\"access_token\":\"at\"",
+                "{\"access_token\" \"at\"}",
+        };
+        for (String json : invalid) {
+            boolean databindFailed = false;
+            try {
+                DATABIND.readValue(stream(json), AccessTokenResponse.class);
+            } catch (IOException e) {
+                databindFailed = true;
+            }
+            assertTrue("databind accepted " + json, databindFailed);
+            try {
+                JsonSerializer.toPojo(stream(json), AccessTokenResponse.class);
+                fail("expected IOException for " + json);
+            } catch (IOException e) {
+                // expected
+            }
+        }
+    }
+
+    @Test
+    public void test_jacksonSerializer_usesFastPath() {
+        String json = "{\"access_token\":\"at\",\"expires_in\":3600}";
+        AccessTokenResponse actual = new JacksonSerializer().jsonToPojo(stream(json), AccessTokenResponse.class);
+        assertEquals("at", actual.getAccessToken());
+        assertEquals(Long.valueOf(3600L), actual.getExpiresIn());
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2026 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.here.account.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assume;
+import org.junit.Test;
+
+public class VirtualThreadsTest {
+
+    private static boolean isJava21OrLater() {
+        String version = System.getProperty("java.specification.version");
+        return !version.startsWith("1.") && Integer.parseInt(version) >= 21;
+    }
+
+    @Test
+    public void test_isAvailable() {
+        assertEquals(isJava21OrLater(), VirtualThreads.isAvailable());
+    }
+
+    @Test
+    public void test_isEnabled_default() {
+        Assume.assumeTrue(null == System.getProperty(VirtualThreads.ENABLED_PROPERTY));
+        assertFalse(VirtualThreads.isEnabled());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void test_newThreadFactory_unavailable() {
+        Assume.assumeFalse(VirtualThreads.isAvailable());
+        VirtualThreads.newThreadFactory("test-");
+    }
+
+    @Test
+    public void test_newThreadFactory() throws Exception {
+        Assume.assumeTrue(VirtualThreads.isAvailable());
+        ThreadFactory threadFactory = VirtualThreads.newThreadFactory("test-");
+        Thread thread = threadFactory.newThread(() -> { });
+        assertEquals("test-0", thread.getName());
+        assertTrue(thread.isDaemon());
+    }
+
+    @Test
+    public void test_newThreadPerTaskExecutor() throws Exception {
+        Assume.assumeTrue(VirtualThreads.isAvailable());
+        ExecutorService executor = VirtualThreads.newThreadPerTaskExecutor("test-");
+        try {
+            Future<String> name = executor.submit(() -> Thread.currentThread().getName());
+            assertTrue(name.get(10, TimeUnit.SECONDS).startsWith("test-"));
+        } finally {
+            executor.shutdown();
+        }
+    }
+}